@@ -30,6 +30,9 @@
  * is mostly a re-usable support class for any component that requires a {@link ProxyOrchestrator} to be loaded. Note
  * that this initializer is not cached, and will return a new instance of the {@link ProxyOrchestrator} on each call.
  *
+ * <p>If multiple proxy implementations are available, a specific {@link ProxyOrchestratorLoader} can be selected
+ * through the {@link Configurer}. This allows backends to be switched without modifying service registrations.
+ *
  * @since 0.5.0
  *
  * @author Guus Lieben
@@ -41,18 +44,21 @@ private DefaultProxyOrchestratorLoader() {
     }
 
     /**
-     * Creates a new {@link ContextualInitializer initializer} that will load the default {@link ProxyOrchestrator}
-     * implementation from the {@link DiscoveryService}.
+     * Creates a new {@link ContextualInitializer initializer} that will load the {@link ProxyOrchestrator} using the
+     * {@link ProxyOrchestratorLoader} configured through the given customizer. If no loader is configured, the default
+     * loader is obtained from the {@link DiscoveryService}.
      *
      * @param customizer The customizer to apply to the {@link Configurer} before loading the {@link ProxyOrchestrator}
      * @return The initializer
      */
     public static ContextualInitializer<Introspector, ProxyOrchestrator> create(Customizer<Configurer> customizer) {
         return context -> {
-            // Call, but ignore the result of the customizer for now
-            customizer.configure(new Configurer());
+            Configurer configurer = new Configurer();
+            customizer.configure(configurer);
             try {
-                ProxyOrchestratorLoader loader = DiscoveryService.instance().discover(ProxyOrchestratorLoader.class);
+                ProxyOrchestratorLoader loader = configurer.loader != null
+                        ? configurer.loader
+                        : DiscoveryService.instance().discover(ProxyOrchestratorLoader.class);
                 return loader.create(context.input());
             }
             catch (ServiceDiscoveryException e) {
@@ -62,13 +68,43 @@ public static ContextualInitializer<Introspector, ProxyOrchestrator> create(Cust
     }
 
     /**
-     * A no-op class that may be used to configure the {@link ProxyOrchestrator} loader.
+     * Configuration for the {@link ProxyOrchestrator} loader. By default, the {@link ProxyOrchestratorLoader} is
+     * obtained from the {@link DiscoveryService}.
      *
      * @since 0.5.0
      *
      * @author Guus Lieben
      */
     public static class Configurer {
-        // No-op, may be used in the future
+
+        private ProxyOrchestratorLoader loader;
+
+        /**
+         * Configures the {@link ProxyOrchestratorLoader} to use, instead of the loader which is obtained from the
+         * {@link DiscoveryService}. This can be used to select a specific proxy implementation if multiple are
+         * available.
+         *
+         * @param loader The loader to use
+         * @return This configurer, for chaining
+         *
+         * @since 0.6.1
+         */
+        public Configurer loader(ProxyOrchestratorLoader loader) {
+            this.loader = loader;
+            return this;
+        }
+
+        /**
+         * Configures the loader to obtain the {@link ProxyOrchestratorLoader} from the {@link DiscoveryService}. This
+         * is the default behavior.
+         *
+         * @return This configurer, for chaining
+         *
+         * @since 0.6.1
+         */
+        public Configurer discoverLoader() {
+            this.loader = null;
+            return this;
+        }
     }
 }
@@ -16,31 +16,63 @@
 
 package org.dockbox.hartshorn.inject.processing;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.dockbox.hartshorn.util.CollectionUtilities;
 import org.dockbox.hartshorn.util.TypeUtils;
 import org.dockbox.hartshorn.util.collections.ConcurrentSetTreeMultiMap;
 import org.dockbox.hartshorn.util.collections.MultiMap;
 import org.dockbox.hartshorn.util.collections.UnmodifiableMultiMap;
+import org.dockbox.hartshorn.util.introspect.view.TypeView;
 import org.dockbox.hartshorn.util.option.Option;
 
+/**
+ * A {@link ComponentProcessorRegistry} which keeps processors in a {@link MultiMap} ordered by priority. Processors
+ * are additionally indexed by their type, so looking up or checking the registration of a processor does not
+ * depend on the number of registered processors.
+ *
+ * <p>The ordered {@link #postProcessorPipeline() post-processor pipeline} is compiled once, and reused until
+ * post-processors are registered or unregistered. As processors are typically registered while the application is
+ * loaded, the pipeline is usually compiled only once, after which processing a component does not require any
+ * further lookups. For each component type and proxying permission, the pipeline additionally caches which
+ * post-processors are {@link ComponentPostProcessor#isApplicable(TypeView, boolean) applicable}, so processors which
+ * have no effect on a type are only evaluated once for that type.
+ *
+ * @since 0.6.0
+ *
+ * @author Guus Lieben
+ */
 public class MultiMapComponentProcessorRegistry implements ComponentProcessorRegistry {
 
     private final MultiMap<Integer, ComponentPostProcessor> postProcessors = new ConcurrentSetTreeMultiMap<>();
     private final MultiMap<Integer, ComponentPreProcessor> preProcessors = new ConcurrentSetTreeMultiMap<>();
     private final Set<Class<? extends ComponentPostProcessor>> uninitializedPostProcessors = ConcurrentHashMap.newKeySet();
+    private final Map<Class<?>, ComponentProcessor> processorsByType = new ConcurrentHashMap<>();
+
+    private final AtomicLong postProcessorVersion = new AtomicLong();
+    private volatile PostProcessorPipeline postProcessorPipeline;
 
     @Override
     public void register(ComponentProcessor processor) {
         this.modifyProcessorRegistration(processor, MultiMap::put);
+        this.processorsByType.putIfAbsent(processor.getClass(), processor);
         this.uninitializedPostProcessors.remove(processor.getClass());
     }
 
     @Override
     public void unregister(ComponentProcessor processor) {
         this.modifyProcessorRegistration(processor, MultiMap::remove);
+        if (this.processorsByType.remove(processor.getClass(), processor)) {
+            // Another instance of the same processor type may still be registered
+            this.processors().stream()
+                    .filter(registered -> registered.getClass().equals(processor.getClass()))
+                    .findFirst()
+                    .ifPresent(registered -> this.processorsByType.putIfAbsent(registered.getClass(), registered));
+        }
     }
 
     private <T extends ComponentProcessor> void modifyProcessorRegistration(T processor, RegistrationCallback callback) {
@@ -48,6 +80,8 @@ private <T extends ComponentProcessor> void modifyProcessorRegistration(T proces
         switch(processor) {
         case ComponentPostProcessor postProcessor:
             callback.process(TypeUtils.unchecked(this.postProcessors, MultiMap.class), order, postProcessor);
+            // Invalidates the compiled pipeline, after the post-processors have been modified
+            this.postProcessorVersion.incrementAndGet();
             break;
         case ComponentPreProcessor preProcessor:
             callback.process(TypeUtils.unchecked(this.preProcessors, MultiMap.class), order, preProcessor);
@@ -64,8 +98,7 @@ private interface RegistrationCallback {
 
     @Override
     public void registryLazy(Class<? extends ComponentPostProcessor> componentProcessor) {
-        boolean alreadyInitialized = this.postProcessors.allValues().stream()
-                .anyMatch(processor -> processor.getClass().equals(componentProcessor));
+        boolean alreadyInitialized = this.processorsByType.get(componentProcessor) instanceof ComponentPostProcessor;
         if (!alreadyInitialized) {
             this.uninitializedPostProcessors.add(componentProcessor);
         }
@@ -73,20 +106,13 @@ public void registryLazy(Class<? extends ComponentPostProcessor> componentProces
 
     @Override
     public boolean isRegistered(Class<? extends ComponentProcessor> componentProcessor) {
-        if (this.uninitializedPostProcessors.contains(componentProcessor)) {
-            return true;
-        } else {
-            return this.processors().stream()
-                    .anyMatch(processor -> processor.getClass().equals(componentProcessor));
-        }
+        return this.uninitializedPostProcessors.contains(componentProcessor)
+                || this.processorsByType.containsKey(componentProcessor);
     }
 
     @Override
     public <T extends ComponentProcessor> Option<T> lookup(Class<T> componentProcessor) {
-        return Option.of(this.processors().stream()
-                .filter(processor -> processor.getClass().equals(componentProcessor))
-                .map(componentProcessor::cast)
-                .findFirst());
+        return Option.of(this.processorsByType.get(componentProcessor)).map(componentProcessor::cast);
     }
 
     @Override
@@ -111,4 +137,59 @@ public Set<Class<? extends ComponentPostProcessor>> uninitializedPostProcessors(
     public MultiMap<Integer, ComponentPreProcessor> preProcessors() {
         return new UnmodifiableMultiMap<>(this.preProcessors);
     }
+
+    @Override
+    public List<ComponentPostProcessor> postProcessorPipeline() {
+        return this.compiledPostProcessorPipeline().postProcessors();
+    }
+
+    @Override
+    public List<ComponentPostProcessor> postProcessorPipeline(TypeView<?> type, boolean permitsProxying) {
+        PostProcessorPipeline pipeline = this.compiledPostProcessorPipeline();
+        ApplicabilityKey key = new ApplicabilityKey(type.type(), permitsProxying);
+        List<ComponentPostProcessor> applicablePostProcessors = pipeline.applicablePostProcessors().get(key);
+        if (applicablePostProcessors == null) {
+            applicablePostProcessors = pipeline.postProcessors().stream()
+                    .filter(processor -> processor.isApplicable(type, permitsProxying))
+                    .toList();
+            pipeline.applicablePostProcessors().put(key, applicablePostProcessors);
+        }
+        return applicablePostProcessors;
+    }
+
+    private PostProcessorPipeline compiledPostProcessorPipeline() {
+        // Read the version before compiling, so a pipeline compiled during a modification is never reused
+        long version = this.postProcessorVersion.get();
+        PostProcessorPipeline pipeline = this.postProcessorPipeline;
+        if (pipeline == null || pipeline.version() != version) {
+            List<ComponentPostProcessor> postProcessors = ComponentProcessorRegistry.pipelineOf(this.postProcessors);
+            pipeline = new PostProcessorPipeline(version, postProcessors, new ConcurrentHashMap<>());
+            this.postProcessorPipeline = pipeline;
+        }
+        return pipeline;
+    }
+
+    /**
+     * The compiled pipeline of post-processors, which is valid as long as the post-processors have not been
+     * modified since the pipeline was compiled.
+     *
+     * @param version the version of the post-processors from which the pipeline was compiled
+     * @param postProcessors the ordered post-processors
+     * @param applicablePostProcessors the ordered post-processors which are applicable to a component type
+     */
+    private record PostProcessorPipeline(
+            long version,
+            List<ComponentPostProcessor> postProcessors,
+            Map<ApplicabilityKey, List<ComponentPostProcessor>> applicablePostProcessors
+    ) {
+    }
+
+    /**
+     * The key by which the applicability of post-processors is cached.
+     *
+     * @param type the type of the processed component
+     * @param permitsProxying whether the processed component may be proxied
+     */
+    private record ApplicabilityKey(Class<?> type, boolean permitsProxying) {
+    }
 }
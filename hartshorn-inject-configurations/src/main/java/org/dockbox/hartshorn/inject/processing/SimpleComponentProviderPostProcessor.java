@@ -169,7 +169,7 @@ protected <T> ModifiableComponentProcessingContext<T> prepareProcessingContext(C
 
         if (componentContainer != null) {
             processingContext.put(ComponentKey.of(ComponentContainer.class), componentContainer);
-            if (componentContainer.permitsProxying()) {
+            if (componentContainer.permitsProxying() && this.requiresProxyFactory(processingContext)) {
                 StateAwareProxyFactory<T> factory = this.application.environment().proxyOrchestrator().factory(key.type());
 
                 if (objectContainer.instance() != null) {
@@ -182,4 +182,23 @@ protected <T> ModifiableComponentProcessingContext<T> prepareProcessingContext(C
         }
         return processingContext;
     }
+
+    /**
+     * Checks if a proxy factory should be prepared for the component in the given processing context. A proxy
+     * factory is only required if any post processor may {@link ComponentPostProcessor#advises(TypeView) advise}
+     * the component, or if no concrete instance of the component can exist without a proxy. If no proxy factory is
+     * prepared, the component will not be proxied.
+     *
+     * @param processingContext the processing context of the component
+     * @return {@code true} if a proxy factory should be prepared, {@code false} otherwise
+     *
+     * @since 0.6.1
+     */
+    protected boolean requiresProxyFactory(ComponentProcessingContext<?> processingContext) {
+        TypeView<?> type = processingContext.type();
+        if (processingContext.instance() == null && type.modifiers().isAbstract()) {
+            return true;
+        }
+        return this.processor.advises(type);
+    }
 }
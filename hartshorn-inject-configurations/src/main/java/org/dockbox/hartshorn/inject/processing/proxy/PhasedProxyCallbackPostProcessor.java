@@ -49,6 +49,12 @@ public <T> boolean isCompatible(ComponentProcessingContext<T> processingContext)
         return processingContext.permitsProxying();
     }
 
+    @Override
+    public <T> boolean isApplicable(TypeView<T> type, boolean permitsProxying) {
+        // Callbacks can only be added if the component is proxied
+        return permitsProxying;
+    }
+
     @Override
     public <T> void preConfigureComponent(InjectionCapableApplication application, @Nullable T instance, ComponentProcessingContext<T> processingContext) {
         ComponentKey<T> key = processingContext.key();
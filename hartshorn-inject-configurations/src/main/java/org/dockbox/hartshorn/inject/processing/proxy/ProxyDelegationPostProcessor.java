@@ -21,6 +21,7 @@
 import org.dockbox.hartshorn.inject.processing.ComponentPostProcessor;
 import org.dockbox.hartshorn.inject.processing.ComponentProcessingContext;
 import org.dockbox.hartshorn.proxy.ProxyFactory;
+import org.dockbox.hartshorn.util.introspect.view.TypeView;
 
 /**
  * TODO: #1060 Add documentation
@@ -40,6 +41,11 @@ public <T> boolean isCompatible(ComponentProcessingContext<T> processingContext)
         return processingContext.permitsProxying();
     }
 
+    @Override
+    public <T> boolean isApplicable(TypeView<T> type, boolean permitsProxying) {
+        return permitsProxying && type.isChildOf(this.parentTarget());
+    }
+
     @Override
     public <T> void preConfigureComponent(InjectionCapableApplication application, @Nullable T instance, ComponentProcessingContext<T> processingContext) {
         if (!processingContext.type().isChildOf(this.parentTarget())) {
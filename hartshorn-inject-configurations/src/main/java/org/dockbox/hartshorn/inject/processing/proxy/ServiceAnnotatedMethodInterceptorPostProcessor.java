@@ -21,6 +21,7 @@
 
 import org.dockbox.hartshorn.inject.processing.ComponentProcessingContext;
 import org.dockbox.hartshorn.util.introspect.view.MethodView;
+import org.dockbox.hartshorn.util.introspect.view.TypeView;
 
 /**
  * TODO: #1060 Add documentation
@@ -38,6 +39,11 @@ public <T> boolean isCompatible(ComponentProcessingContext<T> processingContext)
         return !processingContext.type().methods().annotatedWith(this.annotation()).isEmpty();
     }
 
+    @Override
+    public <T> boolean isApplicable(TypeView<T> type, boolean permitsProxying) {
+        return permitsProxying && !type.methods().annotatedWith(this.annotation()).isEmpty();
+    }
+
     public abstract Class<M> annotation();
 
     @Override
@@ -39,6 +39,16 @@
 
     public abstract Class<M> annotation();
 
+    @Override
+    public <T> boolean isApplicable(TypeView<T> type, boolean permitsProxying) {
+        return !type.methods().annotatedWith(this.annotation()).isEmpty();
+    }
+
+    @Override
+    public <T> boolean advises(TypeView<T> type) {
+        return false;
+    }
+
     @Override
     public <T> void preConfigureComponent(InjectionCapableApplication application, @Nullable T instance, ComponentProcessingContext<T> processingContext) {
         if (processingContext.type().methods().annotatedWith(this.annotation()).isEmpty()) {
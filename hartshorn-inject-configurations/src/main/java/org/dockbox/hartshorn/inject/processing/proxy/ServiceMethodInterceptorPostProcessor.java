@@ -25,6 +25,7 @@
 import org.dockbox.hartshorn.proxy.advice.intercept.MethodInterceptor;
 import org.dockbox.hartshorn.util.TypeUtils;
 import org.dockbox.hartshorn.util.introspect.view.MethodView;
+import org.dockbox.hartshorn.util.introspect.view.TypeView;
 
 /**
  * TODO: #1060 Add documentation
@@ -40,6 +41,12 @@ public <T> boolean isCompatible(ComponentProcessingContext<T> processingContext)
         return processingContext.permitsProxying();
     }
 
+    @Override
+    public <T> boolean isApplicable(TypeView<T> type, boolean permitsProxying) {
+        // Interceptors can only be added if the component is proxied
+        return permitsProxying;
+    }
+
     @Override
     public <T> void preConfigureComponent(InjectionCapableApplication application, @Nullable T instance, ComponentProcessingContext<T> processingContext) {
         Collection<MethodView<T, ?>> methods = this.modifiableMethods(processingContext);
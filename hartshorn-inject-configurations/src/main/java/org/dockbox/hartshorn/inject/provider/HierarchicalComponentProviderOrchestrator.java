@@ -16,10 +16,7 @@
 
 package org.dockbox.hartshorn.inject.provider;
 
-import java.util.Collection;
-import java.util.Collections;
-import java.util.Map;
-import java.util.WeakHashMap;
+import java.util.List;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 import org.dockbox.hartshorn.inject.ContextKey;
@@ -28,7 +25,8 @@
 import org.dockbox.hartshorn.inject.binding.HierarchicalBinder;
 import org.dockbox.hartshorn.inject.processing.ComponentProcessorRegistry;
 import org.dockbox.hartshorn.inject.processing.MultiMapComponentProcessorRegistry;
-import org.dockbox.hartshorn.inject.provider.singleton.ConcurrentHashSingletonCache;
+import org.dockbox.hartshorn.inject.provider.singleton.CreationTrackingSingletonCache;
+import org.dockbox.hartshorn.inject.provider.strategy.ComponentProviderStrategy;
 import org.dockbox.hartshorn.inject.scope.ScopeAdapter;
 import org.dockbox.hartshorn.inject.scope.ScopeModuleContext;
 import org.dockbox.hartshorn.inject.ComponentKey;
@@ -38,18 +36,24 @@
 import org.dockbox.hartshorn.inject.binding.Binder;
 import org.dockbox.hartshorn.inject.binding.BindingFunction;
 import org.dockbox.hartshorn.inject.binding.BindingHierarchy;
+import org.dockbox.hartshorn.inject.binding.BindingHierarchySnapshot;
 import org.dockbox.hartshorn.inject.processing.construction.ComponentPostConstructor;
 import org.dockbox.hartshorn.inject.processing.construction.AnnotatedMethodComponentPostConstructor;
 import org.dockbox.hartshorn.inject.scope.Scope;
 import org.dockbox.hartshorn.util.ContextualInitializer;
 import org.dockbox.hartshorn.util.Customizer;
 import org.dockbox.hartshorn.util.SimpleSingleElementContext;
+import org.dockbox.hartshorn.util.collections.ConcurrentWeakKeyMap;
 import org.dockbox.hartshorn.util.collections.HashSetMultiMap;
 import org.dockbox.hartshorn.util.collections.MultiMap;
 
 /**
  * TODO: #1060 Add documentation
  *
+ * <p>Providers are kept per {@link Scope}. The provider of the application scope is resolved directly, and providers
+ * of other scopes are kept in a {@link ConcurrentWeakKeyMap}, so existing providers can be looked up without locking,
+ * while providers of scopes that are no longer reachable are discarded.
+ *
  * @since 0.5.0
  *
  * @author Guus Lieben
@@ -58,8 +62,10 @@
         extends DefaultFallbackCompatibleContext
         implements HierarchicalComponentProvider, ComponentProviderOrchestrator, HierarchicalBinder {
 
-    private final Map<Scope, HierarchicalBinderAwareComponentProvider> scopedProviders = Collections.synchronizedMap(new WeakHashMap<>());
+    private final ConcurrentWeakKeyMap<Scope, HierarchicalBinderAwareComponentProvider> scopedProviders = new ConcurrentWeakKeyMap<>();
     private final Scope applicationScope;
+    private final HierarchicalBinderAwareComponentProvider applicationProvider;
+    private final List<ComponentProviderStrategy> providerStrategies;
 
     private final transient InjectionCapableApplication application;
     private final transient ComponentRegistry registry;
@@ -68,56 +74,50 @@
     private final ComponentProcessorRegistry componentProcessorRegistry = new MultiMapComponentProcessorRegistry();
 
     private HierarchicalBinderAwareComponentProvider getOrCreateProvider(Scope scope) {
-        if (scope == null) {
-            scope = this.applicationScope;
-        }
-        synchronized (this.scopedProviders) {
-            return this.scopedProviders.computeIfAbsent(scope, this::createComponentProvider);
+        if ((scope == null || scope == this.applicationScope) && this.applicationProvider != null) {
+            return this.applicationProvider;
         }
+        return this.scopedProviders.computeIfAbsent(scope == null ? this.applicationScope : scope, this::createComponentProvider);
     }
 
     protected HierarchicalComponentProviderOrchestrator(InjectionCapableApplication application, ComponentRegistry registry, ComponentPostConstructor postConstructor) {
         this.registry = registry;
         this.application = application;
         this.postConstructor = postConstructor;
+        // Strategies are stateless, so they can be shared by all scoped providers
+        this.providerStrategies = HierarchyAwareComponentProvider.createStrategies(application, Customizer.useDefaults());
 
         // Eagerly initialize the application provider
         this.applicationScope = ScopeAdapter.of(this);
-        this.getOrCreateProvider(this.applicationScope);
+        this.applicationProvider = this.getOrCreateProvider(this.applicationScope);
     }
 
     @NonNull
     private HierarchicalBinderAwareComponentProvider createComponentProvider(Scope scope) {
-        HierarchicalBinderAwareComponentProvider provider = HierarchyAwareComponentProvider.create(
+        // Scoped bindings are shared with all scopes of the same type, and only copied when they are modified. The
+        // module context decides which bindings apply to the application scope, as it did before templates were used.
+        ContextKey<ScopeModuleContext> scopeModuleContextKey = ScopeModuleContext.createKey(() -> this.scope().installableScopeType());
+        ScopeModuleContext scopeModuleContext = this.application.firstContext(scopeModuleContextKey).get();
+        BindingHierarchySnapshot template = scopeModuleContext.template(scope.installableScopeType());
+        return HierarchyAwareComponentProvider.create(
                 this,
                 this.postConstructor,
                 this.application,
-                new ConcurrentHashSingletonCache(),
+                new CreationTrackingSingletonCache(),
                 scope,
-                Customizer.useDefaults());
-
-        if(scope != this.application) {
-            ContextKey<ScopeModuleContext> scopeModuleContextKey = ScopeModuleContext.createKey(() -> this.scope().installableScopeType());
-            ScopeModuleContext scopeModuleContext = this.application.firstContext(scopeModuleContextKey).get();
-            Collection<BindingHierarchy<?>> hierarchies = scopeModuleContext.hierarchies(scope.installableScopeType());
-            for (BindingHierarchy<?> hierarchy : hierarchies) {
-                provider.binder().bind(hierarchy);
-            }
-        }
-        return provider;
+                template,
+                this.providerStrategies);
     }
 
     private HierarchicalComponentProvider getOrDefaultProvider(Scope scope) {
-        if (scope == null) {
-            scope = this.applicationScope;
+        if (scope == null || scope == this.applicationScope) {
+            return this.applicationProvider;
         }
-        synchronized (this.scopedProviders) {
-            HierarchicalComponentProvider provider = this.scopedProviders.get(scope);
-            if (provider == null) {
-                return this.scopedProviders.get(this.applicationScope);
-            }
-            return provider;
+        HierarchicalComponentProvider provider = this.scopedProviders.get(scope);
+        if (provider == null) {
+            return this.applicationProvider;
         }
+        return provider;
     }
 
     public ComponentPostConstructor postConstructor() {
@@ -176,7 +176,7 @@ public MultiMap<Scope, BindingHierarchy<?>> hierarchies() {
 
     @Override
     public HierarchicalComponentProvider applicationProvider() {
-        return this.getOrCreateProvider(this.applicationScope);
+        return this.applicationProvider;
     }
 
     public static ContextualInitializer<ComponentRegistry, PostProcessingComponentProvider> create(Customizer<Configurer> customizer) {
@@ -31,7 +31,9 @@
 import org.dockbox.hartshorn.inject.ComponentRequestContext;
 import org.dockbox.hartshorn.inject.ComponentResolutionException;
 import org.dockbox.hartshorn.inject.binding.BindingHierarchy;
+import org.dockbox.hartshorn.inject.binding.BindingHierarchySnapshot;
 import org.dockbox.hartshorn.inject.processing.construction.ComponentPostConstructor;
+import org.dockbox.hartshorn.inject.provider.singleton.CreationTrackingSingletonCache;
 import org.dockbox.hartshorn.inject.provider.singleton.SingletonCache;
 import org.dockbox.hartshorn.inject.provider.strategy.ComponentProcessorComponentProviderStrategy;
 import org.dockbox.hartshorn.inject.provider.strategy.ComponentProviderStrategy;
@@ -46,6 +48,8 @@
 import org.dockbox.hartshorn.util.SimpleSingleElementContext;
 import org.dockbox.hartshorn.util.StreamableConfigurer;
 import org.dockbox.hartshorn.util.collections.MultiMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * A {@link ComponentProvider} which is aware of the {@link Scope} in which it is installed, and tracks bindings
@@ -56,6 +60,11 @@
  * {@link ComponentProviderOrchestrator}. This orchestrator is responsible for providing the {@link Scope} in which
  * this provider is installed.
  *
+ * <p>If the {@link SingletonCache} of this provider is a {@link CreationTrackingSingletonCache}, components are
+ * resolved through the cache, so that singletons are created at most once, even if they are requested by multiple
+ * threads at the same time. Requests for a component which the requesting thread is already creating are reported
+ * at debug level, as they may indicate a cyclic dependency.
+ *
  * @see ComponentProviderOrchestrator
  * @see HierarchicalComponentProvider
  *
@@ -66,6 +75,8 @@
 public class HierarchyAwareComponentProvider extends StrategyChainComponentProvider
         implements HierarchicalBinderAwareComponentProvider, SingletonCacheComponentProvider, ContainedHierarchyLookup {
 
+    private static final Logger LOG = LoggerFactory.getLogger(HierarchyAwareComponentProvider.class);
+
     private final ComponentProviderPostProcessor processor;
     private final HierarchicalBinder binder;
     private final Scope scope;
@@ -77,11 +88,22 @@ public HierarchyAwareComponentProvider(
             InjectionCapableApplication application,
             SingletonCache singletonCache,
             Scope scope
+    ) {
+        this(orchestrator, postConstructor, application, singletonCache, scope, BindingHierarchySnapshot.empty());
+    }
+
+    public HierarchyAwareComponentProvider(
+            ComponentProviderOrchestrator orchestrator,
+            ComponentPostConstructor postConstructor,
+            InjectionCapableApplication application,
+            SingletonCache singletonCache,
+            Scope scope,
+            BindingHierarchySnapshot template
     ) {
         this(
                 application,
                 singletonCache,
-                new ScopeAwareHierarchicalBinder(application, singletonCache, scope),
+                new ScopeAwareHierarchicalBinder(application, singletonCache, scope, template),
                 createProviderPostProcessor(singletonCache, orchestrator, application, postConstructor),
                 scope
         );
@@ -108,7 +130,7 @@ protected static ComponentProviderPostProcessor createProviderPostProcessor(
             InjectionCapableApplication application,
             ComponentPostConstructor postConstructor
     ) {
-        CompositeComponentPostProcessor postProcessor = new CompositeComponentPostProcessor(() -> orchestrator.processorRegistry().postProcessors());
+        CompositeComponentPostProcessor postProcessor = new CompositeComponentPostProcessor(orchestrator.processorRegistry());
         ComponentStoreCallback storeCallback = new LocalCacheComponentStoreCallback(singletonCache);
         ComponentProviderPostProcessor standardProcessor = new SimpleComponentProviderPostProcessor(
                 orchestrator,
@@ -124,6 +146,19 @@ protected static ComponentProviderPostProcessor createProviderPostProcessor(
         );
     }
 
+    @Override
+    public <T> T get(ComponentKey<T> key, ComponentRequestContext requestContext) {
+        if (this.singletonCache instanceof CreationTrackingSingletonCache creationTrackingSingletonCache) {
+            if (LOG.isDebugEnabled() && creationTrackingSingletonCache.isCreating(key)) {
+                LOG.debug(("Component with key %s was requested while it is being created by the same thread. This is " +
+                        "expected for bindings which delegate to a binding of a lower priority, but may otherwise " +
+                        "indicate a cyclic dependency").formatted(key));
+            }
+            return creationTrackingSingletonCache.getOrCreate(key, () -> super.get(key, requestContext));
+        }
+        return super.get(key, requestContext);
+    }
+
     @Override
     protected <T> T process(ComponentKey<T> key, ComponentRequestContext requestContext, ObjectContainer<T> container)
             throws ApplicationException {
@@ -176,25 +211,79 @@ public static HierarchyAwareComponentProvider create(
             Scope scope,
             Customizer<StreamableConfigurer<InjectionCapableApplication, ComponentProviderStrategy>> strategyCustomizer
     ) {
-        LazyStreamableConfigurer<InjectionCapableApplication, ComponentProviderStrategy> strategyConfigurer = LazyStreamableConfigurer.of(
-                configurer -> {
-                    configurer.add(new SingletonCacheComponentProviderStrategy());
-                    configurer.add(new ComponentProcessorComponentProviderStrategy());
-                    configurer.add(new InstantiationStrategyComponentProviderStrategy());
-                    configurer.add(new UnboundPrototypeComponentProviderStrategy());
-                });
-
-        List<ComponentProviderStrategy> strategies = strategyConfigurer.customizer(strategyCustomizer)
-                .initialize(SimpleSingleElementContext.create(application));
+        return create(
+                orchestrator,
+                postConstructor,
+                application,
+                singletonCache,
+                scope,
+                BindingHierarchySnapshot.empty(),
+                createStrategies(application, strategyCustomizer)
+        );
+    }
 
+    /**
+     * Creates a new provider for the given scope, of which the bindings are initially shared with the given
+     * {@link BindingHierarchySnapshot template}. As the template and strategies can be shared by any number of
+     * providers, this is the preferred way to create providers for short-lived scopes.
+     *
+     * @param orchestrator the orchestrator in which the provider is installed
+     * @param postConstructor the post-constructor to use for created components
+     * @param application the application in which the provider is installed
+     * @param singletonCache the singleton cache of the provider
+     * @param scope the scope of the provider
+     * @param template the template of bindings which are initially available to the provider
+     * @param strategies the strategies to resolve components with
+     * @return a new provider
+     *
+     * @see #createStrategies(InjectionCapableApplication, Customizer)
+     *
+     * @since 0.6.1
+     */
+    public static HierarchyAwareComponentProvider create(
+            ComponentProviderOrchestrator orchestrator,
+            ComponentPostConstructor postConstructor,
+            InjectionCapableApplication application,
+            SingletonCache singletonCache,
+            Scope scope,
+            BindingHierarchySnapshot template,
+            List<ComponentProviderStrategy> strategies
+    ) {
         HierarchyAwareComponentProvider provider = new HierarchyAwareComponentProvider(
                 orchestrator,
                 postConstructor,
                 application,
                 singletonCache,
-                scope
+                scope,
+                template
         );
         provider.strategies(strategies);
         return provider;
     }
+
+    /**
+     * Creates the default strategies of a provider, customized by the given customizer. As strategies do not
+     * track state, the created strategies may be shared by multiple providers.
+     *
+     * @param application the application in which the provider is installed
+     * @param strategyCustomizer the customizer for the strategies
+     * @return the customized strategies
+     *
+     * @since 0.6.1
+     */
+    public static List<ComponentProviderStrategy> createStrategies(
+            InjectionCapableApplication application,
+            Customizer<StreamableConfigurer<InjectionCapableApplication, ComponentProviderStrategy>> strategyCustomizer
+    ) {
+        LazyStreamableConfigurer<InjectionCapableApplication, ComponentProviderStrategy> strategyConfigurer = LazyStreamableConfigurer.of(
+                configurer -> {
+                    configurer.add(new SingletonCacheComponentProviderStrategy());
+                    configurer.add(new ComponentProcessorComponentProviderStrategy());
+                    configurer.add(new InstantiationStrategyComponentProviderStrategy());
+                    configurer.add(new UnboundPrototypeComponentProviderStrategy());
+                });
+
+        return strategyConfigurer.customizer(strategyCustomizer)
+                .initialize(SimpleSingleElementContext.create(application));
+    }
 }
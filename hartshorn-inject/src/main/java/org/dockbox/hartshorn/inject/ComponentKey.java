@@ -42,7 +42,9 @@
  * <p>Component keys contain a {@link ParameterizableType} that describes the type of the component. This type can
  * be parameterized. Therefore, key instances differentiate between e.g. {@code List<String>} and {@code List<Integer>}.
  *
- * <p>Keys are immutable, to build a new key based on an existing key, use {@link #mutable()}.
+ * <p>Keys are immutable, to build a new key based on an existing key, use {@link #mutable()}. As keys are
+ * commonly used as map keys, their hash code is computed once on creation. Keys which are frequently re-created
+ * can be {@link ComponentKeyInterner interned}, so equal keys can be compared by identity.
  *
  * @param <T> the type of the component
  *
@@ -62,6 +64,9 @@
     private final Scope scope;
     private final boolean postConstructionAllowed;
     private final Tristate strict;
+    private final int hashCode;
+
+    private ComponentKeyView<T> view;
 
     private ComponentKey(
             ProviderSelectionStrategy strategy,
@@ -77,6 +82,15 @@ private ComponentKey(
         this.scope = scope;
         this.postConstructionAllowed = postConstructionAllowed;
         this.strict = strict;
+        this.hashCode = this.computeHashCode();
+    }
+
+    private int computeHashCode() {
+        int result = this.type.hashCode();
+        result = 31 * result + this.qualifier.hashCode();
+        result = 31 * result + Objects.hashCode(this.scope);
+        result = 31 * result + Boolean.hashCode(this.postConstructionAllowed);
+        return result;
     }
 
     /**
@@ -220,16 +234,22 @@ public Builder<T> mutable() {
     }
 
     /**
-     * Creates a new view of this key. The view will have the same type and qualifiers as this key. Views are not
+     * Returns a view of this key. The view will have the same type and qualifiers as this key. Views are not
      * attached to a scope, and do not indicate whether post-construction callbacks are allowed. This method is useful
-     * for comparing keys, or for use in maps.
+     * for comparing keys, or for use in maps. As keys are immutable, the view is only created once.
      *
      * <p>Views always retain the parameterization of the key.
      *
-     * @return a new view
+     * @return a view of this key
      */
     public ComponentKeyView<T> view() {
-        return new ComponentKeyView<>(this);
+        ComponentKeyView<T> view = this.view;
+        if (view == null) {
+            // Views are immutable, so racing threads will at most create an equal view
+            view = new ComponentKeyView<>(this);
+            this.view = view;
+        }
+        return view;
     }
 
     /**
@@ -266,7 +286,8 @@ public boolean equals(Object other) {
             return false;
         }
         ComponentKey<?> otherComponentKey = (ComponentKey<?>) other;
-        return this.postConstructionAllowed == otherComponentKey.postConstructionAllowed
+        return this.hashCode == otherComponentKey.hashCode
+                && this.postConstructionAllowed == otherComponentKey.postConstructionAllowed
                 && this.type.equals(otherComponentKey.type)
                 && Objects.equals(this.qualifier, otherComponentKey.qualifier)
                 && Objects.equals(this.scope, otherComponentKey.scope);
@@ -274,7 +295,7 @@ public boolean equals(Object other) {
 
     @Override
     public int hashCode() {
-        return Objects.hash(this.type, this.qualifier, this.scope, this.postConstructionAllowed);
+        return this.hashCode;
     }
 
     /**
@@ -570,7 +591,10 @@ public Builder<ComponentCollection<T>> collector() {
          * @return a new key
          */
         public ComponentKey<T> build() {
-            return new ComponentKey<>(this.strategy, this.type, this.qualifier, this.scope, this.postConstructionAllowed, this.strict);
+            // Copy the qualifier, so later changes to this builder do not affect the (cached hash code of the) key
+            CompositeQualifier qualifier = new CompositeQualifier();
+            qualifier.addAll(this.qualifier);
+            return new ComponentKey<>(this.strategy, this.type, qualifier, this.scope, this.postConstructionAllowed, this.strict);
         }
 
         /**
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.inject;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.dockbox.hartshorn.util.TypeUtils;
+
+/**
+ * An interner for {@link ComponentKey}s. Interning a key returns a canonical instance which is equal to the given
+ * key, so frequently re-created keys share a single instance. As {@link ComponentKey#equals(Object)} first compares
+ * by identity, interned keys are compared without inspecting their type, qualifier and scope.
+ *
+ * <p>Interning is optional, and keys which are not interned remain fully functional. Interned keys are retained for
+ * the lifetime of the interner, so interners should be scoped to the lifetime of the components they are used for,
+ * and should only be used for keys which are requested often.
+ *
+ * <p>Note that {@link ComponentKey#strategy()} and {@link ComponentKey#strict()} are not part of the identity of a
+ * key. Interning a key therefore returns the first registered instance of any equal key, which may use a different
+ * strategy or strict mode.
+ *
+ * @see ComponentKey
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public class ComponentKeyInterner {
+
+    private final Map<ComponentKey<?>, ComponentKey<?>> keys = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the canonical instance of the given key. If no equal key was interned before, the given key becomes
+     * the canonical instance.
+     *
+     * @param key the key to intern
+     * @param <T> the type of the component
+     *
+     * @return the canonical instance of the given key
+     */
+    public <T> ComponentKey<T> intern(ComponentKey<T> key) {
+        ComponentKey<?> interned = this.keys.putIfAbsent(key, key);
+        return interned == null ? key : TypeUtils.unchecked(interned, ComponentKey.class);
+    }
+
+    /**
+     * Returns the canonical instance of the key for the given type. If no equal key was interned before, a new
+     * key is created and becomes the canonical instance.
+     *
+     * @param type the type of the component
+     * @param <T> the type of the component
+     *
+     * @return the canonical instance of the key for the given type
+     *
+     * @see ComponentKey#of(Class)
+     */
+    public <T> ComponentKey<T> intern(Class<T> type) {
+        return this.intern(ComponentKey.of(type));
+    }
+
+    /**
+     * Returns the number of interned keys.
+     *
+     * @return the number of interned keys
+     */
+    public int size() {
+        return this.keys.size();
+    }
+
+    /**
+     * Removes all interned keys. Keys which were interned before remain valid, but are no longer returned as
+     * canonical instances.
+     */
+    public void clear() {
+        this.keys.clear();
+    }
+}
@@ -25,6 +25,9 @@
  * provider strategy. Scopes are not included in the view, as they are not part of the key's identity, and
  * are often only used to select an appropriate {@link ComponentProvider}.
  *
+ * <p>The hash code of a view is derived from the cached hash codes of its type and qualifier, so views can be
+ * used as map keys without re-hashing their type and qualifier on each lookup.
+ *
  * @param type The fully parameterized type of the component key
  * @param qualifier The qualifier of the component key
  *
@@ -78,4 +81,9 @@ public boolean matches(ComponentKey<?> componentKey) {
     public boolean matches(ComponentKeyView<?> componentKeyView) {
         return this.equals(componentKeyView);
     }
+
+    @Override
+    public int hashCode() {
+        return 31 * this.type.hashCode() + this.qualifier.hashCode();
+    }
 }
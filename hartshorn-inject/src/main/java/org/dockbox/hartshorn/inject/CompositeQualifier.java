@@ -32,6 +32,9 @@
  * only one {@link QualifierKey} of a specific type can be used. For example, a {@link ComponentKey} can be qualified
  * with one {@link QualifierKey} of type {@link Named}, but not with two or more.
  *
+ * <p>The hash code of a {@link CompositeQualifier} is cached until the qualifier is modified. Qualifiers which are
+ * part of a {@link ComponentKey} should not be modified, as keys cache their own hash code on creation.
+ *
  * @see QualifierKey
  * @see ComponentKey
  *
@@ -42,6 +45,7 @@
 public class CompositeQualifier implements Reportable {
 
     private final Map<Class<?>, QualifierKey<?>> qualifiers = new HashMap<>();
+    private int hashCode;
 
     /**
      * Adds the provided qualifier to this {@link CompositeQualifier}. If a qualifier of the same type already exists,
@@ -52,6 +56,7 @@ public class CompositeQualifier implements Reportable {
      */
     public CompositeQualifier add(QualifierKey<?> qualifier) {
         this.qualifiers.put(qualifier.type(), qualifier);
+        this.hashCode = 0;
         return this;
     }
 
@@ -88,7 +93,8 @@ public CompositeQualifier addAll(Set<QualifierKey<?>> qualifiers) {
      * @param qualifier The qualifier to add.
      */
     public void addAll(CompositeQualifier qualifier) {
-        this.addAll(qualifier.qualifiers());
+        this.qualifiers.putAll(qualifier.qualifiers);
+        this.hashCode = 0;
     }
 
     /**
@@ -115,7 +121,12 @@ public boolean equals(Object o) {
 
     @Override
     public int hashCode() {
-        return Objects.hash(this.qualifiers);
+        int hashCode = this.hashCode;
+        if (hashCode == 0 && !this.qualifiers.isEmpty()) {
+            hashCode = Objects.hash(this.qualifiers);
+            this.hashCode = hashCode;
+        }
+        return hashCode;
     }
 
     @Override
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.inject.binding;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.dockbox.hartshorn.inject.ComponentKeyView;
+
+/**
+ * An immutable snapshot of a collection of {@link BindingHierarchy binding hierarchies}, indexed by their key and by
+ * all types their key is assignable to. Snapshots are used as templates for {@link HierarchyCache hierarchy caches},
+ * so that a set of bindings can be indexed once and shared by any number of caches, rather than being re-bound to
+ * each cache individually. This is typically used to cheaply create short-lived scopes.
+ *
+ * <p>Note that only the index is immutable. The hierarchies themselves are shared as-is, so caches which use this
+ * snapshot as a template are expected to copy a hierarchy before modifying it.
+ *
+ * @see HierarchyCache
+ * @see CopyOnWriteBindingHierarchy
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public final class BindingHierarchySnapshot {
+
+    private static final BindingHierarchySnapshot EMPTY = new BindingHierarchySnapshot(Map.of(), Map.of());
+
+    private final Map<ComponentKeyView<?>, BindingHierarchy<?>> hierarchies;
+    private final Map<Class<?>, Set<ComponentKeyView<?>>> keysByAssignableType;
+
+    private BindingHierarchySnapshot(
+            Map<ComponentKeyView<?>, BindingHierarchy<?>> hierarchies,
+            Map<Class<?>, Set<ComponentKeyView<?>>> keysByAssignableType) {
+        this.hierarchies = hierarchies;
+        this.keysByAssignableType = keysByAssignableType;
+    }
+
+    /**
+     * Returns a snapshot which does not contain any hierarchies.
+     *
+     * @return an empty snapshot
+     */
+    public static BindingHierarchySnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Creates a new snapshot of the given hierarchies. If multiple hierarchies share the same key, the last
+     * hierarchy is retained.
+     *
+     * @param hierarchies the hierarchies to include in the snapshot
+     * @return a new snapshot
+     */
+    public static BindingHierarchySnapshot of(Collection<? extends BindingHierarchy<?>> hierarchies) {
+        if (hierarchies.isEmpty()) {
+            return EMPTY;
+        }
+        Map<ComponentKeyView<?>, BindingHierarchy<?>> hierarchiesByKey = new HashMap<>();
+        for (BindingHierarchy<?> hierarchy : hierarchies) {
+            hierarchiesByKey.put(hierarchy.key().view(), hierarchy);
+        }
+        Map<Class<?>, Set<ComponentKeyView<?>>> keysByAssignableType = new HashMap<>();
+        for (ComponentKeyView<?> view : hierarchiesByKey.keySet()) {
+            visitAssignableTypes(view.type().type(), type -> keysByAssignableType.computeIfAbsent(type, key -> new HashSet<>()).add(view));
+        }
+        Map<Class<?>, Set<ComponentKeyView<?>>> immutableIndex = new HashMap<>();
+        keysByAssignableType.forEach((type, keys) -> immutableIndex.put(type, Set.copyOf(keys)));
+        return new BindingHierarchySnapshot(Map.copyOf(hierarchiesByKey), Map.copyOf(immutableIndex));
+    }
+
+    /**
+     * Visits the given type and all types it is assignable to, being its supertypes, its interfaces, and
+     * {@link Object} for non-primitive types. Each type is visited exactly once.
+     *
+     * @param type the type to start from
+     * @param visitor the visitor to invoke for each assignable type
+     */
+    static void visitAssignableTypes(Class<?> type, Consumer<Class<?>> visitor) {
+        Set<Class<?>> visited = new HashSet<>();
+        Deque<Class<?>> pending = new ArrayDeque<>();
+        pending.add(type);
+        if (!type.isPrimitive()) {
+            // Interfaces do not extend Object, but are still assignable to it
+            pending.add(Object.class);
+        }
+        while (!pending.isEmpty()) {
+            Class<?> assignableType = pending.poll();
+            if (!visited.add(assignableType)) {
+                continue;
+            }
+            visitor.accept(assignableType);
+            if (assignableType.getSuperclass() != null) {
+                pending.add(assignableType.getSuperclass());
+            }
+            pending.addAll(List.of(assignableType.getInterfaces()));
+        }
+    }
+
+    /**
+     * Returns the hierarchy for the given key, if it is part of this snapshot.
+     *
+     * @param view the key of the hierarchy
+     * @return the hierarchy, or {@code null} if no hierarchy exists for the given key
+     */
+    @Nullable
+    public BindingHierarchy<?> hierarchy(ComponentKeyView<?> view) {
+        return this.hierarchies.get(view);
+    }
+
+    /**
+     * Returns the keys of all hierarchies in this snapshot.
+     *
+     * @return the keys of all hierarchies
+     */
+    public Set<ComponentKeyView<?>> keys() {
+        return this.hierarchies.keySet();
+    }
+
+    /**
+     * Returns the keys of all hierarchies of which the type is assignable to the given type.
+     *
+     * @param type the type to which the hierarchy types should be assignable
+     * @return the keys of all compatible hierarchies
+     */
+    public Set<ComponentKeyView<?>> keysAssignableTo(Class<?> type) {
+        return this.keysByAssignableType.getOrDefault(type, Set.of());
+    }
+
+    /**
+     * Returns all hierarchies in this snapshot.
+     *
+     * @return all hierarchies
+     */
+    public Collection<BindingHierarchy<?>> hierarchies() {
+        return this.hierarchies.values();
+    }
+
+    /**
+     * Returns whether this snapshot contains any hierarchies.
+     *
+     * @return {@code true} if this snapshot is empty, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return this.hierarchies.isEmpty();
+    }
+}
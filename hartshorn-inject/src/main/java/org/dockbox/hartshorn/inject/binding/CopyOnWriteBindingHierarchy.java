@@ -0,0 +1,165 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.inject.binding;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.SortedSet;
+
+import org.checkerframework.checker.nullness.qual.NonNull;
+import org.dockbox.hartshorn.inject.ComponentKey;
+import org.dockbox.hartshorn.inject.provider.InstantiationStrategy;
+import org.dockbox.hartshorn.util.option.Option;
+
+/**
+ * A {@link BindingHierarchy} which shares a hierarchy until it is modified. All read operations are delegated to the
+ * shared hierarchy, until the first modification is made. At that point the shared hierarchy is copied, and both the
+ * modification and all subsequent operations are applied to the copy. The shared hierarchy is never modified.
+ *
+ * <p>This allows a {@link BindingHierarchySnapshot} to be used by many {@link HierarchyCache caches} at once, while
+ * each cache can still modify its own bindings without affecting the others.
+ *
+ * @param <C> the type of the component
+ *
+ * @see BindingHierarchySnapshot
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public class CopyOnWriteBindingHierarchy<C> implements PrunableBindingHierarchy<C> {
+
+    private final BindingHierarchy<C> shared;
+
+    private volatile PrunableBindingHierarchy<C> copy;
+
+    public CopyOnWriteBindingHierarchy(BindingHierarchy<C> shared) {
+        this.shared = shared;
+    }
+
+    /**
+     * Returns whether the shared hierarchy has been copied, meaning this hierarchy has been modified.
+     *
+     * @return {@code true} if the shared hierarchy has been copied, {@code false} otherwise
+     */
+    public boolean copied() {
+        return this.copy != null;
+    }
+
+    private BindingHierarchy<C> current() {
+        PrunableBindingHierarchy<C> copy = this.copy;
+        return copy != null ? copy : this.shared;
+    }
+
+    private PrunableBindingHierarchy<C> writable() {
+        PrunableBindingHierarchy<C> copy = this.copy;
+        if (copy == null) {
+            synchronized (this) {
+                copy = this.copy;
+                if (copy == null) {
+                    copy = new NativePrunableBindingHierarchy<>(this.shared.key());
+                    for (Entry<Integer, InstantiationStrategy<C>> entry : this.shared) {
+                        copy.add(entry.getKey(), entry.getValue());
+                    }
+                    this.copy = copy;
+                }
+            }
+        }
+        return copy;
+    }
+
+    @Override
+    public List<InstantiationStrategy<C>> providers() {
+        return this.current().providers();
+    }
+
+    @Override
+    public BindingHierarchy<C> add(InstantiationStrategy<C> strategy) {
+        this.writable().add(strategy);
+        return this;
+    }
+
+    @Override
+    public BindingHierarchy<C> add(int priority, InstantiationStrategy<C> strategy) {
+        this.writable().add(priority, strategy);
+        return this;
+    }
+
+    @Override
+    public BindingHierarchy<C> addNext(InstantiationStrategy<C> strategy) {
+        this.writable().addNext(strategy);
+        return this;
+    }
+
+    @Override
+    public BindingHierarchy<C> merge(BindingHierarchy<C> hierarchy) {
+        // Merging yields a new hierarchy, so the shared hierarchy is never affected
+        return this.current().merge(hierarchy);
+    }
+
+    @Override
+    public int size() {
+        return this.current().size();
+    }
+
+    @Override
+    public Option<InstantiationStrategy<C>> get(int priority) {
+        return this.current().get(priority);
+    }
+
+    @Override
+    public int highestPriority() {
+        return this.current().highestPriority();
+    }
+
+    @Override
+    public SortedSet<Integer> priorities() {
+        return this.current().priorities();
+    }
+
+    @Override
+    public ComponentKey<C> key() {
+        return this.shared.key();
+    }
+
+    @NonNull
+    @Override
+    public Iterator<Entry<Integer, InstantiationStrategy<C>>> iterator() {
+        return this.current().iterator();
+    }
+
+    @Override
+    public boolean prune(int priority) {
+        return this.writable().prune(priority);
+    }
+
+    @Override
+    public int pruneAbove(int priority) {
+        return this.writable().pruneAbove(priority);
+    }
+
+    @Override
+    public int pruneBelow(int priority) {
+        return this.writable().pruneBelow(priority);
+    }
+
+    @Override
+    public String toString() {
+        return this.current().toString();
+    }
+}
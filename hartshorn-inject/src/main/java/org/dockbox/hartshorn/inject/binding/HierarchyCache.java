@@ -17,12 +17,14 @@
 package org.dockbox.hartshorn.inject.binding;
 
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
@@ -41,7 +43,18 @@
 import org.dockbox.hartshorn.util.introspect.ParameterizableType;
 
 /**
- * TODO: #1060 Add documentation
+ * Caches the {@link BindingHierarchy binding hierarchies} of a {@link HierarchicalBinder}. If no hierarchy exists for
+ * a requested key and strict mode is disabled, a hierarchy of a compatible type is looked up instead.
+ *
+ * <p>Loose lookups are resolved through an index of all types a hierarchy key is assignable to, so only hierarchies
+ * of which the type is assignable to the requested type are checked for compatibility. Types for which no compatible
+ * hierarchy exists are remembered until the next hierarchy is stored, so repeated unresolved lookups do not need to
+ * check any hierarchies.
+ *
+ * <p>A cache may be created from a {@link BindingHierarchySnapshot template}, in which case all hierarchies of the
+ * template are available without being stored in this cache. Hierarchies of the template are shared with all other
+ * caches using the same template, and are only copied into this cache once they are modified. This makes creating
+ * caches for short-lived scopes inexpensive, as only the hierarchies which are modified need to be tracked.
  *
  * @since 0.6.0
  *
@@ -50,42 +63,98 @@
 public class HierarchyCache {
 
     private final transient Map<ComponentKeyView<?>, BindingHierarchy<?>> hierarchies = new ConcurrentHashMap<>();
+    private final transient Map<Class<?>, Set<ComponentKeyView<?>>> hierarchiesByAssignableType = new ConcurrentHashMap<>();
+    private final transient Map<ParameterizableType, Long> unresolvedTypes = new ConcurrentHashMap<>();
+    private final transient AtomicLong version = new AtomicLong();
 
     private final InjectorConfiguration configuration;
     private final HierarchicalBinder globalBinder;
     private final HierarchicalBinder binder;
+    private final BindingHierarchySnapshot template;
 
     public HierarchyCache(
             InjectorConfiguration configuration,
             HierarchicalBinder globalBinder,
             HierarchicalBinder binder) {
+        this(configuration, globalBinder, binder, BindingHierarchySnapshot.empty());
+    }
+
+    public HierarchyCache(
+            InjectorConfiguration configuration,
+            HierarchicalBinder globalBinder,
+            HierarchicalBinder binder,
+            BindingHierarchySnapshot template) {
         this.configuration = configuration;
         this.globalBinder = globalBinder;
         this.binder = binder;
+        this.template = template;
     }
 
     public void put(BindingHierarchy<?> hierarchy) {
-        this.hierarchies.put(hierarchy.key().view(), hierarchy);
+        this.store(hierarchy.key().view(), hierarchy);
     }
 
     public <T> void put(ComponentKeyView<T> view, BindingHierarchy<T> updated) {
-        this.hierarchies.put(view, updated);
+        this.store(view, updated);
+    }
+
+    private void store(ComponentKeyView<?> view, BindingHierarchy<?> hierarchy) {
+        if (this.hierarchies.put(view, hierarchy) == null) {
+            this.indexAssignableTypes(view);
+        }
+        // Invalidates all unresolved types, as they may be compatible with the new hierarchy. Lookups that started
+        // before this point will record their result with the previous version, so it is never considered valid.
+        this.version.incrementAndGet();
+        if (!this.unresolvedTypes.isEmpty()) {
+            this.unresolvedTypes.clear();
+        }
+    }
+
+    private void indexAssignableTypes(ComponentKeyView<?> view) {
+        BindingHierarchySnapshot.visitAssignableTypes(view.type().type(), assignableType -> {
+            this.hierarchiesByAssignableType.computeIfAbsent(assignableType, key -> ConcurrentHashMap.newKeySet()).add(view);
+        });
     }
 
     public Set<BindingHierarchy<?>> hierarchies() {
-        return Set.copyOf(this.hierarchies.values());
+        if (this.template.isEmpty()) {
+            return Set.copyOf(this.hierarchies.values());
+        }
+        Map<ComponentKeyView<?>, BindingHierarchy<?>> hierarchies = new HashMap<>();
+        for (BindingHierarchy<?> hierarchy : this.template.hierarchies()) {
+            hierarchies.put(hierarchy.key().view(), hierarchy);
+        }
+        hierarchies.putAll(this.hierarchies);
+        return Set.copyOf(hierarchies.values());
     }
 
     public <T> BindingHierarchy<?> getOrComputeHierarchy(ComponentKey<T> key, boolean useGlobalIfAbsent) {
-        ComponentKeyView<T> view = key.view();
-        if (this.hierarchies.containsKey(view)) {
-            return this.hierarchies.get(view);
+        BindingHierarchy<?> hierarchy = this.lookupHierarchy(key.view());
+        if (hierarchy != null) {
+            return hierarchy;
         }
         else {
             return this.computeHierarchy(key, useGlobalIfAbsent);
         }
     }
 
+    @Nullable
+    private BindingHierarchy<?> lookupHierarchy(ComponentKeyView<?> view) {
+        BindingHierarchy<?> hierarchy = this.hierarchies.get(view);
+        if (hierarchy != null || this.template.isEmpty()) {
+            return hierarchy;
+        }
+        BindingHierarchy<?> sharedHierarchy = this.template.hierarchy(view);
+        if (sharedHierarchy == null || sharedHierarchy instanceof CollectionBindingHierarchy<?>) {
+            // Collection hierarchies are composed by identity, so they remain shared with the template
+            return sharedHierarchy;
+        }
+        // Tracked without invalidating unresolved types, as the key was already known through the template
+        BindingHierarchy<?> copyOnWrite = new CopyOnWriteBindingHierarchy<>(sharedHierarchy);
+        BindingHierarchy<?> existing = this.hierarchies.putIfAbsent(view, copyOnWrite);
+        return existing != null ? existing : copyOnWrite;
+    }
+
     @NonNull
     private <T> BindingHierarchy<?> computeHierarchy(ComponentKey<T> key, boolean useGlobalIfAbsent) {
         BindingHierarchy<?> hierarchy = this.tryCreateHierarchy(key, useGlobalIfAbsent);
@@ -133,10 +202,7 @@ protected boolean isStrict(ComponentKey<?> key) {
 
     @Nullable
     private <T> BindingHierarchy<?> looseLookupHierarchy(ComponentKey<T> key) {
-        Set<ComponentKeyView<?>> hierarchyKeys = this.hierarchies.keySet();
-        Set<ComponentKeyView<?>> compatibleKeys = hierarchyKeys.stream()
-                .filter(hierarchyKey -> this.isCompatible(key, hierarchyKey))
-                .collect(Collectors.toSet());
+        Set<ComponentKeyView<?>> compatibleKeys = this.lookupCompatibleKeys(key);
 
         if (this.isCollectionComponentKey(key)) {
             return this.composeCollectionHierarchy(TypeUtils.unchecked(key, ComponentKey.class), compatibleKeys);
@@ -144,7 +210,7 @@ private <T> BindingHierarchy<?> looseLookupHierarchy(ComponentKey<T> key) {
         else {
             if (compatibleKeys.size() == 1) {
                 ComponentKeyView<?> compatibleKey = CollectionUtilities.first(compatibleKeys);
-                return this.hierarchies.get(compatibleKey);
+                return this.lookupHierarchy(compatibleKey);
             }
             else {
                 // Acceptable, as long as there is a single highest priority binding. If multiple match, it's an error.
@@ -153,6 +219,43 @@ private <T> BindingHierarchy<?> looseLookupHierarchy(ComponentKey<T> key) {
         }
     }
 
+    private Set<ComponentKeyView<?>> lookupCompatibleKeys(ComponentKey<?> key) {
+        ParameterizableType type = key.parameterizedType();
+        long version = this.version.get();
+        Long unresolvedVersion = this.unresolvedTypes.get(type);
+        if (unresolvedVersion != null && unresolvedVersion == version) {
+            return Set.of();
+        }
+
+        Set<ComponentKeyView<?>> compatibleKeys = this.candidateKeys(key.type()).stream()
+                .filter(hierarchyKey -> this.isCompatible(key, hierarchyKey))
+                .collect(Collectors.toSet());
+        if (compatibleKeys.isEmpty()) {
+            this.unresolvedTypes.put(type, version);
+        }
+        return compatibleKeys;
+    }
+
+    private Set<ComponentKeyView<?>> candidateKeys(Class<?> type) {
+        Set<ComponentKeyView<?>> localKeys;
+        Set<ComponentKeyView<?>> templateKeys;
+        if (type.isArray()) {
+            // Array types are covariant, which is not reflected in their type hierarchy
+            localKeys = this.hierarchies.keySet();
+            templateKeys = this.template.keys();
+        }
+        else {
+            localKeys = this.hierarchiesByAssignableType.getOrDefault(type, Set.of());
+            templateKeys = this.template.keysAssignableTo(type);
+        }
+        if (templateKeys.isEmpty()) {
+            return localKeys;
+        }
+        Set<ComponentKeyView<?>> candidateKeys = new HashSet<>(templateKeys);
+        candidateKeys.addAll(localKeys);
+        return candidateKeys;
+    }
+
     private boolean isCollectionComponentKey(ComponentKey<?> key) {
         return ComponentCollection.class.isAssignableFrom(key.type());
     }
@@ -160,7 +263,7 @@ private boolean isCollectionComponentKey(ComponentKey<?> key) {
     @Nullable
     private BindingHierarchy<?> lookupHighestPriorityHierarchy(ComponentKey<?> key, Set<ComponentKeyView<?>> compatibleKeys) {
         Set<BindingHierarchy<?>> compatibleHierarchies = compatibleKeys.stream()
-                .map(this.hierarchies::get)
+                .map(this::lookupHierarchy)
                 .collect(Collectors.toSet());
 
         // Track entire hierarchy, so potential duplicate top-priority hierarchies can be reported
@@ -209,7 +312,7 @@ private boolean isCompatible(ParameterizableType originType, ParameterizableType
     private <T> BindingHierarchy<?> composeCollectionHierarchy(ComponentKey<ComponentCollection<T>> key, Set<ComponentKeyView<?>> compatibleKeys) {
         Set<CollectionBindingHierarchy<?>> hierarchies = new HashSet<>();
         for (ComponentKeyView<?> compatibleKey : compatibleKeys) {
-            BindingHierarchy<?> hierarchy = this.hierarchies.get(compatibleKey);
+            BindingHierarchy<?> hierarchy = this.lookupHierarchy(compatibleKey);
             if (hierarchy instanceof CollectionBindingHierarchy<?> collectionBindingHierarchy) {
                 hierarchies.add(collectionBindingHierarchy);
             }
@@ -34,13 +34,19 @@ public class ScopeAwareHierarchicalBinder implements HierarchicalBinder, Contain
     private final InjectionCapableApplication application;
     private final SingletonCache singletonCache;
     private final Scope scope;
+    private final BindingHierarchySnapshot template;
 
     private HierarchyCache hierarchyCache;
 
     public ScopeAwareHierarchicalBinder(InjectionCapableApplication application, SingletonCache singletonCache, Scope scope) {
+        this(application, singletonCache, scope, BindingHierarchySnapshot.empty());
+    }
+
+    public ScopeAwareHierarchicalBinder(InjectionCapableApplication application, SingletonCache singletonCache, Scope scope, BindingHierarchySnapshot template) {
         this.application = application;
         this.singletonCache = singletonCache;
         this.scope = scope;
+        this.template = template;
     }
 
     public HierarchyCache hierarchyCache() {
@@ -48,7 +54,8 @@ public HierarchyCache hierarchyCache() {
             this.hierarchyCache = new HierarchyCache(
                     this.application.environment().configuration(),
                     this.application.defaultBinder(),
-                    this
+                    this,
+                    this.template
             );
 
         }
@@ -16,6 +16,7 @@
 
 package org.dockbox.hartshorn.inject.graph;
 
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -24,7 +25,7 @@
 import org.dockbox.hartshorn.inject.provider.LifecycleType;
 import org.dockbox.hartshorn.util.CollectionUtilities;
 import org.dockbox.hartshorn.util.graph.GraphNode;
-import org.dockbox.hartshorn.util.graph.SimpleContentAwareGraph;
+import org.dockbox.hartshorn.util.graph.IndexedGraph;
 
 /**
  * A dependency graph is a graph of {@link DependencyContext} instances. It is used to resolve dependencies
@@ -35,6 +36,9 @@
  * a dependency graph from a collection of {@link DependencyContext} instances. This will ensure the graph
  * contains valid references internally.
  *
+ * <p>Dependency graphs are {@link IndexedGraph indexed}, and are therefore immutable once built. This allows the
+ * graph to be iterated and validated repeatedly without copying the relations between nodes.
+ *
  * @see DependencyContext
  * @see DependencyGraphValidator
  * @see DependencyGraphBuilder
@@ -43,7 +47,17 @@
  *
  * @author Guus Lieben
  */
-public class DependencyGraph extends SimpleContentAwareGraph<DependencyContext<?>> {
+public class DependencyGraph extends IndexedGraph<DependencyContext<?>> {
+
+    /**
+     * Creates a new dependency graph containing the given nodes, and all nodes connected to them. All nodes without
+     * parents are considered roots of the graph.
+     *
+     * @param nodes the nodes of the graph
+     */
+    public DependencyGraph(Collection<? extends GraphNode<DependencyContext<?>>> nodes) {
+        super(nodes, nodes);
+    }
 
     @Override
     public Set<GraphNode<DependencyContext<?>>> roots() {
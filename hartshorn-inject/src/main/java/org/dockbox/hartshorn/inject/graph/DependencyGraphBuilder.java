@@ -18,6 +18,7 @@
 
 import java.util.Collection;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -39,7 +40,6 @@
 import org.dockbox.hartshorn.util.TypeUtils;
 import org.dockbox.hartshorn.util.collections.ArrayListMultiMap;
 import org.dockbox.hartshorn.util.collections.MultiMap;
-import org.dockbox.hartshorn.util.graph.Graph;
 import org.dockbox.hartshorn.util.graph.GraphNode;
 import org.dockbox.hartshorn.util.graph.MutableContainableGraphNode;
 import org.dockbox.hartshorn.util.graph.SimpleGraphNode;
@@ -106,20 +106,25 @@ public static DependencyGraphBuilder create(DependencyResolver resolver, Hierarc
     public DependencyGraph buildDependencyGraph(Iterable<DependencyContext<?>> dependencyContexts) throws DependencyResolutionException {
         Set<DependencyContext<?>> contexts = this.inflateDependencyContexts(dependencyContexts);
         MultiMap<PriorityComponentKey, MutableContainableGraphNode<DependencyContext<?>>> nodes = this.computeNodeMap(contexts);
-        DependencyGraph graph = new DependencyGraph();
+        // Nodes are only collected while relations are built, the indexed graph is created once all relations are known
+        Set<GraphNode<DependencyContext<?>>> graphNodes = new LinkedHashSet<>();
         // Don't use inflated contexts here, as we want to keep the original context for the graph. If the inflated contexts are relevant,
         // they've already been attached to the component key of the original context.
-        this.buildDependencyNodes(dependencyContexts, nodes, graph);
-        return graph;
+        this.buildDependencyNodes(dependencyContexts, nodes, graphNodes);
+        return new DependencyGraph(graphNodes);
     }
 
     private void buildDependencyNodes(
         Iterable<DependencyContext<?>> dependencyContexts,
         MultiMap<PriorityComponentKey, MutableContainableGraphNode<DependencyContext<?>>> nodes,
-        Graph<DependencyContext<?>> graph
+        Set<GraphNode<DependencyContext<?>>> graphNodes
     ) {
+        MultiMap<ComponentKey<?>, PriorityComponentKey> keysByComponent = new ArrayListMultiMap<>();
+        for (PriorityComponentKey key : nodes.keySet()) {
+            keysByComponent.put(key.componentKey(), key);
+        }
         for (DependencyContext<?> dependencyContext : dependencyContexts) {
-            this.buildSingleDependencyNode(nodes, graph, dependencyContext);
+            this.buildSingleDependencyNode(nodes, keysByComponent, graphNodes, dependencyContext);
         }
     }
 
@@ -200,24 +205,25 @@ protected void visitContextForNodeMapping(
 
     private void buildSingleDependencyNode(
         MultiMap<PriorityComponentKey, MutableContainableGraphNode<DependencyContext<?>>> nodes,
-        Graph<DependencyContext<?>> graph,
+        MultiMap<ComponentKey<?>, PriorityComponentKey> keysByComponent,
+        Set<GraphNode<DependencyContext<?>>> graphNodes,
         DependencyContext<?> dependencyContext
     ) {
         Collection<MutableContainableGraphNode<DependencyContext<?>>> dependencyContexts =
             collectDependencyContexts(nodes, dependencyContext);
-        graph.addRoots(Set.copyOf(dependencyContexts));
+        graphNodes.addAll(dependencyContexts);
 
         for (MutableContainableGraphNode<DependencyContext<?>> componentNode : dependencyContexts) {
             DependencyContext<?> componentDependencyContext = componentNode.value();
             for (ComponentKey<?> dependency : componentDependencyContext.dependencies().allValues()) {
-                Set<GraphNode<DependencyContext<?>>> dependencyNodes = this.getHighestPriorityNodes(nodes, dependency, key -> {
+                Set<GraphNode<DependencyContext<?>>> dependencyNodes = this.getHighestPriorityNodes(nodes, keysByComponent, dependency, key -> {
                     if (key.componentKey().equals(dependencyContext.componentKey())) {
                         return key.priority() < dependencyContext.priority();
                     }
                     return true;
                 });
                 this.checkNoDuplicateContexts(dependency, dependencyNodes);
-                graph.addRoots(dependencyNodes);
+                graphNodes.addAll(dependencyNodes);
                 dependencyContexts.forEach(node -> node.addParents(dependencyNodes));
             }
         }
@@ -225,12 +231,13 @@ private void buildSingleDependencyNode(
 
     private Set<GraphNode<DependencyContext<?>>> getHighestPriorityNodes(
         MultiMap<PriorityComponentKey, MutableContainableGraphNode<DependencyContext<?>>> nodes,
+        MultiMap<ComponentKey<?>, PriorityComponentKey> keysByComponent,
         ComponentKey<?> componentKey,
         Predicate<PriorityComponentKey> predicate
     ) {
         Set<GraphNode<DependencyContext<?>>> highestPriorityNodes = new HashSet<>();
-        for (PriorityComponentKey key : nodes.keySet()) {
-            if (key.componentKey().equals(componentKey) && predicate.test(key)) {
+        for (PriorityComponentKey key : keysByComponent.get(componentKey)) {
+            if (predicate.test(key)) {
                 Collection<MutableContainableGraphNode<DependencyContext<?>>> componentNodes = nodes.get(key);
                 int highestPriority = componentNodes.stream()
                     .mapToInt(node -> node.value().priority())
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.inject.graph.support;
+
+import java.util.concurrent.Executor;
+
+import org.dockbox.hartshorn.inject.graph.DependencyGraph;
+import org.dockbox.hartshorn.inject.graph.declaration.DependencyContext;
+import org.dockbox.hartshorn.inject.provider.ComponentProvider;
+import org.dockbox.hartshorn.util.graph.ConcurrentBreadthFirstGraphVisitor;
+import org.dockbox.hartshorn.util.graph.GraphException;
+import org.dockbox.hartshorn.util.graph.GraphNode;
+
+/**
+ * Activates all non-lazy singletons in a {@link DependencyGraph} by requesting them from a {@link ComponentProvider}.
+ * Singletons are activated row by row, so all dependencies of a singleton have been activated before the singleton
+ * itself is requested. Singletons within the same row do not depend on one another, and are activated concurrently
+ * on the configured {@link Executor}.
+ *
+ * <p>This is primarily useful when singletons perform blocking work as part of their initialization, in which case
+ * an executor backed by virtual threads can significantly reduce the time spent activating singletons.
+ *
+ * @see ConcurrentBreadthFirstGraphVisitor
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public class ConcurrentSingletonActivationVisitor implements ConcurrentBreadthFirstGraphVisitor<DependencyContext<?>> {
+
+    private final ComponentProvider componentProvider;
+    private final Executor executor;
+
+    public ConcurrentSingletonActivationVisitor(ComponentProvider componentProvider, Executor executor) {
+        this.componentProvider = componentProvider;
+        this.executor = executor;
+    }
+
+    @Override
+    public Executor executor() {
+        return this.executor;
+    }
+
+    @Override
+    public boolean visit(GraphNode<DependencyContext<?>> node) throws GraphException {
+        DependencyContext<?> dependencyContext = node.value();
+        if (DependencyGraph.isSingletonNode(node) && !dependencyContext.lazy()) {
+            try {
+                // No need to store the instance, as the provider will retain singletons for us
+                this.componentProvider.get(dependencyContext.componentKey());
+            }
+            catch (RuntimeException e) {
+                throw new GraphException("Failed to activate singleton " + dependencyContext.componentKey(), e);
+            }
+        }
+        return true;
+    }
+}
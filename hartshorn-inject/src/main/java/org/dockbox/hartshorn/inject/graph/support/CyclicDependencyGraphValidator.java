@@ -17,8 +17,9 @@
 package org.dockbox.hartshorn.inject.graph.support;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
 import java.util.List;
-import java.util.Set;
 
 import org.dockbox.hartshorn.inject.ComponentKey;
 import org.dockbox.hartshorn.inject.graph.DependencyGraph;
@@ -46,6 +47,11 @@
  * depends on component C, and component C depends on component A, a cyclic dependency is detected. This is true
  * even if component A does not directly depend on component C.
  *
+ * <p>Cycles are detected using an iterative variant of Tarjan's strongly connected components algorithm, which visits
+ * every node and dependency exactly once. Only nodes which need immediate resolution are considered, as nodes which
+ * can be lazily initialized do not pose a problem. If a cycle is found, the shortest cyclic path through the first
+ * affected node is reported.
+ *
  * @see CyclicComponentException
  * @see ComponentDiscoveryList
  *
@@ -57,27 +63,206 @@ public class CyclicDependencyGraphValidator implements DependencyGraphValidator
 
     @Override
     public void validateBeforeConfiguration(DependencyGraph dependencyGraph, Introspector introspector) throws ApplicationException {
-        Set<GraphNode<DependencyContext<?>>> nodes = dependencyGraph.nodes();
-        for (GraphNode<DependencyContext<?>> node : nodes) {
-            if (node.isLeaf()) {
-                continue;
+        List<GraphNode<DependencyContext<?>>> cyclicPath = this.findCyclicPath(dependencyGraph);
+        if (!cyclicPath.isEmpty()) {
+            ComponentDiscoveryList discoveryList = this.createDiscoveryList(cyclicPath, introspector);
+            throw new CyclicComponentException(discoveryList, cyclicPath.getFirst().value().origin());
+        }
+    }
+
+    /**
+     * Finds a cyclic dependency in the given graph. This will ignore any nodes that do not need immediate resolution,
+     * as they can be lazily initialized and therefore do not pose a problem. If a cyclic dependency is found, the
+     * returned path starts and ends with the same node, and contains all nodes in the cycle in between.
+     *
+     * @param dependencyGraph the graph to check
+     * @return the nodes that form a cyclic dependency, or an empty list if no cyclic dependency was found
+     */
+    public List<GraphNode<DependencyContext<?>>> findCyclicPath(DependencyGraph dependencyGraph) {
+        int[][] successors = immediateSuccessors(dependencyGraph);
+        int[] components = stronglyConnectedComponents(successors);
+
+        int[] componentSizes = new int[successors.length];
+        for (int component : components) {
+            componentSizes[component]++;
+        }
+
+        for (int node = 0; node < successors.length; node++) {
+            if (componentSizes[components[node]] > 1 || contains(successors[node], node)) {
+                return shortestCycle(node, successors, components).stream()
+                        .<GraphNode<DependencyContext<?>>>map(dependencyGraph::node)
+                        .toList();
+            }
+        }
+        return List.of();
+    }
+
+    /**
+     * Collects the successors of all nodes, limited to the nodes that need immediate resolution. Node indices match
+     * the indices of the given graph.
+     *
+     * @param dependencyGraph the graph to collect successors for
+     * @return the successors of each node, indexed by node
+     */
+    private static int[][] immediateSuccessors(DependencyGraph dependencyGraph) {
+        int size = dependencyGraph.size();
+        boolean[] immediate = new boolean[size];
+        for (int node = 0; node < size; node++) {
+            immediate[node] = needsImmediateResolution(dependencyGraph, node);
+        }
+
+        int[][] successors = new int[size][];
+        for (int node = 0; node < size; node++) {
+            int count = 0;
+            int[] nodeSuccessors = new int[immediate[node] ? dependencyGraph.childCount(node) : 0];
+            for (int position = 0; position < nodeSuccessors.length; position++) {
+                int child = dependencyGraph.child(node, position);
+                if (immediate[child]) {
+                    nodeSuccessors[count++] = child;
+                }
+            }
+            successors[node] = count == nodeSuccessors.length ? nodeSuccessors : Arrays.copyOf(nodeSuccessors, count);
+        }
+        return successors;
+    }
+
+    private static boolean needsImmediateResolution(DependencyGraph dependencyGraph, int node) {
+        ComponentKey<?> dependencyCandidate = dependencyGraph.node(node).value().componentKey();
+        // If none of the dependents need immediate resolution, then we can cut potential cyclic graphs short.
+        for (int position = 0; position < dependencyGraph.childCount(node); position++) {
+            DependencyContext<?> dependent = dependencyGraph.node(dependencyGraph.child(node, position)).value();
+            if (dependent.needsImmediateResolution(dependencyCandidate)) {
+                return true;
             }
-            if (node instanceof ContainableGraphNode<DependencyContext<?>> contextContainableGraphNode
-                && contextContainableGraphNode.isRoot()) {
+        }
+        return false;
+    }
+
+    /**
+     * Computes the strongly connected components of the given graph using an iterative variant of Tarjan's algorithm,
+     * so deep dependency chains cannot overflow the call stack.
+     *
+     * @param successors the successors of each node, indexed by node
+     * @return the component of each node, indexed by node
+     */
+    private static int[] stronglyConnectedComponents(int[][] successors) {
+        int count = successors.length;
+        int[] index = new int[count];
+        int[] lowLink = new int[count];
+        int[] components = new int[count];
+        int[] edgeCursors = new int[count];
+        boolean[] onStack = new boolean[count];
+        int[] stack = new int[count];
+        int[] callStack = new int[count];
+        Arrays.fill(index, -1);
+
+        int stackSize = 0;
+        int nextIndex = 0;
+        int nextComponent = 0;
+        for (int root = 0; root < count; root++) {
+            if (index[root] != -1) {
                 continue;
             }
-            List<GraphNode<DependencyContext<?>>> graphNodes = this.checkNodeNotCyclicRecursive(node, new ArrayList<>());
-            if (!graphNodes.isEmpty()) {
-                ComponentDiscoveryList discoveryList = this.createDiscoveryList(graphNodes, introspector);
-                throw new CyclicComponentException(discoveryList, node.value().origin());
+            int depth = 0;
+            callStack[depth++] = root;
+            index[root] = lowLink[root] = nextIndex++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+
+            while (depth > 0) {
+                int node = callStack[depth - 1];
+                if (edgeCursors[node] < successors[node].length) {
+                    int successor = successors[node][edgeCursors[node]++];
+                    if (index[successor] == -1) {
+                        index[successor] = lowLink[successor] = nextIndex++;
+                        stack[stackSize++] = successor;
+                        onStack[successor] = true;
+                        callStack[depth++] = successor;
+                    }
+                    else if (onStack[successor]) {
+                        lowLink[node] = Math.min(lowLink[node], index[successor]);
+                    }
+                    continue;
+                }
+
+                depth--;
+                if (depth > 0) {
+                    int parent = callStack[depth - 1];
+                    lowLink[parent] = Math.min(lowLink[parent], lowLink[node]);
+                }
+                if (lowLink[node] == index[node]) {
+                    int member;
+                    do {
+                        member = stack[--stackSize];
+                        onStack[member] = false;
+                        components[member] = nextComponent;
+                    }
+                    while (member != node);
+                    nextComponent++;
+                }
+            }
+        }
+        return components;
+    }
+
+    /**
+     * Finds the shortest cycle from and to the given node, limited to the strongly connected component of that node.
+     *
+     * @param start the node to start from
+     * @param successors the successors of each node, indexed by node
+     * @param components the component of each node, indexed by node
+     * @return the cyclic path, starting and ending with the given node
+     */
+    private static List<Integer> shortestCycle(int start, int[][] successors, int[] components) {
+        int[] predecessors = new int[successors.length];
+        Arrays.fill(predecessors, -1);
+        predecessors[start] = start;
+
+        int[] queue = new int[successors.length];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = start;
+        while (head < tail) {
+            int node = queue[head++];
+            for (int successor : successors[node]) {
+                if (components[successor] != components[start]) {
+                    continue;
+                }
+                if (successor == start) {
+                    LinkedList<Integer> path = new LinkedList<>();
+                    path.add(start);
+                    for (int current = node; current != start; current = predecessors[current]) {
+                        path.addFirst(current);
+                    }
+                    path.addFirst(start);
+                    return path;
+                }
+                if (predecessors[successor] == -1) {
+                    predecessors[successor] = node;
+                    queue[tail++] = successor;
+                }
+            }
+        }
+        // Unreachable for nodes in a cyclic component, but avoids reporting an incomplete path
+        return List.of();
+    }
+
+    private static boolean contains(int[] values, int value) {
+        for (int candidate : values) {
+            if (candidate == value) {
+                return true;
             }
         }
+        return false;
     }
 
     /**
      * Checks if a node is part of a cyclic dependency. This will ignore any nodes that do not need immediate
      * resolution, as they can be lazily initialized and therefore do not pose a problem.
      *
+     * <p>This check is recursive and only considers paths from the given node. To check an entire graph, use
+     * {@link #findCyclicPath(DependencyGraph)} instead.
+     *
      * @param node the node to check
      * @param knownNodes the nodes that have already been checked
      *
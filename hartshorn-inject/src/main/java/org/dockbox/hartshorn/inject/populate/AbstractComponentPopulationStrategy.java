@@ -27,6 +27,7 @@
 import org.dockbox.hartshorn.inject.targets.InjectionPoint;
 import org.dockbox.hartshorn.util.ApplicationException;
 import org.dockbox.hartshorn.util.ApplicationRuntimeException;
+import org.dockbox.hartshorn.util.collections.ConcurrentWeakKeyMap;
 
 /**
  * A base implementation of {@link ComponentPopulationStrategy} which provides the basic functionality for
@@ -38,6 +39,12 @@
  * implementation yields {@code null}, and the injection point is indicated to be required by the active
  * {@link RequireInjectionPointRule}s, then a {@link ComponentRequiredException} will be thrown.
  *
+ * <p>Whether the strategy is applicable to an injection point, and whether an injection point is required, only
+ * depends on the declaration of the injection point. Both are therefore evaluated once per injection point, and
+ * cached for subsequent populations. Injection points are compared by identity, so callers are expected to reuse
+ * injection points across populations of the same type, as {@link StrategyComponentPopulator} does. Injection points
+ * are only weakly referenced, so cached results are discarded once an injection point is no longer in use.
+ *
  * @see RequireInjectionPointRule
  * @see ComponentRequiredException
  * @see ComponentPopulationStrategy
@@ -49,6 +56,8 @@
 public abstract class AbstractComponentPopulationStrategy implements ComponentPopulationStrategy {
 
     private final Set<RequireInjectionPointRule> requiresComponentRules;
+    private final ConcurrentWeakKeyMap<ComponentInjectionPoint<?>, Boolean> applicableInjectionPoints = new ConcurrentWeakKeyMap<>();
+    private final ConcurrentWeakKeyMap<InjectionPoint, Boolean> requiredInjectionPoints = new ConcurrentWeakKeyMap<>();
 
     protected AbstractComponentPopulationStrategy(Set<RequireInjectionPointRule> requiresComponentRules) {
         this.requiresComponentRules = requiresComponentRules;
@@ -56,7 +65,7 @@ protected AbstractComponentPopulationStrategy(Set<RequireInjectionPointRule> req
 
     @Override
     public <T> void populate(PopulateComponentContext<T> context, ComponentInjectionPoint<T> injectionPoint) throws ApplicationException {
-        if (this.isApplicable(injectionPoint)) {
+        if (this.applicableInjectionPoints.computeIfAbsent(injectionPoint, this::isApplicable)) {
             List<Object> objectsToInject = this.resolveInjectedObjects(context, injectionPoint);
             injectionPoint.processObjects(context, objectsToInject);
         }
@@ -78,14 +87,14 @@ public <T> void populate(PopulateComponentContext<T> context, ComponentInjection
     protected List<Object> resolveInjectedObjects(PopulateComponentContext<?> context, ComponentInjectionPoint<?> injectionPoint) {
         SequencedCollection<InjectionPoint> injectionPoints = injectionPoint.injectionPoints();
 
-        List<Object> objectsToInject = new ArrayList<>();
+        List<Object> objectsToInject = new ArrayList<>(injectionPoints.size());
         for(InjectionPoint point : injectionPoints) {
             Object object;
             try {
                 object = this.resolveInjectedObject(point, context);
             }
             catch(ApplicationException | ApplicationRuntimeException e) {
-                if (this.shouldRequire(point)) {
+                if (this.isRequired(point)) {
                     throw new ComponentResolutionException("Could not resolve value for injection point " + point.injectionPoint().qualifiedName(), e);
                 }
                 else {
@@ -94,7 +103,7 @@ protected List<Object> resolveInjectedObjects(PopulateComponentContext<?> contex
                 }
             }
 
-            if (object == null && this.shouldRequire(point)) {
+            if (object == null && this.isRequired(point)) {
                 throw new ComponentRequiredException("Injection point " + point.injectionPoint().qualifiedName() + " is required, but could not be provided");
             }
             objectsToInject.add(object);
@@ -123,6 +132,10 @@ protected List<Object> resolveInjectedObjects(PopulateComponentContext<?> contex
      */
     protected abstract Object resolveInjectedObject(InjectionPoint injectionPoint, PopulateComponentContext<?> context) throws ApplicationException, ApplicationRuntimeException;
 
+    private boolean isRequired(InjectionPoint injectionPoint) {
+        return this.requiredInjectionPoints.computeIfAbsent(injectionPoint, this::shouldRequire);
+    }
+
     /**
      * Indicates whether the given injection point should be required. This is determined by the active
      * {@link RequireInjectionPointRule}s.
@@ -35,6 +35,7 @@
 import org.dockbox.hartshorn.util.Customizer;
 import org.dockbox.hartshorn.util.LazyStreamableConfigurer;
 import org.dockbox.hartshorn.util.StreamableConfigurer;
+import org.dockbox.hartshorn.util.collections.ConcurrentWeakKeyMap;
 import org.dockbox.hartshorn.util.introspect.convert.ConversionService;
 
 /**
@@ -77,6 +78,7 @@ public class InjectPopulationStrategy extends AbstractComponentPopulationStrateg
     private final ComponentInjectionPointsResolver injectionPointsResolver;
     private final ComponentProvider componentProvider;
     private final Set<InjectParameterResolver> parameterResolvers;
+    private final ConcurrentWeakKeyMap<InjectionPoint, ComponentKey<?>> componentKeys = new ConcurrentWeakKeyMap<>();
     private ConversionService conversionService;
 
     protected InjectPopulationStrategy(
@@ -115,7 +117,9 @@ protected Object resolveInjectedObject(InjectionPoint injectionPoint, PopulateCo
             }
         }
 
-        ComponentKey<?> componentKey = this.componentKeyResolver.resolve(injectionPoint.injectionPoint());
+        // Keys only depend on the declaration of the injection point, so they can be resolved once per injection point.
+        // Injection points are weakly referenced, so keys of injection points that are no longer used are discarded.
+        ComponentKey<?> componentKey = this.componentKeys.computeIfAbsent(injectionPoint, point -> this.componentKeyResolver.resolve(point.injectionPoint()));
         ComponentRequestContext requestContext = ComponentRequestContext.createForInjectionPoint(injectionPoint);
         Object component = this.componentProvider.get(componentKey, requestContext);
 
@@ -27,10 +27,12 @@
 import org.dockbox.hartshorn.util.Customizer;
 import org.dockbox.hartshorn.util.LazyStreamableConfigurer;
 import org.dockbox.hartshorn.util.StreamableConfigurer;
+import org.dockbox.hartshorn.util.TypeUtils;
 import org.dockbox.hartshorn.util.introspect.view.TypeView;
 
 import java.util.List;
-import java.util.Set;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A {@link ComponentPopulator} that populates components using a set of {@link ComponentPopulationStrategy}s. The
@@ -41,6 +43,12 @@
  * return all injection points of a given type, without prior filtering. Filtering is expected to be done by the
  * {@link ComponentPopulationStrategy strategies}.
  *
+ * <p>As the injection points of a type do not change during the lifetime of the application, they are resolved
+ * once per type and reused for all subsequent instances of that type. This ensures injection points are stable
+ * across populations, which allows strategies to cache metadata about individual injection points. Types are
+ * compared including their type parameters, so differently parameterized views of the same class do not share
+ * injection points.
+ *
  * @see ComponentPopulationStrategy
  *
  * @since 0.6.0
@@ -52,6 +60,7 @@ public class StrategyComponentPopulator implements ComponentPopulator {
     private final List<ComponentPopulationStrategy> strategies;
     private final ProxyOrchestrator proxyOrchestrator;
     private final ComponentInjectionPointsResolver injectionPointsResolver;
+    private final Map<TypeView<?>, List<? extends ComponentInjectionPoint<?>>> injectionPoints = new ConcurrentHashMap<>();
 
     public StrategyComponentPopulator(
             ProxyOrchestrator proxyOrchestrator,
@@ -89,7 +98,10 @@ public <T> T populate(T instance) {
 
     protected <T> void populate(PopulateComponentContext<T> context) {
         TypeView<T> type = context.type();
-        Set<ComponentInjectionPoint<T>> injectionPoints = this.injectionPointsResolver.resolve(type);
+        List<ComponentInjectionPoint<T>> injectionPoints = this.injectionPoints(type);
+        if (injectionPoints.isEmpty()) {
+            return;
+        }
 
         for(ComponentPopulationStrategy strategy : this.strategies) {
             for(ComponentInjectionPoint<T> injectionPoint : injectionPoints) {
@@ -103,6 +115,23 @@ protected <T> void populate(PopulateComponentContext<T> context) {
         }
     }
 
+    /**
+     * Returns the injection points of the given type. Injection points are resolved once per type, and cached
+     * for subsequent requests. As resolvers receive the full type view, including its type parameters, the view
+     * itself is used as cache key rather than its raw type.
+     *
+     * @param type the type to resolve the injection points for
+     * @param <T> the type of the component
+     * @return the injection points of the given type
+     */
+    protected <T> List<ComponentInjectionPoint<T>> injectionPoints(TypeView<T> type) {
+        List<? extends ComponentInjectionPoint<?>> injectionPoints = this.injectionPoints.get(type);
+        if (injectionPoints == null) {
+            injectionPoints = this.injectionPoints.computeIfAbsent(type, key -> List.copyOf(this.injectionPointsResolver.resolve(type)));
+        }
+        return TypeUtils.unchecked(injectionPoints, List.class);
+    }
+
     public static ContextualInitializer<InjectionCapableApplication, ComponentPopulator> create(Customizer<Configurer> customizer) {
         return context -> {
             Configurer configurer = new Configurer();
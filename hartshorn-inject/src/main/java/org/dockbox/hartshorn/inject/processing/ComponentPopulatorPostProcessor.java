@@ -84,6 +84,12 @@ public <T> T initializeComponent(InjectionCapableApplication application, @Nulla
         return instance;
     }
 
+    @Override
+    public <T> boolean advises(TypeView<T> type) {
+        // Only finalizes the proxy factory, if it exists
+        return false;
+    }
+
     protected <T> boolean permitsProxying(InjectionCapableApplication application, @Nullable T instance,
             ComponentProcessingContext<T> processingContext) {
         return processingContext.permitsProxying();
@@ -21,6 +21,7 @@
 import org.dockbox.hartshorn.proxy.Proxy;
 import org.dockbox.hartshorn.util.ApplicationException;
 import org.dockbox.hartshorn.util.TypeUtils;
+import org.dockbox.hartshorn.util.introspect.view.TypeView;
 
 /**
  * A component post processor is responsible for processing a component after it has been created. This
@@ -49,6 +50,49 @@ public <T> boolean isCompatible(ComponentProcessingContext<T> processingContext)
         return true;
     }
 
+    /**
+     * Checks if this component post processor may have any effect on components of the specified type. This
+     * is checked once for each component type and proxying permission, after which processors which are not
+     * applicable are skipped entirely for components of that type. By default, this method will always return
+     * {@code true}.
+     *
+     * <p>Subclasses should only return {@code false} if none of the processing phases would affect components of
+     * the given type, regardless of the processed instance. Subclasses which add behavior to additional processing
+     * phases should ensure this method still reflects that behavior.
+     *
+     * @param type The type of the component to be processed
+     * @param permitsProxying Whether the component to be processed may be proxied
+     * @param <T> The type of the component to be processed
+     *
+     * @return {@code true} if components of the given type may be affected, {@code false} otherwise
+     *
+     * @since 0.6.1
+     */
+    public <T> boolean isApplicable(TypeView<T> type, boolean permitsProxying) {
+        return true;
+    }
+
+    /**
+     * Checks if this component post processor may register advice on the {@link org.dockbox.hartshorn.proxy.ProxyFactory}
+     * of proxy-permitting components of the specified type. A proxy factory is only prepared for a component if at
+     * least one applicable post processor may advise it, or if no concrete instance of the component can be created
+     * without a proxy. Components for which no proxy factory is prepared are not proxied. By default, this method will
+     * always return {@code true}, so a proxy factory is available to all post processors which do not override it.
+     *
+     * <p>Post processors which do not use the proxy factory, or only use it to finalize the component, should return
+     * {@code false} to avoid unnecessary proxy factories being created.
+     *
+     * @param type The type of the component to be processed
+     * @param <T> The type of the component to be processed
+     *
+     * @return {@code true} if this post processor may advise components of the given type, {@code false} otherwise
+     *
+     * @since 0.6.1
+     */
+    public <T> boolean advises(TypeView<T> type) {
+        return true;
+    }
+
     @Override
     public final <T> T process(ComponentProcessingContext<T> processingContext) throws ApplicationException {
         T instance = processingContext.instance();
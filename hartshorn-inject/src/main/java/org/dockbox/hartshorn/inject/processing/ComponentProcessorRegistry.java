@@ -16,9 +16,12 @@
 
 package org.dockbox.hartshorn.inject.processing;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 import org.dockbox.hartshorn.util.collections.MultiMap;
+import org.dockbox.hartshorn.util.introspect.view.TypeView;
 import org.dockbox.hartshorn.util.option.Option;
 
 public interface ComponentProcessorRegistry {
@@ -41,4 +44,52 @@ public interface ComponentProcessorRegistry {
 
     MultiMap<Integer, ComponentPreProcessor> preProcessors();
 
+    /**
+     * Returns all registered {@link ComponentPostProcessor post-processors}, ordered by priority. This is the order
+     * in which post-processors are applied to components. Implementations are encouraged to cache the returned list
+     * until the registered post-processors change, as it is requested for every processed component.
+     *
+     * @return all registered post-processors, ordered by priority
+     *
+     * @since 0.6.1
+     */
+    default List<ComponentPostProcessor> postProcessorPipeline() {
+        return pipelineOf(this.postProcessors());
+    }
+
+    /**
+     * Returns the registered {@link ComponentPostProcessor post-processors} which are {@link
+     * ComponentPostProcessor#isApplicable(TypeView, boolean) applicable} to components of the given type, ordered by
+     * priority. Implementations are encouraged to cache the returned list for each type and proxying permission, until
+     * the registered post-processors change.
+     *
+     * @param type the type of the processed component
+     * @param permitsProxying whether the processed component may be proxied
+     * @return the applicable post-processors, ordered by priority
+     *
+     * @since 0.6.1
+     */
+    default List<ComponentPostProcessor> postProcessorPipeline(TypeView<?> type, boolean permitsProxying) {
+        return this.postProcessorPipeline().stream()
+                .filter(processor -> processor.isApplicable(type, permitsProxying))
+                .toList();
+    }
+
+    /**
+     * Flattens the given post-processors into a single list, ordered by priority. Post-processors with the same
+     * priority keep the order defined by the given {@link MultiMap}.
+     *
+     * @param postProcessors the post-processors, keyed by priority
+     * @return an unmodifiable list of the given post-processors, ordered by priority
+     *
+     * @since 0.6.1
+     */
+    static List<ComponentPostProcessor> pipelineOf(MultiMap<Integer, ComponentPostProcessor> postProcessors) {
+        List<ComponentPostProcessor> pipeline = new ArrayList<>();
+        for (Integer priority : postProcessors.keySet()) {
+            pipeline.addAll(postProcessors.get(priority));
+        }
+        return List.copyOf(pipeline);
+    }
+
 }
@@ -16,6 +16,8 @@
 
 package org.dockbox.hartshorn.inject.processing;
 
+import java.util.List;
+import java.util.function.BiFunction;
 import java.util.function.Supplier;
 import org.checkerframework.checker.nullness.qual.Nullable;
 import org.dockbox.hartshorn.inject.InjectionCapableApplication;
@@ -23,6 +25,7 @@
 import org.dockbox.hartshorn.util.collections.MultiMap;
 import org.dockbox.hartshorn.util.function.CheckedConsumer;
 import org.dockbox.hartshorn.util.function.CheckedFunction;
+import org.dockbox.hartshorn.util.introspect.view.TypeView;
 
 /**
  * A {@link ComponentPostProcessor} which delegates to a collection of other post processors. The post processors are
@@ -65,6 +68,12 @@
  * provided instance. This is to ensure that the composite processor can be used in place of a {@link ComponentPostProcessor} without any
  * unexpected side effects.
  *
+ * <p>When created from a {@link ComponentProcessorRegistry}, the {@link ComponentProcessorRegistry#postProcessorPipeline(TypeView, boolean)
+ * ordered pipeline} of the registry is used, so the registered post-processors do not need to be ordered again for
+ * each processed component. Post-processors which are not {@link ComponentPostProcessor#isApplicable(TypeView, boolean)
+ * applicable} to the type of the processed component are skipped entirely. Likewise, the composite only {@link
+ * #advises(TypeView) advises} a component type if at least one of its applicable post-processors does.
+ *
  * @see ComponentPostProcessor
  *
  * @since 0.5.0
@@ -73,10 +82,24 @@
  */
 public class CompositeComponentPostProcessor extends ComponentPostProcessor {
 
-    private final Supplier<MultiMap<Integer, ComponentPostProcessor>> postProcessors;
+    private final BiFunction<TypeView<?>, Boolean, List<ComponentPostProcessor>> postProcessors;
 
     public CompositeComponentPostProcessor(Supplier<MultiMap<Integer, ComponentPostProcessor>> postProcessors) {
-        this.postProcessors = postProcessors;
+        this.postProcessors = (type, permitsProxying) -> ComponentProcessorRegistry.pipelineOf(postProcessors.get());
+    }
+
+    public CompositeComponentPostProcessor(ComponentProcessorRegistry registry) {
+        this.postProcessors = registry::postProcessorPipeline;
+    }
+
+    @Override
+    public <T> boolean advises(TypeView<T> type) {
+        for (ComponentPostProcessor processor : this.postProcessors.apply(type, true)) {
+            if (processor.advises(type)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     @Override
@@ -85,7 +108,7 @@ public <T> void preConfigureComponent(
         @Nullable T instance,
         ComponentProcessingContext<T> processingContext
     ) throws ApplicationException {
-        this.withProcessors(processor -> {
+        this.withProcessors(processingContext, processor -> {
             processor.preConfigureComponent(application, instance, processingContext);
         });
     }
@@ -96,7 +119,7 @@ public <T> T initializeComponent(
         @Nullable T instance,
         ComponentProcessingContext<T> processingContext
     ) throws ApplicationException {
-        MultiMap<Integer, ComponentPostProcessor> processors = this.postProcessors.get();
+        List<ComponentPostProcessor> processors = this.postProcessors(processingContext);
         if (processors.isEmpty()) {
             return instance;
         }
@@ -109,24 +132,26 @@ public <T> void postConfigureComponent(
         @Nullable T instance,
         ComponentProcessingContext<T> processingContext
     ) throws ApplicationException {
-        this.withProcessors(processor -> {
+        this.withProcessors(processingContext, processor -> {
             processor.postConfigureComponent(application, instance, processingContext);
         });
     }
 
-    private void withProcessors(CheckedConsumer<ComponentPostProcessor> consumer) throws ApplicationException {
-        this.withProcessors(this.postProcessors.get(), processor -> {
+    private void withProcessors(ComponentProcessingContext<?> processingContext, CheckedConsumer<ComponentPostProcessor> consumer) throws ApplicationException {
+        this.withProcessors(this.postProcessors(processingContext), processor -> {
             consumer.accept(processor);
             return null;
         });
     }
 
-    private <T> T withProcessors(MultiMap<Integer, ComponentPostProcessor> processors, CheckedFunction<ComponentPostProcessor, T> processor) throws ApplicationException {
+    private List<ComponentPostProcessor> postProcessors(ComponentProcessingContext<?> processingContext) {
+        return this.postProcessors.apply(processingContext.type(), processingContext.permitsProxying());
+    }
+
+    private <T> T withProcessors(List<ComponentPostProcessor> processors, CheckedFunction<ComponentPostProcessor, T> processor) throws ApplicationException {
         T result = null;
-        for (Integer priority : processors.keySet()) {
-            for (ComponentPostProcessor postProcessor : processors.get(priority)) {
-                result = processor.apply(postProcessor);
-            }
+        for (ComponentPostProcessor postProcessor : processors) {
+            result = processor.apply(postProcessor);
         }
         return result;
     }
@@ -49,7 +49,9 @@
     private final ComponentKey<? extends C> componentKey;
     private final LifecycleType lifecycleType;
 
-    private ConstructorView<? extends C> optimalConstructor;
+    // Resolved lazily, and may be resolved concurrently. As resolution always yields the same constructor, it is
+    // sufficient to ensure the resolved constructor is safely published.
+    private volatile ConstructorView<? extends C> optimalConstructor;
     private boolean lazy = true;
 
     private SimpleConstructorViewDrivenProvider(ComponentKey<? extends C> type, LifecycleType lifecycleType) {
@@ -127,16 +129,18 @@ public Tristate defaultLazy() {
     }
 
     private Option<? extends ConstructorView<? extends C>> optimalConstructor(InjectionCapableApplication application) throws ApplicationException {
-        TypeView<? extends C> typeView = application.environment().introspector().introspect(this.type());
-        if (this.optimalConstructor == null) {
+        ConstructorView<? extends C> constructor = this.optimalConstructor;
+        if (constructor == null) {
+            TypeView<? extends C> typeView = application.environment().introspector().introspect(this.type());
             try {
-                this.optimalConstructor = ComponentConstructorResolver.create(application).findConstructor(typeView).orNull();
+                constructor = ComponentConstructorResolver.create(application).findConstructor(typeView).orNull();
             }
             catch(Throwable throwable) {
                 throw new ApplicationException(throwable);
             }
+            this.optimalConstructor = constructor;
         }
-        return Option.of(this.optimalConstructor);
+        return Option.of(constructor);
     }
 
     @Override
@@ -0,0 +1,175 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.inject.provider.singleton;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.dockbox.hartshorn.inject.ComponentKey;
+
+/**
+ * A {@link ConcurrentHashSingletonCache} which tracks which components are being created, so that singletons are
+ * created at most once, even if they are first requested by multiple threads at the same time. Components are
+ * created through {@link #getOrCreate(ComponentKey, Supplier)}. While a component is being created, other threads
+ * requesting the same component wait until its creation completes, rather than creating the component themselves.
+ *
+ * <p>Whether a component is a singleton is only known once it has been created. If a created component is not
+ * stored in this cache, waiting threads create their own instance, and later requests for the same key are no
+ * longer coordinated until an instance is stored for the key.
+ *
+ * <p>Singletons may be stored early to resolve cyclic dependencies. Such instances are only returned to the thread
+ * which is creating the component. If a thread requests a component it is already creating, the request is resolved
+ * as if no creation was tracked, as the request may legitimately resolve a different binding of the same component
+ * (for example, a binding of a lower priority). The same applies if two threads each wait for a component the other
+ * thread is creating, in which case the thread that detects this does not wait. Whether the current thread is
+ * creating a component can be checked through {@link #isCreating(ComponentKey)}, which can be used to report cyclic
+ * requests.
+ *
+ * @see SingletonCache
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public class CreationTrackingSingletonCache extends ConcurrentHashSingletonCache {
+
+    private final Map<ComponentKey<?>, Creation> creations = new ConcurrentHashMap<>();
+    private final Map<Thread, Creation> awaitedCreations = new ConcurrentHashMap<>();
+    private final Set<ComponentKey<?>> uncachedKeys = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public <T> void put(ComponentKey<T> key, T instance) {
+        super.put(key, instance);
+        this.uncachedKeys.remove(key);
+    }
+
+    /**
+     * Returns the instance stored for the given key, or creates it through the given factory if no instance is
+     * stored yet. If another thread is already creating a component for the given key, this waits until that
+     * creation completes. The factory is expected to store singleton instances in this cache.
+     *
+     * @param key the key of the component
+     * @param factory the factory which creates the component
+     * @param <T> the type of the component
+     * @return the stored or created component
+     */
+    public <T> T getOrCreate(ComponentKey<T> key, Supplier<T> factory) {
+        if (this.uncachedKeys.contains(key)) {
+            return factory.get();
+        }
+        Thread currentThread = Thread.currentThread();
+        while (true) {
+            Creation creation = this.creations.get(key);
+            if (creation == null) {
+                T instance = this.get(key).orNull();
+                if (instance != null) {
+                    return instance;
+                }
+                Creation ownCreation = new Creation(currentThread);
+                if (this.creations.putIfAbsent(key, ownCreation) == null) {
+                    return this.create(key, factory, ownCreation);
+                }
+            }
+            else if (creation.owner() == currentThread || !this.await(creation, currentThread)) {
+                // Re-entrant request, or waiting would deadlock, so resolve the component as if its creation
+                // was not tracked
+                T instance = this.get(key).orNull();
+                return instance != null ? instance : factory.get();
+            }
+        }
+    }
+
+    /**
+     * Returns whether the component with the given key is currently being created by the current thread.
+     *
+     * @param key the key of the component
+     * @return {@code true} if the current thread is creating the component, {@code false} otherwise
+     */
+    public boolean isCreating(ComponentKey<?> key) {
+        Creation creation = this.creations.get(key);
+        return creation != null && creation.owner() == Thread.currentThread();
+    }
+
+    private <T> T create(ComponentKey<T> key, Supplier<T> factory, Creation creation) {
+        try {
+            T instance = factory.get();
+            if (!this.contains(key)) {
+                this.uncachedKeys.add(key);
+            }
+            return instance;
+        }
+        finally {
+            this.creations.remove(key, creation);
+            creation.complete();
+        }
+    }
+
+    private boolean await(Creation creation, Thread currentThread) {
+        this.awaitedCreations.put(currentThread, creation);
+        try {
+            if (this.awaitsCurrentThread(creation, currentThread)) {
+                return false;
+            }
+            creation.await();
+            return true;
+        }
+        finally {
+            this.awaitedCreations.remove(currentThread);
+        }
+    }
+
+    private boolean awaitsCurrentThread(Creation creation, Thread currentThread) {
+        Set<Thread> visited = new HashSet<>();
+        Thread owner = creation.owner();
+        while (visited.add(owner)) {
+            if (owner == currentThread) {
+                return true;
+            }
+            Creation awaitedCreation = this.awaitedCreations.get(owner);
+            if (awaitedCreation == null) {
+                return false;
+            }
+            owner = awaitedCreation.owner();
+        }
+        return false;
+    }
+
+    /**
+     * A creation of a component which is in progress.
+     *
+     * @param owner the thread which is creating the component
+     * @param completion the future which completes once the component has been created
+     */
+    private record Creation(Thread owner, CompletableFuture<Void> completion) {
+
+        Creation(Thread owner) {
+            this(owner, new CompletableFuture<>());
+        }
+
+        void complete() {
+            this.completion.complete(null);
+        }
+
+        void await() {
+            this.completion.join();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.inject.provider.strategy;
+
+import java.util.List;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.dockbox.hartshorn.inject.ComponentKey;
+import org.dockbox.hartshorn.inject.ComponentRequestContext;
+import org.dockbox.hartshorn.inject.InjectionCapableApplication;
+import org.dockbox.hartshorn.inject.graph.support.ComponentInitializationException;
+import org.dockbox.hartshorn.inject.provider.ComponentObjectContainer;
+import org.dockbox.hartshorn.inject.provider.ComponentProvider;
+import org.dockbox.hartshorn.inject.provider.ObjectContainer;
+import org.dockbox.hartshorn.util.ApplicationException;
+
+/**
+ * A {@link ComponentProviderStrategyChain} of which all links are created ahead of time. Contrary to
+ * {@link SimpleComponentProviderStrategyChain}, which creates a new link for every step of every request,
+ * the links of this chain are immutable and can be reused across requests. This makes the chain suitable
+ * to be used as a resolution plan, which is compiled once for a given component type and reused for all
+ * subsequent requests for that type.
+ *
+ * @param <T> the type of the component that is provided by this chain
+ *
+ * @see StrategyChainComponentProvider
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public final class CompiledComponentProviderStrategyChain<T> implements ComponentProviderStrategyChain<T> {
+
+    private final ComponentProvider componentProvider;
+    private final InjectionCapableApplication application;
+    private final ComponentProviderStrategy strategy;
+    private final CompiledComponentProviderStrategyChain<T> next;
+
+    private CompiledComponentProviderStrategyChain(
+            ComponentProvider componentProvider,
+            InjectionCapableApplication application,
+            @Nullable ComponentProviderStrategy strategy,
+            @Nullable CompiledComponentProviderStrategyChain<T> next
+    ) {
+        this.componentProvider = componentProvider;
+        this.application = application;
+        this.strategy = strategy;
+        this.next = next;
+    }
+
+    /**
+     * Compiles the given strategies into a chain of pre-linked steps. Strategies are invoked in the order
+     * in which they are provided. If none of the strategies provides a component, the final link of the
+     * chain yields an {@link ComponentObjectContainer#empty() empty container}.
+     *
+     * @param componentProvider the provider that owns the chain
+     * @param application the application in which components are provided
+     * @param strategies the strategies to compile, in order of invocation
+     * @param <T> the type of the component that is provided by the chain
+     *
+     * @return the first link of the compiled chain
+     */
+    public static <T> CompiledComponentProviderStrategyChain<T> compile(
+            ComponentProvider componentProvider,
+            InjectionCapableApplication application,
+            List<ComponentProviderStrategy> strategies
+    ) {
+        CompiledComponentProviderStrategyChain<T> chain = new CompiledComponentProviderStrategyChain<>(
+                componentProvider, application, null, null);
+        for (int i = strategies.size() - 1; i >= 0; i--) {
+            chain = new CompiledComponentProviderStrategyChain<>(componentProvider, application, strategies.get(i), chain);
+        }
+        return chain;
+    }
+
+    @Override
+    public ComponentProvider componentProvider() {
+        return this.componentProvider;
+    }
+
+    @Override
+    public InjectionCapableApplication application() {
+        return this.application;
+    }
+
+    @Override
+    public ObjectContainer<T> get(ComponentKey<T> componentKey, ComponentRequestContext requestContext)
+            throws ComponentInitializationException, ApplicationException {
+        if (this.strategy == null) {
+            return ComponentObjectContainer.empty();
+        }
+        return this.strategy.get(componentKey, requestContext, this.next);
+    }
+}
@@ -50,4 +50,9 @@ public <T> ObjectContainer<T> get(
         }
         return chain.get(componentKey, requestContext);
     }
+
+    @Override
+    public boolean canProvide(Class<?> componentType) {
+        return ComponentProcessor.class.isAssignableFrom(componentType);
+    }
 }
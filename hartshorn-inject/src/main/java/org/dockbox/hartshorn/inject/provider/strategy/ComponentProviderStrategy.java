@@ -30,4 +30,19 @@ <T> ObjectContainer<T> get(
             ComponentProviderStrategyChain<T> chain
     ) throws ComponentResolutionException, ApplicationException;
 
+    /**
+     * Indicates whether this strategy is able to contribute to the resolution of components of the given
+     * type. Strategies which are not able to contribute are left out of the resolution plan that is compiled
+     * for the type, and will therefore never be invoked for it. As resolution plans are compiled once per
+     * type, the result of this method should only depend on the given type.
+     *
+     * @param componentType the type of the component that is being resolved
+     * @return {@code true} if this strategy may provide components of the given type, {@code false} otherwise
+     *
+     * @since 0.6.1
+     */
+    default boolean canProvide(Class<?> componentType) {
+        return true;
+    }
+
 }
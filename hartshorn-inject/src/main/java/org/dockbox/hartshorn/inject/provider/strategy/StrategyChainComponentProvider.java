@@ -16,7 +16,6 @@
 
 package org.dockbox.hartshorn.inject.provider.strategy;
 
-import java.util.LinkedList;
 import java.util.List;
 
 import org.dockbox.hartshorn.inject.ComponentKey;
@@ -26,20 +25,46 @@
 import org.dockbox.hartshorn.inject.provider.ComponentProvider;
 import org.dockbox.hartshorn.inject.provider.ObjectContainer;
 import org.dockbox.hartshorn.util.ApplicationException;
+import org.dockbox.hartshorn.util.TypeUtils;
+import org.dockbox.hartshorn.util.collections.ConcurrentWeakKeyMap;
 
+/**
+ * A {@link ComponentProvider} which resolves components through a chain of {@link ComponentProviderStrategy
+ * strategies}. For every component type a resolution plan is compiled on first use. This plan only contains the
+ * strategies which are able to {@link ComponentProviderStrategy#canProvide(Class) provide} components of that
+ * type, and is linked ahead of time so no intermediate chain links need to be created on subsequent requests.
+ *
+ * <p>Resolution plans do not capture the outcome of individual strategies, so changes to bindings or cached
+ * singletons are always observed. Plans are only invalidated when the configured strategies change. Plans are
+ * stored together with the strategies they were compiled from, and both are replaced at once, so a plan that is
+ * compiled while the strategies change is never used for the new strategies. Plans are only weakly keyed by their
+ * component type, so they do not prevent component types from being unloaded.
+ *
+ * @see CompiledComponentProviderStrategyChain
+ *
+ * @since 0.5.0
+ *
+ * @author Guus Lieben
+ */
 public abstract class StrategyChainComponentProvider implements ComponentProvider {
 
     private final InjectionCapableApplication application;
-    private final List<ComponentProviderStrategy> strategies;
+    private volatile ResolutionPlans resolutionPlans = new ResolutionPlans(List.of());
 
     public StrategyChainComponentProvider(InjectionCapableApplication application) {
         this.application = application;
-        this.strategies = new LinkedList<>();
     }
 
     protected void strategies(List<ComponentProviderStrategy> strategies) {
-        this.strategies.clear();
-        this.strategies.addAll(strategies);
+        this.resolutionPlans = new ResolutionPlans(List.copyOf(strategies));
+    }
+
+    /**
+     * Discards all compiled resolution plans, causing them to be recompiled on the next request for
+     * each component type.
+     */
+    protected void invalidateResolutionPlans() {
+        this.resolutionPlans = new ResolutionPlans(this.resolutionPlans.strategies());
     }
 
     public InjectionCapableApplication application() {
@@ -48,11 +73,7 @@ public InjectionCapableApplication application() {
 
     @Override
     public <T> T get(ComponentKey<T> key, ComponentRequestContext requestContext) {
-        List<ComponentProviderStrategy> strategies = List.copyOf(this.strategies);
-        ComponentProviderStrategyChain<T> chain = new SimpleComponentProviderStrategyChain<>(
-                this,
-                this.application,
-                strategies);
+        ComponentProviderStrategyChain<T> chain = this.resolutionPlan(key);
 
         final ObjectContainer<T> container;
         try {
@@ -78,5 +99,46 @@ public <T> T get(ComponentKey<T> key, ComponentRequestContext requestContext) {
         }
     }
 
+    /**
+     * Returns the compiled resolution plan for the type of the given key, compiling it if it does not exist
+     * yet.
+     *
+     * @param key the key of the component to resolve
+     * @param <T> the type of the component
+     * @return the resolution plan for the component
+     */
+    protected <T> ComponentProviderStrategyChain<T> resolutionPlan(ComponentKey<T> key) {
+        ResolutionPlans resolutionPlans = this.resolutionPlans;
+        ComponentProviderStrategyChain<?> plan = resolutionPlans.plans().get(key.type());
+        if (plan == null) {
+            plan = resolutionPlans.plans().computeIfAbsent(key.type(),
+                    componentType -> this.compileResolutionPlan(resolutionPlans.strategies(), componentType));
+        }
+        return TypeUtils.unchecked(plan, ComponentProviderStrategyChain.class);
+    }
+
+    private ComponentProviderStrategyChain<?> compileResolutionPlan(List<ComponentProviderStrategy> strategies, Class<?> componentType) {
+        List<ComponentProviderStrategy> applicableStrategies = strategies.stream()
+                .filter(strategy -> strategy.canProvide(componentType))
+                .toList();
+        return CompiledComponentProviderStrategyChain.compile(this, this.application, applicableStrategies);
+    }
+
     protected abstract <T> T process(ComponentKey<T> key, ComponentRequestContext requestContext, ObjectContainer<T> container) throws ApplicationException;
+
+    /**
+     * The strategies of this provider, together with the resolution plans that were compiled from them.
+     *
+     * @param strategies the configured strategies
+     * @param plans the resolution plans compiled from the strategies, keyed by component type
+     */
+    private record ResolutionPlans(
+            List<ComponentProviderStrategy> strategies,
+            ConcurrentWeakKeyMap<Class<?>, ComponentProviderStrategyChain<?>> plans
+    ) {
+
+        private ResolutionPlans(List<ComponentProviderStrategy> strategies) {
+            this(strategies, new ConcurrentWeakKeyMap<>());
+        }
+    }
 }
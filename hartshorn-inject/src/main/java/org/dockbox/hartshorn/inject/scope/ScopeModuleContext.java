@@ -18,26 +18,32 @@
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 import org.dockbox.hartshorn.context.DefaultContext;
 import org.dockbox.hartshorn.inject.ComponentKey;
 import org.dockbox.hartshorn.inject.ContextKey;
 import org.dockbox.hartshorn.inject.binding.BindingHierarchy;
+import org.dockbox.hartshorn.inject.binding.BindingHierarchySnapshot;
 import org.dockbox.hartshorn.inject.binding.NativePrunableBindingHierarchy;
 import org.dockbox.hartshorn.util.TypeUtils;
-import org.dockbox.hartshorn.util.collections.ConcurrentSetMultiMap;
-import org.dockbox.hartshorn.util.collections.MultiMap;
 
 /**
  * TODO: #1060 Add documentation
  *
+ * <p>Hierarchies are stored per scope type, indexed by their {@link ComponentKey}. Looking up or installing a
+ * hierarchy for a key is therefore independent of the number of hierarchies installed to the same scope type, and
+ * concurrent installations of the same key always yield the same hierarchy.
+ *
  * @since 0.5.0
  *
  * @author Guus Lieben
  */
 public class ScopeModuleContext extends DefaultContext {
 
-    private final MultiMap<ScopeKey, BindingHierarchy<?>> scopeModules = new ConcurrentSetMultiMap<>();
+    private final Map<ScopeKey, Map<ComponentKey<?>, BindingHierarchy<?>>> scopeModules = new ConcurrentHashMap<>();
+    private final Map<ScopeKey, BindingHierarchySnapshot> templates = new ConcurrentHashMap<>();
 
     private final ScopeKey applicationScope;
 
@@ -56,15 +62,14 @@ public boolean isApplicationScope(ScopeKey scopeKey) {
     }
 
     public <T> BindingHierarchy<T> hierarchy(ScopeKey scope, ComponentKey<T> key) {
-        BindingHierarchy<?> bindingHierarchy = this.scopeModules.get(scope).stream()
-                .filter(hierarchy -> hierarchy.key().equals(key))
-                .findFirst()
-                .orElseGet(() -> {
-                    BindingHierarchy<T> hierarchy = new NativePrunableBindingHierarchy<>(key);
-                    this.scopeModules.put(scope, hierarchy);
-                    return hierarchy;
-                });
-
+        Map<ComponentKey<?>, BindingHierarchy<?>> hierarchies = this.scopeModules.computeIfAbsent(scope, scopeKey -> new ConcurrentHashMap<>());
+        BindingHierarchy<?> bindingHierarchy = hierarchies.get(key);
+        if (bindingHierarchy == null) {
+            bindingHierarchy = hierarchies.computeIfAbsent(key, NativePrunableBindingHierarchy::new);
+            // Existing templates may not know about the new hierarchy, so they are rebuilt on next use. This is
+            // done after the hierarchy is stored, so templates built concurrently are always discarded.
+            this.templates.remove(scope);
+        }
         return TypeUtils.unchecked(bindingHierarchy, BindingHierarchy.class);
     }
 
@@ -72,6 +77,28 @@ public Collection<BindingHierarchy<?>> hierarchies(ScopeKey type) {
         if (type == this.applicationScope) {
             return Collections.emptyList();
         }
-        return this.scopeModules.get(type);
+        Map<ComponentKey<?>, BindingHierarchy<?>> hierarchies = this.scopeModules.get(type);
+        if (hierarchies == null) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableCollection(hierarchies.values());
+    }
+
+    /**
+     * Returns a {@link BindingHierarchySnapshot template} of all hierarchies which are installed to the given scope
+     * type. The template is built once and shared by all scopes of the given type, until a hierarchy for a new key is
+     * installed to the scope type. Hierarchies are shared with the template, so changes to installed hierarchies are
+     * observed by all scopes which have not modified the hierarchy themselves.
+     *
+     * @param type the scope type
+     * @return the template of all hierarchies installed to the given scope type
+     *
+     * @since 0.6.1
+     */
+    public BindingHierarchySnapshot template(ScopeKey type) {
+        if (type == this.applicationScope) {
+            return BindingHierarchySnapshot.empty();
+        }
+        return this.templates.computeIfAbsent(type, key -> BindingHierarchySnapshot.of(this.hierarchies(key)));
     }
 }
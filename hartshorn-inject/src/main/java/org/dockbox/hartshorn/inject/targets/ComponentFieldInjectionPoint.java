@@ -41,9 +41,11 @@
 public class ComponentFieldInjectionPoint<T> implements ComponentInjectionPoint<T> {
 
     private final FieldView<T, ?> field;
+    private final SequencedCollection<InjectionPoint> injectionPoints;
 
     public ComponentFieldInjectionPoint(FieldView<T, ?> field) {
         this.field = field;
+        this.injectionPoints = List.of(new InjectionPoint(field));
     }
 
     @Override
@@ -80,7 +82,7 @@ public ElementAnnotationsIntrospector annotations() {
 
     @Override
     public SequencedCollection<InjectionPoint> injectionPoints() {
-        return List.of(new InjectionPoint(this.field));
+        return this.injectionPoints;
     }
 
     @Override
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test.org.dockbox.hartshorn.inject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dockbox.hartshorn.inject.ComponentKey;
+import org.dockbox.hartshorn.inject.ComponentKeyInterner;
+import org.dockbox.hartshorn.util.introspect.ParameterizableType;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ComponentKeyTests {
+
+    @Test
+    void testEqualKeysHaveEqualHashCodes() {
+        ComponentKey<String> first = ComponentKey.of(String.class, "sample");
+        ComponentKey<String> second = ComponentKey.of(String.class, "sample");
+        Assertions.assertEquals(first, second);
+        Assertions.assertEquals(first.hashCode(), second.hashCode());
+        Assertions.assertEquals(first.view(), second.view());
+        Assertions.assertEquals(first.view().hashCode(), second.view().hashCode());
+    }
+
+    @Test
+    void testKeyIsNotAffectedByLaterBuilderChanges() {
+        ComponentKey.Builder<String> builder = ComponentKey.builder(String.class).name("first");
+        ComponentKey<String> key = builder.build();
+        int hashCode = key.hashCode();
+
+        builder.name("second");
+        Assertions.assertEquals(hashCode, key.hashCode());
+        Assertions.assertEquals(ComponentKey.of(String.class, "first"), key);
+        Assertions.assertNotEquals(builder.build(), key);
+    }
+
+    @Test
+    void testViewIsReused() {
+        ComponentKey<String> key = ComponentKey.of(String.class);
+        Assertions.assertSame(key.view(), key.view());
+    }
+
+    @Test
+    void testParameterizableTypeIsNotAffectedByParameterChanges() {
+        List<ParameterizableType> parameters = new ArrayList<>();
+        parameters.add(ParameterizableType.create(String.class));
+        ParameterizableType type = ParameterizableType.builder(List.class).parameters(parameters).build();
+        int hashCode = type.hashCode();
+
+        parameters.set(0, ParameterizableType.create(Integer.class));
+        Assertions.assertEquals(hashCode, type.hashCode());
+        Assertions.assertEquals(ParameterizableType.create(String.class), type.parameters().getFirst());
+    }
+
+    @Test
+    void testInternedKeysAreIdentical() {
+        ComponentKeyInterner interner = new ComponentKeyInterner();
+        ComponentKey<String> first = interner.intern(ComponentKey.of(String.class, "sample"));
+        ComponentKey<String> second = interner.intern(ComponentKey.of(String.class, "sample"));
+        ComponentKey<String> other = interner.intern(ComponentKey.of(String.class));
+
+        Assertions.assertSame(first, second);
+        Assertions.assertNotSame(first, other);
+        Assertions.assertEquals(2, interner.size());
+    }
+}
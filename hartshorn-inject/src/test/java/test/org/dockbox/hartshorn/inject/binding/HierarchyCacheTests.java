@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test.org.dockbox.hartshorn.inject.binding;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.dockbox.hartshorn.inject.ComponentKey;
+import org.dockbox.hartshorn.inject.binding.BindingHierarchy;
+import org.dockbox.hartshorn.inject.binding.BindingHierarchySnapshot;
+import org.dockbox.hartshorn.inject.binding.HierarchyCache;
+import org.dockbox.hartshorn.inject.binding.NativePrunableBindingHierarchy;
+import org.dockbox.hartshorn.inject.provider.SingletonInstantiationStrategy;
+import org.dockbox.hartshorn.util.TypeUtils;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class HierarchyCacheTests {
+
+    @Test
+    void testLooseLookupResolvesAssignableHierarchy() {
+        HierarchyCache cache = new HierarchyCache(() -> false, null, null);
+        BindingHierarchy<?> hierarchy = new NativePrunableBindingHierarchy<>(ComponentKey.of(ArrayList.class));
+        cache.put(hierarchy);
+
+        Assertions.assertSame(hierarchy, cache.getOrComputeHierarchy(ComponentKey.of(List.class), false));
+        Assertions.assertSame(hierarchy, cache.getOrComputeHierarchy(ComponentKey.of(AbstractList.class), false));
+        Assertions.assertSame(hierarchy, cache.getOrComputeHierarchy(ComponentKey.of(Collection.class), false));
+        Assertions.assertSame(hierarchy, cache.getOrComputeHierarchy(ComponentKey.of(Object.class), false));
+    }
+
+    @Test
+    void testUnresolvedLookupIsInvalidatedByPut() {
+        HierarchyCache cache = new HierarchyCache(() -> false, null, null);
+        cache.put(new NativePrunableBindingHierarchy<>(ComponentKey.of(String.class)));
+
+        BindingHierarchy<?> unresolved = cache.getOrComputeHierarchy(ComponentKey.of(List.class), false);
+        Assertions.assertTrue(unresolved.providers().isEmpty());
+        // Repeated lookups remain unresolved
+        Assertions.assertTrue(cache.getOrComputeHierarchy(ComponentKey.of(List.class), false).providers().isEmpty());
+
+        BindingHierarchy<?> hierarchy = new NativePrunableBindingHierarchy<>(ComponentKey.of(ArrayList.class));
+        cache.put(hierarchy);
+        Assertions.assertSame(hierarchy, cache.getOrComputeHierarchy(ComponentKey.of(List.class), false));
+    }
+
+    @Test
+    void testStrictLookupDoesNotResolveAssignableHierarchy() {
+        HierarchyCache cache = new HierarchyCache(() -> true, null, null);
+        BindingHierarchy<?> hierarchy = new NativePrunableBindingHierarchy<>(ComponentKey.of(ArrayList.class));
+        cache.put(hierarchy);
+
+        Assertions.assertNotSame(hierarchy, cache.getOrComputeHierarchy(ComponentKey.of(List.class), false));
+    }
+
+    @Test
+    void testTemplateHierarchiesAreSharedUntilModified() {
+        BindingHierarchy<String> shared = new NativePrunableBindingHierarchy<>(ComponentKey.of(String.class));
+        shared.add(0, new SingletonInstantiationStrategy<>("shared"));
+        BindingHierarchySnapshot template = BindingHierarchySnapshot.of(List.of(shared));
+
+        HierarchyCache modified = new HierarchyCache(() -> false, null, null, template);
+        HierarchyCache unmodified = new HierarchyCache(() -> false, null, null, template);
+
+        BindingHierarchy<String> hierarchy = TypeUtils.unchecked(modified.getOrComputeHierarchy(ComponentKey.of(String.class), false), BindingHierarchy.class);
+        hierarchy.add(1, new SingletonInstantiationStrategy<>("modified"));
+
+        Assertions.assertEquals(2, modified.getOrComputeHierarchy(ComponentKey.of(String.class), false).size());
+        Assertions.assertEquals(1, unmodified.getOrComputeHierarchy(ComponentKey.of(String.class), false).size());
+        Assertions.assertEquals(1, shared.size());
+    }
+
+    @Test
+    void testLooseLookupResolvesTemplateHierarchy() {
+        BindingHierarchy<?> shared = new NativePrunableBindingHierarchy<>(ComponentKey.of(ArrayList.class));
+        HierarchyCache cache = new HierarchyCache(() -> false, null, null, BindingHierarchySnapshot.of(List.of(shared)));
+
+        BindingHierarchy<?> hierarchy = cache.getOrComputeHierarchy(ComponentKey.of(List.class), false);
+        Assertions.assertEquals(shared.key(), hierarchy.key());
+        Assertions.assertEquals(1, cache.hierarchies().size());
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test.org.dockbox.hartshorn.inject.graph;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.dockbox.hartshorn.inject.ComponentKey;
+import org.dockbox.hartshorn.inject.ComponentRequestContext;
+import org.dockbox.hartshorn.inject.binding.BindingFunction;
+import org.dockbox.hartshorn.inject.graph.ComponentMemberType;
+import org.dockbox.hartshorn.inject.graph.DependencyGraph;
+import org.dockbox.hartshorn.inject.graph.DependencyMap;
+import org.dockbox.hartshorn.inject.graph.declaration.AbstractDependencyContext;
+import org.dockbox.hartshorn.inject.graph.declaration.DependencyContext;
+import org.dockbox.hartshorn.inject.graph.declaration.LifecycleAwareDependencyContext;
+import org.dockbox.hartshorn.inject.graph.support.ConcurrentSingletonActivationVisitor;
+import org.dockbox.hartshorn.inject.provider.ComponentProvider;
+import org.dockbox.hartshorn.inject.provider.LifecycleType;
+import org.dockbox.hartshorn.inject.scope.Scope;
+import org.dockbox.hartshorn.inject.scope.ScopeAdapter;
+import org.dockbox.hartshorn.util.graph.GraphException;
+import org.dockbox.hartshorn.util.graph.GraphNode;
+import org.dockbox.hartshorn.util.graph.MutableGraphNode;
+import org.dockbox.hartshorn.util.graph.SimpleGraphNode;
+import org.dockbox.hartshorn.util.introspect.view.View;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentSingletonActivationVisitorTests {
+
+    @Test
+    void testOnlyNonLazySingletonsAreActivated() throws GraphException {
+        MutableGraphNode<DependencyContext<?>> singleton = node(String.class, LifecycleType.SINGLETON, false);
+        GraphNode<DependencyContext<?>> lazySingleton = node(Integer.class, LifecycleType.SINGLETON, true);
+        GraphNode<DependencyContext<?>> prototype = node(Long.class, LifecycleType.PROTOTYPE, false);
+        singleton.addChildren(List.of(lazySingleton, prototype));
+
+        RecordingComponentProvider provider = new RecordingComponentProvider(Set.of());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            new ConcurrentSingletonActivationVisitor(provider, executor).iterate(new DependencyGraph(List.of(singleton)));
+        }
+        Assertions.assertEquals(List.of(ComponentKey.of(String.class)), provider.requested());
+    }
+
+    @Test
+    void testDependenciesAreActivatedBeforeDependents() throws GraphException {
+        // String and Integer are independent, Long depends on both
+        MutableGraphNode<DependencyContext<?>> first = node(String.class, LifecycleType.SINGLETON, false);
+        MutableGraphNode<DependencyContext<?>> second = node(Integer.class, LifecycleType.SINGLETON, false);
+        GraphNode<DependencyContext<?>> dependent = node(Long.class, LifecycleType.SINGLETON, false);
+        first.addChild(dependent);
+        second.addChild(dependent);
+
+        RecordingComponentProvider provider = new RecordingComponentProvider(Set.of());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            new ConcurrentSingletonActivationVisitor(provider, executor).iterate(new DependencyGraph(List.of(first, second)));
+        }
+
+        List<ComponentKey<?>> requested = provider.requested();
+        Assertions.assertEquals(3, requested.size());
+        Assertions.assertEquals(ComponentKey.of(Long.class), requested.getLast());
+    }
+
+    @Test
+    void testActivationFailuresAreReportedInGraphOrder() {
+        DependencyGraph graph = new DependencyGraph(List.of(
+                node(String.class, LifecycleType.SINGLETON, false),
+                node(Integer.class, LifecycleType.SINGLETON, false),
+                node(Long.class, LifecycleType.SINGLETON, false)
+        ));
+        Set<ComponentKey<?>> failing = Set.of(ComponentKey.of(Integer.class), ComponentKey.of(Long.class));
+        List<ComponentKey<?>> expectedFailures = IntStream.range(0, graph.size())
+                .<ComponentKey<?>>mapToObj(index -> graph.node(index).value().componentKey())
+                .filter(failing::contains)
+                .toList();
+
+        RecordingComponentProvider provider = new RecordingComponentProvider(failing);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            ConcurrentSingletonActivationVisitor visitor = new ConcurrentSingletonActivationVisitor(provider, executor);
+            GraphException exception = Assertions.assertThrows(GraphException.class, () -> visitor.iterate(graph));
+
+            List<String> failures = Stream.concat(Stream.of(exception.getCause()), Stream.of(exception.getSuppressed()))
+                    .map(Throwable::getMessage)
+                    .toList();
+            List<String> expectedMessages = expectedFailures.stream()
+                    .map(key -> "Failed to activate singleton " + key)
+                    .toList();
+            Assertions.assertEquals(expectedMessages, failures);
+        }
+        // Singletons which do not fail are still activated
+        Assertions.assertTrue(provider.requested().contains(ComponentKey.of(String.class)));
+    }
+
+    private static <T> MutableGraphNode<DependencyContext<?>> node(Class<T> type, LifecycleType lifecycleType, boolean lazy) {
+        TestDependencyContext<T> context = new TestDependencyContext<>(ComponentKey.of(type));
+        context.lifecycleType(lifecycleType).lazy(lazy);
+        return new SimpleGraphNode<>(context);
+    }
+
+    private static class TestDependencyContext<T> extends AbstractDependencyContext<T> implements LifecycleAwareDependencyContext<T> {
+
+        protected TestDependencyContext(ComponentKey<T> componentKey) {
+            super(componentKey, DependencyMap.create(), null, -1, ComponentMemberType.STANDALONE);
+        }
+
+        @Override
+        public void configure(BindingFunction<T> function) {
+            // Not configured in tests, only activated
+        }
+
+        @Override
+        public View origin() {
+            return null;
+        }
+    }
+
+    private static class RecordingComponentProvider implements ComponentProvider {
+
+        private final List<ComponentKey<?>> requested = new CopyOnWriteArrayList<>();
+        private final Set<ComponentKey<?>> failing;
+
+        RecordingComponentProvider(Set<ComponentKey<?>> failing) {
+            this.failing = failing;
+        }
+
+        @Override
+        public <T> T get(ComponentKey<T> key, ComponentRequestContext requestContext) {
+            if (this.failing.contains(key)) {
+                throw new IllegalStateException("Failed to create " + key);
+            }
+            this.requested.add(key);
+            return null;
+        }
+
+        @Override
+        public Scope scope() {
+            return ScopeAdapter.of(this);
+        }
+
+        List<ComponentKey<?>> requested() {
+            return this.requested;
+        }
+    }
+}
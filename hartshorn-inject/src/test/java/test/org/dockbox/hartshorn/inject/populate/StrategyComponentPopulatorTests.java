@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test.org.dockbox.hartshorn.inject.populate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.dockbox.hartshorn.inject.populate.StrategyComponentPopulator;
+import org.dockbox.hartshorn.inject.targets.ComponentInjectionPoint;
+import org.dockbox.hartshorn.inject.targets.ComponentInjectionPointsResolver;
+import org.dockbox.hartshorn.proxy.javassist.JavassistProxyOrchestrator;
+import org.dockbox.hartshorn.util.GenericType;
+import org.dockbox.hartshorn.util.introspect.Introspector;
+import org.dockbox.hartshorn.util.introspect.NativeProxyLookup;
+import org.dockbox.hartshorn.util.introspect.annotations.VirtualHierarchyAnnotationLookup;
+import org.dockbox.hartshorn.util.introspect.reflect.ReflectionIntrospector;
+import org.dockbox.hartshorn.util.introspect.view.AnnotatedGenericTypeView;
+import org.dockbox.hartshorn.util.introspect.view.TypeView;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class StrategyComponentPopulatorTests {
+
+    private final Introspector introspector = new ReflectionIntrospector(new NativeProxyLookup(), new VirtualHierarchyAnnotationLookup());
+
+    @Test
+    void testInjectionPointsAreResolvedOncePerType() {
+        RecordingInjectionPointsResolver resolver = new RecordingInjectionPointsResolver();
+        StrategyComponentPopulator populator = new StrategyComponentPopulator(
+                new JavassistProxyOrchestrator(this.introspector), resolver, List.of());
+
+        populator.populate(new SampleComponent());
+        populator.populate(new SampleComponent());
+
+        Assertions.assertEquals(List.of(this.introspector.introspect(SampleComponent.class)), resolver.resolvedTypes());
+    }
+
+    @Test
+    void testParameterizedTypesDoNotShareInjectionPoints() {
+        RecordingInjectionPointsResolver resolver = new RecordingInjectionPointsResolver();
+        TestComponentPopulator populator = new TestComponentPopulator(this.introspector, resolver);
+
+        TypeView<List<String>> strings = this.introspector.introspect(new GenericType<>() {});
+        TypeView<List<Integer>> integers = this.introspector.introspect(new GenericType<>() {});
+        populator.injectionPoints(strings);
+        populator.injectionPoints(integers);
+
+        // Parameterized views are not cached by the introspector, so an equal view is introspected again
+        populator.injectionPoints(this.introspector.introspect(new GenericType<List<String>>() {}));
+
+        Assertions.assertEquals(List.of(strings, integers), resolver.resolvedTypes());
+    }
+
+    public static class SampleComponent {
+    }
+
+    private static class TestComponentPopulator extends StrategyComponentPopulator {
+
+        TestComponentPopulator(Introspector introspector, ComponentInjectionPointsResolver resolver) {
+            super(new JavassistProxyOrchestrator(introspector), resolver, List.of());
+        }
+
+        @Override
+        public <T> List<ComponentInjectionPoint<T>> injectionPoints(TypeView<T> type) {
+            return super.injectionPoints(type);
+        }
+    }
+
+    private static class RecordingInjectionPointsResolver implements ComponentInjectionPointsResolver {
+
+        private final List<TypeView<?>> resolvedTypes = new ArrayList<>();
+
+        @Override
+        public <T> Set<ComponentInjectionPoint<T>> resolve(TypeView<T> type) {
+            this.resolvedTypes.add(type);
+            return Set.of();
+        }
+
+        @Override
+        public boolean isInjectable(AnnotatedGenericTypeView<?> declaration) {
+            return false;
+        }
+
+        List<TypeView<?>> resolvedTypes() {
+            return this.resolvedTypes;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test.org.dockbox.hartshorn.inject.provider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dockbox.hartshorn.inject.ComponentKey;
+import org.dockbox.hartshorn.inject.provider.singleton.CreationTrackingSingletonCache;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CreationTrackingSingletonCacheTests {
+
+    @Test
+    void testSingletonIsCreatedOnceForConcurrentRequests() throws Exception {
+        CreationTrackingSingletonCache cache = new CreationTrackingSingletonCache();
+        ComponentKey<Object> key = ComponentKey.of(Object.class);
+        AtomicInteger creations = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.getOrCreate(key, () -> {
+                        creations.incrementAndGet();
+                        Object instance = new Object();
+                        cache.put(key, instance);
+                        return instance;
+                    });
+                }));
+            }
+            start.countDown();
+
+            Object expected = results.getFirst().get(10, TimeUnit.SECONDS);
+            for (Future<Object> result : results) {
+                Assertions.assertSame(expected, result.get(10, TimeUnit.SECONDS));
+            }
+            Assertions.assertEquals(1, creations.get());
+        }
+        finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testUncachedComponentsAreCreatedForEachRequest() {
+        CreationTrackingSingletonCache cache = new CreationTrackingSingletonCache();
+        ComponentKey<Object> key = ComponentKey.of(Object.class);
+
+        Object first = cache.getOrCreate(key, Object::new);
+        Object second = cache.getOrCreate(key, Object::new);
+        Assertions.assertNotSame(first, second);
+        Assertions.assertFalse(cache.contains(key));
+    }
+
+    @Test
+    void testReentrantCreationIsResolvedByCurrentThread() {
+        CreationTrackingSingletonCache cache = new CreationTrackingSingletonCache();
+        ComponentKey<Object> key = ComponentKey.of(Object.class);
+        Object instance = new Object();
+
+        Object created = cache.getOrCreate(key, () -> {
+            Assertions.assertTrue(cache.isCreating(key));
+            return cache.getOrCreate(key, () -> instance);
+        });
+        Assertions.assertSame(instance, created);
+        Assertions.assertFalse(cache.isCreating(key));
+    }
+
+    @Test
+    void testReentrantCreationResolvesEarlyStoredInstance() {
+        CreationTrackingSingletonCache cache = new CreationTrackingSingletonCache();
+        ComponentKey<Object> key = ComponentKey.of(Object.class);
+        Object instance = new Object();
+
+        Object created = cache.getOrCreate(key, () -> {
+            cache.put(key, instance);
+            return cache.getOrCreate(key, Object::new);
+        });
+        Assertions.assertSame(instance, created);
+    }
+}
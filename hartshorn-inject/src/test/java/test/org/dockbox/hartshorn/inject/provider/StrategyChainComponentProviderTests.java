@@ -0,0 +1,170 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test.org.dockbox.hartshorn.inject.provider;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.dockbox.hartshorn.inject.ComponentKey;
+import org.dockbox.hartshorn.inject.ComponentRequestContext;
+import org.dockbox.hartshorn.inject.provider.ComponentObjectContainer;
+import org.dockbox.hartshorn.inject.provider.ObjectContainer;
+import org.dockbox.hartshorn.inject.provider.strategy.ComponentProviderStrategy;
+import org.dockbox.hartshorn.inject.provider.strategy.ComponentProviderStrategyChain;
+import org.dockbox.hartshorn.inject.provider.strategy.StrategyChainComponentProvider;
+import org.dockbox.hartshorn.inject.scope.Scope;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class StrategyChainComponentProviderTests {
+
+    @Test
+    void testResolutionPlanIsCompiledOnce() {
+        TestComponentProvider provider = new TestComponentProvider();
+        RecordingStrategy strategy = new RecordingStrategy("first", Object.class);
+        provider.strategies(List.of(strategy));
+
+        ComponentProviderStrategyChain<String> plan = provider.resolutionPlan(ComponentKey.of(String.class));
+        Assertions.assertSame(plan, provider.resolutionPlan(ComponentKey.of(String.class)));
+        Assertions.assertEquals(1, strategy.compilations());
+
+        Assertions.assertEquals("first", provider.get(String.class));
+        Assertions.assertEquals("first", provider.get(String.class));
+        Assertions.assertEquals(1, strategy.compilations());
+    }
+
+    @Test
+    void testResolutionPlanOnlyContainsApplicableStrategies() {
+        TestComponentProvider provider = new TestComponentProvider();
+        RecordingStrategy numbers = new RecordingStrategy("numbers", Number.class);
+        RecordingStrategy strings = new RecordingStrategy("strings", String.class);
+        provider.strategies(List.of(numbers, strings));
+
+        Assertions.assertEquals("strings", provider.get(String.class));
+        Assertions.assertEquals(0, numbers.invocations());
+        Assertions.assertEquals(1, strings.invocations());
+    }
+
+    @Test
+    void testResolutionPlansAreInvalidatedWhenStrategiesChange() {
+        TestComponentProvider provider = new TestComponentProvider();
+        provider.strategies(List.of(new RecordingStrategy("first", Object.class)));
+        ComponentProviderStrategyChain<String> plan = provider.resolutionPlan(ComponentKey.of(String.class));
+        Assertions.assertEquals("first", provider.get(String.class));
+
+        provider.strategies(List.of(new RecordingStrategy("second", Object.class)));
+        Assertions.assertNotSame(plan, provider.resolutionPlan(ComponentKey.of(String.class)));
+        Assertions.assertEquals("second", provider.get(String.class));
+    }
+
+    @Test
+    void testInvalidatedResolutionPlansAreRecompiled() {
+        TestComponentProvider provider = new TestComponentProvider();
+        RecordingStrategy strategy = new RecordingStrategy("first", Object.class);
+        provider.strategies(List.of(strategy));
+        ComponentProviderStrategyChain<String> plan = provider.resolutionPlan(ComponentKey.of(String.class));
+
+        provider.invalidateResolutionPlans();
+        Assertions.assertNotSame(plan, provider.resolutionPlan(ComponentKey.of(String.class)));
+        Assertions.assertEquals(2, strategy.compilations());
+        Assertions.assertEquals("first", provider.get(String.class));
+    }
+
+    @Test
+    void testPlanCompiledWhileStrategiesChangeIsNotReused() {
+        TestComponentProvider provider = new TestComponentProvider();
+        RecordingStrategy replacement = new RecordingStrategy("second", Object.class);
+        // Replaces the strategies of the provider while its plan is being compiled, as a concurrent
+        // configuration change would.
+        RecordingStrategy original = new RecordingStrategy("first", Object.class) {
+            @Override
+            public boolean canProvide(Class<?> componentType) {
+                provider.strategies(List.of(replacement));
+                return super.canProvide(componentType);
+            }
+        };
+        provider.strategies(List.of(original));
+
+        Assertions.assertEquals("first", provider.get(String.class));
+        Assertions.assertEquals("second", provider.get(String.class));
+    }
+
+    private static class TestComponentProvider extends StrategyChainComponentProvider {
+
+        TestComponentProvider() {
+            super(null);
+        }
+
+        @Override
+        public void strategies(List<ComponentProviderStrategy> strategies) {
+            super.strategies(strategies);
+        }
+
+        @Override
+        public void invalidateResolutionPlans() {
+            super.invalidateResolutionPlans();
+        }
+
+        @Override
+        public <T> ComponentProviderStrategyChain<T> resolutionPlan(ComponentKey<T> key) {
+            return super.resolutionPlan(key);
+        }
+
+        @Override
+        protected <T> T process(ComponentKey<T> key, ComponentRequestContext requestContext, ObjectContainer<T> container) {
+            return container.instance();
+        }
+
+        @Override
+        public Scope scope() {
+            return null;
+        }
+    }
+
+    private static class RecordingStrategy implements ComponentProviderStrategy {
+
+        private final List<Class<?>> compiledTypes = new ArrayList<>();
+        private final String value;
+        private final Class<?> providedType;
+        private int invocations;
+
+        RecordingStrategy(String value, Class<?> providedType) {
+            this.value = value;
+            this.providedType = providedType;
+        }
+
+        @Override
+        public <T> ObjectContainer<T> get(ComponentKey<T> componentKey, ComponentRequestContext requestContext, ComponentProviderStrategyChain<T> chain) {
+            this.invocations++;
+            return ComponentObjectContainer.ofPrototype(componentKey.type().cast(this.value));
+        }
+
+        @Override
+        public boolean canProvide(Class<?> componentType) {
+            this.compiledTypes.add(componentType);
+            return this.providedType.isAssignableFrom(componentType);
+        }
+
+        int compilations() {
+            return this.compiledTypes.size();
+        }
+
+        int invocations() {
+            return this.invocations;
+        }
+    }
+}
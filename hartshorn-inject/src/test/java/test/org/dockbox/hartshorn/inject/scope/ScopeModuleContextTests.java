@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test.org.dockbox.hartshorn.inject.scope;
+
+import org.dockbox.hartshorn.inject.ComponentKey;
+import org.dockbox.hartshorn.inject.binding.BindingHierarchy;
+import org.dockbox.hartshorn.inject.binding.BindingHierarchySnapshot;
+import org.dockbox.hartshorn.inject.scope.DirectScopeKey;
+import org.dockbox.hartshorn.inject.scope.Scope;
+import org.dockbox.hartshorn.inject.scope.ScopeAdapter;
+import org.dockbox.hartshorn.inject.scope.ScopeKey;
+import org.dockbox.hartshorn.inject.scope.ScopeModuleContext;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ScopeModuleContextTests {
+
+    private static final ScopeKey APPLICATION_SCOPE = DirectScopeKey.of(Scope.class);
+    private static final ScopeKey CHILD_SCOPE = DirectScopeKey.of(ScopeAdapter.class);
+
+    @Test
+    void testHierarchyIsCreatedOncePerKey() {
+        ScopeModuleContext context = new ScopeModuleContext(APPLICATION_SCOPE);
+        BindingHierarchy<String> first = context.hierarchy(CHILD_SCOPE, ComponentKey.of(String.class));
+        BindingHierarchy<String> second = context.hierarchy(CHILD_SCOPE, ComponentKey.of(String.class));
+        BindingHierarchy<Integer> other = context.hierarchy(CHILD_SCOPE, ComponentKey.of(Integer.class));
+
+        Assertions.assertSame(first, second);
+        Assertions.assertNotSame(first, other);
+        Assertions.assertEquals(2, context.hierarchies(CHILD_SCOPE).size());
+        Assertions.assertTrue(context.hierarchies(APPLICATION_SCOPE).isEmpty());
+    }
+
+    @Test
+    void testTemplateIsRebuiltWhenHierarchyIsAdded() {
+        ScopeModuleContext context = new ScopeModuleContext(APPLICATION_SCOPE);
+        context.hierarchy(CHILD_SCOPE, ComponentKey.of(String.class));
+
+        BindingHierarchySnapshot template = context.template(CHILD_SCOPE);
+        Assertions.assertSame(template, context.template(CHILD_SCOPE));
+        Assertions.assertEquals(1, template.keys().size());
+
+        context.hierarchy(CHILD_SCOPE, ComponentKey.of(Integer.class));
+        Assertions.assertEquals(2, context.template(CHILD_SCOPE).keys().size());
+    }
+
+    @Test
+    void testApplicationScopeTemplateMatchesHierarchies() {
+        ScopeModuleContext context = new ScopeModuleContext(APPLICATION_SCOPE);
+        context.hierarchy(APPLICATION_SCOPE, ComponentKey.of(String.class));
+
+        Assertions.assertTrue(context.hierarchies(APPLICATION_SCOPE).isEmpty());
+        Assertions.assertTrue(context.template(APPLICATION_SCOPE).keys().isEmpty());
+    }
+}
@@ -163,6 +163,40 @@ void testDelayedCircularDependencyPathIsEmpty(List<Class<?>> path) {
         Assertions.assertTrue(discoveredComponents.isEmpty());
     }
 
+    @ParameterizedTest
+    @MethodSource("circularImmediateResolution")
+    void testImmediateCircularDependencyPathCanBeFoundInGraph(List<Class<?>> path) {
+        DependencyGraph dependencyGraph = this.buildDependencyGraph(path);
+        CyclicDependencyGraphValidator validator = new CyclicDependencyGraphValidator();
+
+        List<GraphNode<DependencyContext<?>>> cyclicPath = validator.findCyclicPath(dependencyGraph);
+        Assertions.assertEquals(path.size() + 1, cyclicPath.size());
+        Assertions.assertEquals(cyclicPath.getFirst(), cyclicPath.getLast());
+
+        ComponentDiscoveryList discoveryList = validator.createDiscoveryList(cyclicPath, this.applicationContext.environment().introspector());
+        List<? extends Class<?>> discoveredTypes = discoveryList.discoveredComponents().stream()
+                .map(DiscoveredComponent::node)
+                .map(TypePathNode::type)
+                .map(TypeView::type)
+                .toList();
+        Assertions.assertEquals(path.size(), discoveredTypes.size());
+
+        int startIndex = discoveredTypes.indexOf(path.get(0));
+        for (int i = 0; i < path.size(); i++) {
+            Assertions.assertSame(path.get(i), discoveredTypes.get((startIndex + i) % path.size()));
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("circularDelayedResolution")
+    void testDelayedCircularDependencyIsNotFoundInGraph(List<Class<?>> path) {
+        DependencyGraph dependencyGraph = this.buildDependencyGraph(path);
+        CyclicDependencyGraphValidator validator = new CyclicDependencyGraphValidator();
+
+        Assertions.assertTrue(validator.findCyclicPath(dependencyGraph).isEmpty());
+        Assertions.assertDoesNotThrow(() -> validator.validateBeforeConfiguration(dependencyGraph, this.applicationContext.environment().introspector()));
+    }
+
     private DependencyGraph buildDependencyGraph(List<Class<?>> components) {
         Set<DependencyContext<?>> dependencyContexts = new HashSet<>();
         ApplicationEnvironment environment = this.applicationContext.environment();
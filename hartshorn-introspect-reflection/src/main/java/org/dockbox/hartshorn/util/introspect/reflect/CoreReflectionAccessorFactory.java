@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.util.introspect.reflect;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.dockbox.hartshorn.util.introspect.IllegalIntrospectionException;
+import org.dockbox.hartshorn.util.introspect.MethodInvoker;
+import org.dockbox.hartshorn.util.option.Option;
+
+/**
+ * A {@link ReflectionAccessorFactory} which uses core reflection ({@link Method#invoke(Object, Object...)},
+ * {@link Constructor#newInstance(Object...)}, {@link Field#get(Object)} and {@link Field#set(Object, Object)})
+ * to access members. This factory supports all members that can be made accessible, and is therefore used as
+ * the fallback for other factories.
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public class CoreReflectionAccessorFactory implements ReflectionAccessorFactory {
+
+    @Override
+    public <T, P> MethodInvoker<T, P> methodInvoker(Method method) {
+        return new ReflectionMethodInvoker<>();
+    }
+
+    @Override
+    public <T> ReflectiveConstructorCall<T> constructorCall(Constructor<T> constructor) {
+        return args -> {
+            try {
+                return constructor.newInstance(args);
+            } catch (InvocationTargetException e) {
+                if (e.getCause() instanceof Exception ex) {
+                    throw ex;
+                }
+                throw e;
+            }
+        };
+    }
+
+    @Override
+    public <T, P> ReflectiveFieldAccess<T, P> fieldAccess(Field field) {
+        return instance -> {
+            try {
+                //noinspection unchecked
+                return Option.of((T) field.get(instance));
+            }
+            catch (IllegalAccessException e) {
+                throw new IllegalIntrospectionException(field, e.getMessage());
+            }
+        };
+    }
+
+    @Override
+    public <T, P> ReflectiveFieldWriter<T, P> fieldWriter(Field field) {
+        return (instance, value) -> {
+            try {
+                field.set(instance, value);
+            }
+            catch (IllegalAccessException e) {
+                throw new IllegalIntrospectionException(field, e.getMessage());
+            }
+        };
+    }
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.util.introspect.reflect;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.Set;
+
+import org.dockbox.hartshorn.util.introspect.MethodInvoker;
+import org.dockbox.hartshorn.util.option.Option;
+
+/**
+ * A {@link ReflectionAccessorFactory} which accesses members through {@link MethodHandle method handles}. Each
+ * accessor holds a single method handle which is adapted to a fixed, erased signature once when the accessor is
+ * created. Invocations then use {@link MethodHandle#invokeExact(Object...)}, which avoids the per-call access and
+ * argument checks performed by core reflection.
+ *
+ * <p>If no method handle can be obtained for a member, for example because the member could not be made accessible
+ * or because the member is a {@code static final} field that is written to, accessor creation falls back to the
+ * configured fallback factory. By default, this is a {@link CoreReflectionAccessorFactory}.
+ *
+ * <p>Contrary to core reflection, invoked members that throw an exception will propagate the exception directly,
+ * without wrapping it in an {@link java.lang.reflect.InvocationTargetException}. This matches the behavior of the
+ * views, which already unwrap these exceptions. Similar to core reflection, receivers or arguments which cannot be
+ * adapted to the member result in an {@link IllegalArgumentException}, rather than the {@link ClassCastException}
+ * or {@link java.lang.invoke.WrongMethodTypeException} that is thrown by the method handle.
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public class MethodHandleReflectionAccessorFactory implements ReflectionAccessorFactory {
+
+    private static final MethodType METHOD_INVOKER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+    private static final MethodType CONSTRUCTOR_CALL_TYPE = MethodType.methodType(Object.class, Object[].class);
+    private static final MethodType FIELD_ACCESS_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType FIELD_WRITER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+    // Wrapper types which can be unboxed and widened to each primitive type, following JLS 5.1.2
+    private static final Map<Class<?>, Set<Class<?>>> PRIMITIVE_CONVERSIONS = Map.of(
+            boolean.class, Set.of(Boolean.class),
+            char.class, Set.of(Character.class),
+            byte.class, Set.of(Byte.class),
+            short.class, Set.of(Short.class, Byte.class),
+            int.class, Set.of(Integer.class, Short.class, Byte.class, Character.class),
+            long.class, Set.of(Long.class, Integer.class, Short.class, Byte.class, Character.class),
+            float.class, Set.of(Float.class, Long.class, Integer.class, Short.class, Byte.class, Character.class),
+            double.class, Set.of(Double.class, Float.class, Long.class, Integer.class, Short.class, Byte.class, Character.class)
+    );
+
+    private final Lookup lookup = MethodHandles.lookup();
+    private final ReflectionAccessorFactory fallback;
+
+    public MethodHandleReflectionAccessorFactory() {
+        this(new CoreReflectionAccessorFactory());
+    }
+
+    public MethodHandleReflectionAccessorFactory(ReflectionAccessorFactory fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public <T, P> MethodInvoker<T, P> methodInvoker(Method method) {
+        final MethodHandle handle;
+        try {
+            handle = this.lookup.unreflect(method);
+        }
+        catch (IllegalAccessException e) {
+            return this.fallback.methodInvoker(method);
+        }
+        MethodHandle invoker = this.dropInstanceIfStatic(handle.asFixedArity(), method.getModifiers())
+                .asSpreader(Object[].class, method.getParameterCount())
+                .asType(METHOD_INVOKER_TYPE);
+
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        return (view, instance, args) -> {
+            try {
+                //noinspection unchecked
+                return Option.of((T) (Object) invoker.invokeExact((Object) instance, args));
+            }
+            catch (Throwable e) {
+                throw adaptationFailure(e, method, instance, parameterTypes, args);
+            }
+        };
+    }
+
+    @Override
+    public <T> ReflectiveConstructorCall<T> constructorCall(Constructor<T> constructor) {
+        final MethodHandle handle;
+        try {
+            handle = this.lookup.unreflectConstructor(constructor);
+        }
+        catch (IllegalAccessException e) {
+            return this.fallback.constructorCall(constructor);
+        }
+        MethodHandle call = handle.asFixedArity()
+                .asSpreader(Object[].class, constructor.getParameterCount())
+                .asType(CONSTRUCTOR_CALL_TYPE);
+
+        Class<T> declaringClass = constructor.getDeclaringClass();
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        return args -> {
+            try {
+                return declaringClass.cast((Object) call.invokeExact(args));
+            }
+            catch (Throwable e) {
+                throw adaptationFailure(e, constructor, null, parameterTypes, args);
+            }
+        };
+    }
+
+    @Override
+    public <T, P> ReflectiveFieldAccess<T, P> fieldAccess(Field field) {
+        final MethodHandle handle;
+        try {
+            handle = this.lookup.unreflectGetter(field);
+        }
+        catch (IllegalAccessException e) {
+            return this.fallback.fieldAccess(field);
+        }
+        MethodHandle getter = this.dropInstanceIfStatic(handle, field.getModifiers())
+                .asType(FIELD_ACCESS_TYPE);
+
+        return instance -> {
+            try {
+                //noinspection unchecked
+                return Option.of((T) (Object) getter.invokeExact((Object) instance));
+            }
+            catch (Throwable e) {
+                throw adaptationFailure(e, field, instance, new Class<?>[0], new Object[0]);
+            }
+        };
+    }
+
+    @Override
+    public <T, P> ReflectiveFieldWriter<T, P> fieldWriter(Field field) {
+        final MethodHandle handle;
+        try {
+            handle = this.lookup.unreflectSetter(field);
+        }
+        catch (IllegalAccessException e) {
+            // Typically static final fields, which cannot be written to through method handles
+            return this.fallback.fieldWriter(field);
+        }
+        MethodHandle setter = this.dropInstanceIfStatic(handle, field.getModifiers())
+                .asType(FIELD_WRITER_TYPE);
+
+        Class<?>[] valueType = { field.getType() };
+        return (instance, value) -> {
+            try {
+                // Must be a statement, so the call site is linked with a void return type
+                setter.invokeExact((Object) instance, (Object) value);
+            }
+            catch (Throwable e) {
+                throw adaptationFailure(e, field, instance, valueType, new Object[] { value });
+            }
+        };
+    }
+
+    /**
+     * Translates a failed invocation of a method handle. Method handles report receivers and arguments which cannot
+     * be adapted to the member as a {@link ClassCastException}, {@link NullPointerException} or {@link
+     * java.lang.invoke.WrongMethodTypeException}, which cannot be told apart from exceptions thrown by the member
+     * itself. If the receiver or arguments do not match the member, an {@link IllegalArgumentException} is returned
+     * instead, as core reflection would throw. Otherwise the original exception is returned. This is only checked
+     * after an invocation failed, so successful invocations are unaffected.
+     *
+     * @param failure the exception thrown by the method handle
+     * @param member the member that was accessed
+     * @param instance the receiver of the access, or {@code null} for static members and constructors
+     * @param parameterTypes the types of the values that are passed to the member
+     * @param args the values that were passed to the member
+     * @return the exception to throw
+     */
+    private static Throwable adaptationFailure(Throwable failure, Member member, Object instance, Class<?>[] parameterTypes, Object[] args) {
+        // Null receivers are reported as a NullPointerException, as core reflection does
+        boolean receiverAccepted = instance == null
+                || Modifier.isStatic(member.getModifiers())
+                || member.getDeclaringClass().isInstance(instance);
+        if (receiverAccepted && accepts(parameterTypes, args)) {
+            return failure;
+        }
+        return new IllegalArgumentException("Cannot access " + member + " with the given receiver or arguments", failure);
+    }
+
+    private static boolean accepts(Class<?>[] parameterTypes, Object[] args) {
+        Object[] arguments = args == null ? new Object[0] : args;
+        if (arguments.length != parameterTypes.length) {
+            return false;
+        }
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (!isAssignable(parameterTypes[i], arguments[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAssignable(Class<?> parameterType, Object argument) {
+        if (!parameterType.isPrimitive()) {
+            return argument == null || parameterType.isInstance(argument);
+        }
+        return argument != null && PRIMITIVE_CONVERSIONS.get(parameterType).contains(argument.getClass());
+    }
+
+    private MethodHandle dropInstanceIfStatic(MethodHandle handle, int modifiers) {
+        // Static members do not accept an instance, but the accessors always receive one (which is
+        // typically null). Ignore it so all accessors share the same signature.
+        if (Modifier.isStatic(modifiers)) {
+            return MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        return handle;
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.util.introspect.reflect;
+
+/**
+ * A {@link ReflectionIntrospectorLoader} which creates introspectors that access members through method handles,
+ * falling back to core reflection for members that cannot be accessed through method handles. This loader is not
+ * registered for service discovery by default, and can be selected by overriding the discovery of
+ * {@link org.dockbox.hartshorn.util.introspect.IntrospectorLoader}:
+ *
+ * <pre>{@code
+ * DiscoveryService.instance().override(IntrospectorLoader.class, MethodHandleReflectionIntrospectorLoader.class);
+ * }</pre>
+ *
+ * @see MethodHandleReflectionAccessorFactory
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public class MethodHandleReflectionIntrospectorLoader extends ReflectionIntrospectorLoader {
+
+    @Override
+    protected ReflectionAccessorFactory accessorFactory() {
+        return new MethodHandleReflectionAccessorFactory();
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.util.introspect.reflect;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import org.dockbox.hartshorn.util.introspect.MethodInvoker;
+
+/**
+ * A factory for the accessors that are used by reflection-based views to invoke methods and constructors, and
+ * to read and write fields. Accessors are created once per view, and reused for all subsequent invocations on
+ * that view. This allows implementations to perform expensive preparation (such as resolving method handles) once,
+ * rather than on every invocation.
+ *
+ * <p>Implementations are expected to be stateless and thread-safe, so they can be shared across views. Members
+ * passed to this factory have already been made accessible where possible.
+ *
+ * @see CoreReflectionAccessorFactory
+ * @see MethodHandleReflectionAccessorFactory
+ * @see ReflectionIntrospector
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public interface ReflectionAccessorFactory {
+
+    /**
+     * Creates an invoker for the given method. The returned invoker is only guaranteed to be valid for views
+     * that represent the given method.
+     *
+     * @param method the method to create an invoker for
+     * @param <T> the return type of the method
+     * @param <P> the type of the instance on which the method is invoked
+     * @return the invoker for the given method
+     */
+    <T, P> MethodInvoker<T, P> methodInvoker(Method method);
+
+    /**
+     * Creates a call for the given constructor.
+     *
+     * @param constructor the constructor to create a call for
+     * @param <T> the type of the constructed instance
+     * @return the call for the given constructor
+     */
+    <T> ReflectiveConstructorCall<T> constructorCall(Constructor<T> constructor);
+
+    /**
+     * Creates an accessor which reads the value of the given field.
+     *
+     * @param field the field to create an accessor for
+     * @param <T> the type of the field
+     * @param <P> the type of the instance which declares the field
+     * @return the accessor for the given field
+     */
+    <T, P> ReflectiveFieldAccess<T, P> fieldAccess(Field field);
+
+    /**
+     * Creates a writer which writes values to the given field.
+     *
+     * @param field the field to create a writer for
+     * @param <T> the type of the field
+     * @param <P> the type of the instance which declares the field
+     * @return the writer for the given field
+     */
+    <T, P> ReflectiveFieldWriter<T, P> fieldWriter(Field field);
+}
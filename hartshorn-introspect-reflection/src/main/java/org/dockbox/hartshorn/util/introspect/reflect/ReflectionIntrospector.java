@@ -70,6 +70,11 @@
  * {@link ProxyLookup}. Note that {@link #introspect(Type)} and {@link #introspect(Class)} will
  * return the proxy type, to allow for introspection of proxy types.
  *
+ * <p>Members are accessed through the configured {@link ReflectionAccessorFactory}. By default, core
+ * reflection is used through the {@link CoreReflectionAccessorFactory}. Alternatively, a
+ * {@link MethodHandleReflectionAccessorFactory} can be provided to access members through method handles,
+ * falling back to core reflection for members that cannot be accessed through method handles.
+ *
  * @since 0.4.13
  *
  * @author Guus Lieben
@@ -85,12 +90,27 @@ public class ReflectionIntrospector implements BatchCapableIntrospector {
 
     private final ProxyLookup proxyLookup;
     private final AnnotationLookup annotationLookup;
+    private final ReflectionAccessorFactory accessorFactory;
 
     private boolean batchModeEnabled = false;
 
     public ReflectionIntrospector(ProxyLookup proxyLookup, AnnotationLookup annotationLookup) {
+        this(proxyLookup, annotationLookup, new CoreReflectionAccessorFactory());
+    }
+
+    public ReflectionIntrospector(ProxyLookup proxyLookup, AnnotationLookup annotationLookup, ReflectionAccessorFactory accessorFactory) {
         this.proxyLookup = proxyLookup;
         this.annotationLookup = annotationLookup;
+        this.accessorFactory = accessorFactory;
+    }
+
+    /**
+     * Returns the factory that is used by views of this introspector to access members.
+     *
+     * @return the accessor factory of this introspector
+     */
+    public ReflectionAccessorFactory accessorFactory() {
+        return this.accessorFactory;
     }
 
     @Override
@@ -22,7 +22,12 @@
 import org.dockbox.hartshorn.util.introspect.annotations.AnnotationLookup;
 
 /**
- * A {@link IntrospectorLoader} that creates {@link ReflectionIntrospector} instances.
+ * A {@link IntrospectorLoader} that creates {@link ReflectionIntrospector} instances. By default, created
+ * introspectors access members through core reflection. The {@link ReflectionAccessorFactory} that is used
+ * can be customized by extending this loader, and registering it as an override through the
+ * {@link org.dockbox.hartshorn.spi.DiscoveryService}.
+ *
+ * @see MethodHandleReflectionIntrospectorLoader
  *
  * @see ReflectionIntrospector
  *
@@ -34,6 +39,15 @@ public class ReflectionIntrospectorLoader implements IntrospectorLoader {
 
     @Override
     public Introspector create(ProxyLookup proxyLookup, AnnotationLookup annotationLookup) {
-        return new ReflectionIntrospector(proxyLookup, annotationLookup);
+        return new ReflectionIntrospector(proxyLookup, annotationLookup, this.accessorFactory());
+    }
+
+    /**
+     * Returns the accessor factory that is used by created introspectors.
+     *
+     * @return the accessor factory to use
+     */
+    protected ReflectionAccessorFactory accessorFactory() {
+        return new CoreReflectionAccessorFactory();
     }
 }
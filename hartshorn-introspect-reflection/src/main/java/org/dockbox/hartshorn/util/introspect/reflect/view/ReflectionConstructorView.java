@@ -17,7 +17,6 @@
 package org.dockbox.hartshorn.util.introspect.reflect.view;
 
 import java.lang.reflect.Constructor;
-import java.lang.reflect.InvocationTargetException;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -26,6 +25,7 @@
 import org.dockbox.hartshorn.reporting.Reportable;
 import org.dockbox.hartshorn.util.introspect.Introspector;
 import org.dockbox.hartshorn.util.introspect.TypeVariablesIntrospector;
+import org.dockbox.hartshorn.util.introspect.reflect.ReflectionAccessorFactory;
 import org.dockbox.hartshorn.util.introspect.reflect.ReflectionIntrospector;
 import org.dockbox.hartshorn.util.introspect.reflect.ReflectionTypeVariablesIntrospector;
 import org.dockbox.hartshorn.util.introspect.reflect.ReflectiveConstructorCall;
@@ -47,6 +47,7 @@
 
     private final Constructor<T> constructor;
     private final Introspector introspector;
+    private final ReflectionAccessorFactory accessorFactory;
 
     private TypeVariablesIntrospector typeParametersIntrospector;
     private ReflectiveConstructorCall<T> invoker;
@@ -57,20 +58,12 @@ public ReflectionConstructorView(ReflectionIntrospector introspector, Constructo
         super(introspector, constructor);
         this.constructor = constructor;
         this.introspector = introspector;
+        this.accessorFactory = introspector.accessorFactory();
     }
 
     protected ReflectiveConstructorCall<T> invoker() {
         if (this.invoker == null) {
-            this.invoker = args -> {
-                try {
-                    return this.constructor.newInstance(args);
-                } catch (InvocationTargetException e) {
-                    if (e.getCause() instanceof Exception ex) {
-                        throw ex;
-                    }
-                    throw e;
-                }
-            };
+            this.invoker = this.accessorFactory.constructorCall(this.constructor);
         }
         return this.invoker;
     }
@@ -26,6 +26,7 @@
 import org.dockbox.hartshorn.util.introspect.Introspector;
 import org.dockbox.hartshorn.util.introspect.annotations.Property;
 import org.dockbox.hartshorn.util.introspect.reflect.ReflectionElementModifiersIntrospector;
+import org.dockbox.hartshorn.util.introspect.reflect.ReflectionAccessorFactory;
 import org.dockbox.hartshorn.util.introspect.reflect.ReflectionIntrospector;
 import org.dockbox.hartshorn.util.introspect.reflect.ReflectiveFieldAccess;
 import org.dockbox.hartshorn.util.introspect.reflect.ReflectiveFieldWriter;
@@ -49,6 +50,7 @@
 
     private final Field field;
     private final Introspector introspector;
+    private final ReflectionAccessorFactory accessorFactory;
 
     private ReflectiveFieldAccess<FieldType, Parent> getter;
     private ReflectiveFieldWriter<FieldType, Parent> setter;
@@ -61,6 +63,7 @@ public ReflectionFieldView(ReflectionIntrospector introspector, Field field) {
         super(introspector);
         this.field = field;
         this.introspector = introspector;
+        this.accessorFactory = introspector.accessorFactory();
         // Acceptable if the field is not accessible. If the field cannot be accessed, it is assumed this is valid
         // and the field will only be used for introspection purposes.
         field.trySetAccessible();
@@ -87,14 +90,7 @@ public void set(Object instance, Object value) throws Throwable {
                     methodView.invoke(this.declaredBy().cast(instance), propertyValue).cast(this.type().type());
                 };
             } else {
-                this.setter = (object, propertyValue) -> {
-                    try {
-                        this.field.set(object, propertyValue);
-                    }
-                    catch (IllegalAccessException e) {
-                        throw new IllegalIntrospectionException(this, e.getMessage());
-                    }
-                };
+                this.setter = this.accessorFactory.fieldWriter(this.field);
             }
         }
         this.setter.set(this.declaredBy().cast(instance), this.type().cast(value));
@@ -111,14 +107,8 @@ public Option<FieldType> get(Object instance) throws Throwable {
                 this.getter = object -> methodContext.invoke(instance)
                         .map(result -> this.type().cast(result));
             } else {
-                this.getter = object -> {
-                    try {
-                        return Option.of(this.type().cast(this.field.get(object)));
-                    }
-                    catch (IllegalAccessException e) {
-                        throw new IllegalIntrospectionException(this, e.getMessage());
-                    }
-                };
+                ReflectiveFieldAccess<FieldType, Parent> fieldAccess = this.accessorFactory.fieldAccess(this.field);
+                this.getter = object -> fieldAccess.get(object).map(result -> this.type().cast(result));
             }
         }
         return this.getter.get(this.declaredBy().cast(instance)).orCompute(() -> this.type().defaultOrNull());
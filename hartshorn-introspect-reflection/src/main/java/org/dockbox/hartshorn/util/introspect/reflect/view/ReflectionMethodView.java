@@ -26,8 +26,8 @@
 import org.dockbox.hartshorn.util.introspect.IllegalIntrospectionException;
 import org.dockbox.hartshorn.util.introspect.Introspector;
 import org.dockbox.hartshorn.util.introspect.MethodInvoker;
+import org.dockbox.hartshorn.util.introspect.reflect.ReflectionAccessorFactory;
 import org.dockbox.hartshorn.util.introspect.reflect.ReflectionIntrospector;
-import org.dockbox.hartshorn.util.introspect.reflect.ReflectionMethodInvoker;
 import org.dockbox.hartshorn.util.introspect.view.MethodView;
 import org.dockbox.hartshorn.util.introspect.view.TypeView;
 import org.dockbox.hartshorn.util.option.Option;
@@ -45,6 +45,7 @@
 public class ReflectionMethodView<Parent, ReturnType> extends ReflectionExecutableElementView<Parent> implements MethodView<Parent, ReturnType> {
 
     private final Introspector introspector;
+    private final ReflectionAccessorFactory accessorFactory;
     private final Method method;
 
     private MethodInvoker<ReturnType, Parent> invoker;
@@ -56,6 +57,7 @@
     public ReflectionMethodView(ReflectionIntrospector introspector, Method method) {
         super(introspector, method);
         this.introspector = introspector;
+        this.accessorFactory = introspector.accessorFactory();
         this.method = method;
     }
 
@@ -67,7 +69,7 @@ public Option<Method> method() {
     @Override
     public Option<ReturnType> invoke(Object instance, Collection<?> arguments) throws Throwable {
         if (this.invoker == null) {
-            this.invoker = new ReflectionMethodInvoker<>();
+            this.invoker = this.accessorFactory.methodInvoker(this.method);
         }
         Parent checkedInstance = this.declaredBy().cast(instance);
         return this.invoker.invoke(this, checkedInstance, arguments.toArray());
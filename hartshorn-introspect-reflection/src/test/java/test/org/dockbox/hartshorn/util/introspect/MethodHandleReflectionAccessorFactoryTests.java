@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test.org.dockbox.hartshorn.util.introspect;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import org.dockbox.hartshorn.util.introspect.MethodInvoker;
+import org.dockbox.hartshorn.util.introspect.reflect.MethodHandleReflectionAccessorFactory;
+import org.dockbox.hartshorn.util.introspect.reflect.ReflectiveConstructorCall;
+import org.dockbox.hartshorn.util.introspect.reflect.ReflectiveFieldAccess;
+import org.dockbox.hartshorn.util.introspect.reflect.ReflectiveFieldWriter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MethodHandleReflectionAccessorFactoryTests {
+
+    private final MethodHandleReflectionAccessorFactory factory = new MethodHandleReflectionAccessorFactory();
+
+    @Test
+    void testMethodInvokerWidensArguments() throws Throwable {
+        MethodInvoker<Long, SampleTarget> invoker = this.factory.methodInvoker(SampleTarget.class.getDeclaredMethod("add", long.class));
+        Assertions.assertEquals(3L, invoker.invoke(null, new SampleTarget(), new Object[] { 3 }).get());
+    }
+
+    @Test
+    void testMethodInvokerPropagatesExceptionFromTarget() throws NoSuchMethodException {
+        MethodInvoker<Object, SampleTarget> invoker = this.factory.methodInvoker(SampleTarget.class.getDeclaredMethod("fail"));
+        Assertions.assertThrows(IllegalStateException.class, () -> invoker.invoke(null, new SampleTarget(), new Object[0]));
+    }
+
+    @Test
+    void testMethodInvokerRejectsInvalidReceiver() throws NoSuchMethodException {
+        Method method = SampleTarget.class.getDeclaredMethod("add", long.class);
+        MethodInvoker<Object, Object> invoker = this.factory.methodInvoker(method);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> invoker.invoke(null, new Object(), new Object[] { 1L }));
+    }
+
+    @Test
+    void testMethodInvokerRejectsInvalidArguments() throws NoSuchMethodException {
+        MethodInvoker<Object, SampleTarget> invoker = this.factory.methodInvoker(SampleTarget.class.getDeclaredMethod("add", long.class));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> invoker.invoke(null, new SampleTarget(), new Object[] { "1" }));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> invoker.invoke(null, new SampleTarget(), new Object[] { null }));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> invoker.invoke(null, new SampleTarget(), new Object[] { 1L, 2L }));
+    }
+
+    @Test
+    void testConstructorCallRejectsInvalidArguments() throws NoSuchMethodException {
+        Constructor<SampleTarget> constructor = SampleTarget.class.getDeclaredConstructor(String.class);
+        ReflectiveConstructorCall<SampleTarget> call = this.factory.constructorCall(constructor);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> call.invoke(new Object[] { 1 }));
+    }
+
+    @Test
+    void testFieldAccessRejectsInvalidReceiver() throws NoSuchFieldException {
+        Field field = SampleTarget.class.getDeclaredField("name");
+        ReflectiveFieldAccess<Object, Object> access = this.factory.fieldAccess(field);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> access.get(new Object()));
+    }
+
+    @Test
+    void testFieldWriterRejectsInvalidValue() throws NoSuchFieldException {
+        Field field = SampleTarget.class.getDeclaredField("name");
+        ReflectiveFieldWriter<Object, SampleTarget> writer = this.factory.fieldWriter(field);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> writer.set(new SampleTarget(), 1));
+    }
+
+    public static class SampleTarget {
+
+        public String name = "sample";
+
+        public SampleTarget() {
+        }
+
+        public SampleTarget(String name) {
+            this.name = name;
+        }
+
+        public long add(long value) {
+            return value;
+        }
+
+        public void fail() {
+            throw new IllegalStateException("fail");
+        }
+    }
+}
@@ -36,6 +36,9 @@
  * <p>{@link ParameterizableType}s can be introspected with {@link Introspector introspectors}, retaining
  * complete type information.
  *
+ * <p>As parameterizable types are immutable and commonly used as (part of) map keys, their hash code is computed
+ * once on creation.
+ *
  * @see TypeView
  * @see Introspector
  * @see ParameterizedType
@@ -49,10 +52,13 @@ public final class ParameterizableType implements Reportable {
 
     private final Class<?> type;
     private final List<ParameterizableType> parameters;
+    private final int hashCode;
 
     private ParameterizableType(Class<?> type, List<ParameterizableType> parameters) {
         this.type = type;
-        this.parameters = parameters;
+        // Copy to ensure the hash code remains valid if the original list is modified
+        this.parameters = List.copyOf(parameters);
+        this.hashCode = Objects.hash(this.type, this.parameters);
     }
 
     /**
@@ -133,7 +139,7 @@ public Class<?> type() {
      * @return the parameters of this parameterized type
      */
     public List<ParameterizableType> parameters() {
-        return List.copyOf(this.parameters);
+        return this.parameters;
     }
 
     /**
@@ -155,12 +161,14 @@ public boolean equals(Object o) {
             return false;
         }
         ParameterizableType that = (ParameterizableType) o;
-        return Objects.equals(this.type, that.type) && Objects.equals(this.parameters, that.parameters);
+        return this.hashCode == that.hashCode
+                && Objects.equals(this.type, that.type)
+                && Objects.equals(this.parameters, that.parameters);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(this.type, this.parameters);
+        return this.hashCode;
     }
 
     /**
@@ -16,7 +16,11 @@
 
 package org.dockbox.hartshorn.util.introspect.scan;
 
+import java.lang.annotation.Annotation;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -28,6 +32,10 @@
  * A {@link TypeReferenceCollectorContext} is a {@link org.dockbox.hartshorn.context.Context} that is used
  * to track {@link TypeReferenceCollector} which are used by the application to discover types on the classpath.
  *
+ * <p>Registered collectors can be {@link #substitute(Class, TypeReferenceCollector, TypeReferenceCollector) substituted}
+ * for lookups of a specific annotation. This allows collectors which only know about types with that annotation, such
+ * as build-time indexes, to replace a more expensive collector for that lookup, without affecting any other lookups.
+ *
  * @since 0.4.13
  *
  * @author Guus Lieben
@@ -36,6 +44,9 @@ public class TypeReferenceCollectorContext extends DefaultContext implements Rep
 
     private final Set<TypeReferenceCollector> collectors = ConcurrentHashMap.newKeySet();
 
+    private final Map<Class<? extends Annotation>, Map<TypeReferenceCollector, TypeReferenceCollector>> substitutes = new HashMap<>();
+    private final Map<Class<? extends Annotation>, TypeReferenceCollector> annotationAggregates = new HashMap<>();
+
     private TypeReferenceCollector aggregate;
 
     /**
@@ -46,6 +57,25 @@ public class TypeReferenceCollectorContext extends DefaultContext implements Rep
     public synchronized void register(TypeReferenceCollector collector) {
         this.collectors.add(collector);
         this.aggregate = null;
+        this.annotationAggregates.clear();
+    }
+
+    /**
+     * Substitutes a registered {@link TypeReferenceCollector} when looking up types that are annotated with the given
+     * annotation. The substitute is expected to collect at least all types of the original collector that are
+     * annotated with the given annotation. Other lookups continue to use the original collector.
+     *
+     * @param annotation The annotation for which the collector is substituted
+     * @param collector The registered collector to substitute
+     * @param substitute The collector to use instead
+     * @throws IllegalArgumentException If the collector is not registered with this context
+     */
+    public synchronized void substitute(Class<? extends Annotation> annotation, TypeReferenceCollector collector, TypeReferenceCollector substitute) {
+        if (!this.collectors.contains(collector)) {
+            throw new IllegalArgumentException("Collector " + collector + " is not registered");
+        }
+        this.substitutes.computeIfAbsent(annotation, key -> new HashMap<>()).put(collector, substitute);
+        this.annotationAggregates.remove(annotation);
     }
 
     /**
@@ -61,6 +91,28 @@ public synchronized TypeReferenceCollector collector() {
         return this.aggregate;
     }
 
+    /**
+     * Returns a collector that combines all registered collectors, with any {@link #substitute(Class,
+     * TypeReferenceCollector, TypeReferenceCollector) substitutes} for the given annotation applied. If no collectors
+     * are substituted for the given annotation, this is the same as {@link #collector()}.
+     *
+     * @param annotation The annotation that is looked up
+     * @return A collector for types that are annotated with the given annotation
+     */
+    public synchronized TypeReferenceCollector collector(Class<? extends Annotation> annotation) {
+        Map<TypeReferenceCollector, TypeReferenceCollector> substitutes = this.substitutes.get(annotation);
+        if (substitutes == null) {
+            return this.collector();
+        }
+        return this.annotationAggregates.computeIfAbsent(annotation, key -> {
+            Set<TypeReferenceCollector> collectors = new HashSet<>();
+            for (TypeReferenceCollector collector : this.collectors) {
+                collectors.add(substitutes.getOrDefault(collector, collector));
+            }
+            return new CachedTypeReferenceCollector(new AggregateTypeReferenceCollector(collectors));
+        });
+    }
+
     /**
      * Returns all registered collectors.
      *
@@ -0,0 +1,190 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.util.introspect.scan.classfile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Inherited;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.dockbox.hartshorn.util.introspect.annotations.Extends;
+import org.dockbox.hartshorn.util.option.Option;
+
+/**
+ * A filter which determines whether a class may be annotated with a given annotation, based only on its class file.
+ * This allows callers to avoid loading classes which can never match an annotation lookup, which is considerably
+ * cheaper than loading, linking and introspecting each candidate.
+ *
+ * <p>The filter follows the same rules as {@link org.dockbox.hartshorn.util.introspect.annotations.VirtualHierarchyAnnotationLookup}:
+ * a class matches if any of its annotations, including {@link Inherited inherited} annotations of its superclasses, is
+ * the requested annotation or {@link Extends extends} it. Class files of candidate classes, their superclasses and
+ * annotation types are read through the configured {@link ClassLoader}, and cached for the lifetime of the filter.
+ *
+ * <p>The filter is conservative: if any relevant class file cannot be read, the class is assumed to match, so the
+ * caller falls back to a regular lookup after loading the class.
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public class ClassFileAnnotationFilter {
+
+    private static final String OBJECT = Object.class.getName();
+    private static final String EXTENDS = Extends.class.getName();
+    private static final String INHERITED = Inherited.class.getName();
+
+    private final ClassLoader classLoader;
+    private final Map<String, Option<ClassFileMetadata>> metadata = new ConcurrentHashMap<>();
+    private final Map<String, Option<Set<String>>> hierarchies = new ConcurrentHashMap<>();
+    private final Map<String, Option<Set<String>>> effectiveAnnotations = new ConcurrentHashMap<>();
+
+    public ClassFileAnnotationFilter(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Returns the class loader which is used to read class files.
+     *
+     * @return the class loader which is used to read class files
+     */
+    public ClassLoader classLoader() {
+        return this.classLoader;
+    }
+
+    /**
+     * Returns whether the class with the given name may be annotated with the given annotation. If this method
+     * returns {@code false}, the class is guaranteed not to be annotated with the annotation, either directly or
+     * through a virtual annotation hierarchy.
+     *
+     * @param className the binary name of the class
+     * @param annotation the annotation to look for
+     * @return {@code true} if the class may be annotated with the annotation, {@code false} otherwise
+     */
+    public boolean mayBeAnnotatedWith(String className, Class<? extends Annotation> annotation) {
+        Option<Set<String>> annotations = this.effectiveAnnotations(className);
+        return annotations.absent() || annotations.get().contains(annotation.getName());
+    }
+
+    /**
+     * Returns the binary names of all annotations which are effectively present on the class with the given name.
+     * This includes the annotations which are declared on the class, {@link Inherited inherited} annotations of its
+     * superclasses, and all annotations which these annotations {@link Extends extend}. If any relevant class file
+     * cannot be read, an empty {@link Option} is returned, indicating that the annotations of the class are unknown.
+     *
+     * @param className the binary name of the class
+     * @return the names of all effective annotations, or an empty {@link Option} if they are unknown
+     */
+    public Option<Set<String>> effectiveAnnotations(String className) {
+        Option<Set<String>> annotations = this.effectiveAnnotations.get(className);
+        if (annotations == null) {
+            annotations = this.resolveEffectiveAnnotations(className);
+            this.effectiveAnnotations.put(className, annotations);
+        }
+        return annotations;
+    }
+
+    private Option<Set<String>> resolveEffectiveAnnotations(String className) {
+        Option<ClassFileMetadata> candidate = this.metadata(className);
+        if (candidate.absent()) {
+            return Option.empty();
+        }
+
+        ClassFileMetadata current = candidate.get();
+        Set<String> annotations = new HashSet<>();
+        for (String present : current.annotations()) {
+            if (!this.addHierarchy(present, annotations)) {
+                return Option.empty();
+            }
+        }
+
+        // Annotations of superclasses are only visible if they are @Inherited
+        String superClassName = current.superClassName();
+        Set<String> visited = new HashSet<>();
+        while (superClassName != null && !OBJECT.equals(superClassName) && visited.add(superClassName)) {
+            Option<ClassFileMetadata> superClass = this.metadata(superClassName);
+            if (superClass.absent()) {
+                return Option.empty();
+            }
+            for (String present : superClass.get().annotations()) {
+                Option<ClassFileMetadata> annotation = this.metadata(present);
+                if (annotation.absent()) {
+                    return Option.empty();
+                }
+                if (annotation.get().annotations().contains(INHERITED) && !this.addHierarchy(present, annotations)) {
+                    return Option.empty();
+                }
+            }
+            superClassName = superClass.get().superClassName();
+        }
+        return Option.of(Set.copyOf(annotations));
+    }
+
+    private boolean addHierarchy(String annotation, Set<String> annotations) {
+        Option<Set<String>> hierarchy = this.hierarchy(annotation);
+        hierarchy.peek(annotations::addAll);
+        return hierarchy.present();
+    }
+
+    private Option<Set<String>> hierarchy(String annotation) {
+        Option<Set<String>> hierarchy = this.hierarchies.get(annotation);
+        if (hierarchy == null) {
+            hierarchy = this.resolveHierarchy(annotation);
+            this.hierarchies.put(annotation, hierarchy);
+        }
+        return hierarchy;
+    }
+
+    private Option<Set<String>> resolveHierarchy(String annotation) {
+        Set<String> hierarchy = new HashSet<>();
+        String current = annotation;
+        while (current != null && hierarchy.add(current)) {
+            Option<ClassFileMetadata> metadata = this.metadata(current);
+            if (metadata.absent()) {
+                // Part of the hierarchy is unknown, so it cannot be ruled out that the target is part of it
+                return Option.empty();
+            }
+            current = metadata.get().classAttribute(EXTENDS, "value");
+        }
+        return Option.of(Set.copyOf(hierarchy));
+    }
+
+    private Option<ClassFileMetadata> metadata(String className) {
+        Option<ClassFileMetadata> metadata = this.metadata.get(className);
+        if (metadata == null) {
+            metadata = this.readMetadata(className);
+            this.metadata.put(className, metadata);
+        }
+        return metadata;
+    }
+
+    private Option<ClassFileMetadata> readMetadata(String className) {
+        String resourceName = className.replace('.', '/') + ".class";
+        try (InputStream stream = this.classLoader.getResourceAsStream(resourceName)) {
+            if (stream == null) {
+                return Option.empty();
+            }
+            return Option.of(ClassFileReader.read(stream.readAllBytes()));
+        }
+        catch (IOException | ClassFileFormatException e) {
+            return Option.empty();
+        }
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.util.introspect.scan.classfile;
+
+import org.dockbox.hartshorn.util.ApplicationException;
+
+/**
+ * An exception that is thrown when a class file cannot be read, typically because it is malformed or uses a format
+ * which is not supported by the {@link ClassFileReader}.
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public class ClassFileFormatException extends ApplicationException {
+
+    public ClassFileFormatException(String message) {
+        super(message);
+    }
+
+    public ClassFileFormatException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
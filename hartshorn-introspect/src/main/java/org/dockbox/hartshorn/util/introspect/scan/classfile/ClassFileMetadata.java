@@ -0,0 +1,55 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.util.introspect.scan.classfile;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Minimal metadata of a class, as read directly from its class file by {@link ClassFileReader}. Only the data which
+ * is required to evaluate annotations without loading the class is retained.
+ *
+ * @param className the binary name of the class
+ * @param superClassName the binary name of the direct superclass, or {@code null} if the class has no superclass
+ * @param annotations the binary names of all runtime visible annotations on the class
+ * @param classAttributes the class-valued attributes of the runtime visible annotations on the class, keyed by
+ *                        annotation name and attribute name. Values are binary class names.
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public record ClassFileMetadata(
+        String className,
+        String superClassName,
+        Set<String> annotations,
+        Map<String, Map<String, String>> classAttributes
+) {
+
+    /**
+     * Returns the value of a class-valued attribute of an annotation on the class. If the annotation is not present,
+     * or does not explicitly declare the attribute, {@code null} is returned.
+     *
+     * @param annotation the binary name of the annotation
+     * @param attribute the name of the attribute
+     * @return the binary name of the class, or {@code null}
+     */
+    public String classAttribute(String annotation, String attribute) {
+        Map<String, String> attributes = this.classAttributes.get(annotation);
+        return attributes == null ? null : attributes.get(attribute);
+    }
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.util.introspect.scan.classfile;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reads {@link ClassFileMetadata} directly from the bytes of a class file, without loading the class. Only the constant
+ * pool, the class hierarchy and the {@code RuntimeVisibleAnnotations} attribute of the class are inspected. Fields
+ * and methods are skipped without being decoded.
+ *
+ * <p>If the constant pool of a class does not contain the name of the {@code RuntimeVisibleAnnotations} attribute,
+ * the class cannot carry any runtime visible annotations, and the remainder of the class file is not read.
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public final class ClassFileReader {
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELD_REF = 9;
+    private static final int CONSTANT_METHOD_REF = 10;
+    private static final int CONSTANT_INTERFACE_METHOD_REF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    private ClassFileReader() {}
+
+    /**
+     * Reads the metadata of the given class file.
+     *
+     * @param bytes the bytes of the class file
+     * @return the metadata of the class
+     * @throws ClassFileFormatException if the bytes do not represent a valid class file
+     */
+    public static ClassFileMetadata read(byte[] bytes) throws ClassFileFormatException {
+        try {
+            return read(ByteBuffer.wrap(bytes));
+        }
+        catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new ClassFileFormatException("Truncated or malformed class file", e);
+        }
+    }
+
+    private static ClassFileMetadata read(ByteBuffer buffer) throws ClassFileFormatException {
+        if (buffer.getInt() != MAGIC) {
+            throw new ClassFileFormatException("Not a class file");
+        }
+        buffer.getShort(); // minor version
+        buffer.getShort(); // major version
+
+        int constantPoolCount = buffer.getShort() & 0xFFFF;
+        String[] utf8 = new String[constantPoolCount];
+        int[] classNameIndexes = new int[constantPoolCount];
+        boolean hasAnnotations = false;
+
+        for (int index = 1; index < constantPoolCount; index++) {
+            int tag = buffer.get() & 0xFF;
+            switch (tag) {
+                case CONSTANT_UTF8 -> {
+                    int length = buffer.getShort() & 0xFFFF;
+                    String value = decodeUtf8(buffer, length);
+                    utf8[index] = value;
+                    hasAnnotations |= RUNTIME_VISIBLE_ANNOTATIONS.equals(value);
+                }
+                case CONSTANT_CLASS -> classNameIndexes[index] = buffer.getShort() & 0xFFFF;
+                case CONSTANT_STRING, CONSTANT_METHOD_TYPE, CONSTANT_MODULE, CONSTANT_PACKAGE -> skip(buffer, 2);
+                case CONSTANT_METHOD_HANDLE -> skip(buffer, 3);
+                case CONSTANT_INTEGER, CONSTANT_FLOAT, CONSTANT_FIELD_REF, CONSTANT_METHOD_REF,
+                     CONSTANT_INTERFACE_METHOD_REF, CONSTANT_NAME_AND_TYPE, CONSTANT_DYNAMIC,
+                     CONSTANT_INVOKE_DYNAMIC -> skip(buffer, 4);
+                case CONSTANT_LONG, CONSTANT_DOUBLE -> {
+                    skip(buffer, 8);
+                    // Eight-byte constants take up two entries in the constant pool
+                    index++;
+                }
+                default -> throw new ClassFileFormatException("Unknown constant pool tag " + tag);
+            }
+        }
+
+        buffer.getShort(); // access flags
+        String className = internalToBinaryName(className(utf8, classNameIndexes, buffer.getShort() & 0xFFFF));
+        int superClassIndex = buffer.getShort() & 0xFFFF;
+        String superClassName = superClassIndex == 0 ? null : internalToBinaryName(className(utf8, classNameIndexes, superClassIndex));
+
+        if (!hasAnnotations) {
+            return new ClassFileMetadata(className, superClassName, Set.of(), Map.of());
+        }
+
+        int interfacesCount = buffer.getShort() & 0xFFFF;
+        skip(buffer, 2 * interfacesCount);
+        skipMembers(buffer); // fields
+        skipMembers(buffer); // methods
+
+        Set<String> annotations = new HashSet<>();
+        Map<String, Map<String, String>> classAttributes = new HashMap<>();
+        int attributesCount = buffer.getShort() & 0xFFFF;
+        for (int i = 0; i < attributesCount; i++) {
+            String attributeName = utf8(utf8, buffer.getShort() & 0xFFFF);
+            int length = buffer.getInt();
+            if (!RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName)) {
+                skip(buffer, length);
+                continue;
+            }
+            int annotationsCount = buffer.getShort() & 0xFFFF;
+            for (int j = 0; j < annotationsCount; j++) {
+                String annotation = descriptorToBinaryName(utf8(utf8, buffer.getShort() & 0xFFFF));
+                annotations.add(annotation);
+                Map<String, String> attributes = readElementValuePairs(buffer, utf8);
+                if (!attributes.isEmpty()) {
+                    classAttributes.put(annotation, attributes);
+                }
+            }
+        }
+        return new ClassFileMetadata(className, superClassName, Set.copyOf(annotations), Map.copyOf(classAttributes));
+    }
+
+    private static Map<String, String> readElementValuePairs(ByteBuffer buffer, String[] utf8) throws ClassFileFormatException {
+        Map<String, String> classAttributes = new HashMap<>();
+        int pairsCount = buffer.getShort() & 0xFFFF;
+        for (int i = 0; i < pairsCount; i++) {
+            String name = utf8(utf8, buffer.getShort() & 0xFFFF);
+            int tag = buffer.get() & 0xFF;
+            if (tag == 'c') {
+                String descriptor = utf8(utf8, buffer.getShort() & 0xFFFF);
+                // Primitive and array types cannot refer to annotations, so they are not retained
+                if (isObjectDescriptor(descriptor)) {
+                    classAttributes.put(name, descriptorToBinaryName(descriptor));
+                }
+            }
+            else {
+                skipElementValue(buffer, tag);
+            }
+        }
+        return classAttributes;
+    }
+
+    private static void skipElementValue(ByteBuffer buffer, int tag) throws ClassFileFormatException {
+        switch (tag) {
+            case 'B', 'C', 'D', 'F', 'I', 'J', 'S', 'Z', 's', 'c' -> skip(buffer, 2);
+            case 'e' -> skip(buffer, 4);
+            case '@' -> {
+                skip(buffer, 2);
+                int pairsCount = buffer.getShort() & 0xFFFF;
+                for (int i = 0; i < pairsCount; i++) {
+                    skip(buffer, 2);
+                    skipElementValue(buffer, buffer.get() & 0xFF);
+                }
+            }
+            case '[' -> {
+                int valuesCount = buffer.getShort() & 0xFFFF;
+                for (int i = 0; i < valuesCount; i++) {
+                    skipElementValue(buffer, buffer.get() & 0xFF);
+                }
+            }
+            default -> throw new ClassFileFormatException("Unknown element value tag " + (char) tag);
+        }
+    }
+
+    private static void skipMembers(ByteBuffer buffer) {
+        int membersCount = buffer.getShort() & 0xFFFF;
+        for (int i = 0; i < membersCount; i++) {
+            skip(buffer, 6); // access flags, name and descriptor
+            int attributesCount = buffer.getShort() & 0xFFFF;
+            for (int j = 0; j < attributesCount; j++) {
+                skip(buffer, 2);
+                skip(buffer, buffer.getInt());
+            }
+        }
+    }
+
+    private static String utf8(String[] utf8, int index) throws ClassFileFormatException {
+        if (index <= 0 || index >= utf8.length || utf8[index] == null) {
+            throw new ClassFileFormatException("Constant pool index " + index + " does not refer to a UTF-8 entry");
+        }
+        return utf8[index];
+    }
+
+    private static String className(String[] utf8, int[] classNameIndexes, int index) throws ClassFileFormatException {
+        if (index <= 0 || index >= classNameIndexes.length || classNameIndexes[index] == 0) {
+            throw new ClassFileFormatException("Constant pool index " + index + " does not refer to a class entry");
+        }
+        return utf8(utf8, classNameIndexes[index]);
+    }
+
+    private static void skip(ByteBuffer buffer, int length) {
+        buffer.position(buffer.position() + length);
+    }
+
+    private static String decodeUtf8(ByteBuffer buffer, int length) {
+        // Class files use modified UTF-8, which only differs from standard UTF-8 for null characters and
+        // supplementary characters. Neither can occur in valid class or annotation names.
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        skip(buffer, length);
+        return value;
+    }
+
+    private static String internalToBinaryName(String internalName) {
+        return internalName.replace('/', '.');
+    }
+
+    private static boolean isObjectDescriptor(String descriptor) {
+        return descriptor != null
+                && descriptor.length() > 2
+                && descriptor.charAt(0) == 'L'
+                && descriptor.charAt(descriptor.length() - 1) == ';';
+    }
+
+    private static String descriptorToBinaryName(String descriptor) throws ClassFileFormatException {
+        if (!isObjectDescriptor(descriptor)) {
+            throw new ClassFileFormatException("Unsupported type descriptor " + descriptor);
+        }
+        return internalToBinaryName(descriptor.substring(1, descriptor.length() - 1));
+    }
+}
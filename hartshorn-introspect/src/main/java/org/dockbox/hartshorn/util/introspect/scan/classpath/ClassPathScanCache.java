@@ -0,0 +1,179 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.util.introspect.scan.classpath;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.dockbox.hartshorn.util.option.Option;
+
+/**
+ * A persistent cache for the results of a {@link ClassPathScanSession}, stored in a single compressed binary file.
+ * Results are stored together with a {@link ClassPathScanner#fingerprint() fingerprint} of the scanned classpath,
+ * and are only reused if the fingerprint of the current classpath is identical. This allows processes which are
+ * restarted with the same artifacts to skip reading and matching classpath resources. Computing the fingerprint still
+ * inspects the attributes of every file within classpath directories, so a cache hit only avoids the full walk for jar
+ * files.
+ *
+ * <p>The cache is best-effort: if the cache file is missing, corrupt, or was written for a different classpath or
+ * a different set of prefixes, it is ignored and the classpath is scanned as usual. Failures to write the cache are
+ * ignored as well, as they do not affect the correctness of the scan.
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public final class ClassPathScanCache {
+
+    private static final int MAGIC = 0x48534331; // HSC1
+    private static final int VERSION = 1;
+
+    private final Path file;
+
+    private ClassPathScanCache(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Creates a new cache which is stored in the given file. The file does not need to exist yet.
+     *
+     * @param file the file to store the cache in
+     * @return a new cache
+     */
+    public static ClassPathScanCache of(Path file) {
+        return new ClassPathScanCache(file);
+    }
+
+    /**
+     * Returns the file in which this cache is stored.
+     *
+     * @return the file in which this cache is stored
+     */
+    public Path file() {
+        return this.file;
+    }
+
+    /**
+     * Reads the cached type names for the given prefixes. Cached results are only returned if they were stored for
+     * an identical classpath fingerprint, and contain results for all requested prefixes.
+     *
+     * @param fingerprint the fingerprint of the current classpath
+     * @param prefixes the prefixes to read results for
+     * @return the cached type names per prefix, or an empty {@link Option} if no valid results are cached
+     */
+    public Option<Map<String, Set<String>>> read(byte[] fingerprint, Set<String> prefixes) {
+        if (!Files.isRegularFile(this.file)) {
+            return Option.empty();
+        }
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(new GZIPInputStream(Files.newInputStream(this.file))))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+                return Option.empty();
+            }
+            byte[] storedFingerprint = new byte[input.readUnsignedShort()];
+            input.readFully(storedFingerprint);
+            if (!Arrays.equals(fingerprint, storedFingerprint)) {
+                return Option.empty();
+            }
+
+            Map<String, Set<String>> results = new HashMap<>();
+            int prefixCount = input.readInt();
+            for (int i = 0; i < prefixCount; i++) {
+                String prefix = input.readUTF();
+                int nameCount = input.readInt();
+                Set<String> names = new HashSet<>(nameCount);
+                for (int j = 0; j < nameCount; j++) {
+                    names.add(input.readUTF());
+                }
+                if (prefixes.contains(prefix)) {
+                    results.put(prefix, names);
+                }
+            }
+            return results.keySet().containsAll(prefixes) ? Option.of(results) : Option.empty();
+        }
+        catch (IOException | RuntimeException e) {
+            // Corrupt or incompatible cache, scan instead
+            return Option.empty();
+        }
+    }
+
+    /**
+     * Writes the given type names to the cache, replacing any previously cached results. The cache file is written
+     * to a temporary file first, and then moved into place, so concurrent readers never observe a partial cache.
+     *
+     * @param fingerprint the fingerprint of the scanned classpath
+     * @param results the type names per prefix
+     */
+    public void write(byte[] fingerprint, Map<String, Set<String>> results) {
+        Path temporary = null;
+        try {
+            Path directory = this.file.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            temporary = Files.createTempFile(directory, this.file.getFileName().toString(), ".tmp");
+            try (OutputStream stream = Files.newOutputStream(temporary);
+                 DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(stream)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeShort(fingerprint.length);
+                output.write(fingerprint);
+                output.writeInt(results.size());
+                for (String prefix : new TreeSet<>(results.keySet())) {
+                    Set<String> names = results.get(prefix);
+                    output.writeUTF(prefix);
+                    output.writeInt(names.size());
+                    for (String name : new TreeSet<>(names)) {
+                        output.writeUTF(name);
+                    }
+                }
+            }
+            try {
+                Files.move(temporary, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            }
+            catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, this.file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        catch (IOException e) {
+            // The cache is an optimization only, failing to write it does not affect the scan result
+            if (temporary != null) {
+                try {
+                    Files.deleteIfExists(temporary);
+                }
+                catch (IOException ignored) {
+                    // Nothing left to clean up
+                }
+            }
+        }
+    }
+}
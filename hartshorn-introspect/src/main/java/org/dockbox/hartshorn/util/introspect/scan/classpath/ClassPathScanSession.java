@@ -0,0 +1,229 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.util.introspect.scan.classpath;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import org.dockbox.hartshorn.util.introspect.scan.ClassNameReference;
+import org.dockbox.hartshorn.util.introspect.scan.TypeCollectionException;
+import org.dockbox.hartshorn.util.introspect.scan.TypeReference;
+import org.dockbox.hartshorn.util.option.Option;
+
+/**
+ * A scan session that collects {@link TypeReference}s for a fixed set of package prefixes, using a single walk over
+ * the classpath. Without a session, every {@link ClassPathScannerTypeReferenceCollector} walks all jar files and
+ * directories on the classpath for its own package. Applications which scan many packages would otherwise walk the
+ * classpath once per package.
+ *
+ * <p>The classpath is walked lazily, when references are first requested for any of the prefixes of this session.
+ * Each resource is matched against all prefixes of the session in the same pass, so the results of nested prefixes
+ * (e.g. {@code org.example} and {@code org.example.service}) are collected at once. Jar files and directory subtrees
+ * are processed in {@link ClassPathScanner#parallel() parallel}.
+ *
+ * <p>Sessions can optionally be backed by a {@link ClassPathScanCache}, in which case results are reused across
+ * processes as long as the {@link ClassPathScanner#fingerprint() classpath fingerprint} is unchanged.
+ *
+ * <p>Sessions can also {@link #excluding(Map) exclude} classpath roots per prefix, for example roots of which the types
+ * are already known from a build-time index. Roots which are excluded for all prefixes of the session are not walked
+ * at all. Other roots are only walked for the prefixes they are not excluded for, so directories of excluded
+ * packages are not visited.
+ *
+ * @see ClassPathScannerTypeReferenceCollector
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public final class ClassPathScanSession {
+
+    private final Set<String> prefixes;
+    private final ClassPathScanCache cache;
+    private final Map<String, Set<Path>> excludedRoots;
+    private volatile Map<String, Set<TypeReference>> references;
+
+    private ClassPathScanSession(Set<String> prefixes, ClassPathScanCache cache, Map<String, Set<Path>> excludedRoots) {
+        this.prefixes = Set.copyOf(prefixes);
+        this.cache = cache;
+        this.excludedRoots = excludedRoots;
+    }
+
+    /**
+     * Creates a new session for the given package prefixes. The classpath is not walked until references are first
+     * requested.
+     *
+     * @param prefixes the package prefixes to collect references for
+     * @return a new session
+     */
+    public static ClassPathScanSession of(Set<String> prefixes) {
+        return new ClassPathScanSession(prefixes, null, Map.of());
+    }
+
+    /**
+     * Creates a new session for the given package prefixes, which is backed by the given persistent cache. If the
+     * cache contains results for the current classpath, classpath resources are not read or matched. Computing the
+     * {@link ClassPathScanner#fingerprint() fingerprint} of the classpath still inspects the attributes of every file
+     * within classpath directories.
+     *
+     * @param prefixes the package prefixes to collect references for
+     * @param cache the persistent cache to read results from, and write results to
+     * @return a new session
+     */
+    public static ClassPathScanSession of(Set<String> prefixes, ClassPathScanCache cache) {
+        return new ClassPathScanSession(prefixes, cache, Map.of());
+    }
+
+    /**
+     * Creates a new session for the given package prefixes, which does not collect references from the classpath
+     * roots that are excluded for each prefix. Roots are the jar files or directories of classpath entries, see
+     * {@link ClassPathScanner#excludeClassPathRoot(Path, String)}. Roots which are excluded for all prefixes are not
+     * walked.
+     * Sessions which exclude roots are not backed by a persistent cache, as their results only describe part of the
+     * classpath.
+     *
+     * @param excludedRoots the classpath roots which should not be scanned, keyed by the package prefixes to collect
+     *                      references for
+     * @return a new session
+     */
+    public static ClassPathScanSession excluding(Map<String, Set<Path>> excludedRoots) {
+        Map<String, Set<Path>> roots = new HashMap<>();
+        excludedRoots.forEach((prefix, prefixRoots) -> roots.put(prefix, prefixRoots.stream()
+                .map(root -> root.toAbsolutePath().normalize())
+                .collect(Collectors.toUnmodifiableSet())));
+        return new ClassPathScanSession(roots.keySet(), null, Map.copyOf(roots));
+    }
+
+    /**
+     * Returns the package prefixes which are collected by this session.
+     *
+     * @return the package prefixes of this session
+     */
+    public Set<String> prefixes() {
+        return this.prefixes;
+    }
+
+    /**
+     * Returns all type references of which the name starts with the given prefix. If the classpath has not been
+     * walked yet, it is walked for all prefixes of this session before returning.
+     *
+     * @param prefix the package prefix, which should be one of the {@link #prefixes() prefixes of this session}
+     * @return the type references which match the prefix
+     * @throws TypeCollectionException when the classpath could not be walked
+     * @throws IllegalArgumentException when the prefix is not part of this session
+     */
+    public Set<TypeReference> references(String prefix) throws TypeCollectionException {
+        if (!this.prefixes.contains(prefix)) {
+            throw new IllegalArgumentException("Prefix " + prefix + " is not part of this scan session");
+        }
+        Map<String, Set<TypeReference>> references = this.references;
+        if (references == null) {
+            references = this.scan();
+        }
+        return references.get(prefix);
+    }
+
+    private synchronized Map<String, Set<TypeReference>> scan() throws TypeCollectionException {
+        if (this.references != null) {
+            return this.references;
+        }
+
+        ClassPathScanner classpathScanner = ClassPathScanner.create()
+                .includeDefaultClassPath()
+                .classesOnly()
+                .parallel();
+        this.prefixes.forEach(classpathScanner::filterPrefix);
+        this.excludedRoots.forEach((prefix, roots) -> roots.forEach(root -> classpathScanner.excludeClassPathRoot(root, prefix)));
+
+        try {
+            if (this.cache == null) {
+                this.references = this.scan(classpathScanner);
+            }
+            else {
+                byte[] fingerprint = classpathScanner.fingerprint();
+                Option<Map<String, Set<String>>> cached = this.cache.read(fingerprint, this.prefixes);
+                if (cached.present()) {
+                    this.references = toReferences(cached.get());
+                }
+                else {
+                    Map<String, Set<TypeReference>> references = this.scan(classpathScanner);
+                    this.cache.write(fingerprint, toNames(references));
+                    this.references = references;
+                }
+            }
+        }
+        catch (ClassPathWalkingException e) {
+            throw new TypeCollectionException("Failed to collect types in packages " + this.prefixes, e);
+        }
+        return this.references;
+    }
+
+    private Map<String, Set<TypeReference>> scan(ClassPathScanner classpathScanner) throws ClassPathWalkingException {
+        Map<String, Set<TypeReference>> references = new ConcurrentHashMap<>();
+        for (String prefix : this.prefixes) {
+            references.put(prefix, ConcurrentHashMap.newKeySet());
+        }
+
+        classpathScanner.scan(resource -> {
+            if (resource.isClassResource()) {
+                String resourceName = resource.resourceName();
+                TypeReference reference = new ClassNameReference(resourceName);
+                for (String prefix : this.prefixes) {
+                    if (resourceName.startsWith(prefix) && !this.isExcluded(prefix, resource.path())) {
+                        references.get(prefix).add(reference);
+                    }
+                }
+            }
+        });
+        return references;
+    }
+
+    private boolean isExcluded(String prefix, Path path) {
+        Set<Path> roots = this.excludedRoots.getOrDefault(prefix, Set.of());
+        if (roots.isEmpty()) {
+            return false;
+        }
+        // Nested prefixes can match resources of roots which are only excluded for one of them. Resources in archives
+        // report the archive itself, resources in directories report their own location.
+        Path resourcePath = path.toAbsolutePath().normalize();
+        for (Path root : roots) {
+            if (resourcePath.startsWith(root)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Map<String, Set<TypeReference>> toReferences(Map<String, Set<String>> names) {
+        Map<String, Set<TypeReference>> references = new HashMap<>();
+        names.forEach((prefix, typeNames) -> references.put(prefix, typeNames.stream()
+                .map(ClassNameReference::new)
+                .collect(Collectors.toSet())));
+        return references;
+    }
+
+    private static Map<String, Set<String>> toNames(Map<String, Set<TypeReference>> references) {
+        Map<String, Set<String>> names = new HashMap<>();
+        references.forEach((prefix, typeReferences) -> names.put(prefix, typeReferences.stream()
+                .map(TypeReference::qualifiedName)
+                .collect(Collectors.toSet())));
+        return names;
+    }
+}
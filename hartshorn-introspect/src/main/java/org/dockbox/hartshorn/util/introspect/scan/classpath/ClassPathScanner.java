@@ -18,20 +18,35 @@
 
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.net.URLDecoder;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
+import java.util.stream.Stream;
 
 import org.checkerframework.checker.nullness.qual.NonNull;
 
@@ -52,6 +67,11 @@
  * each file to a given {@link ResourceHandler}. The scanner will only process files that are compatible with the
  * configured scan settings.
  *
+ * <p>By default, classpath entries are processed sequentially on the calling thread. When the scanner is configured to
+ * scan in {@link #parallel() parallel}, each jar file and each directory subtree is processed as a separate task on a
+ * {@link ForkJoinPool}. In that case the provided {@link ResourceHandler} may be invoked concurrently, and should
+ * be thread-safe.
+ *
  * <p>Typically, {@link ClassPathScanner} should not be used directly, but rather be used through the {@link
  * ClassPathScannerTypeReferenceCollector}.
  *
@@ -64,12 +84,15 @@ public final class ClassPathScanner {
     private final Set<String> classNames = new HashSet<>();
     private final Set<URLClassLoader> classLoaders = new HashSet<>();
     private final Set<String> prefixFilters = new HashSet<>();
+    private final Set<Path> excludedRoots = new HashSet<>();
+    private final Map<Path, Set<String>> excludedRootPrefixes = new HashMap<>();
 
     private boolean resourcesOnly = false;
     private boolean classesOnly = true;
     private boolean excludeInnerClasses = false;
     private boolean excludePackageInfo = true;
     private long scanTime = -1;
+    private ForkJoinPool pool;
 
     private ClassPathScanner() {
         // Private constructor to prevent instantiation outside of #create()
@@ -158,8 +181,13 @@ public synchronized ClassPathScanner scan(ResourceHandler handler) throws ClassP
         this.classNames.clear();
 
         long start = System.currentTimeMillis();
-        for (URLClassLoader classLoader : this.classLoaders) {
-            this.scanClassLoaderResources(handler, classLoader);
+        if (this.pool != null) {
+            this.scanParallel(handler);
+        }
+        else {
+            for (URLClassLoader classLoader : this.classLoaders) {
+                this.scanClassLoaderResources(handler, classLoader);
+            }
         }
 
         this.scanTime = System.currentTimeMillis() - start;
@@ -177,26 +205,169 @@ public synchronized ClassPathScanner scan(ResourceHandler handler) throws ClassP
      */
     private void scanClassLoaderResources(ResourceHandler handler, URLClassLoader classLoader) throws ClassPathWalkingException {
         for (URL url : classLoader.getURLs()) {
-            if (url.getFile() != null && !url.getFile().isEmpty()) {
-
-                // Physical files can have escaped characters in the URL representation. The simplest form of this is
-                // %20 instead of a space. This is not valid in a URI, so we need to decode the URL to get the correct
-                // file path.
-                String decodedUrl = URLDecoder.decode(url.getFile(), Charset.defaultCharset());
-                File file = new File(decodedUrl);
-                if (file.exists()) {
-                    if (file.isDirectory()) {
-                        this.processDirectoryResource(handler, classLoader, file);
+            File file = this.classPathFile(url);
+            Set<String> prefixes = file != null ? this.rootPrefixFilters(file) : null;
+            if (prefixes == null) {
+                continue;
+            }
+            if (file.isDirectory()) {
+                this.processDirectoryResource(handler, classLoader, file, prefixes);
+            }
+            else if (this.isJarFile(file)) {
+                this.processJarFileResource(handler, classLoader, file, prefixes);
+            }
+        }
+    }
+
+    /**
+     * Scans all configured {@link URLClassLoader}s in parallel. Each jar file and directory on the classpath is
+     * processed as a separate task on the configured {@link ForkJoinPool}, and directories are further split into
+     * a task per subtree.
+     *
+     * @param handler The handler that will consume the file if it is compatible
+     * @throws ClassPathWalkingException When an error occurs while scanning the classpath
+     */
+    private void scanParallel(ResourceHandler handler) throws ClassPathWalkingException {
+        List<RecursiveAction> tasks = new ArrayList<>();
+        for (URLClassLoader classLoader : this.classLoaders) {
+            for (URL url : classLoader.getURLs()) {
+                File file = this.classPathFile(url);
+                Set<String> prefixes = file != null ? this.rootPrefixFilters(file) : null;
+                if (prefixes == null) {
+                    continue;
+                }
+                if (file.isDirectory()) {
+                    try {
+                        Path root = file.getCanonicalFile().toPath();
+                        tasks.add(new DirectoryScanTask(handler, classLoader, root, root, prefixes));
                     }
-                    else if (file.isFile() && file.getName().toLowerCase(Locale.ROOT).endsWith(".jar")) {
-                        this.processJarFileResource(handler, classLoader, file);
+                    catch (IOException e) {
+                        throw new ClassPathWalkingException("Could not process directory resource " + file.getPath(), e);
                     }
                 }
-                else {
-                    throw new ClassPathWalkingException("Unsupported classpath resource: " + url);
+                else if (this.isJarFile(file)) {
+                    tasks.add(new JarFileScanTask(handler, classLoader, file, prefixes));
                 }
             }
         }
+
+        try {
+            this.pool.invoke(new RecursiveAction() {
+                @Override
+                protected void compute() {
+                    invokeAll(tasks);
+                }
+            });
+        }
+        catch (UncheckedIOException e) {
+            throw new ClassPathWalkingException("Could not process classpath resource", e.getCause());
+        }
+    }
+
+    /**
+     * Computes a fingerprint of all classpath entries which are configured in this scanner. The fingerprint is based
+     * on the paths, sizes and modification times of all jar files, and of all files within directories. Two scanners
+     * produce the same fingerprint if their classpath entries are unchanged, regardless of the order in which the
+     * entries were added. Note that computing the fingerprint of a directory requires walking its contents, while
+     * jar files only need to be inspected once.
+     *
+     * @return The fingerprint of the classpath
+     * @throws ClassPathWalkingException When the classpath entries could not be inspected
+     */
+    public synchronized byte[] fingerprint() throws ClassPathWalkingException {
+        TreeMap<String, File> entries = new TreeMap<>();
+        for (URLClassLoader classLoader : this.classLoaders) {
+            for (URL url : classLoader.getURLs()) {
+                File file = this.classPathFile(url);
+                if (file != null && this.rootPrefixFilters(file) != null) {
+                    entries.put(file.getAbsolutePath(), file);
+                }
+            }
+        }
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new ClassPathWalkingException("Could not compute classpath fingerprint", e);
+        }
+
+        for (File file : entries.values()) {
+            digest.update(file.getAbsolutePath().getBytes(StandardCharsets.UTF_8));
+            if (file.isDirectory()) {
+                Path root = file.toPath();
+                try (Stream<Path> paths = Files.walk(root)) {
+                    TreeMap<String, String> files = new TreeMap<>();
+                    for (Path path : (Iterable<Path>) paths::iterator) {
+                        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                        if (attributes.isRegularFile()) {
+                            files.put(root.relativize(path).toString(), attributes.size() + ":" + attributes.lastModifiedTime().toMillis());
+                        }
+                    }
+                    files.forEach((name, attributes) -> digest.update((name + '=' + attributes + ';').getBytes(StandardCharsets.UTF_8)));
+                }
+                catch (IOException e) {
+                    throw new ClassPathWalkingException("Could not compute fingerprint of directory " + file.getPath(), e);
+                }
+            }
+            else {
+                digest.update((file.length() + ":" + file.lastModified() + ';').getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Resolves the physical file of the given classpath {@link URL}. If the URL does not point to a file, {@code null}
+     * is returned.
+     *
+     * @param url The classpath URL
+     * @return The file, or {@code null} if the URL does not point to a file
+     * @throws ClassPathWalkingException When the URL points to a file that does not exist
+     */
+    private File classPathFile(URL url) throws ClassPathWalkingException {
+        if (url.getFile() == null || url.getFile().isEmpty()) {
+            return null;
+        }
+
+        // Physical files can have escaped characters in the URL representation. The simplest form of this is
+        // %20 instead of a space. This is not valid in a URI, so we need to decode the URL to get the correct
+        // file path.
+        String decodedUrl = URLDecoder.decode(url.getFile(), Charset.defaultCharset());
+        File file = new File(decodedUrl);
+        if (!file.exists()) {
+            throw new ClassPathWalkingException("Unsupported classpath resource: " + url);
+        }
+        return file;
+    }
+
+    /**
+     * Determines the prefixes for which resources of the given classpath root should be processed. This is the set of
+     * configured prefixes, without the prefixes for which the root is excluded.
+     *
+     * @param root The jar file or directory of a classpath entry
+     * @return The prefixes to process, or {@code null} if the root should not be scanned
+     */
+    private Set<String> rootPrefixFilters(File root) {
+        if (this.excludedRoots.isEmpty() && this.excludedRootPrefixes.isEmpty()) {
+            return this.prefixFilters;
+        }
+        Path path = root.toPath().toAbsolutePath().normalize();
+        if (this.excludedRoots.contains(path)) {
+            return null;
+        }
+        Set<String> excludedPrefixes = this.excludedRootPrefixes.get(path);
+        if (excludedPrefixes == null || this.prefixFilters.isEmpty()) {
+            return this.prefixFilters;
+        }
+        Set<String> prefixes = new HashSet<>(this.prefixFilters);
+        prefixes.removeAll(excludedPrefixes);
+        return prefixes.isEmpty() ? null : prefixes;
+    }
+
+    private boolean isJarFile(File file) {
+        return file.isFile() && file.getName().toLowerCase(Locale.ROOT).endsWith(".jar");
     }
 
     /**
@@ -206,15 +377,16 @@ else if (file.isFile() && file.getName().toLowerCase(Locale.ROOT).endsWith(".jar
      * @param handler The handler that will consume the file if it is compatible
      * @param classLoader The classloader to use for loading classes from the jar file
      * @param jarFile The jar file
+     * @param prefixes The prefixes for which resources of the jar file should be processed
      */
-    private void processJarFileResource(ResourceHandler handler, URLClassLoader classLoader, File jarFile) {
+    private void processJarFileResource(ResourceHandler handler, URLClassLoader classLoader, File jarFile, Set<String> prefixes) {
         try(JarFile file = new JarFile(jarFile)) {
             Enumeration<JarEntry> entries = file.entries();
             while(entries.hasMoreElements()) {
                 JarEntry entry = entries.nextElement();
                 if(!entry.isDirectory()) {
                     String name = entry.getName();
-                    processPathResource(handler, classLoader, name, jarFile.toPath());
+                    this.processPathResource(handler, classLoader, name, jarFile.toPath(), prefixes);
                 }
             }
         }
@@ -231,13 +403,14 @@ private void processJarFileResource(ResourceHandler handler, URLClassLoader clas
      * @param handler The handler that will consume the file if it is compatible
      * @param classLoader The classloader to use for loading classes from the jar file
      * @param directory The directory to scan
+     * @param prefixes The prefixes for which resources of the directory should be processed
      * @throws ClassPathWalkingException When an error occurs while scanning the classpath
      */
-    private void processDirectoryResource(ResourceHandler handler, URLClassLoader classLoader, File directory) throws ClassPathWalkingException {
+    private void processDirectoryResource(ResourceHandler handler, URLClassLoader classLoader, File directory, Set<String> prefixes) throws ClassPathWalkingException {
         try {
             File rootDir = directory.getCanonicalFile();
             int rootDirNameLen = rootDir.getCanonicalPath().length();
-            Files.walkFileTree(rootDir.toPath(), new DirectoryFileTreeWalker(this, rootDirNameLen, handler, classLoader));
+            Files.walkFileTree(rootDir.toPath(), new DirectoryFileTreeWalker(this, rootDirNameLen, handler, classLoader, prefixes));
         }
         catch (IOException e) {
             throw new ClassPathWalkingException("Could not process directory resource " + directory.getPath(), e);
@@ -254,6 +427,20 @@ private void processDirectoryResource(ResourceHandler handler, URLClassLoader cl
      * @param path The path to the resource
      */
     void processPathResource(ResourceHandler handler, URLClassLoader classLoader, String resourceName, Path path) {
+        this.processPathResource(handler, classLoader, resourceName, path, this.prefixFilters);
+    }
+
+    /**
+     * Processes a path resource of a classpath root which is only scanned for the given prefixes. See
+     * {@link #processPathResource(ResourceHandler, URLClassLoader, String, Path)}.
+     *
+     * @param handler The handler that will consume the file if it is compatible
+     * @param classLoader The classloader to use for loading classes from the jar file
+     * @param resourceName The name of the resource
+     * @param path The path to the resource
+     * @param prefixes The prefixes for which resources of the classpath root should be processed
+     */
+    void processPathResource(ResourceHandler handler, URLClassLoader classLoader, String resourceName, Path path, Set<String> prefixes) {
         // If there's nowhere to delegate the resource to, don't process it
         if (handler == null) {
             return;
@@ -264,7 +451,7 @@ void processPathResource(ResourceHandler handler, URLClassLoader classLoader, St
                 ? resourceName
                 : this.resourceToCanonicalName(resourceName);
 
-        if (!this.shouldProcessResource(isClassResource, checkedResourceName)) {
+        if (!this.shouldProcessResource(isClassResource, checkedResourceName, prefixes)) {
             return;
         }
 
@@ -279,15 +466,14 @@ void processPathResource(ResourceHandler handler, URLClassLoader classLoader, St
      * @param isClassResource Whether the resource is a class
      * @param checkedResourceName The name of the resource. This should be the canonical name of the class if the
      *                            resource is a class
+     * @param prefixes The prefixes for which resources should be processed
      *
      * @return True if the resource should be processed, false otherwise
      */
-    private boolean shouldProcessResource(boolean isClassResource, String checkedResourceName) {
+    private boolean shouldProcessResource(boolean isClassResource, String checkedResourceName, Set<String> prefixes) {
         // If we're filtering by prefix, and the resource name doesn't start with any of the prefixes, don't process it
-        for (String beginFilterName : this.prefixFilters) {
-            if (!checkedResourceName.startsWith(beginFilterName)) {
-                return false;
-            }
+        if (!prefixes.isEmpty() && !this.matchesPrefix(checkedResourceName, prefixes)) {
+            return false;
         }
 
         // If we're scanning for classes, and the resource is a class that was previously scanned, don't
@@ -320,6 +506,48 @@ private boolean shouldProcessResource(boolean isClassResource, String checkedRes
         return true;
     }
 
+    private boolean matchesPrefix(String checkedResourceName, Set<String> prefixes) {
+        for (String beginFilterName : prefixes) {
+            if (checkedResourceName.startsWith(beginFilterName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Determines if a directory may contain resources that match any of the configured prefixes. This is the case if
+     * the directory is part of a filtered package, or if a filtered package is part of the directory.
+     *
+     * @param canonicalName The name of the directory, relative to its classpath root, in package notation
+     * @return True if the directory should be visited, false otherwise
+     */
+    boolean shouldVisitDirectory(String canonicalName) {
+        return this.shouldVisitDirectory(canonicalName, this.prefixFilters);
+    }
+
+    /**
+     * Determines if a directory may contain resources that match any of the given prefixes. See
+     * {@link #shouldVisitDirectory(String)}.
+     *
+     * @param canonicalName The name of the directory, relative to its classpath root, in package notation
+     * @param prefixes The prefixes for which resources of the classpath root should be processed
+     * @return True if the directory should be visited, false otherwise
+     */
+    boolean shouldVisitDirectory(String canonicalName, Set<String> prefixes) {
+        if (prefixes.isEmpty()) {
+            return true;
+        }
+        for (String beginFilterName : prefixes) {
+            // If path starts with a filtered prefix, continue
+            // If the path is part of a filtered package, continue, may match later
+            if (canonicalName.startsWith(beginFilterName) || beginFilterName.startsWith(canonicalName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @NonNull
     private String resourceToCanonicalName(String resourceName) {
         return resourceName.substring(0, resourceName.length() - 6)
@@ -351,6 +579,62 @@ public synchronized Set<String> filteredPrefixes() {
         return this.prefixFilters;
     }
 
+    /**
+     * Excludes a classpath root from the scanner. The root is the jar file or directory of a classpath entry, as it
+     * is configured in the class loaders of this scanner. Excluded roots are not scanned, and are not included in
+     * the {@link #fingerprint() fingerprint} of the classpath.
+     *
+     * @param root The jar file or directory to exclude
+     * @return The scanner instance
+     */
+    public synchronized ClassPathScanner excludeClassPathRoot(Path root) {
+        if (root != null) {
+            this.excludedRoots.add(root.toAbsolutePath().normalize());
+        }
+        return this;
+    }
+
+    /**
+     * Excludes a classpath root from the scanner for a single {@link #filterPrefix(String) prefix}. Resources of the
+     * root are only processed if they match any of the other configured prefixes, and directories which can only
+     * contain resources of the excluded prefix are not visited. If the root is excluded for all configured prefixes,
+     * it is not scanned at all, as if it was {@link #excludeClassPathRoot(Path) excluded} entirely. Exclusions for a
+     * prefix have no effect if the scanner does not filter by prefix.
+     *
+     * @param root The jar file or directory to exclude
+     * @param prefix The prefix for which the root is excluded
+     * @return The scanner instance
+     */
+    public synchronized ClassPathScanner excludeClassPathRoot(Path root, String prefix) {
+        if (root != null && prefix != null) {
+            this.excludedRootPrefixes.computeIfAbsent(root.toAbsolutePath().normalize(), key -> new HashSet<>()).add(prefix);
+        }
+        return this;
+    }
+
+    /**
+     * Configures the scanner to process classpath entries in parallel on the {@link ForkJoinPool#commonPool() common
+     * pool}. The {@link ResourceHandler} that is passed to {@link #scan(ResourceHandler)} should be thread-safe when
+     * this is enabled.
+     *
+     * @return The scanner instance
+     */
+    public synchronized ClassPathScanner parallel() {
+        return this.parallel(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Configures the scanner to process classpath entries in parallel on the given {@link ForkJoinPool}. The {@link
+     * ResourceHandler} that is passed to {@link #scan(ResourceHandler)} should be thread-safe when this is enabled.
+     *
+     * @param pool The pool to process classpath entries on
+     * @return The scanner instance
+     */
+    public synchronized ClassPathScanner parallel(ForkJoinPool pool) {
+        this.pool = pool;
+        return this;
+    }
+
     /**
      * Includes the default classpath in the scanner. The default classpath is determined by the value of the {@code
      * java.class.path} system property.
@@ -424,4 +708,74 @@ public synchronized Set<ClassLoader> classLoaders() {
     public synchronized long scanTime() {
         return this.scanTime;
     }
+
+    /**
+     * Task that processes all entries of a single jar file. Entries of a jar file are read sequentially, as jar files
+     * do not support concurrent reads efficiently.
+     */
+    private final class JarFileScanTask extends RecursiveAction {
+
+        private final ResourceHandler handler;
+        private final URLClassLoader classLoader;
+        private final File jarFile;
+        private final Set<String> prefixes;
+
+        private JarFileScanTask(ResourceHandler handler, URLClassLoader classLoader, File jarFile, Set<String> prefixes) {
+            this.handler = handler;
+            this.classLoader = classLoader;
+            this.jarFile = jarFile;
+            this.prefixes = prefixes;
+        }
+
+        @Override
+        protected void compute() {
+            ClassPathScanner.this.processJarFileResource(this.handler, this.classLoader, this.jarFile, this.prefixes);
+        }
+    }
+
+    /**
+     * Task that processes the files in a single directory, and forks a new task for each subdirectory that may
+     * contain matching resources.
+     */
+    private final class DirectoryScanTask extends RecursiveAction {
+
+        private final ResourceHandler handler;
+        private final URLClassLoader classLoader;
+        private final Path root;
+        private final Path directory;
+        private final Set<String> prefixes;
+
+        private DirectoryScanTask(ResourceHandler handler, URLClassLoader classLoader, Path root, Path directory, Set<String> prefixes) {
+            this.handler = handler;
+            this.classLoader = classLoader;
+            this.root = root;
+            this.directory = directory;
+            this.prefixes = prefixes;
+        }
+
+        @Override
+        protected void compute() {
+            List<DirectoryScanTask> subtasks = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory)) {
+                for (Path path : stream) {
+                    String resourceName = this.root.relativize(path).toString();
+                    if (Files.isDirectory(path, LinkOption.NOFOLLOW_LINKS)) {
+                        String canonicalName = resourceName
+                                .replace('/', '.')
+                                .replace('\\', '.');
+                        if (ClassPathScanner.this.shouldVisitDirectory(canonicalName, this.prefixes)) {
+                            subtasks.add(new DirectoryScanTask(this.handler, this.classLoader, this.root, path, this.prefixes));
+                        }
+                    }
+                    else {
+                        ClassPathScanner.this.processPathResource(this.handler, this.classLoader, resourceName, path, this.prefixes);
+                    }
+                }
+            }
+            catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            invokeAll(subtasks);
+        }
+    }
 }
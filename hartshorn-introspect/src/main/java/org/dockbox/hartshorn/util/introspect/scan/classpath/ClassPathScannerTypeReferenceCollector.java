@@ -29,18 +29,35 @@
  * {@link ClassPathScanner}. This automatically includes the default classpath, and filters on the configured
  * package name. Scanning does not include any non-class resources.
  *
+ * <p>When multiple packages are scanned, collectors can share a {@link ClassPathScanSession}, in which case the
+ * classpath is only walked once for all packages of the session.
+ *
  * @since 0.4.13
  *
  * @author Guus Lieben
  */
 public class ClassPathScannerTypeReferenceCollector extends ClasspathTypeReferenceCollector {
 
+    private final ClassPathScanSession session;
+
     public ClassPathScannerTypeReferenceCollector(String packageName) {
+        this(packageName, null);
+    }
+
+    public ClassPathScannerTypeReferenceCollector(String packageName, ClassPathScanSession session) {
         super(packageName);
+        if (session != null && !session.prefixes().contains(packageName)) {
+            throw new IllegalArgumentException("Package " + packageName + " is not part of the provided scan session");
+        }
+        this.session = session;
     }
 
     @Override
     protected Set<TypeReference> createCache() throws TypeCollectionException {
+        if (this.session != null) {
+            return this.session.references(this.packageName());
+        }
+
         Set<TypeReference> typeReferences = new HashSet<>();
         ClassPathScanner classpathScanner = ClassPathScanner.create()
                 .includeDefaultClassPath()
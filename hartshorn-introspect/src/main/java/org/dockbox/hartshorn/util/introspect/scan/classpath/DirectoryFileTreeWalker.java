@@ -22,6 +22,7 @@
 import java.nio.file.FileVisitor;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Set;
 
 /**
  * A {@link FileVisitor} that walks the contents of a directory. This delegates all file processing to a {@link
@@ -39,13 +40,20 @@ public class DirectoryFileTreeWalker implements FileVisitor<Path> {
     private final int rootDirNameLength;
     private final ResourceHandler handler;
     private final URLClassLoader classLoader;
+    private final Set<String> prefixes;
 
     public DirectoryFileTreeWalker(ClassPathScanner classPathScanner, int rootDirNameLength,
                                    ResourceHandler handler, URLClassLoader classLoader) {
+        this(classPathScanner, rootDirNameLength, handler, classLoader, classPathScanner.filteredPrefixes());
+    }
+
+    public DirectoryFileTreeWalker(ClassPathScanner classPathScanner, int rootDirNameLength,
+                                   ResourceHandler handler, URLClassLoader classLoader, Set<String> prefixes) {
         this.classPathScanner = classPathScanner;
         this.rootDirNameLength = rootDirNameLength;
         this.handler = handler;
         this.classLoader = classLoader;
+        this.prefixes = prefixes;
     }
 
     @Override
@@ -60,20 +68,15 @@ public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) th
                 .replace('/', '.')
                 .replace('\\', '.');
 
-        for (String beginFilterName : this.classPathScanner.filteredPrefixes()) {
-            // If path starts with a filtered prefix, continue
-            // If the path is part of a filtered package, continue, may match later
-            if (canonicalName.startsWith(beginFilterName) || beginFilterName.startsWith(canonicalName)) {
-                return FileVisitResult.CONTINUE;
-            }
-        }
-        return FileVisitResult.SKIP_SUBTREE;
+        return this.classPathScanner.shouldVisitDirectory(canonicalName, this.prefixes)
+                ? FileVisitResult.CONTINUE
+                : FileVisitResult.SKIP_SUBTREE;
     }
 
     @Override
     public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
         String resourceName = file.toFile().getAbsolutePath().substring(this.rootDirNameLength + 1);
-        this.classPathScanner.processPathResource(this.handler, this.classLoader, resourceName, file);
+        this.classPathScanner.processPathResource(this.handler, this.classLoader, resourceName, file, this.prefixes);
         return FileVisitResult.CONTINUE;
     }
 
@@ -0,0 +1,371 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.util.introspect.scan.index;
+
+import org.dockbox.hartshorn.util.collections.HashSetMultiMap;
+import org.dockbox.hartshorn.util.collections.MultiMap;
+import org.dockbox.hartshorn.util.option.Option;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * An index of types which is generated at build time, typically by an annotation processor. Indexed types can be
+ * used to replace classpath scanning at runtime, as only the types which are relevant to the application are listed
+ * in the index. Entries are grouped by kind, which allows a single index to hold different types of metadata, e.g.
+ * component types and factory methods.
+ *
+ * <p>Indexes are stored in {@link #INDEX_LOCATION}, using one entry per line. Each line consists of the kind of the
+ * entry, followed by a single space and the value of the entry. Lines starting with {@code #} are ignored. As each
+ * archive on the classpath may contain its own index, {@link #load(ClassLoader)} merges all available indexes. Merged
+ * indexes retain their {@link #sources() sources}, so declarations which only apply to the archive that contains the
+ * index, such as {@link #isComplete(String, String) complete packages}, are not applied to other archives.
+ *
+ * @see TypeIndexTypeReferenceCollector
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public final class TypeIndex {
+
+    /**
+     * The location of type indexes on the classpath.
+     */
+    public static final String INDEX_LOCATION = "META-INF/hartshorn/type.index";
+
+    private static final char COMMENT = '#';
+    private static final char SEPARATOR = ' ';
+    private static final char MEMBER_SEPARATOR = '#';
+
+    private final MultiMap<String, String> entries;
+    private final String origin;
+    private final List<TypeIndex> sources;
+
+    private TypeIndex(MultiMap<String, String> entries) {
+        this(entries, null, List.of());
+    }
+
+    private TypeIndex(MultiMap<String, String> entries, String origin, List<TypeIndex> sources) {
+        this.entries = entries;
+        this.origin = origin;
+        this.sources = sources;
+    }
+
+    /**
+     * Creates a new, empty index.
+     *
+     * @return a new, empty index
+     */
+    public static TypeIndex empty() {
+        return new TypeIndex(new HashSetMultiMap<>());
+    }
+
+    /**
+     * Creates a new index containing a copy of the given entries, keyed by their kind.
+     *
+     * @param entries the entries of the index
+     * @return a new index
+     */
+    public static TypeIndex of(MultiMap<String, String> entries) {
+        return new TypeIndex(new HashSetMultiMap<>(entries));
+    }
+
+    /**
+     * Loads and merges all indexes which are available through the given class loader. If no indexes are available,
+     * an empty index is returned. Each loaded index is retained as a {@link #sources() source} of the merged index,
+     * with the classpath root it was loaded from as its {@link #origin() origin}.
+     *
+     * @param classLoader the class loader to load indexes from
+     * @return the merged index
+     * @throws IOException if an index could not be read
+     */
+    public static TypeIndex load(ClassLoader classLoader) throws IOException {
+        List<TypeIndex> sources = new ArrayList<>();
+        Enumeration<URL> resources = classLoader.getResources(INDEX_LOCATION);
+        while (resources.hasMoreElements()) {
+            URL resource = resources.nextElement();
+            try (InputStream stream = resource.openStream()) {
+                sources.add(new TypeIndex(read(stream).entries, classPathRoot(resource, INDEX_LOCATION), List.of()));
+            }
+        }
+        return merge(sources);
+    }
+
+    private static TypeIndex merge(List<TypeIndex> sources) {
+        MultiMap<String, String> entries = new HashSetMultiMap<>();
+        for (TypeIndex source : sources) {
+            entries.putAll(source.entries);
+        }
+        return new TypeIndex(entries, null, List.copyOf(sources));
+    }
+
+    /**
+     * Returns the classpath root which contains the given resource, as an external URL form. For resources in
+     * archives this is the URL of the archive entry root (e.g. {@code jar:file:/app.jar!/}), for resources in
+     * directories this is the URL of the directory. Resources which are loaded from the same classpath root yield
+     * equal results.
+     *
+     * @param resource the URL of the resource
+     * @param resourceName the name of the resource, relative to its classpath root
+     * @return the classpath root of the resource
+     */
+    private static String classPathRoot(URL resource, String resourceName) {
+        String url = resource.toExternalForm();
+        return url.endsWith(resourceName)
+                ? url.substring(0, url.length() - resourceName.length())
+                : url;
+    }
+
+    /**
+     * Reads a single index from the given stream. The stream is not closed by this method.
+     *
+     * @param stream the stream to read from
+     * @return the index
+     * @throws IOException if the index could not be read
+     */
+    public static TypeIndex read(InputStream stream) throws IOException {
+        MultiMap<String, String> entries = new HashSetMultiMap<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.trim();
+            if (line.isEmpty() || line.charAt(0) == COMMENT) {
+                continue;
+            }
+            int separator = line.indexOf(SEPARATOR);
+            if (separator <= 0 || separator == line.length() - 1) {
+                throw new IOException("Malformed type index entry: " + line);
+            }
+            entries.put(line.substring(0, separator), line.substring(separator + 1).trim());
+        }
+        return new TypeIndex(entries);
+    }
+
+    /**
+     * Writes this index to the given stream. Entries are written in a stable order, so indexes with equal entries
+     * are written identically. The stream is flushed, but not closed by this method.
+     *
+     * @param stream the stream to write to
+     * @throws IOException if the index could not be written
+     */
+    public void write(OutputStream stream) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8));
+        writer.write(COMMENT + " Generated type index, do not edit\n");
+        for (String kind : new TreeSet<>(this.entries.keySet())) {
+            for (String value : new TreeSet<>(this.entries.get(kind))) {
+                writer.write(kind + SEPARATOR + value + '\n');
+            }
+        }
+        writer.flush();
+    }
+
+    /**
+     * Returns the kinds of entries which are present in this index.
+     *
+     * @return the kinds of entries
+     */
+    public Set<String> kinds() {
+        return Set.copyOf(this.entries.keySet());
+    }
+
+    /**
+     * Returns all entries of the given kind. If there are no entries of the given kind, an empty set is returned.
+     *
+     * @param kind the kind of entries
+     * @return the entries of the given kind
+     */
+    public Set<String> entries(String kind) {
+        return Set.copyOf(this.entries.get(kind));
+    }
+
+    /**
+     * Returns all entries of this index, keyed by their kind.
+     *
+     * @return all entries of this index
+     */
+    public MultiMap<String, String> entries() {
+        return new HashSetMultiMap<>(this.entries);
+    }
+
+    /**
+     * Returns whether this index contains any entries.
+     *
+     * @return {@code true} if this index contains no entries, {@code false} otherwise
+     */
+    public boolean isEmpty() {
+        return this.entries.isEmpty();
+    }
+
+    /**
+     * Returns the classpath root from which this index was loaded, if known. Only the {@link #sources() sources} of
+     * an index which is {@link #load(ClassLoader) loaded} from the classpath have an origin.
+     *
+     * @return the classpath root of this index, if known
+     */
+    public Option<String> origin() {
+        return Option.of(this.origin);
+    }
+
+    /**
+     * Returns the individual indexes which were merged into this index. If this index was not merged from other
+     * indexes, this index is its only source.
+     *
+     * @return the sources of this index
+     */
+    public List<TypeIndex> sources() {
+        return this.sources.isEmpty() ? List.of(this) : this.sources;
+    }
+
+    /**
+     * Returns whether any source of this index declares the given package to be complete. Entries of the given kind
+     * are expected to be package names, and a package is complete if it is declared directly, or if one of its
+     * parent packages is declared. A declaration only states that no types of the package are missing from the index
+     * of the declaring source, see {@link #completeSources(String, String)}.
+     *
+     * @param kind the kind of entries which declare complete packages
+     * @param packageName the package name
+     * @return {@code true} if the package is declared complete by any source, {@code false} otherwise
+     */
+    public boolean isComplete(String kind, String packageName) {
+        return this.entries.get(kind).stream().anyMatch(declared -> isInPackage(packageName, declared));
+    }
+
+    /**
+     * Returns an index of only the {@link #sources() sources} of this index which declare the given package to be
+     * complete. Types of the package which are located in other classpath roots are not covered by the returned
+     * index, even if one of the sources declared the package complete. If no source declares the package complete,
+     * an empty index is returned.
+     *
+     * @param kind the kind of entries which declare complete packages
+     * @param packageName the package name
+     * @return the index of all sources which declare the package complete
+     */
+    public TypeIndex completeSources(String kind, String packageName) {
+        List<TypeIndex> sources = this.sources().stream()
+                .filter(source -> source.isComplete(kind, packageName))
+                .toList();
+        return merge(sources);
+    }
+
+    /**
+     * Returns the {@link #origin() origins} of all sources of this index. Sources without a known origin are not
+     * included.
+     *
+     * @return the origins of all sources
+     */
+    public Set<String> origins() {
+        Set<String> origins = new HashSet<>();
+        for (TypeIndex source : this.sources()) {
+            if (source.origin != null) {
+                origins.add(source.origin);
+            }
+        }
+        return origins;
+    }
+
+    /**
+     * Returns the file system locations of the {@link #origin() origins} of all sources of this index. For indexes
+     * in archives this is the path of the archive, for indexes in directories this is the path of the directory.
+     * These paths can be excluded from classpath scanning, as the types they contain are described by this index.
+     * Sources without a known origin, or with an origin which is not a local file or directory (e.g. an archive
+     * nested in another archive), are not included.
+     *
+     * @return the file system locations of all origins
+     */
+    public Set<Path> originPaths() {
+        Set<Path> paths = new HashSet<>();
+        for (String origin : this.origins()) {
+            Path path = originPath(origin);
+            if (path != null) {
+                paths.add(path);
+            }
+        }
+        return paths;
+    }
+
+    private static Path originPath(String origin) {
+        String location = origin;
+        if (location.startsWith("jar:")) {
+            // Archive roots are formatted as jar:<archive>!/, nested archives contain additional separators
+            if (!location.endsWith("!/") || location.indexOf("!/") != location.length() - 2) {
+                return null;
+            }
+            location = location.substring("jar:".length(), location.length() - "!/".length());
+        }
+        try {
+            URI uri = new URI(location);
+            if (!"file".equals(uri.getScheme())) {
+                return null;
+            }
+            return Path.of(uri).toAbsolutePath().normalize();
+        }
+        catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the indexed type names of the given kinds which belong to the given package, or one of its
+     * sub-packages. Entries which refer to a member of a type, formatted as {@code type#member}, are reduced to
+     * the name of the declaring type.
+     *
+     * @param packageName the package name prefix
+     * @param kinds the kinds of entries to include
+     * @return the matching type names
+     */
+    public Set<String> typeNames(String packageName, List<String> kinds) {
+        Set<String> typeNames = new TreeSet<>();
+        for (String kind : kinds) {
+            for (String value : this.entries.get(kind)) {
+                int member = value.indexOf(MEMBER_SEPARATOR);
+                String typeName = member < 0 ? value : value.substring(0, member);
+                if (isInPackage(typeName, packageName)) {
+                    typeNames.add(typeName);
+                }
+            }
+        }
+        return typeNames;
+    }
+
+    private static boolean isInPackage(String name, String packageName) {
+        if (packageName.isEmpty()) {
+            return true;
+        }
+        // Require a package boundary, so 'com.acme' does not match 'com.acmewidgets'
+        return name.startsWith(packageName)
+                && (name.length() == packageName.length() || name.charAt(packageName.length()) == '.');
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.util.introspect.scan.index;
+
+import org.dockbox.hartshorn.reporting.DiagnosticsPropertyCollector;
+import org.dockbox.hartshorn.util.introspect.scan.ClassNameReference;
+import org.dockbox.hartshorn.util.introspect.scan.TypeCollectionException;
+import org.dockbox.hartshorn.util.introspect.scan.TypeReference;
+import org.dockbox.hartshorn.util.introspect.scan.TypeReferenceCollector;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * A {@link TypeReferenceCollector} that collects {@link TypeReference}s from a {@link TypeIndex}, rather than walking
+ * the classpath. Only indexed types of the configured kinds which belong to the configured package are collected.
+ * Unlike classpath scanning, this does not require any directories or archives to be inspected, so collection cost
+ * only depends on the size of the index.
+ *
+ * <p>An index only describes the classpath roots it was {@link TypeIndex#origin() loaded from}. If a remaining
+ * collector is provided, all types which it collects are included as well, so types of the same package in archives
+ * without an index are not lost. The remaining collector is expected to only cover the classpath roots which are not
+ * described by the index, e.g. through a {@link org.dockbox.hartshorn.util.introspect.scan.classpath.ClassPathScanSession}
+ * which {@link org.dockbox.hartshorn.util.introspect.scan.classpath.ClassPathScanSession#excluding(java.util.Map) excludes}
+ * the {@link TypeIndex#originPaths() indexed roots}. Collected types are not checked against the index, so a
+ * remaining collector which covers indexed roots only results in redundant references.
+ *
+ * @see TypeIndex
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public class TypeIndexTypeReferenceCollector implements TypeReferenceCollector {
+
+    private final TypeIndex index;
+    private final String packageName;
+    private final List<String> kinds;
+    private final TypeReferenceCollector remainder;
+
+    public TypeIndexTypeReferenceCollector(TypeIndex index, String packageName, List<String> kinds) {
+        this(index, packageName, kinds, null);
+    }
+
+    public TypeIndexTypeReferenceCollector(TypeIndex index, String packageName, List<String> kinds, TypeReferenceCollector remainder) {
+        this.index = index;
+        this.packageName = packageName;
+        this.kinds = List.copyOf(kinds);
+        this.remainder = remainder;
+    }
+
+    /**
+     * Returns the name of the package that is collected by this instance.
+     *
+     * @return The name of the package that is collected.
+     */
+    public String packageName() {
+        return this.packageName;
+    }
+
+    @Override
+    public Set<TypeReference> collect() throws TypeCollectionException {
+        Set<TypeReference> references = new HashSet<>();
+        for (String typeName : this.index.typeNames(this.packageName, this.kinds)) {
+            references.add(new ClassNameReference(typeName));
+        }
+        if (this.remainder != null) {
+            references.addAll(this.remainder.collect());
+        }
+        return references;
+    }
+
+    @Override
+    public void report(DiagnosticsPropertyCollector collector) {
+        collector.property("package").writeString(this.packageName);
+        collector.property("kinds").writeStrings(this.kinds.toArray(String[]::new));
+        collector.property("origins").writeStrings(this.index.origins().toArray(String[]::new));
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test.org.dockbox.hartshorn.introspect;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+import org.dockbox.hartshorn.util.introspect.annotations.Extends;
+import org.dockbox.hartshorn.util.introspect.scan.classfile.ClassFileAnnotationFilter;
+import org.dockbox.hartshorn.util.introspect.scan.classfile.ClassFileFormatException;
+import org.dockbox.hartshorn.util.introspect.scan.classfile.ClassFileMetadata;
+import org.dockbox.hartshorn.util.introspect.scan.classfile.ClassFileReader;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ClassFileAnnotationFilterTests {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Root {}
+
+    @Extends(Root.class)
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Stereotype {}
+
+    @Extends(Stereotype.class)
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface NestedStereotype {}
+
+    @Inherited
+    @Extends(Root.class)
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface InheritedStereotype {}
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Unrelated {}
+
+    @Root
+    public static class DirectType {}
+
+    @Stereotype
+    public static class StereotypeType {}
+
+    @NestedStereotype
+    public static class NestedStereotypeType {}
+
+    @Unrelated
+    public static class UnrelatedType {
+        @Root
+        private int field;
+
+        @Root
+        public void method() {}
+    }
+
+    public static class PlainType {}
+
+    @InheritedStereotype
+    public static class InheritedParent {}
+
+    public static class InheritedChild extends InheritedParent {}
+
+    public static class NonInheritedChild extends DirectType {}
+
+    @Test
+    void testFilterMatchesDirectAndVirtualAnnotations() {
+        ClassFileAnnotationFilter filter = new ClassFileAnnotationFilter(this.getClass().getClassLoader());
+
+        Assertions.assertTrue(filter.mayBeAnnotatedWith(DirectType.class.getName(), Root.class));
+        Assertions.assertTrue(filter.mayBeAnnotatedWith(StereotypeType.class.getName(), Root.class));
+        Assertions.assertTrue(filter.mayBeAnnotatedWith(NestedStereotypeType.class.getName(), Root.class));
+        Assertions.assertTrue(filter.mayBeAnnotatedWith(NestedStereotypeType.class.getName(), Stereotype.class));
+        Assertions.assertFalse(filter.mayBeAnnotatedWith(StereotypeType.class.getName(), NestedStereotype.class));
+    }
+
+    @Test
+    void testFilterRejectsUnannotatedTypes() {
+        ClassFileAnnotationFilter filter = new ClassFileAnnotationFilter(this.getClass().getClassLoader());
+
+        Assertions.assertFalse(filter.mayBeAnnotatedWith(PlainType.class.getName(), Root.class));
+        // Member annotations are not visible on the type itself
+        Assertions.assertFalse(filter.mayBeAnnotatedWith(UnrelatedType.class.getName(), Root.class));
+        Assertions.assertTrue(filter.mayBeAnnotatedWith(UnrelatedType.class.getName(), Unrelated.class));
+    }
+
+    @Test
+    void testFilterRespectsInheritedAnnotations() {
+        ClassFileAnnotationFilter filter = new ClassFileAnnotationFilter(this.getClass().getClassLoader());
+
+        Assertions.assertTrue(filter.mayBeAnnotatedWith(InheritedChild.class.getName(), Root.class));
+        Assertions.assertFalse(filter.mayBeAnnotatedWith(NonInheritedChild.class.getName(), Root.class));
+    }
+
+    @Test
+    void testFilterIsConservativeForUnknownTypes() {
+        ClassFileAnnotationFilter filter = new ClassFileAnnotationFilter(this.getClass().getClassLoader());
+        Assertions.assertTrue(filter.mayBeAnnotatedWith("test.org.dockbox.hartshorn.introspect.DoesNotExist", Root.class));
+    }
+
+    @Test
+    void testReaderReadsClassMetadata() throws IOException, ClassFileFormatException {
+        ClassFileMetadata metadata = this.read(NestedStereotype.class);
+
+        Assertions.assertEquals(NestedStereotype.class.getName(), metadata.className());
+        Assertions.assertEquals(Object.class.getName(), metadata.superClassName());
+        Assertions.assertTrue(metadata.annotations().contains(Extends.class.getName()));
+        Assertions.assertEquals(Stereotype.class.getName(), metadata.classAttribute(Extends.class.getName(), "value"));
+
+        Assertions.assertEquals(InheritedParent.class.getName(), this.read(InheritedChild.class).superClassName());
+        Assertions.assertThrows(ClassFileFormatException.class, () -> ClassFileReader.read(new byte[] { 1, 2, 3, 4 }));
+    }
+
+    @Test
+    void testReaderRejectsInvalidClassIndexes() {
+        // this_class refers to the UTF-8 entry instead of a class entry
+        Assertions.assertThrows(ClassFileFormatException.class, () -> ClassFileReader.read(classFile(1, 0)));
+        // this_class is outside of the constant pool
+        Assertions.assertThrows(ClassFileFormatException.class, () -> ClassFileReader.read(classFile(3, 0)));
+        // super_class refers to the UTF-8 entry instead of a class entry
+        Assertions.assertThrows(ClassFileFormatException.class, () -> ClassFileReader.read(classFile(2, 1)));
+    }
+
+    private static byte[] classFile(int thisClass, int superClass) {
+        return new byte[] {
+                (byte) 0xCA, (byte) 0xFE, (byte) 0xBA, (byte) 0xBE, // magic
+                0, 0, 0, 65, // minor and major version
+                0, 3, // constant pool count
+                1, 0, 1, 'A', // #1 = Utf8 A
+                7, 0, 1, // #2 = Class #1
+                0, 0x21, // access flags
+                0, (byte) thisClass,
+                0, (byte) superClass,
+        };
+    }
+
+    private ClassFileMetadata read(Class<?> type) throws IOException, ClassFileFormatException {
+        String resourceName = type.getName().replace('.', '/') + ".class";
+        try (InputStream stream = this.getClass().getClassLoader().getResourceAsStream(resourceName)) {
+            Assertions.assertNotNull(stream);
+            return ClassFileReader.read(stream.readAllBytes());
+        }
+    }
+}
@@ -22,6 +22,7 @@
 import java.nio.file.Path;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import org.dockbox.hartshorn.util.introspect.scan.classpath.ClassPathScanner;
 import org.dockbox.hartshorn.util.introspect.scan.classpath.ClassPathWalkingException;
 import org.junit.jupiter.api.Assertions;
@@ -57,6 +58,31 @@ void testCanScanWithPackageFilter() throws ClassPathWalkingException {
         Assertions.assertTrue(classes.contains(ScanRecord.class.getCanonicalName()));
     }
 
+    @Test
+    void testParallelScanMatchesAnyPrefix() throws ClassPathWalkingException {
+        String typesPackage = "test.org.dockbox.hartshorn.introspect.types";
+        String testClass = ClassPathScannerTests.class.getName();
+
+        Set<String> sequential = new HashSet<>();
+        ClassPathScanner.create()
+                .includeDefaultClassPath()
+                .filterPrefix(typesPackage)
+                .filterPrefix(testClass)
+                .scan(resource -> sequential.add(resource.resourceName()));
+
+        Set<String> parallel = ConcurrentHashMap.newKeySet();
+        ClassPathScanner.create()
+                .includeDefaultClassPath()
+                .filterPrefix(typesPackage)
+                .filterPrefix(testClass)
+                .parallel()
+                .scan(resource -> parallel.add(resource.resourceName()));
+
+        Assertions.assertEquals(8, sequential.size()); // 7 classes in the test package, and this class
+        Assertions.assertTrue(sequential.contains(testClass));
+        Assertions.assertEquals(sequential, parallel);
+    }
+
     @Test
     void testCanScanWithEncodedCharacters() throws IOException, ClassPathWalkingException {
         // Space is encoded as %20 in URLs, though we don't need to encode it here yet.
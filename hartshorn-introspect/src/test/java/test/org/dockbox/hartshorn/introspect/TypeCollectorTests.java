@@ -16,9 +16,22 @@
 
 package test.org.dockbox.hartshorn.introspect;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.dockbox.hartshorn.util.collections.HashSetMultiMap;
+import org.dockbox.hartshorn.util.collections.MultiMap;
 import org.dockbox.hartshorn.util.introspect.scan.AggregateTypeReferenceCollector;
 import org.dockbox.hartshorn.util.introspect.scan.CachedTypeReferenceCollector;
 import org.dockbox.hartshorn.util.introspect.scan.ClassReferenceLoadException;
@@ -26,9 +39,17 @@
 import org.dockbox.hartshorn.util.introspect.scan.TypeCollectionException;
 import org.dockbox.hartshorn.util.introspect.scan.TypeReference;
 import org.dockbox.hartshorn.util.introspect.scan.TypeReferenceCollector;
+import org.dockbox.hartshorn.util.introspect.scan.TypeReferenceCollectorContext;
+import org.dockbox.hartshorn.util.introspect.scan.classpath.ClassPathScanCache;
+import org.dockbox.hartshorn.util.introspect.scan.classpath.ClassPathScanSession;
+import org.dockbox.hartshorn.util.introspect.scan.classpath.ClassPathScanner;
 import org.dockbox.hartshorn.util.introspect.scan.classpath.ClassPathScannerTypeReferenceCollector;
+import org.dockbox.hartshorn.util.introspect.scan.classpath.ClassPathWalkingException;
+import org.dockbox.hartshorn.util.introspect.scan.index.TypeIndex;
+import org.dockbox.hartshorn.util.introspect.scan.index.TypeIndexTypeReferenceCollector;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import test.org.dockbox.hartshorn.introspect.types.ScanAnnotation;
 import test.org.dockbox.hartshorn.introspect.types.ScanClass;
@@ -66,6 +87,60 @@ void testClassPathScannerTypeCollector() throws TypeCollectionException {
         Assertions.assertTrue(types.contains(ScanRecord.class));
     }
 
+    @Test
+    void testSharedScanSessionCollectsAllPrefixes() throws TypeCollectionException {
+        String typesPackage = "test.org.dockbox.hartshorn.introspect.types";
+        String scanClassPrefix = ScanClass.class.getName();
+        ClassPathScanSession session = ClassPathScanSession.of(Set.of(typesPackage, scanClassPrefix));
+
+        Set<TypeReference> typeReferences = session.references(typesPackage);
+        Set<String> scanClassReferences = session.references(scanClassPrefix).stream()
+                .map(TypeReference::qualifiedName)
+                .collect(Collectors.toSet());
+
+        Assertions.assertEquals(7, typeReferences.size());
+        // ScanClass, and its two inner classes
+        Assertions.assertEquals(Set.of(
+                ScanClass.class.getName(),
+                NonStaticInnerClass.class.getName(),
+                StaticInnerClass.class.getName()
+        ), scanClassReferences);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ClassPathScannerTypeReferenceCollector("test.org.dockbox.unknown", session));
+    }
+
+    @Test
+    void testScanCacheRoundTrip(@TempDir Path directory) {
+        ClassPathScanCache cache = ClassPathScanCache.of(directory.resolve("scan.cache"));
+        byte[] fingerprint = { 1, 2, 3 };
+        Map<String, Set<String>> results = Map.of("a", Set.of("a.A", "a.B"), "b", Set.of());
+
+        Assertions.assertTrue(cache.read(fingerprint, Set.of("a")).absent());
+        cache.write(fingerprint, results);
+
+        Assertions.assertEquals(Map.of("a", Set.of("a.A", "a.B")), cache.read(fingerprint, Set.of("a")).get());
+        Assertions.assertEquals(results, cache.read(fingerprint, Set.of("a", "b")).get());
+        Assertions.assertTrue(cache.read(new byte[] { 3, 2, 1 }, Set.of("a")).absent());
+        Assertions.assertTrue(cache.read(fingerprint, Set.of("a", "c")).absent());
+    }
+
+    @Test
+    void testScanSessionUsesCacheForUnchangedClassPath(@TempDir Path directory) throws TypeCollectionException, ClassPathWalkingException {
+        String typesPackage = "test.org.dockbox.hartshorn.introspect.types";
+        ClassPathScanCache cache = ClassPathScanCache.of(directory.resolve("scan.cache"));
+
+        Set<TypeReference> scanned = ClassPathScanSession.of(Set.of(typesPackage), cache).references(typesPackage);
+        Assertions.assertEquals(7, scanned.size());
+
+        // Replace the cached result, so the next session can only observe it if the cache is used
+        byte[] fingerprint = ClassPathScanner.create().includeDefaultClassPath().fingerprint();
+        cache.write(fingerprint, Map.of(typesPackage, Set.of(ScanClass.class.getName())));
+
+        Set<TypeReference> cached = ClassPathScanSession.of(Set.of(typesPackage), cache).references(typesPackage);
+        Assertions.assertEquals(Set.of(ScanClass.class.getName()), cached.stream()
+                .map(TypeReference::qualifiedName)
+                .collect(Collectors.toSet()));
+    }
+
     @Test
     void testCachedTypeCollector() throws TypeCollectionException {
         TypeReferenceCollector collector = new ClassPathScannerTypeReferenceCollector("test.org.dockbox.hartshorn.introspect.types");
@@ -103,4 +178,140 @@ void testAggregateTypeCollector() throws TypeCollectionException {
         Assertions.assertTrue(types.contains(ScanInterface.class));
     }
 
+    @Test
+    void testSubstitutedCollectorsOnlyApplyToAnnotationLookups() throws TypeCollectionException {
+        PredefinedSetTypeReferenceCollector classCollector = PredefinedSetTypeReferenceCollector.of(ScanClass.class, ScanEnum.class);
+        PredefinedSetTypeReferenceCollector interfaceCollector = PredefinedSetTypeReferenceCollector.of(ScanInterface.class);
+        TypeReferenceCollectorContext context = new TypeReferenceCollectorContext();
+        context.register(classCollector);
+        context.register(interfaceCollector);
+
+        context.substitute(ScanAnnotation.class, classCollector, PredefinedSetTypeReferenceCollector.of(ScanClass.class));
+
+        Assertions.assertEquals(Set.of(ScanClass.class.getName(), ScanEnum.class.getName(), ScanInterface.class.getName()),
+                qualifiedNames(context.collector()));
+        Assertions.assertEquals(Set.of(ScanClass.class.getName(), ScanInterface.class.getName()),
+                qualifiedNames(context.collector(ScanAnnotation.class)));
+        Assertions.assertSame(context.collector(), context.collector(Deprecated.class));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> context.substitute(ScanAnnotation.class,
+                PredefinedSetTypeReferenceCollector.of(ScanRecord.class), classCollector));
+    }
+
+    @Test
+    void testTypeIndexRoundTrip() throws IOException {
+        MultiMap<String, String> entries = new HashSetMultiMap<>();
+        entries.put("component", ScanClass.class.getName());
+        entries.put("component", StaticInnerClass.class.getName());
+        entries.put("binds", ScanClass.class.getName() + "#method");
+        TypeIndex index = TypeIndex.of(entries);
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        index.write(output);
+        TypeIndex read = TypeIndex.read(new ByteArrayInputStream(output.toByteArray()));
+
+        Assertions.assertEquals(Set.of("component", "binds"), read.kinds());
+        Assertions.assertEquals(index.entries("component"), read.entries("component"));
+        Assertions.assertEquals(index.entries("binds"), read.entries("binds"));
+    }
+
+    @Test
+    void testTypeIndexRejectsMalformedEntries() {
+        byte[] content = "# comment\ncomponent\n".getBytes(StandardCharsets.UTF_8);
+        Assertions.assertThrows(IOException.class, () -> TypeIndex.read(new ByteArrayInputStream(content)));
+    }
+
+    @Test
+    void testTypeIndexTypeCollector() throws TypeCollectionException {
+        MultiMap<String, String> entries = new HashSetMultiMap<>();
+        entries.put("component", ScanClass.class.getName());
+        entries.put("component", StaticInnerClass.class.getName());
+        entries.put("component", "test.org.dockbox.hartshorn.other.OtherClass");
+        entries.put("binds", ScanRecord.class.getName() + "#method");
+        entries.put("stereotype", ScanAnnotation.class.getName());
+        TypeIndex index = TypeIndex.of(entries);
+
+        String packageName = "test.org.dockbox.hartshorn.introspect.types";
+        TypeReferenceCollector collector = new TypeIndexTypeReferenceCollector(index, packageName, List.of("component", "binds"));
+        Set<String> typeNames = collector.collect().stream()
+                .map(TypeReference::qualifiedName)
+                .collect(Collectors.toSet());
+
+        Assertions.assertEquals(Set.of(
+                ScanClass.class.getName(),
+                StaticInnerClass.class.getName(),
+                ScanRecord.class.getName()
+        ), typeNames);
+
+        TypeReferenceCollector prefixCollector = new TypeIndexTypeReferenceCollector(index, "test.org.dockbox.hartshorn.introspect.type", List.of("component", "binds"));
+        Assertions.assertTrue(prefixCollector.collect().isEmpty());
+    }
+
+    @Test
+    void testTypeIndexCompletePackages() {
+        MultiMap<String, String> entries = new HashSetMultiMap<>();
+        entries.put("complete", "com.acme");
+        TypeIndex index = TypeIndex.of(entries);
+
+        Assertions.assertTrue(index.isComplete("complete", "com.acme"));
+        Assertions.assertTrue(index.isComplete("complete", "com.acme.app"));
+        Assertions.assertFalse(index.isComplete("complete", "com.acmewidgets"));
+        Assertions.assertFalse(index.isComplete("complete", "com"));
+    }
+
+    @Test
+    void testCompletePackagesOnlyApplyToDeclaringClassPathRoot(@TempDir Path directory) throws IOException, TypeCollectionException {
+        String packageName = "test.org.dockbox.hartshorn.introspect.types";
+        Path indexed = directory.resolve("indexed");
+        Path other = directory.resolve("other");
+        writeIndex(indexed, "complete " + packageName, "component " + ScanClass.class.getName());
+        writeIndex(other, "component " + ScanRecord.class.getName());
+
+        try (URLClassLoader classLoader = new URLClassLoader(new URL[] { indexed.toUri().toURL(), other.toUri().toURL() }, null)) {
+            TypeIndex index = TypeIndex.load(classLoader);
+            Assertions.assertEquals(2, index.sources().size());
+            Assertions.assertTrue(index.isComplete("complete", packageName));
+
+            TypeIndex complete = index.completeSources("complete", packageName);
+            Assertions.assertEquals(1, complete.sources().size());
+            Assertions.assertEquals(Set.of(ScanClass.class.getName()), complete.entries("component"));
+            Assertions.assertTrue(index.completeSources("complete", "test.org.dockbox.hartshorn.unknown").isEmpty());
+            Assertions.assertEquals(Set.of(indexed.toAbsolutePath().normalize()), complete.originPaths());
+
+            // The remainder covers the roots which are not indexed, so all of its types are included
+            TypeReferenceCollector remainder = PredefinedSetTypeReferenceCollector.of(ScanInterface.class);
+            TypeReferenceCollector collector = new TypeIndexTypeReferenceCollector(complete, packageName, List.of("component"), remainder);
+            Assertions.assertEquals(Set.of(ScanClass.class.getName(), ScanInterface.class.getName()), qualifiedNames(collector));
+        }
+    }
+
+    @Test
+    void testScanSessionDoesNotWalkExcludedRoots() throws URISyntaxException, TypeCollectionException {
+        String typesPackage = ScanClass.class.getPackageName();
+        String scanClassPrefix = ScanClass.class.getName();
+        Path testClasses = Path.of(ScanClass.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+
+        Set<TypeReference> scanned = ClassPathScanSession.of(Set.of(typesPackage)).references(typesPackage);
+        Assertions.assertTrue(scanned.stream().anyMatch(reference -> reference.qualifiedName().equals(ScanClass.class.getName())));
+
+        // Test types are only located in the test classes directory, so nothing remains once it is excluded
+        ClassPathScanSession session = ClassPathScanSession.excluding(Map.of(
+                typesPackage, Set.of(testClasses),
+                scanClassPrefix, Set.of()
+        ));
+        Assertions.assertTrue(session.references(typesPackage).isEmpty());
+        // The test classes directory is still walked for prefixes which do not exclude it
+        Assertions.assertTrue(session.references(scanClassPrefix).stream().anyMatch(reference -> reference.qualifiedName().equals(ScanClass.class.getName())));
+    }
+
+    private static void writeIndex(Path root, String... lines) throws IOException {
+        Path index = root.resolve(TypeIndex.INDEX_LOCATION);
+        Files.createDirectories(index.getParent());
+        Files.write(index, List.of(lines));
+    }
+
+    private static Set<String> qualifiedNames(TypeReferenceCollector collector) throws TypeCollectionException {
+        return collector.collect().stream()
+                .map(TypeReference::qualifiedName)
+                .collect(Collectors.toSet());
+    }
 }
@@ -0,0 +1,259 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.launchpad.indexer;
+
+import org.dockbox.hartshorn.inject.annotations.Component;
+import org.dockbox.hartshorn.inject.annotations.configuration.Binds;
+import org.dockbox.hartshorn.launchpad.activation.ServiceActivator;
+import org.dockbox.hartshorn.launchpad.index.ComponentIndex;
+import org.dockbox.hartshorn.util.collections.HashSetMultiMap;
+import org.dockbox.hartshorn.util.collections.MultiMap;
+import org.dockbox.hartshorn.util.introspect.annotations.Extends;
+import org.dockbox.hartshorn.util.introspect.scan.index.TypeIndex;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Annotation processor which generates a component {@link TypeIndex} at build time. The index is written to
+ * {@link TypeIndex#INDEX_LOCATION}, and records the following entries:
+ * <ul>
+ *     <li>{@link ComponentIndex#COMPONENT}: types which are annotated with {@link Component}, or one of its stereotypes</li>
+ *     <li>{@link ComponentIndex#STEREOTYPE}: annotation types which {@link Extends extend} {@link Component}</li>
+ *     <li>{@link ComponentIndex#BINDS}: methods which are annotated with {@link Binds}</li>
+ *     <li>{@link ComponentIndex#ACTIVATOR}: annotation types which are annotated with {@link ServiceActivator}</li>
+ *     <li>{@link ComponentIndex#COMPLETE}: packages which are declared complete through the
+ *     {@value #COMPLETE_PACKAGES_OPTION} option</li>
+ * </ul>
+ *
+ * <p>Types are recorded using their binary name, so nested types can be loaded directly. When compiling
+ * incrementally, types of an existing index in the class output are inspected again, so the index remains complete
+ * when only part of the sources is recompiled. Entries are always rebuilt from the types which are present in the
+ * current compilation, so entries of types which were removed, or which are no longer annotated, are dropped.
+ *
+ * <p>Packages are only declared complete when they are listed in the {@value #COMPLETE_PACKAGES_OPTION} option, as
+ * a comma-separated list. The runtime only trusts the index for complete packages, and scans all other packages.
+ *
+ * <p>This processor is registered as a service, and is enabled by adding this module to the annotation processor
+ * path of the compiler.
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public class ComponentIndexProcessor extends AbstractProcessor {
+
+    /**
+     * The processor option which lists the packages for which the generated index is declared complete, separated by
+     * commas. For example {@code -Ahartshorn.index.complete=com.example.app,com.example.shared}.
+     */
+    public static final String COMPLETE_PACKAGES_OPTION = "hartshorn.index.complete";
+
+    private final MultiMap<String, String> entries = new HashSetMultiMap<>();
+
+    /**
+     * Creates a new processor. Processors are typically created by the compiler, which discovers this processor
+     * as a service.
+     */
+    public ComponentIndexProcessor() {
+        // Required for service loading
+    }
+
+    @Override
+    public Set<String> getSupportedOptions() {
+        return Set.of(COMPLETE_PACKAGES_OPTION);
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        // Stereotypes can be declared by any library, so all types need to be inspected
+        return Set.of("*");
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element element : roundEnv.getRootElements()) {
+            this.visit(element);
+        }
+        if (roundEnv.processingOver()) {
+            this.writeIndex();
+        }
+        // Never claim annotations, other processors may need to process them as well
+        return false;
+    }
+
+    private void visit(Element element) {
+        if (element instanceof TypeElement typeElement) {
+            this.visitType(typeElement);
+            for (Element enclosed : typeElement.getEnclosedElements()) {
+                this.visit(enclosed);
+            }
+        }
+        else if (element instanceof ExecutableElement method && method.getKind() == ElementKind.METHOD) {
+            this.visitMethod(method);
+        }
+    }
+
+    private void visitType(TypeElement type) {
+        String binaryName = this.processingEnv.getElementUtils().getBinaryName(type).toString();
+        if (type.getKind() == ElementKind.ANNOTATION_TYPE) {
+            if (this.isStereotypeOf(type, Component.class.getCanonicalName(), new HashSet<>())) {
+                this.entries.put(ComponentIndex.STEREOTYPE, binaryName);
+            }
+            if (this.hasAnnotation(type, ServiceActivator.class.getCanonicalName())) {
+                this.entries.put(ComponentIndex.ACTIVATOR, binaryName);
+            }
+        }
+        else if (this.isComponent(type)) {
+            this.entries.put(ComponentIndex.COMPONENT, binaryName);
+        }
+    }
+
+    private void visitMethod(ExecutableElement method) {
+        if (this.hasAnnotation(method, Binds.class.getCanonicalName())) {
+            TypeElement declaringType = (TypeElement) method.getEnclosingElement();
+            String binaryName = this.processingEnv.getElementUtils().getBinaryName(declaringType).toString();
+            this.entries.put(ComponentIndex.BINDS, binaryName + '#' + method.getSimpleName());
+        }
+    }
+
+    private boolean isComponent(TypeElement type) {
+        String component = Component.class.getCanonicalName();
+        for (AnnotationMirror mirror : type.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            if (annotationType.getQualifiedName().contentEquals(component)
+                    || this.isStereotypeOf(annotationType, component, new HashSet<>())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isStereotypeOf(TypeElement annotationType, String stereotype, Set<String> visited) {
+        if (!visited.add(annotationType.getQualifiedName().toString())) {
+            return false;
+        }
+        for (AnnotationMirror mirror : annotationType.getAnnotationMirrors()) {
+            TypeElement type = (TypeElement) mirror.getAnnotationType().asElement();
+            if (!type.getQualifiedName().contentEquals(Extends.class.getCanonicalName())) {
+                continue;
+            }
+            for (AnnotationValue value : mirror.getElementValues().values()) {
+                if (value.getValue() instanceof TypeMirror typeMirror && typeMirror instanceof DeclaredType declaredType) {
+                    TypeElement extended = (TypeElement) declaredType.asElement();
+                    if (extended.getQualifiedName().contentEquals(stereotype)
+                            || this.isStereotypeOf(extended, stereotype, visited)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    private boolean hasAnnotation(Element element, String annotation) {
+        return element.getAnnotationMirrors().stream()
+                .map(mirror -> (TypeElement) mirror.getAnnotationType().asElement())
+                .anyMatch(type -> type.getQualifiedName().contentEquals(annotation));
+    }
+
+    private void writeIndex() {
+        MultiMap<String, String> existingEntries = this.existingIndex().entries();
+        this.revisitExistingTypes(existingEntries);
+        this.declareCompletePackages();
+        if (this.entries.isEmpty() && existingEntries.isEmpty()) {
+            return;
+        }
+        try {
+            FileObject resource = this.processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", TypeIndex.INDEX_LOCATION);
+            try (OutputStream stream = resource.openOutputStream()) {
+                TypeIndex.of(this.entries).write(stream);
+            }
+        }
+        catch (IOException e) {
+            this.processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write component index: " + e.getMessage());
+        }
+    }
+
+    private void revisitExistingTypes(MultiMap<String, String> existingEntries) {
+        Elements elements = this.processingEnv.getElementUtils();
+        Set<String> typeNames = new HashSet<>();
+        for (String kind : List.of(ComponentIndex.COMPONENT, ComponentIndex.STEREOTYPE, ComponentIndex.BINDS, ComponentIndex.ACTIVATOR)) {
+            for (String entry : existingEntries.get(kind)) {
+                int memberSeparator = entry.indexOf('#');
+                typeNames.add(memberSeparator == -1 ? entry : entry.substring(0, memberSeparator));
+            }
+        }
+        for (String typeName : typeNames) {
+            // Indexed names are binary names, while elements are looked up by their canonical name
+            TypeElement type = elements.getTypeElement(typeName.replace('$', '.'));
+            if (type != null) {
+                this.visit(type);
+            }
+        }
+    }
+
+    private void declareCompletePackages() {
+        String completePackages = this.processingEnv.getOptions().get(COMPLETE_PACKAGES_OPTION);
+        if (completePackages == null) {
+            return;
+        }
+        for (String packageName : completePackages.split(",")) {
+            if (!packageName.isBlank()) {
+                this.entries.put(ComponentIndex.COMPLETE, packageName.trim());
+            }
+        }
+    }
+
+    private TypeIndex existingIndex() {
+        try {
+            FileObject resource = this.processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", TypeIndex.INDEX_LOCATION);
+            try (InputStream stream = resource.openInputStream()) {
+                return TypeIndex.read(stream);
+            }
+        }
+        catch (IOException e) {
+            // No index exists yet, or it is not accessible from this compilation
+            return TypeIndex.empty();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test.org.dockbox.hartshorn.launchpad.indexer;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+
+import org.dockbox.hartshorn.inject.annotations.Component;
+import org.dockbox.hartshorn.inject.provider.LifecycleType;
+import org.dockbox.hartshorn.launchpad.activation.ServiceActivator;
+import org.dockbox.hartshorn.launchpad.index.ComponentIndex;
+import org.dockbox.hartshorn.launchpad.indexer.ComponentIndexProcessor;
+import org.dockbox.hartshorn.util.introspect.annotations.Extends;
+import org.dockbox.hartshorn.util.introspect.scan.index.TypeIndex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ComponentIndexProcessorTests {
+
+    private static final String STEREOTYPE = """
+            package sample;
+            @org.dockbox.hartshorn.util.introspect.annotations.Extends(org.dockbox.hartshorn.inject.annotations.Component.class)
+            @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)
+            public @interface SampleStereotype {}
+            """;
+
+    private static final String ACTIVATOR = """
+            package sample;
+            @org.dockbox.hartshorn.launchpad.activation.ServiceActivator
+            @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)
+            public @interface SampleActivator {}
+            """;
+
+    private static final String COMPONENTS = """
+            package sample;
+            @org.dockbox.hartshorn.inject.annotations.Component
+            public class SampleComponent {
+                @SampleStereotype
+                public static class NestedComponent {}
+                @org.dockbox.hartshorn.inject.annotations.configuration.Binds
+                public String value() { return "value"; }
+            }
+            """;
+
+    private static final String PLAIN = """
+            package sample;
+            public class SamplePlainType {}
+            """;
+
+    @Test
+    void testProcessorIndexesComponentMetadata(@TempDir Path output) throws IOException, URISyntaxException {
+        TypeIndex index = this.compile(output, Set.of(
+                source("SampleStereotype", STEREOTYPE),
+                source("SampleActivator", ACTIVATOR),
+                source("SampleComponent", COMPONENTS),
+                source("SamplePlainType", PLAIN)
+        ));
+
+        Assertions.assertEquals(Set.of("sample.SampleComponent", "sample.SampleComponent$NestedComponent"), index.entries(ComponentIndex.COMPONENT));
+        Assertions.assertEquals(Set.of("sample.SampleStereotype"), index.entries(ComponentIndex.STEREOTYPE));
+        Assertions.assertEquals(Set.of("sample.SampleComponent#value"), index.entries(ComponentIndex.BINDS));
+        Assertions.assertEquals(Set.of("sample.SampleActivator"), index.entries(ComponentIndex.ACTIVATOR));
+    }
+
+    @Test
+    void testProcessorRetainsEntriesOfUnchangedTypes(@TempDir Path output) throws IOException, URISyntaxException {
+        this.compile(output, Set.of(source("SampleComponent", COMPONENTS), source("SampleStereotype", STEREOTYPE), source("SampleActivator", ACTIVATOR)), false);
+        TypeIndex index = this.compile(output, Set.of(source("SamplePlainType", PLAIN)), false);
+
+        Assertions.assertEquals(Set.of("sample.SampleComponent", "sample.SampleComponent$NestedComponent"), index.entries(ComponentIndex.COMPONENT));
+        Assertions.assertEquals(Set.of("sample.SampleStereotype"), index.entries(ComponentIndex.STEREOTYPE));
+        Assertions.assertEquals(Set.of("sample.SampleComponent#value"), index.entries(ComponentIndex.BINDS));
+        Assertions.assertEquals(Set.of("sample.SampleActivator"), index.entries(ComponentIndex.ACTIVATOR));
+    }
+
+    @Test
+    void testProcessorDropsEntriesOfRemovedTypes(@TempDir Path output) throws IOException, URISyntaxException {
+        // Without class files in the output, indexed types can no longer be resolved by the second compilation
+        this.compile(output, Set.of(source("SampleComponent", COMPONENTS), source("SampleStereotype", STEREOTYPE)));
+        TypeIndex index = this.compile(output, Set.of(source("SamplePlainType", PLAIN), source("SampleActivator", ACTIVATOR)));
+
+        Assertions.assertTrue(index.entries(ComponentIndex.COMPONENT).isEmpty());
+        Assertions.assertTrue(index.entries(ComponentIndex.STEREOTYPE).isEmpty());
+        Assertions.assertTrue(index.entries(ComponentIndex.BINDS).isEmpty());
+        Assertions.assertEquals(Set.of("sample.SampleActivator"), index.entries(ComponentIndex.ACTIVATOR));
+    }
+
+    @Test
+    void testProcessorDropsEntriesOfTypesWhichAreNoLongerComponents(@TempDir Path output) throws IOException, URISyntaxException {
+        this.compile(output, Set.of(source("SampleComponent", COMPONENTS), source("SampleStereotype", STEREOTYPE)), false);
+        TypeIndex index = this.compile(output, Set.of(source("SampleComponent", """
+                package sample;
+                public class SampleComponent {}
+                """)), false);
+
+        Assertions.assertTrue(index.entries(ComponentIndex.COMPONENT).isEmpty());
+        Assertions.assertTrue(index.entries(ComponentIndex.BINDS).isEmpty());
+        Assertions.assertEquals(Set.of("sample.SampleStereotype"), index.entries(ComponentIndex.STEREOTYPE));
+    }
+
+    @Test
+    void testProcessorDeclaresCompletePackages(@TempDir Path output) throws IOException, URISyntaxException {
+        TypeIndex index = this.compile(output, Set.of(source("SampleComponent", COMPONENTS), source("SampleStereotype", STEREOTYPE)),
+                true, "-A" + ComponentIndexProcessor.COMPLETE_PACKAGES_OPTION + "=sample, sample.other");
+
+        Assertions.assertEquals(Set.of("sample", "sample.other"), index.entries(ComponentIndex.COMPLETE));
+        Assertions.assertTrue(index.isComplete(ComponentIndex.COMPLETE, "sample"));
+        Assertions.assertFalse(index.isComplete(ComponentIndex.COMPLETE, "samples"));
+    }
+
+    @Test
+    void testProcessorDoesNotDeclareCompletePackagesByDefault(@TempDir Path output) throws IOException, URISyntaxException {
+        TypeIndex index = this.compile(output, Set.of(source("SampleComponent", COMPONENTS), source("SampleStereotype", STEREOTYPE)));
+
+        Assertions.assertTrue(index.entries(ComponentIndex.COMPLETE).isEmpty());
+    }
+
+    private TypeIndex compile(Path output, Set<JavaFileObject> sources) throws IOException, URISyntaxException {
+        return this.compile(output, sources, true);
+    }
+
+    private TypeIndex compile(Path output, Set<JavaFileObject> sources, boolean processOnly, String... additionalOptions) throws IOException, URISyntaxException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        String classPath = Stream.of(Component.class, LifecycleType.class, Extends.class, ServiceActivator.class, TypeIndex.class)
+                .map(type -> type.getProtectionDomain().getCodeSource().getLocation())
+                .map(location -> {
+                    try {
+                        return Path.of(location.toURI()).toString();
+                    }
+                    catch (URISyntaxException e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .collect(Collectors.joining(File.pathSeparator));
+
+        // Include the output directory, so types compiled by earlier compilations can be resolved
+        List<String> options = new ArrayList<>(List.of("-d", output.toString(), "-classpath", classPath + File.pathSeparator + output));
+        if (processOnly) {
+            options.add("-proc:only");
+        }
+        options.addAll(List.of(additionalOptions));
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, null, options, null, sources);
+        task.setProcessors(List.of(new ComponentIndexProcessor()));
+        Assertions.assertTrue(task.call());
+
+        Path indexFile = output.resolve(TypeIndex.INDEX_LOCATION);
+        Assertions.assertTrue(Files.exists(indexFile));
+        try (InputStream stream = Files.newInputStream(indexFile)) {
+            return TypeIndex.read(stream);
+        }
+    }
+
+    private static JavaFileObject source(String name, String content) throws URISyntaxException {
+        return new SimpleJavaFileObject(new URI("string:///sample/" + name + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return content;
+            }
+        };
+    }
+}
@@ -0,0 +1 @@
+memberSearchIndex = [{"p":"org.dockbox.hartshorn.launchpad.indexer","c":"ComponentIndexProcessor","l":"COMPLETE_PACKAGES_OPTION"},{"p":"org.dockbox.hartshorn.launchpad.indexer","c":"ComponentIndexProcessor","l":"ComponentIndexProcessor()","u":"%3Cinit%3E()"},{"p":"org.dockbox.hartshorn.launchpad.indexer","c":"ComponentIndexProcessor","l":"getSupportedAnnotationTypes()"},{"p":"org.dockbox.hartshorn.launchpad.indexer","c":"ComponentIndexProcessor","l":"getSupportedOptions()"},{"p":"org.dockbox.hartshorn.launchpad.indexer","c":"ComponentIndexProcessor","l":"getSupportedSourceVersion()"},{"p":"org.dockbox.hartshorn.launchpad.indexer","c":"ComponentIndexProcessor","l":"process(Set<? extends TypeElement>, RoundEnvironment)","u":"process(java.util.Set,javax.annotation.processing.RoundEnvironment)"}];updateSearchResults();
\ No newline at end of file
@@ -0,0 +1 @@
+packageSearchIndex = [{"l":"All Packages","u":"allpackages-index.html"},{"l":"org.dockbox.hartshorn.launchpad.indexer"}];updateSearchResults();
\ No newline at end of file
@@ -0,0 +1 @@
+typeSearchIndex = [{"l":"All Classes and Interfaces","u":"allclasses-index.html"},{"p":"org.dockbox.hartshorn.launchpad.indexer","l":"ComponentIndexProcessor"}];updateSearchResults();
\ No newline at end of file
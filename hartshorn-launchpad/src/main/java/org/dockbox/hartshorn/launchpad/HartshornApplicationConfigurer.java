@@ -19,6 +19,7 @@
 import java.lang.annotation.Annotation;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
@@ -358,6 +359,20 @@ public HartshornApplicationConfigurer defaultBindings(BiConsumer<ApplicationCont
         return this.defaultBindings(context -> binder -> defaultBindings.accept(context.input(), binder));
     }
 
+    /**
+     * Configures the executor on which non-lazy singletons are activated when the application starts. If configured,
+     * singletons which do not depend on one another are activated concurrently. This is disabled by default.
+     *
+     * @param singletonActivationExecutor the executor to activate singletons on
+     * @return the current instance
+     *
+     * @see SimpleApplicationContext.Configurer#singletonActivationExecutor(Executor)
+     */
+    public HartshornApplicationConfigurer singletonActivationExecutor(Executor singletonActivationExecutor) {
+        this.applicationContext = this.applicationContext.compose(configuration -> configuration.singletonActivationExecutor(singletonActivationExecutor));
+        return this;
+    }
+
     /**
      * Configures the annotations to be used for injection points. By default, this only contains {@link Inject}.
      *
@@ -20,6 +20,7 @@
 import java.util.Collection;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
 import org.dockbox.hartshorn.inject.graph.SkipConfigurationDependencyVisitor;
@@ -31,10 +32,12 @@
 import org.dockbox.hartshorn.launchpad.graph.DelegatingConfigurationDependencyVisitor;
 import org.dockbox.hartshorn.launchpad.graph.PostProcessorDependencyDeclarationContext;
 import org.dockbox.hartshorn.inject.component.ComponentContainer;
+import org.dockbox.hartshorn.inject.graph.DependencyGraph;
 import org.dockbox.hartshorn.inject.graph.DependencyGraphInitializer;
 import org.dockbox.hartshorn.inject.graph.DependencyResolutionException;
 import org.dockbox.hartshorn.inject.graph.declaration.DependencyDeclarationContext;
 import org.dockbox.hartshorn.inject.graph.support.ComponentInitializationException;
+import org.dockbox.hartshorn.inject.graph.support.ConcurrentSingletonActivationVisitor;
 import org.dockbox.hartshorn.inject.processing.ComponentPostProcessor;
 import org.dockbox.hartshorn.inject.processing.ComponentPreProcessor;
 import org.dockbox.hartshorn.inject.processing.ComponentProcessingContext;
@@ -42,6 +45,8 @@
 import org.dockbox.hartshorn.inject.processing.ComponentProcessorRegistry;
 import org.dockbox.hartshorn.inject.provider.ComponentObjectContainer;
 import org.dockbox.hartshorn.launchpad.environment.ApplicationEnvironment;
+import org.dockbox.hartshorn.proxy.ProxyClassPreparer;
+import org.dockbox.hartshorn.proxy.ProxyOrchestrator;
 import org.dockbox.hartshorn.util.ApplicationException;
 import org.dockbox.hartshorn.util.ContextualInitializer;
 import org.dockbox.hartshorn.util.Customizer;
@@ -57,6 +62,15 @@
  * components, such as the {@link DependencyGraphInitializer} and {@link PostProcessingComponentProvider}. It also supports
  * pre-processing of components, which is performed immediately when {@link #loadContext() the context is loaded}.
  *
+ * <p>If enabled through {@link Configurer#enableProxyClassPreparation()}, proxy classes for all components which permit
+ * proxying are prepared in parallel when the context is loaded, provided the active {@link ProxyOrchestrator} supports
+ * this through {@link ProxyClassPreparer}. This moves the cost of proxy class generation to startup, rather than the
+ * first time a proxied component is requested.
+ *
+ * <p>If enabled through {@link Configurer#singletonActivationExecutor(Executor)}, non-lazy singletons are activated
+ * concurrently following the order of the dependency graph when the application starts, see
+ * {@link #activateSingletonsConcurrently()}.
+ *
  * <p>This context is limited to only being initialized once, and is not refreshable (unless its individual components support
  * this).
  *
@@ -74,10 +88,16 @@ public class SimpleApplicationContext extends DelegatingApplicationContext {
 
     private static final Logger LOG = LoggerFactory.getLogger(SimpleApplicationContext.class);
     private final DependencyGraphInitializer dependencyGraphInitializer;
+    private final boolean prepareProxyClasses;
+    private final Executor singletonActivationExecutor;
+
+    private DependencyGraph dependencyGraph;
 
     public SimpleApplicationContext(SingleElementContext<? extends ApplicationEnvironment> initializerContext, Configurer configurer) {
         super(initializerContext, configurer);
         this.dependencyGraphInitializer = configurer.dependencyGraphInitializer.initialize(initializerContext.transform(this));
+        this.prepareProxyClasses = configurer.prepareProxyClasses.initialize(initializerContext.transform(this));
+        this.singletonActivationExecutor = configurer.singletonActivationExecutor.initialize(initializerContext.transform(this));
     }
 
     @Override
@@ -92,6 +112,10 @@ public synchronized void loadContext() {
         Collection<ComponentContainer<?>> containers = this.environment().componentRegistry().containers();
         LOG.debug("Located %d components".formatted(containers.size()));
 
+        if (this.prepareProxyClasses) {
+            this.prepareProxyClasses(containers);
+        }
+
         try {
             Collection<DependencyDeclarationContext<?>> declarationContexts = new ArrayList<>();
 
@@ -110,7 +134,7 @@ public synchronized void loadContext() {
                     .toList();
             declarationContexts.addAll(componentContexts);
 
-            this.dependencyGraphInitializer.initializeDependencyGraph(declarationContexts);
+            this.dependencyGraph = this.dependencyGraphInitializer.initializeDependencyGraph(declarationContexts);
         }
         catch (DependencyResolutionException e) {
             throw new ComponentInitializationException("Failed to resolve dependencies", e);
@@ -127,6 +151,62 @@ public synchronized void loadContext() {
         this.isRunning = true;
     }
 
+    /**
+     * Prepares the proxy classes of all components which permit proxying, if the active {@link ProxyOrchestrator}
+     * supports this. Classes are prepared in parallel. Failures are logged, but do not prevent the context from loading,
+     * as the same failure will be reported when the component is requested.
+     *
+     * @param containers the components to prepare proxy classes for
+     */
+    protected void prepareProxyClasses(Collection<ComponentContainer<?>> containers) {
+        if (!(this.environment().proxyOrchestrator() instanceof ProxyClassPreparer preparer)) {
+            LOG.debug("Active proxy orchestrator does not support proxy class preparation, skipping");
+            return;
+        }
+        long prepared = containers.parallelStream()
+                .filter(ComponentContainer::permitsProxying)
+                .filter(container -> {
+                    Class<?> type = container.type().type();
+                    try {
+                        return preparer.prepareProxyClass(type);
+                    }
+                    catch (ApplicationException e) {
+                        LOG.debug("Could not prepare proxy class for component %s".formatted(type.getName()), e);
+                        return false;
+                    }
+                })
+                .count();
+        LOG.debug("Prepared %d proxy classes".formatted(prepared));
+    }
+
+    /**
+     * Activates all non-lazy singletons in the dependency graph of this context concurrently, if a singleton activation
+     * executor has been configured through {@link Configurer#singletonActivationExecutor(Executor)}. Singletons are
+     * activated row by row, so all dependencies of a singleton are activated before the singleton itself. Singletons
+     * within the same row are activated concurrently on the configured executor.
+     *
+     * <p>Singletons which are not part of the dependency graph are not activated by this method, and remain to be
+     * activated by the caller.
+     *
+     * @return {@code true} if singletons were activated, {@code false} if concurrent activation is not enabled, or the
+     *         context has not been loaded yet
+     * @throws ComponentInitializationException when one or more singletons could not be activated
+     */
+    public boolean activateSingletonsConcurrently() {
+        if (this.singletonActivationExecutor == null || this.dependencyGraph == null) {
+            return false;
+        }
+        try {
+            ConcurrentSingletonActivationVisitor visitor = new ConcurrentSingletonActivationVisitor(this.componentProvider(), this.singletonActivationExecutor);
+            int activated = visitor.iterate(this.dependencyGraph).size();
+            LOG.debug("Visited %d dependencies during concurrent singleton activation".formatted(activated));
+            return true;
+        }
+        catch (GraphException e) {
+            throw new ComponentInitializationException("Failed to activate singletons", e);
+        }
+    }
+
     private void initializePostProcessors() {
         if (this.componentProvider() instanceof PostProcessingComponentProvider provider) {
             ComponentProcessorRegistry registry = provider.processorRegistry();
@@ -213,6 +293,9 @@ public static class Configurer extends DelegatingApplicationContext.Configurer {
             });
         });
 
+        private ContextualInitializer<ApplicationContext, Boolean> prepareProxyClasses = ContextualInitializer.of(false);
+        private ContextualInitializer<ApplicationContext, Executor> singletonActivationExecutor = ContextualInitializer.of((Executor) null);
+
         /**
          * Configures the dependency graph initializer to use the given {@link DependencyGraphInitializer}.
          *
@@ -233,5 +316,67 @@ public Configurer dependencyGraphInitializer(ContextualInitializer<ApplicationCo
             this.dependencyGraphInitializer = dependencyGraphInitializer;
             return this;
         }
+
+        /**
+         * Enables or disables the preparation of proxy classes when the context is loaded. If enabled, proxy classes
+         * for all components which permit proxying are generated in parallel, so later proxy creation does not need to
+         * generate classes. Proxy class preparation is disabled by default.
+         *
+         * @param prepareProxyClasses whether to enable or disable proxy class preparation
+         * @return the current instance
+         */
+        public Configurer enableProxyClassPreparation(ContextualInitializer<ApplicationContext, Boolean> prepareProxyClasses) {
+            this.prepareProxyClasses = prepareProxyClasses;
+            return this;
+        }
+
+        /**
+         * Enables the preparation of proxy classes when the context is loaded. Proxy class preparation is disabled by
+         * default.
+         *
+         * @return the current instance
+         */
+        public Configurer enableProxyClassPreparation() {
+            return this.enableProxyClassPreparation(ContextualInitializer.of(true));
+        }
+
+        /**
+         * Disables the preparation of proxy classes when the context is loaded. Proxy class preparation is disabled by
+         * default.
+         *
+         * @return the current instance
+         */
+        public Configurer disableProxyClassPreparation() {
+            return this.enableProxyClassPreparation(ContextualInitializer.of(false));
+        }
+
+        /**
+         * Configures the executor on which non-lazy singletons are activated when the application starts. If configured,
+         * singletons are activated concurrently following the order of the dependency graph, so singletons which do not
+         * depend on one another are activated in parallel. This is useful when singletons perform blocking work during
+         * their initialization, in which case an executor backed by virtual threads is recommended. The executor is not
+         * shut down by the application context.
+         *
+         * <p>Concurrent singleton activation is disabled by default, in which case singletons are activated sequentially.
+         *
+         * @param singletonActivationExecutor the executor to activate singletons on
+         * @return the current instance
+         */
+        public Configurer singletonActivationExecutor(Executor singletonActivationExecutor) {
+            return this.singletonActivationExecutor(ContextualInitializer.of(singletonActivationExecutor));
+        }
+
+        /**
+         * Configures the executor on which non-lazy singletons are activated when the application starts. Concurrent
+         * singleton activation is disabled by default.
+         *
+         * @param singletonActivationExecutor the initializer of the executor to activate singletons on
+         * @return the current instance
+         * @see #singletonActivationExecutor(Executor)
+         */
+        public Configurer singletonActivationExecutor(ContextualInitializer<ApplicationContext, Executor> singletonActivationExecutor) {
+            this.singletonActivationExecutor = singletonActivationExecutor;
+            return this;
+        }
     }
 }
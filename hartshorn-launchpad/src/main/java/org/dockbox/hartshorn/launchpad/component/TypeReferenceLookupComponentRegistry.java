@@ -17,6 +17,8 @@
 package org.dockbox.hartshorn.launchpad.component;
 
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -32,6 +34,12 @@
 /**
  * TODO: #1060 Add documentation
  *
+ * <p>Containers are indexed by their type once the registry is first used, and custom containers are added to the
+ * same index when they are registered. Looking up the container of a type therefore does not depend on the number
+ * of registered components. If both a component container and a custom container exist for the same type, the
+ * component container is used. As long as no component containers were found, they are looked up again on the next
+ * use of the registry.
+ *
  * @since 0.6.0
  *
  * @author Guus Lieben
@@ -41,6 +49,7 @@ public class TypeReferenceLookupComponentRegistry implements ComponentRegistry {
     private final EnvironmentTypeResolver typeResolver;
     private final Set<ComponentContainer<?>> componentContainers = ConcurrentHashMap.newKeySet();
     private final Set<ComponentContainer<?>> customContainers = ConcurrentHashMap.newKeySet();
+    private final Map<Class<?>, ComponentContainer<?>> containersByType = new ConcurrentHashMap<>();
 
     public TypeReferenceLookupComponentRegistry(EnvironmentTypeResolver typeResolver) {
         this.typeResolver = typeResolver;
@@ -48,26 +57,39 @@ public TypeReferenceLookupComponentRegistry(EnvironmentTypeResolver typeResolver
 
     public void addCustomContainer(ComponentContainer<?> container) {
         this.customContainers.add(container);
+        // Component containers take precedence over custom containers of the same type
+        this.containersByType.putIfAbsent(container.type().type(), container);
+    }
+
+    private void loadComponentContainers() {
+        if (!this.componentContainers.isEmpty()) {
+            return;
+        }
+        synchronized (this.componentContainers) {
+            if (this.componentContainers.isEmpty()) {
+                List<ComponentContainer<?>> containers = this.typeResolver.types(Component.class).stream()
+                        // Filter out component stereotypes
+                        .filter(type -> !AnnotationUtilities.isStereotypeOf(type.type(), Component.class))
+                        .<ComponentContainer<?>>map(AnnotatedComponentContainer::new)
+                        .toList();
+                for (ComponentContainer<?> container : containers) {
+                    this.containersByType.put(container.type().type(), container);
+                }
+                // Only publish containers once they are indexed, as a non-empty set marks the index as populated
+                this.componentContainers.addAll(containers);
+            }
+        }
     }
 
     @Override
     public Collection<ComponentContainer<?>> containers() {
-        if (this.componentContainers.isEmpty()) {
-            this.typeResolver.types(Component.class).stream()
-                    // Filter out component stereotypes
-                    .filter(type -> !AnnotationUtilities.isStereotypeOf(type.type(), Component.class))
-                    .map(AnnotatedComponentContainer::new)
-                    .forEach(this.componentContainers::add);
-        }
+        this.loadComponentContainers();
         return CollectionUtilities.merge(this.componentContainers, this.customContainers);
     }
 
     @Override
     public Option<ComponentContainer<?>> container(Class<?> type) {
-        return Option.of(this.containers()
-                .stream()
-                .filter(container -> container.type().is(type))
-                .findFirst()
-        );
+        this.loadComponentContainers();
+        return Option.of(this.containersByType.get(type));
     }
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.launchpad.environment;
+
+import java.lang.annotation.Annotation;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.dockbox.hartshorn.reporting.DiagnosticsPropertyCollector;
+import org.dockbox.hartshorn.reporting.Reportable;
+import org.dockbox.hartshorn.util.introspect.scan.ClassReference;
+import org.dockbox.hartshorn.util.introspect.scan.TypeReference;
+import org.dockbox.hartshorn.util.introspect.scan.classfile.ClassFileAnnotationFilter;
+import org.dockbox.hartshorn.util.introspect.view.TypeView;
+import org.dockbox.hartshorn.util.option.Option;
+
+/**
+ * An inverted index of collected {@link TypeReference}s, keyed by the annotations which are effectively present on
+ * the referenced types. Effective annotations include the parents of virtual annotation hierarchies, so a type which
+ * is annotated with a stereotype is indexed under both the stereotype and all annotations it extends. The index is
+ * built from class files through a {@link ClassFileAnnotationFilter}, so building it does not load any classes.
+ *
+ * <p>References for which the annotations cannot be determined from class files, and references to classes which
+ * are already loaded, are retained as unresolved candidates for every annotation. Resolved {@link TypeView}s are
+ * memoized per annotation, so repeated lookups of the same annotation do not load or introspect types again.
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public final class AnnotatedTypeIndex implements Reportable {
+
+    private final Map<String, Set<TypeReference>> references;
+    private final Set<TypeReference> unresolved;
+    private final Map<Class<? extends Annotation>, Collection<TypeView<?>>> types = new ConcurrentHashMap<>();
+
+    private AnnotatedTypeIndex(Map<String, Set<TypeReference>> references, Set<TypeReference> unresolved) {
+        this.references = references;
+        this.unresolved = unresolved;
+    }
+
+    /**
+     * Builds a new index for the given references. Annotations are read from class files using the given filter.
+     *
+     * @param references the references to index
+     * @param filter the filter to read effective annotations with
+     * @return the index
+     */
+    public static AnnotatedTypeIndex build(Collection<TypeReference> references, ClassFileAnnotationFilter filter) {
+        Map<String, Set<TypeReference>> index = new HashMap<>();
+        Set<TypeReference> unresolved = new HashSet<>();
+        for (TypeReference reference : references) {
+            // Classes which are already loaded do not benefit from indexing
+            if (reference instanceof ClassReference) {
+                unresolved.add(reference);
+                continue;
+            }
+            Option<Set<String>> annotations = filter.effectiveAnnotations(reference.qualifiedName());
+            if (annotations.absent()) {
+                unresolved.add(reference);
+                continue;
+            }
+            for (String annotation : annotations.get()) {
+                index.computeIfAbsent(annotation, key -> new HashSet<>()).add(reference);
+            }
+        }
+        return new AnnotatedTypeIndex(Map.copyOf(index), Set.copyOf(unresolved));
+    }
+
+    /**
+     * Returns all references which may be annotated with the given annotation. This includes all references which are
+     * indexed under the annotation, and all unresolved references.
+     *
+     * @param annotation the annotation to look up
+     * @return the candidate references
+     */
+    public Set<TypeReference> candidates(Class<? extends Annotation> annotation) {
+        Set<TypeReference> indexed = this.references.getOrDefault(annotation.getName(), Set.of());
+        if (this.unresolved.isEmpty()) {
+            return indexed;
+        }
+        Set<TypeReference> candidates = new HashSet<>(indexed);
+        candidates.addAll(this.unresolved);
+        return candidates;
+    }
+
+    /**
+     * Returns the types which are annotated with the given annotation. If the types have not been resolved yet, the
+     * given function is used to resolve the {@link #candidates(Class) candidates} of the annotation. The result is
+     * memoized, so subsequent lookups of the same annotation return the same collection.
+     *
+     * @param annotation the annotation to look up
+     * @param resolver the function to resolve candidates to matching types
+     * @return the annotated types
+     */
+    public Collection<TypeView<?>> types(Class<? extends Annotation> annotation, Function<Set<TypeReference>, Collection<TypeView<?>>> resolver) {
+        Collection<TypeView<?>> resolved = this.types.get(annotation);
+        if (resolved == null) {
+            resolved = Set.copyOf(resolver.apply(this.candidates(annotation)));
+            Collection<TypeView<?>> existing = this.types.putIfAbsent(annotation, resolved);
+            if (existing != null) {
+                resolved = existing;
+            }
+        }
+        return resolved;
+    }
+
+    @Override
+    public void report(DiagnosticsPropertyCollector collector) {
+        collector.property("unresolved").writeInt(this.unresolved.size());
+        Map<String, Integer> indexed = new TreeMap<>();
+        this.references.forEach((annotation, references) -> indexed.put(annotation, references.size()));
+        collector.property("indexed").writeDelegate(indexCollector -> {
+            indexed.forEach((annotation, count) -> indexCollector.property(annotation).writeInt(count));
+        });
+        Map<String, Integer> resolved = new TreeMap<>();
+        this.types.forEach((annotation, types) -> resolved.put(annotation.getName(), types.size()));
+        collector.property("resolved").writeDelegate(resolvedCollector -> {
+            resolved.forEach((annotation, count) -> resolvedCollector.property(annotation).writeInt(count));
+        });
+    }
+}
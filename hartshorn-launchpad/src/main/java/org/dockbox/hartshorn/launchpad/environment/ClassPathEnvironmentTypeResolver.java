@@ -19,6 +19,8 @@
 import java.lang.annotation.Annotation;
 import java.util.Collection;
 
+import org.dockbox.hartshorn.reporting.DiagnosticsPropertyCollector;
+import org.dockbox.hartshorn.reporting.Reportable;
 import org.dockbox.hartshorn.util.introspect.view.TypeView;
 
 /**
@@ -28,7 +30,7 @@
  *
  * @author Guus Lieben
  */
-public class ClassPathEnvironmentTypeResolver implements EnvironmentTypeResolver {
+public class ClassPathEnvironmentTypeResolver implements EnvironmentTypeResolver, Reportable {
 
     private final EnvironmentTypeCollector typeCollector;
 
@@ -38,6 +40,11 @@ public ClassPathEnvironmentTypeResolver(EnvironmentTypeCollector typeCollector)
 
     @Override
     public <A extends Annotation> Collection<TypeView<?>> types(Class<A> annotation) {
-        return this.typeCollector.types(type -> type.annotations().has(annotation));
+        return this.typeCollector.types(annotation);
+    }
+
+    @Override
+    public void report(DiagnosticsPropertyCollector collector) {
+        this.typeCollector.annotationIndex().peek(index -> collector.property("index").writeDelegate(index));
     }
 }
@@ -16,10 +16,13 @@
 
 package org.dockbox.hartshorn.launchpad.environment;
 
+import java.lang.annotation.Annotation;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -29,7 +32,9 @@
 import org.dockbox.hartshorn.util.introspect.scan.TypeReference;
 import org.dockbox.hartshorn.util.introspect.scan.TypeReferenceCollector;
 import org.dockbox.hartshorn.util.introspect.scan.TypeReferenceCollectorContext;
+import org.dockbox.hartshorn.util.introspect.scan.classfile.ClassFileAnnotationFilter;
 import org.dockbox.hartshorn.util.introspect.view.TypeView;
+import org.dockbox.hartshorn.util.option.Option;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -42,6 +47,11 @@
  * {@link org.dockbox.hartshorn.util.introspect.Introspector}. Note that while classes are loaded, it is not ensured they
  * are immediately initialized.
  *
+ * <p>When types are collected {@link #types(Class) by annotation}, class files are inspected before classes are loaded,
+ * so only classes which can carry the annotation are loaded. See {@link AnnotatedTypeIndex} and
+ * {@link ClassFileAnnotationFilter} for details. If the {@link TypeReferenceCollectorContext} substitutes collectors
+ * for a specific annotation, lookups of that annotation use a separate index over the substituted collectors.
+ *
  * @see TypeReferenceCollector
  * @see TypeReferenceCollectorContext
  *
@@ -56,6 +66,9 @@ public class EnvironmentTypeCollector {
     private final ApplicationEnvironment environment;
     private final TypeReferenceCollectorContext collectorContext;
 
+    private final Map<Class<? extends Annotation>, IndexState> substitutedIndexStates = new ConcurrentHashMap<>();
+    private volatile IndexState indexState;
+
     public EnvironmentTypeCollector(ApplicationEnvironment environment, TypeReferenceCollectorContext collectorContext) {
         this.environment = environment;
         this.collectorContext = collectorContext;
@@ -73,13 +86,32 @@ public EnvironmentTypeCollector(ApplicationEnvironment environment, TypeReferenc
      */
     public <T> Collection<TypeView<? extends T>> types(Predicate<TypeView<?>> predicate) {
         try {
-            Set<TypeReference> references = collectorContext.collector().collect();
-            Collection<Class<?>> classes = this.loadClasses(references);
-            return classes.stream()
-                    .map(this.environment.introspector()::introspect)
-                    .filter(predicate)
-                    .map(reference -> (TypeView<T>) reference)
-                    .collect(Collectors.toSet());
+            Set<TypeReference> references = this.collectorContext.collector().collect();
+            return this.resolve(references, predicate);
+        }
+        catch (TypeCollectionException e) {
+            this.environment.handle(e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * Collects all types that are annotated with the given annotation, either directly or through a virtual annotation
+     * hierarchy. Candidates are looked up in an {@link AnnotatedTypeIndex}, which is built from class files once for
+     * all collected references, so only classes which can carry the annotation are loaded. Remaining classes are matched
+     * using {@link org.dockbox.hartshorn.util.introspect.ElementAnnotationsIntrospector#has(Class)}. Results are
+     * memoized per annotation.
+     *
+     * @param annotation the annotation to match
+     * @param <T> the type of the elements in the collection
+     *
+     * @return a collection of types that are annotated with the given annotation
+     */
+    public <T> Collection<TypeView<? extends T>> types(Class<? extends Annotation> annotation) {
+        try {
+            AnnotatedTypeIndex index = this.annotationIndex(annotation, Thread.currentThread().getContextClassLoader());
+            Collection<TypeView<?>> types = index.types(annotation, candidates -> this.resolve(candidates, type -> type.annotations().has(annotation)));
+            return (Collection<TypeView<? extends T>>) (Collection<?>) types;
         }
         catch (TypeCollectionException e) {
             this.environment.handle(e);
@@ -87,6 +119,43 @@ public <T> Collection<TypeView<? extends T>> types(Predicate<TypeView<?>> predic
         }
     }
 
+    /**
+     * Returns the {@link AnnotatedTypeIndex} that is currently used to look up annotated types, if it has been built.
+     * The index is built on the first lookup by annotation, and rebuilt if the registered collectors change. Lookups
+     * of annotations for which collectors are substituted use separate indexes, which are not returned here.
+     *
+     * @return the current index, if it has been built
+     */
+    public Option<AnnotatedTypeIndex> annotationIndex() {
+        return Option.of(this.indexState).map(IndexState::index);
+    }
+
+    private synchronized AnnotatedTypeIndex annotationIndex(Class<? extends Annotation> annotation, ClassLoader classLoader) throws TypeCollectionException {
+        TypeReferenceCollector source = this.collectorContext.collector(annotation);
+        boolean substituted = source != this.collectorContext.collector();
+        IndexState state = substituted ? this.substitutedIndexStates.get(annotation) : this.indexState;
+        if (state == null || state.source() != source || state.classLoader() != classLoader) {
+            ClassFileAnnotationFilter filter = new ClassFileAnnotationFilter(classLoader);
+            state = new IndexState(source, classLoader, AnnotatedTypeIndex.build(source.collect(), filter));
+            if (substituted) {
+                this.substitutedIndexStates.put(annotation, state);
+            }
+            else {
+                this.indexState = state;
+            }
+        }
+        return state.index();
+    }
+
+    private <T> Collection<TypeView<? extends T>> resolve(Set<TypeReference> references, Predicate<TypeView<?>> predicate) {
+        Collection<Class<?>> classes = this.loadClasses(references);
+        return classes.stream()
+                .map(this.environment.introspector()::introspect)
+                .filter(predicate)
+                .map(reference -> (TypeView<T>) reference)
+                .collect(Collectors.toSet());
+    }
+
     private Collection<Class<?>> loadClasses(Collection<TypeReference> references) {
         ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
         return references.stream()
@@ -102,4 +171,7 @@ private Collection<Class<?>> loadClasses(Collection<TypeReference> references) {
                 .filter(Objects::nonNull)
                 .collect(Collectors.toSet());
     }
+
+    private record IndexState(TypeReferenceCollector source, ClassLoader classLoader, AnnotatedTypeIndex index) {
+    }
 }
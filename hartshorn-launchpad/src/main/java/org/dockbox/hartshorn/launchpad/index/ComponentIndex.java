@@ -0,0 +1,67 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.launchpad.index;
+
+import org.dockbox.hartshorn.util.introspect.scan.index.TypeIndex;
+
+/**
+ * Constants describing the kinds of entries which are recorded in a component {@link TypeIndex}. Component indexes
+ * are generated at build time by the {@code hartshorn-launchpad-indexer} annotation processor, and can be used by
+ * the {@link org.dockbox.hartshorn.launchpad.launch.StandardApplicationContextFactory} to avoid scanning the classpath
+ * for components.
+ *
+ * @see TypeIndex
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public final class ComponentIndex {
+
+    /**
+     * Types which are annotated with {@link org.dockbox.hartshorn.inject.annotations.Component}, either directly or
+     * through one of its stereotypes.
+     */
+    public static final String COMPONENT = "component";
+
+    /**
+     * Annotation types which extend {@link org.dockbox.hartshorn.inject.annotations.Component}, such as services and
+     * configurations.
+     */
+    public static final String STEREOTYPE = "stereotype";
+
+    /**
+     * Methods which are annotated with {@link org.dockbox.hartshorn.inject.annotations.configuration.Binds}, formatted
+     * as {@code type#method}.
+     */
+    public static final String BINDS = "binds";
+
+    /**
+     * Annotation types which are annotated with {@link org.dockbox.hartshorn.launchpad.activation.ServiceActivator}.
+     */
+    public static final String ACTIVATOR = "activator";
+
+    /**
+     * Packages for which the index is declared complete. Components of these packages, and their sub-packages, are
+     * collected from the index only for the classpath root which contains the index. Other roots and packages are
+     * always scanned, as are complete packages when types with other annotations are looked up. Stereotypes, bindings
+     * and activators are recorded regardless of this declaration, but are not used to avoid scanning.
+     */
+    public static final String COMPLETE = "complete";
+
+    private ComponentIndex() {}
+}
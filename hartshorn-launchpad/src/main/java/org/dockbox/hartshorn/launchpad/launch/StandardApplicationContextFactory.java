@@ -16,11 +16,16 @@
 
 package org.dockbox.hartshorn.launchpad.launch;
 
+import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.checkerframework.checker.nullness.qual.Nullable;
+import org.dockbox.hartshorn.inject.annotations.Component;
 import org.dockbox.hartshorn.inject.processing.ComponentProcessorRegistry;
 import org.dockbox.hartshorn.inject.processing.ContainerAwareComponentPopulatorPostProcessor;
 import org.dockbox.hartshorn.launchpad.ApplicationContext;
@@ -32,6 +37,7 @@
 import org.dockbox.hartshorn.launchpad.annotations.UseLifecycleObservers;
 import org.dockbox.hartshorn.launchpad.environment.ApplicationEnvironment;
 import org.dockbox.hartshorn.launchpad.environment.ContextualApplicationEnvironment;
+import org.dockbox.hartshorn.launchpad.index.ComponentIndex;
 import org.dockbox.hartshorn.launchpad.lifecycle.LifecycleObserver;
 import org.dockbox.hartshorn.launchpad.lifecycle.ObservableApplicationEnvironment;
 import org.dockbox.hartshorn.launchpad.annotations.UseProxying;
@@ -50,7 +56,11 @@
 import org.dockbox.hartshorn.util.TypeUtils;
 import org.dockbox.hartshorn.util.introspect.scan.PredefinedSetTypeReferenceCollector;
 import org.dockbox.hartshorn.util.introspect.scan.TypeReferenceCollectorContext;
+import org.dockbox.hartshorn.util.introspect.scan.classpath.ClassPathScanCache;
+import org.dockbox.hartshorn.util.introspect.scan.classpath.ClassPathScanSession;
 import org.dockbox.hartshorn.util.introspect.scan.classpath.ClassPathScannerTypeReferenceCollector;
+import org.dockbox.hartshorn.util.introspect.scan.index.TypeIndex;
+import org.dockbox.hartshorn.util.introspect.scan.index.TypeIndexTypeReferenceCollector;
 
 /**
  * The standard implementation of an {@link ApplicationContextFactory}. This factory is responsible for creating an
@@ -171,6 +181,19 @@ private Set<Annotation> serviceActivators(ApplicationBootstrapContext bootstrapC
      * context and the application environment. By default, this includes collectors for all packages that are scanned by the
      * application, and a collector for all standalone components that are present in the configuration.
      *
+     * <p>If the {@link Configurer#useComponentIndex(boolean) component index} is enabled, packages which a build-time
+     * {@link TypeIndex} declares {@link ComponentIndex#COMPLETE complete} are collected from the index when looking up
+     * {@link Component components}. Component lookups then use a separate {@link ClassPathScanSession} which does not
+     * collect types from the classpath roots that contain such an index, as those types are read from the index
+     * instead. Indexed directories are not visited for their complete packages, and roots which are indexed for all
+     * packages are not walked at all. Components of indexed packages in other roots are still found by scanning those
+     * roots. This session is not backed by the scan cache, as it only describes part of the classpath.
+     *
+     * <p>Lookups of any other annotation scan all packages, as the index only contains components. These share a
+     * single {@link ClassPathScanSession}, so the classpath is walked at most once for them. If a
+     * {@link Configurer#scanCache(Path) scan cache} is configured, the session reuses results of previous runs for an
+     * unchanged classpath.
+     *
      * @param bootstrapContext The bootstrap context that is used to create the application context
      * @param collectorContext The collector context to enhance
      * @param activators The activators that are present on the main class
@@ -181,9 +204,37 @@ private void enhanceTypeReferenceCollectorContext(
         Set<Annotation> activators
     ) {
         Set<String> prefixes = this.collectPrefixesForRegistering(bootstrapContext, activators);
-        prefixes.stream()
-                .map(ClassPathScannerTypeReferenceCollector::new)
-                .forEach(collectorContext::register);
+        Path scanCache = this.configurer.scanCache.initialize(this.initializerContext);
+        ClassPathScanSession scanSession = scanCache != null
+                ? ClassPathScanSession.of(prefixes, ClassPathScanCache.of(scanCache))
+                : ClassPathScanSession.of(prefixes);
+
+        // Only trust an index for the classpath root that declares the package complete. Other roots may contain
+        // components in the same package, so those are still scanned.
+        TypeIndex componentIndex = this.componentIndex();
+        Map<String, TypeIndex> completeIndexes = new HashMap<>();
+        Map<String, Set<Path>> indexedRoots = new HashMap<>();
+        for (String prefix : prefixes) {
+            TypeIndex completeIndex = componentIndex.completeSources(ComponentIndex.COMPLETE, prefix);
+            if (!completeIndex.isEmpty()) {
+                completeIndexes.put(prefix, completeIndex);
+            }
+            indexedRoots.put(prefix, completeIndex.originPaths());
+        }
+        ClassPathScanSession componentSession = completeIndexes.isEmpty() ? null : ClassPathScanSession.excluding(indexedRoots);
+
+        List<String> indexedKinds = List.of(ComponentIndex.COMPONENT);
+        for (String prefix : prefixes) {
+            ClassPathScannerTypeReferenceCollector scanner = new ClassPathScannerTypeReferenceCollector(prefix, scanSession);
+            collectorContext.register(scanner);
+            if (componentSession != null) {
+                ClassPathScannerTypeReferenceCollector remainder = new ClassPathScannerTypeReferenceCollector(prefix, componentSession);
+                TypeIndex completeIndex = completeIndexes.get(prefix);
+                collectorContext.substitute(Component.class, scanner, completeIndex != null
+                        ? new TypeIndexTypeReferenceCollector(completeIndex, prefix, indexedKinds, remainder)
+                        : remainder);
+            }
+        }
 
         Set<Class<?>> standaloneComponents = Set.copyOf(this.configurer.standaloneComponents.initialize(this.initializerContext.transform(bootstrapContext)));
         if (!standaloneComponents.isEmpty()) {
@@ -191,6 +242,25 @@ private void enhanceTypeReferenceCollectorContext(
         }
     }
 
+    /**
+     * Loads the build-time component index, if it is enabled through the {@link Configurer}. If the index is disabled, or
+     * could not be loaded, an empty index is returned, causing all packages to be scanned.
+     *
+     * @return The component index, or an empty index if no index should be used
+     */
+    private TypeIndex componentIndex() {
+        if (!this.configurer.useComponentIndex.initialize(this.initializerContext)) {
+            return TypeIndex.empty();
+        }
+        try {
+            return TypeIndex.load(Thread.currentThread().getContextClassLoader());
+        }
+        catch (IOException e) {
+            this.buildContext.logger().warn("Could not load component index, falling back to classpath scanning", e);
+            return TypeIndex.empty();
+        }
+    }
+
     /**
      * Collects the prefixes that should be used to register components in the application context. This collects prefixes
      * from the main class, and from any service activators that are present in the configuration.
@@ -297,6 +367,8 @@ public static class Configurer {
 
         private ContextualInitializer<ApplicationBootstrapContext, ? extends ApplicationEnvironment> environment = ContextualApplicationEnvironment.create(Customizer.useDefaults());
         private ContextualInitializer<ApplicationBuildContext, Boolean> includeBasePackages = ContextualInitializer.of(true);
+        private ContextualInitializer<ApplicationBuildContext, Boolean> useComponentIndex = ContextualInitializer.of(false);
+        private ContextualInitializer<ApplicationBuildContext, Path> scanCache = ContextualInitializer.of((Path) null);
 
         /**
          * Configures the service activators that are used to collect component processors. By default, this includes the
@@ -406,5 +478,65 @@ public Configurer includeBasePackages(ContextualInitializer<ApplicationBuildCont
             this.includeBasePackages = includeBasePackages;
             return this;
         }
+
+        /**
+         * Configures whether components should be collected from build-time component indexes. Indexes are generated by
+         * the {@code hartshorn-launchpad-indexer} annotation processor, and are located at
+         * {@link TypeIndex#INDEX_LOCATION}. By default, this is disabled.
+         *
+         * <p>Only packages which an index explicitly declares {@link ComponentIndex#COMPLETE complete} are collected
+         * from the index. Packages are declared complete at build time, through the {@code hartshorn.index.complete}
+         * option of the annotation processor. Declaring a package complete states that all components of the indexed
+         * classpath root (archive or directory) in that package, and in its sub-packages, are present in the index.
+         * Components of such packages are read from the index, and the indexed root is not scanned for them. The
+         * declaration does not apply to other classpath roots, so those are still scanned for components of the same
+         * package.
+         *
+         * <p>Packages which are not declared complete are scanned as usual. The index is only used to look up
+         * components, lookups of other annotations always scan the classpath.
+         *
+         * @param useComponentIndex Whether components should be collected from the component index
+         * @return The current configurator instance
+         */
+        public Configurer useComponentIndex(boolean useComponentIndex) {
+            return this.useComponentIndex(ContextualInitializer.of(useComponentIndex));
+        }
+
+        /**
+         * Configures whether components should be collected from build-time component indexes. See
+         * {@link #useComponentIndex(boolean)} for more information. By default, this is disabled.
+         *
+         * @param useComponentIndex Whether components should be collected from the component index
+         * @return The current configurator instance
+         */
+        public Configurer useComponentIndex(ContextualInitializer<ApplicationBuildContext, Boolean> useComponentIndex) {
+            this.useComponentIndex = useComponentIndex;
+            return this;
+        }
+
+        /**
+         * Configures a file in which the results of classpath scanning are persisted. On subsequent runs, the stored
+         * results are reused if the classpath is unchanged, as determined by the paths, sizes and modification times
+         * of all classpath entries. If the classpath changed, or the file cannot be read, the classpath is scanned as
+         * usual and the file is replaced. By default, no scan cache is used.
+         *
+         * @param scanCache The file in which scan results are persisted, or {@code null} to disable the scan cache
+         * @return The current configurator instance
+         */
+        public Configurer scanCache(Path scanCache) {
+            return this.scanCache(ContextualInitializer.of(scanCache));
+        }
+
+        /**
+         * Configures a file in which the results of classpath scanning are persisted. See {@link #scanCache(Path)} for
+         * more information. By default, no scan cache is used.
+         *
+         * @param scanCache The file in which scan results are persisted, or {@code null} to disable the scan cache
+         * @return The current configurator instance
+         */
+        public Configurer scanCache(ContextualInitializer<ApplicationBuildContext, Path> scanCache) {
+            this.scanCache = scanCache;
+            return this;
+        }
     }
 }
@@ -18,6 +18,7 @@
 
 import java.util.function.Predicate;
 import org.dockbox.hartshorn.launchpad.ApplicationContext;
+import org.dockbox.hartshorn.launchpad.SimpleApplicationContext;
 import org.dockbox.hartshorn.launchpad.lifecycle.LifecycleObserver;
 import org.dockbox.hartshorn.inject.component.ComponentContainer;
 import org.dockbox.hartshorn.inject.component.ComponentRegistry;
@@ -29,6 +30,10 @@
  * Activates all non-lazy singleton components in the application context when the application starts. This is done to
  * ensure that all components are instantiated and ready for use when the application starts.
  *
+ * <p>If the application context supports {@link SimpleApplicationContext#activateSingletonsConcurrently() concurrent
+ * activation}, singletons in the dependency graph are activated concurrently first. Any remaining singletons are
+ * activated sequentially afterwards.
+ *
  * @since 0.6.0
  *
  * @author Guus Lieben
@@ -39,6 +44,10 @@ public class ComponentActivatorObserver implements LifecycleObserver {
 
     @Override
     public void onStarted(ApplicationContext applicationContext) {
+        if (applicationContext instanceof SimpleApplicationContext simpleApplicationContext
+                && simpleApplicationContext.activateSingletonsConcurrently()) {
+            LOG.debug("Activated non-lazy singletons concurrently, activating remaining singletons sequentially");
+        }
         applicationContext.get(ComponentRegistry.class).containers().stream()
             .filter(container -> container.lifecycle() == LifecycleType.SINGLETON)
             .filter(Predicate.not(ComponentContainer::lazy))
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test.org.dockbox.hartshorn.inject.processing;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.dockbox.hartshorn.inject.ComponentKey;
+import org.dockbox.hartshorn.inject.InjectionCapableApplication;
+import org.dockbox.hartshorn.inject.processing.ComponentPostProcessor;
+import org.dockbox.hartshorn.inject.processing.ComponentProcessingContext;
+import org.dockbox.hartshorn.inject.processing.CompositeComponentPostProcessor;
+import org.dockbox.hartshorn.inject.processing.MultiMapComponentProcessorRegistry;
+import org.dockbox.hartshorn.util.ApplicationException;
+import org.dockbox.hartshorn.util.introspect.Introspector;
+import org.dockbox.hartshorn.util.introspect.NativeProxyLookup;
+import org.dockbox.hartshorn.util.introspect.annotations.VirtualHierarchyAnnotationLookup;
+import org.dockbox.hartshorn.util.introspect.reflect.ReflectionIntrospector;
+import org.dockbox.hartshorn.util.introspect.view.TypeView;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class CompositeComponentPostProcessorTests {
+
+    private final Introspector introspector = new ReflectionIntrospector(new NativeProxyLookup(), new VirtualHierarchyAnnotationLookup());
+
+    @Test
+    void testNonApplicableProcessorIsSkippedInAllPhases() throws ApplicationException {
+        List<String> phases = new CopyOnWriteArrayList<>();
+        MultiMapComponentProcessorRegistry registry = new MultiMapComponentProcessorRegistry();
+        registry.register(new RecordingPostProcessor("applicable", true, phases));
+        registry.register(new RecordingPostProcessor("skipped", false, phases));
+
+        CompositeComponentPostProcessor processor = new CompositeComponentPostProcessor(registry);
+        SampleComponent component = new SampleComponent();
+        ComponentProcessingContext<SampleComponent> processingContext = this.processingContext();
+
+        processor.preConfigureComponent(null, component, processingContext);
+        Assertions.assertSame(component, processor.initializeComponent(null, component, processingContext));
+        processor.postConfigureComponent(null, component, processingContext);
+
+        Assertions.assertEquals(List.of("applicable:pre", "applicable:init", "applicable:post"), phases);
+    }
+
+    @Test
+    void testInstanceIsReturnedIfNoProcessorIsApplicable() throws ApplicationException {
+        List<String> phases = new CopyOnWriteArrayList<>();
+        MultiMapComponentProcessorRegistry registry = new MultiMapComponentProcessorRegistry();
+        registry.register(new RecordingPostProcessor("skipped", false, phases));
+
+        CompositeComponentPostProcessor processor = new CompositeComponentPostProcessor(registry);
+        SampleComponent component = new SampleComponent();
+        ComponentProcessingContext<SampleComponent> processingContext = this.processingContext();
+
+        processor.preConfigureComponent(null, component, processingContext);
+        Assertions.assertSame(component, processor.initializeComponent(null, component, processingContext));
+        processor.postConfigureComponent(null, component, processingContext);
+
+        Assertions.assertTrue(phases.isEmpty());
+    }
+
+    private ComponentProcessingContext<SampleComponent> processingContext() {
+        TypeView<SampleComponent> type = this.introspector.introspect(SampleComponent.class);
+        return new ComponentProcessingContext<>(null, null, ComponentKey.of(SampleComponent.class), null, true) {
+            @Override
+            public TypeView<SampleComponent> type() {
+                return type;
+            }
+        };
+    }
+
+    public static class SampleComponent {
+    }
+
+    public static class RecordingPostProcessor extends ComponentPostProcessor {
+
+        private final String name;
+        private final boolean applicable;
+        private final List<String> phases;
+
+        public RecordingPostProcessor(String name, boolean applicable, List<String> phases) {
+            this.name = name;
+            this.applicable = applicable;
+            this.phases = phases;
+        }
+
+        @Override
+        public <T> boolean isApplicable(TypeView<T> type, boolean permitsProxying) {
+            return this.applicable;
+        }
+
+        @Override
+        public <T> void preConfigureComponent(InjectionCapableApplication application, @Nullable T instance, ComponentProcessingContext<T> processingContext) {
+            this.phases.add(this.name + ":pre");
+        }
+
+        @Override
+        public <T> T initializeComponent(InjectionCapableApplication application, @Nullable T instance, ComponentProcessingContext<T> processingContext) {
+            this.phases.add(this.name + ":init");
+            return instance;
+        }
+
+        @Override
+        public <T> void postConfigureComponent(InjectionCapableApplication application, @Nullable T instance, ComponentProcessingContext<T> processingContext) {
+            this.phases.add(this.name + ":post");
+        }
+
+        @Override
+        public int priority() {
+            return 0;
+        }
+    }
+}
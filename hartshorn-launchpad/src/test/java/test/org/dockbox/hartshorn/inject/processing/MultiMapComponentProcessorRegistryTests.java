@@ -0,0 +1,215 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test.org.dockbox.hartshorn.inject.processing;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dockbox.hartshorn.inject.InjectionCapableApplication;
+import org.dockbox.hartshorn.inject.processing.ComponentPostProcessor;
+import org.dockbox.hartshorn.inject.processing.ComponentPreProcessor;
+import org.dockbox.hartshorn.inject.processing.ComponentProcessingContext;
+import org.dockbox.hartshorn.inject.processing.MultiMapComponentProcessorRegistry;
+import org.dockbox.hartshorn.util.introspect.Introspector;
+import org.dockbox.hartshorn.util.introspect.NativeProxyLookup;
+import org.dockbox.hartshorn.util.introspect.annotations.VirtualHierarchyAnnotationLookup;
+import org.dockbox.hartshorn.util.introspect.reflect.ReflectionIntrospector;
+import org.dockbox.hartshorn.util.introspect.view.TypeView;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MultiMapComponentProcessorRegistryTests {
+
+    private final Introspector introspector = new ReflectionIntrospector(new NativeProxyLookup(), new VirtualHierarchyAnnotationLookup());
+
+    @Test
+    void testRegisteredProcessorsCanBeLookedUpByType() {
+        MultiMapComponentProcessorRegistry registry = new MultiMapComponentProcessorRegistry();
+        SamplePreProcessor preProcessor = new SamplePreProcessor();
+        SamplePostProcessor postProcessor = new SamplePostProcessor(0);
+        registry.register(preProcessor);
+        registry.register(postProcessor);
+
+        Assertions.assertTrue(registry.isRegistered(SamplePreProcessor.class));
+        Assertions.assertTrue(registry.isRegistered(SamplePostProcessor.class));
+        Assertions.assertSame(preProcessor, registry.lookup(SamplePreProcessor.class).orNull());
+        Assertions.assertSame(postProcessor, registry.lookup(SamplePostProcessor.class).orNull());
+
+        Assertions.assertFalse(registry.isRegistered(OtherPostProcessor.class));
+        Assertions.assertTrue(registry.lookup(OtherPostProcessor.class).absent());
+    }
+
+    @Test
+    void testLazyProcessorIsRegisteredUntilInitialized() {
+        MultiMapComponentProcessorRegistry registry = new MultiMapComponentProcessorRegistry();
+        registry.registryLazy(SamplePostProcessor.class);
+
+        Assertions.assertTrue(registry.isRegistered(SamplePostProcessor.class));
+        Assertions.assertTrue(registry.lookup(SamplePostProcessor.class).absent());
+        Assertions.assertEquals(1, registry.uninitializedPostProcessors().size());
+
+        SamplePostProcessor postProcessor = new SamplePostProcessor(0);
+        registry.register(postProcessor);
+
+        Assertions.assertTrue(registry.isRegistered(SamplePostProcessor.class));
+        Assertions.assertSame(postProcessor, registry.lookup(SamplePostProcessor.class).orNull());
+        Assertions.assertTrue(registry.uninitializedPostProcessors().isEmpty());
+    }
+
+    @Test
+    void testUnregisterKeepsRemainingInstanceOfSameType() {
+        MultiMapComponentProcessorRegistry registry = new MultiMapComponentProcessorRegistry();
+        SamplePostProcessor first = new SamplePostProcessor(0);
+        SamplePostProcessor second = new SamplePostProcessor(10);
+        registry.register(first);
+        registry.register(second);
+        Assertions.assertSame(first, registry.lookup(SamplePostProcessor.class).orNull());
+
+        registry.unregister(first);
+        Assertions.assertTrue(registry.isRegistered(SamplePostProcessor.class));
+        Assertions.assertSame(second, registry.lookup(SamplePostProcessor.class).orNull());
+
+        registry.unregister(second);
+        Assertions.assertFalse(registry.isRegistered(SamplePostProcessor.class));
+        Assertions.assertTrue(registry.lookup(SamplePostProcessor.class).absent());
+    }
+
+    @Test
+    void testUnregisterOfUnknownInstanceKeepsRegisteredInstance() {
+        MultiMapComponentProcessorRegistry registry = new MultiMapComponentProcessorRegistry();
+        SamplePostProcessor registered = new SamplePostProcessor(0);
+        registry.register(registered);
+
+        registry.unregister(new SamplePostProcessor(0));
+        Assertions.assertSame(registered, registry.lookup(SamplePostProcessor.class).orNull());
+    }
+
+    @Test
+    void testPipelineIsReusedUntilPostProcessorsChange() {
+        MultiMapComponentProcessorRegistry registry = new MultiMapComponentProcessorRegistry();
+        SamplePostProcessor late = new SamplePostProcessor(10);
+        registry.register(late);
+
+        List<ComponentPostProcessor> pipeline = registry.postProcessorPipeline();
+        Assertions.assertEquals(List.of(late), pipeline);
+        Assertions.assertSame(pipeline, registry.postProcessorPipeline());
+
+        // Pre-processors are not part of the pipeline, so do not invalidate it
+        registry.register(new SamplePreProcessor());
+        Assertions.assertSame(pipeline, registry.postProcessorPipeline());
+    }
+
+    @Test
+    void testPipelineIsRecompiledAfterRegistrationChanges() {
+        MultiMapComponentProcessorRegistry registry = new MultiMapComponentProcessorRegistry();
+        TypeView<SampleComponent> type = this.introspector.introspect(SampleComponent.class);
+        SamplePostProcessor late = new SamplePostProcessor(10);
+        registry.register(late);
+        Assertions.assertEquals(List.of(late), registry.postProcessorPipeline());
+        Assertions.assertEquals(List.of(late), registry.postProcessorPipeline(type, true));
+
+        OtherPostProcessor early = new OtherPostProcessor(-10);
+        registry.register(early);
+        Assertions.assertEquals(List.of(early, late), registry.postProcessorPipeline());
+        Assertions.assertEquals(List.of(early, late), registry.postProcessorPipeline(type, true));
+
+        registry.unregister(late);
+        Assertions.assertEquals(List.of(early), registry.postProcessorPipeline());
+        Assertions.assertEquals(List.of(early), registry.postProcessorPipeline(type, true));
+    }
+
+    @Test
+    void testApplicablePipelineIsCachedUntilPostProcessorsChange() {
+        MultiMapComponentProcessorRegistry registry = new MultiMapComponentProcessorRegistry();
+        TypeView<SampleComponent> type = this.introspector.introspect(SampleComponent.class);
+        ApplicabilityCountingPostProcessor processor = new ApplicabilityCountingPostProcessor();
+        registry.register(processor);
+
+        Assertions.assertEquals(List.of(processor), registry.postProcessorPipeline(type, true));
+        Assertions.assertEquals(List.of(processor), registry.postProcessorPipeline(type, true));
+        Assertions.assertEquals(1, processor.applicabilityChecks().get());
+
+        // Cached separately for each proxying permission
+        registry.postProcessorPipeline(type, false);
+        Assertions.assertEquals(2, processor.applicabilityChecks().get());
+
+        SamplePostProcessor registered = new SamplePostProcessor(10);
+        registry.register(registered);
+        Assertions.assertEquals(List.of(processor, registered), registry.postProcessorPipeline(type, true));
+        Assertions.assertEquals(3, processor.applicabilityChecks().get());
+
+        registry.unregister(registered);
+        Assertions.assertEquals(List.of(processor), registry.postProcessorPipeline(type, true));
+        Assertions.assertEquals(4, processor.applicabilityChecks().get());
+    }
+
+    public static class SampleComponent {
+    }
+
+    public static class ApplicabilityCountingPostProcessor extends SamplePostProcessor {
+
+        private final AtomicInteger applicabilityChecks = new AtomicInteger();
+
+        public ApplicabilityCountingPostProcessor() {
+            super(0);
+        }
+
+        @Override
+        public <T> boolean isApplicable(TypeView<T> type, boolean permitsProxying) {
+            this.applicabilityChecks.incrementAndGet();
+            return true;
+        }
+
+        public AtomicInteger applicabilityChecks() {
+            return this.applicabilityChecks;
+        }
+    }
+
+    public static class SamplePostProcessor extends ComponentPostProcessor {
+
+        private final int priority;
+
+        public SamplePostProcessor(int priority) {
+            this.priority = priority;
+        }
+
+        @Override
+        public int priority() {
+            return this.priority;
+        }
+    }
+
+    public static class OtherPostProcessor extends SamplePostProcessor {
+
+        public OtherPostProcessor(int priority) {
+            super(priority);
+        }
+    }
+
+    public static class SamplePreProcessor extends ComponentPreProcessor {
+
+        @Override
+        public <T> void process(InjectionCapableApplication application, ComponentProcessingContext<T> processingContext) {
+            // Nothing to process
+        }
+
+        @Override
+        public int priority() {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test.org.dockbox.hartshorn.inject.processing;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.checkerframework.checker.nullness.qual.Nullable;
+import org.dockbox.hartshorn.inject.ComponentKey;
+import org.dockbox.hartshorn.inject.InjectionCapableApplication;
+import org.dockbox.hartshorn.inject.annotations.Component;
+import org.dockbox.hartshorn.inject.processing.ComponentPostProcessor;
+import org.dockbox.hartshorn.inject.processing.ComponentProcessingContext;
+import org.dockbox.hartshorn.launchpad.ApplicationContext;
+import org.dockbox.hartshorn.launchpad.HartshornApplication;
+import org.dockbox.hartshorn.proxy.ProxyFactory;
+import org.dockbox.hartshorn.util.introspect.view.TypeView;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ProxyFactoryPreparationTests {
+
+    @Test
+    void testUnadvisedConcreteComponentIsNotProxied() {
+        RecordingPostProcessor processor = new NonAdvisingPostProcessor();
+        ApplicationContext applicationContext = createApplication(processor);
+
+        ConcreteComponent component = applicationContext.get(ConcreteComponent.class);
+        Assertions.assertNotNull(component);
+        Assertions.assertFalse(applicationContext.environment().proxyOrchestrator().isProxy(component));
+        Assertions.assertSame(ConcreteComponent.class, component.getClass());
+        Assertions.assertEquals(Boolean.FALSE, processor.receivedProxyFactory().get(ConcreteComponent.class));
+    }
+
+    @Test
+    void testAbstractComponentWithoutInstanceIsProxied() {
+        RecordingPostProcessor processor = new NonAdvisingPostProcessor();
+        ApplicationContext applicationContext = createApplication(processor);
+
+        AbstractComponent component = applicationContext.get(AbstractComponent.class);
+        Assertions.assertNotNull(component);
+        Assertions.assertTrue(applicationContext.environment().proxyOrchestrator().isProxy(component));
+        Assertions.assertEquals(Boolean.TRUE, processor.receivedProxyFactory().get(AbstractComponent.class));
+    }
+
+    @Test
+    void testPostProcessorWithDefaultAdvisesReceivesProxyFactory() {
+        RecordingPostProcessor processor = new RecordingPostProcessor();
+        ApplicationContext applicationContext = createApplication(processor);
+
+        ConcreteComponent component = applicationContext.get(ConcreteComponent.class);
+        Assertions.assertNotNull(component);
+        Assertions.assertEquals(Boolean.TRUE, processor.receivedProxyFactory().get(ConcreteComponent.class));
+    }
+
+    private static ApplicationContext createApplication(ComponentPostProcessor processor) {
+        return HartshornApplication.createApplication(ProxyFactoryPreparationTests.class).initialize(configurer -> {
+            configurer.includeBasePackages(false);
+            configurer.componentPostProcessors(processors -> processors.add(processor));
+            configurer.standaloneComponents(components -> components.addAll(
+                    ConcreteComponent.class,
+                    AbstractComponent.class
+            ));
+        });
+    }
+
+    @Component
+    public static class ConcreteComponent {
+    }
+
+    @Component
+    public interface AbstractComponent {
+    }
+
+    public static class RecordingPostProcessor extends ComponentPostProcessor {
+
+        private final Map<Class<?>, Boolean> receivedProxyFactory = new ConcurrentHashMap<>();
+
+        @Override
+        public <T> void preConfigureComponent(InjectionCapableApplication application, @Nullable T instance, ComponentProcessingContext<T> processingContext) {
+            this.receivedProxyFactory.put(processingContext.key().type(), processingContext.containsKey(ComponentKey.of(ProxyFactory.class)));
+        }
+
+        public Map<Class<?>, Boolean> receivedProxyFactory() {
+            return this.receivedProxyFactory;
+        }
+
+        @Override
+        public int priority() {
+            return 0;
+        }
+    }
+
+    public static class NonAdvisingPostProcessor extends RecordingPostProcessor {
+
+        @Override
+        public <T> boolean advises(TypeView<T> type) {
+            return false;
+        }
+    }
+}
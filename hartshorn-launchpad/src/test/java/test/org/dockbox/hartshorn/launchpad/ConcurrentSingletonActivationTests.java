@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test.org.dockbox.hartshorn.launchpad;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dockbox.hartshorn.inject.annotations.Component;
+import org.dockbox.hartshorn.inject.annotations.Inject;
+import org.dockbox.hartshorn.inject.provider.LifecycleType;
+import org.dockbox.hartshorn.launchpad.ApplicationContext;
+import org.dockbox.hartshorn.launchpad.HartshornApplication;
+import org.dockbox.hartshorn.launchpad.HartshornApplicationConfigurer;
+import org.dockbox.hartshorn.launchpad.SimpleApplicationContext;
+import org.dockbox.hartshorn.launchpad.observer.ComponentActivatorObserver;
+import org.dockbox.hartshorn.util.Customizer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentSingletonActivationTests {
+
+    private static final List<Class<?>> ACTIVATED = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void reset() {
+        ACTIVATED.clear();
+    }
+
+    @Test
+    void testObserverActivatesSingletonsConcurrently() {
+        AtomicInteger submitted = new AtomicInteger();
+        try (ExecutorService executorService = Executors.newVirtualThreadPerTaskExecutor()) {
+            Executor executor = task -> {
+                submitted.incrementAndGet();
+                executorService.execute(task);
+            };
+            ApplicationContext applicationContext = createApplication(configurer -> configurer.singletonActivationExecutor(executor));
+            // The observer is not registered in this minimal application, so it is notified directly
+            new ComponentActivatorObserver().onStarted(applicationContext);
+        }
+
+        // Independent singletons share a row, so at least one row is visited on the executor
+        Assertions.assertTrue(submitted.get() > 0);
+        Assertions.assertEquals(3, ACTIVATED.size());
+        Assertions.assertTrue(ACTIVATED.indexOf(DependencySingleton.class) < ACTIVATED.indexOf(DependentSingleton.class));
+    }
+
+    @Test
+    void testConcurrentActivationDoesNotRecreateSingletons() {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            ApplicationContext applicationContext = createApplication(configurer -> configurer.singletonActivationExecutor(executor));
+            SimpleApplicationContext simpleApplicationContext = Assertions.assertInstanceOf(SimpleApplicationContext.class, applicationContext);
+
+            Assertions.assertTrue(simpleApplicationContext.activateSingletonsConcurrently());
+            Assertions.assertEquals(3, ACTIVATED.size());
+
+            Assertions.assertTrue(simpleApplicationContext.activateSingletonsConcurrently());
+            new ComponentActivatorObserver().onStarted(applicationContext);
+            Assertions.assertEquals(3, ACTIVATED.size());
+        }
+    }
+
+    @Test
+    void testConcurrentActivationIsDisabledByDefault() {
+        ApplicationContext applicationContext = createApplication(Customizer.useDefaults());
+        SimpleApplicationContext simpleApplicationContext = Assertions.assertInstanceOf(SimpleApplicationContext.class, applicationContext);
+
+        Assertions.assertFalse(simpleApplicationContext.activateSingletonsConcurrently());
+        Assertions.assertTrue(ACTIVATED.isEmpty());
+
+        // Singletons are still activated sequentially
+        new ComponentActivatorObserver().onStarted(applicationContext);
+        Assertions.assertEquals(3, ACTIVATED.size());
+    }
+
+    private static ApplicationContext createApplication(Customizer<HartshornApplicationConfigurer> customizer) {
+        return HartshornApplication.createApplication(ConcurrentSingletonActivationTests.class).initialize(customizer.compose(configurer -> {
+            configurer.includeBasePackages(false);
+            configurer.standaloneComponents(components -> components.addAll(
+                    DependencySingleton.class,
+                    IndependentSingleton.class,
+                    DependentSingleton.class
+            ));
+        }));
+    }
+
+    @Component(lifecycle = LifecycleType.SINGLETON)
+    public static class DependencySingleton {
+        public DependencySingleton() {
+            ACTIVATED.add(DependencySingleton.class);
+        }
+    }
+
+    @Component(lifecycle = LifecycleType.SINGLETON)
+    public static class IndependentSingleton {
+        public IndependentSingleton() {
+            ACTIVATED.add(IndependentSingleton.class);
+        }
+    }
+
+    @Component(lifecycle = LifecycleType.SINGLETON)
+    public static class DependentSingleton {
+        @Inject
+        public DependentSingleton(DependencySingleton dependency) {
+            ACTIVATED.add(DependentSingleton.class);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test.org.dockbox.hartshorn.launchpad.component;
+
+import java.lang.annotation.Annotation;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.dockbox.hartshorn.inject.annotations.Component;
+import org.dockbox.hartshorn.inject.component.AnnotatedComponentContainer;
+import org.dockbox.hartshorn.inject.component.ComponentContainer;
+import org.dockbox.hartshorn.launchpad.component.TypeReferenceLookupComponentRegistry;
+import org.dockbox.hartshorn.launchpad.environment.EnvironmentTypeResolver;
+import org.dockbox.hartshorn.util.introspect.Introspector;
+import org.dockbox.hartshorn.util.introspect.NativeProxyLookup;
+import org.dockbox.hartshorn.util.introspect.annotations.VirtualHierarchyAnnotationLookup;
+import org.dockbox.hartshorn.util.introspect.reflect.ReflectionIntrospector;
+import org.dockbox.hartshorn.util.introspect.view.TypeView;
+import org.dockbox.hartshorn.util.option.Option;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class TypeReferenceLookupComponentRegistryTests {
+
+    private final Introspector introspector = new ReflectionIntrospector(new NativeProxyLookup(), new VirtualHierarchyAnnotationLookup());
+
+    @Test
+    void testIndexedComponentCanBeLookedUp() {
+        TypeReferenceLookupComponentRegistry registry = new TypeReferenceLookupComponentRegistry(resolver(() -> List.of(this.introspector.introspect(IndexedComponent.class))));
+
+        Option<ComponentContainer<?>> container = registry.container(IndexedComponent.class);
+        Assertions.assertTrue(container.present());
+        Assertions.assertSame(IndexedComponent.class, container.get().type().type());
+        Assertions.assertTrue(registry.containers().contains(container.get()));
+    }
+
+    @Test
+    void testUnmanagedTypeHasNoContainer() {
+        TypeReferenceLookupComponentRegistry registry = new TypeReferenceLookupComponentRegistry(resolver(() -> List.of(this.introspector.introspect(IndexedComponent.class))));
+
+        Assertions.assertTrue(registry.container(UnmanagedType.class).absent());
+    }
+
+    @Test
+    void testCustomContainerCanBeLookedUp() {
+        TypeReferenceLookupComponentRegistry registry = new TypeReferenceLookupComponentRegistry(resolver(() -> List.of(this.introspector.introspect(IndexedComponent.class))));
+        ComponentContainer<?> customContainer = new AnnotatedComponentContainer<>(this.introspector.introspect(CustomComponent.class));
+        registry.addCustomContainer(customContainer);
+
+        Assertions.assertSame(customContainer, registry.container(CustomComponent.class).orNull());
+        Assertions.assertTrue(registry.containers().contains(customContainer));
+    }
+
+    @Test
+    void testComponentContainerTakesPrecedenceOverCustomContainerOfSameType() {
+        TypeView<IndexedComponent> type = this.introspector.introspect(IndexedComponent.class);
+        TypeReferenceLookupComponentRegistry registry = new TypeReferenceLookupComponentRegistry(resolver(() -> List.of(type)));
+
+        // Registered both before and after the component containers are loaded
+        ComponentContainer<?> earlyCustomContainer = new AnnotatedComponentContainer<>(type);
+        registry.addCustomContainer(earlyCustomContainer);
+        Option<ComponentContainer<?>> container = registry.container(IndexedComponent.class);
+        ComponentContainer<?> lateCustomContainer = new AnnotatedComponentContainer<>(type);
+        registry.addCustomContainer(lateCustomContainer);
+
+        Assertions.assertTrue(container.present());
+        Assertions.assertNotSame(earlyCustomContainer, container.get());
+        Assertions.assertSame(container.get(), registry.container(IndexedComponent.class).orNull());
+        Assertions.assertNotSame(lateCustomContainer, registry.container(IndexedComponent.class).orNull());
+    }
+
+    @Test
+    void testComponentContainersAreLoadedAgainUntilFound() {
+        AtomicInteger lookups = new AtomicInteger();
+        TypeReferenceLookupComponentRegistry registry = new TypeReferenceLookupComponentRegistry(resolver(() -> {
+            // Nothing is found on the first lookup, e.g. because types are not resolvable yet
+            if (lookups.getAndIncrement() == 0) {
+                return List.of();
+            }
+            return List.of(this.introspector.introspect(IndexedComponent.class));
+        }));
+
+        Assertions.assertTrue(registry.container(IndexedComponent.class).absent());
+        Assertions.assertTrue(registry.container(IndexedComponent.class).present());
+        Assertions.assertTrue(registry.container(IndexedComponent.class).present());
+        Assertions.assertEquals(2, lookups.get());
+    }
+
+    private static EnvironmentTypeResolver resolver(Supplier<Collection<TypeView<?>>> types) {
+        return new EnvironmentTypeResolver() {
+            @Override
+            public <A extends Annotation> Collection<TypeView<?>> types(Class<A> annotation) {
+                return types.get();
+            }
+        };
+    }
+
+    @Component
+    public static class IndexedComponent {
+    }
+
+    @Component
+    public static class CustomComponent {
+    }
+
+    public static class UnmanagedType {
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test.org.dockbox.hartshorn.launchpad.environment;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dockbox.hartshorn.inject.annotations.Component;
+import org.dockbox.hartshorn.inject.annotations.Service;
+import org.dockbox.hartshorn.launchpad.environment.AnnotatedTypeIndex;
+import org.dockbox.hartshorn.util.introspect.scan.ClassNameReference;
+import org.dockbox.hartshorn.util.introspect.scan.ClassReference;
+import org.dockbox.hartshorn.util.introspect.scan.TypeReference;
+import org.dockbox.hartshorn.util.introspect.scan.classfile.ClassFileAnnotationFilter;
+import org.dockbox.hartshorn.util.introspect.view.TypeView;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class AnnotatedTypeIndexTests {
+
+    @Service
+    public static class IndexedService {}
+
+    @Component
+    public static class IndexedComponent {}
+
+    public static class PlainType {}
+
+    public static class LoadedType {}
+
+    @Test
+    void testIndexContainsStereotypeParents() {
+        TypeReference service = new ClassNameReference(IndexedService.class.getName());
+        TypeReference component = new ClassNameReference(IndexedComponent.class.getName());
+        TypeReference plain = new ClassNameReference(PlainType.class.getName());
+        TypeReference loaded = new ClassReference(LoadedType.class);
+        TypeReference missing = new ClassNameReference("test.org.dockbox.hartshorn.launchpad.environment.Missing");
+
+        ClassFileAnnotationFilter filter = new ClassFileAnnotationFilter(this.getClass().getClassLoader());
+        AnnotatedTypeIndex index = AnnotatedTypeIndex.build(List.of(service, component, plain, loaded, missing), filter);
+
+        Assertions.assertEquals(Set.of(service, component, loaded, missing), index.candidates(Component.class));
+        Assertions.assertEquals(Set.of(service, loaded, missing), index.candidates(Service.class));
+        Assertions.assertFalse(index.candidates(Component.class).contains(plain));
+    }
+
+    @Test
+    void testResolvedTypesAreMemoized() {
+        ClassFileAnnotationFilter filter = new ClassFileAnnotationFilter(this.getClass().getClassLoader());
+        AnnotatedTypeIndex index = AnnotatedTypeIndex.build(List.of(new ClassNameReference(IndexedService.class.getName())), filter);
+
+        AtomicInteger resolutions = new AtomicInteger();
+        Collection<TypeView<?>> first = index.types(Component.class, candidates -> {
+            resolutions.incrementAndGet();
+            return Set.of();
+        });
+        Collection<TypeView<?>> second = index.types(Component.class, candidates -> {
+            resolutions.incrementAndGet();
+            return Set.of();
+        });
+
+        Assertions.assertSame(first, second);
+        Assertions.assertEquals(1, resolutions.get());
+    }
+}
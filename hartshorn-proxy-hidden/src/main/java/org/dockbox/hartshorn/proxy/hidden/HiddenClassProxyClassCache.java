@@ -0,0 +1,144 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.proxy.hidden;
+
+import org.dockbox.hartshorn.proxy.advice.intercept.ProxyMethodInterceptor;
+import org.dockbox.hartshorn.proxy.hidden.HiddenClassProxyGenerator.GeneratedProxyClass;
+import org.dockbox.hartshorn.util.ApplicationException;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * A cache of hidden proxy classes, keyed by the proxied type and the set of interfaces implemented by the proxy. Proxy
+ * classes do not depend on the {@link ProxyMethodInterceptor} of individual proxy instances, so a class is generated
+ * once and reused for all proxies with the same type and interfaces. The interceptor is bound to each instance after
+ * it is constructed.
+ *
+ * @see HiddenClassProxyGenerator
+ * @see HiddenClassProxyFactory
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public class HiddenClassProxyClassCache {
+
+    private final Map<ProxyClassKey, CachedProxyClass<?>> proxyClasses = new ConcurrentHashMap<>();
+    private final HiddenClassProxyGenerator generator;
+
+    public HiddenClassProxyClassCache(HiddenClassProxyGenerator generator) {
+        this.generator = generator;
+    }
+
+    /**
+     * Returns the cached proxy class for the given type and interfaces. If no proxy class has been generated yet,
+     * it is generated and stored for later use.
+     *
+     * @param type the type to proxy
+     * @param interfaces the interfaces to implement
+     * @param name supplier of the name of the proxy class, only used if a new class is generated
+     * @param <T> the type to proxy
+     * @return the cached proxy class
+     * @throws ApplicationException if the proxy class could not be generated
+     */
+    public <T> CachedProxyClass<T> proxyClass(Class<T> type, Class<?>[] interfaces, Supplier<String> name) throws ApplicationException {
+        ProxyClassKey key = new ProxyClassKey(type, Set.of(interfaces));
+        CachedProxyClass<?> proxyClass = this.proxyClasses.get(key);
+        if (proxyClass == null) {
+            // Generation is not performed inside computeIfAbsent, as defining hidden classes may take a while and
+            // should not block unrelated keys. If two threads race, only the first result is retained.
+            CachedProxyClass<T> generated = new CachedProxyClass<>(this.generator.generate(type, interfaces, name.get()));
+            proxyClass = this.proxyClasses.putIfAbsent(key, generated);
+            if (proxyClass == null) {
+                proxyClass = generated;
+            }
+        }
+        //noinspection unchecked
+        return (CachedProxyClass<T>) proxyClass;
+    }
+
+    private record ProxyClassKey(Class<?> type, Set<Class<?>> interfaces) {
+    }
+
+    /**
+     * A generated hidden proxy class, which keeps track of its resolved constructors.
+     *
+     * @param <T> the type that is proxied by the class
+     *
+     * @since 0.6.1
+     *
+     * @author Guus Lieben
+     */
+    public static final class CachedProxyClass<T> {
+
+        private final Map<List<Class<?>>, MethodHandle> constructors = new ConcurrentHashMap<>();
+        private final GeneratedProxyClass<T> proxyClass;
+        private final MethodHandle interceptorSetter;
+
+        private CachedProxyClass(GeneratedProxyClass<T> proxyClass) throws ApplicationException {
+            this.proxyClass = proxyClass;
+            try {
+                this.interceptorSetter = proxyClass.lookup().findSetter(proxyClass.proxyClass(),
+                        proxyClass.interceptorField(), ProxyMethodInterceptor.class);
+            }
+            catch (ReflectiveOperationException e) {
+                throw new ApplicationException(e);
+            }
+        }
+
+        /**
+         * Returns the generated proxy class.
+         *
+         * @return the generated proxy class
+         */
+        public Class<? extends T> proxyClass() {
+            return this.proxyClass.proxyClass();
+        }
+
+        /**
+         * Creates a new instance of the proxy class using the constructor with the given parameter types, and binds
+         * the given interceptor to it.
+         *
+         * @param parameterTypes the parameter types of the constructor to use
+         * @param args the arguments to pass to the constructor
+         * @param interceptor the interceptor to bind to the new instance
+         * @return the new proxy instance
+         * @throws Throwable if the constructor could not be resolved, or if it throws an exception
+         */
+        public T newInstance(Class<?>[] parameterTypes, Object[] args, ProxyMethodInterceptor<T> interceptor) throws Throwable {
+            Object instance = this.constructor(parameterTypes).invokeWithArguments(args);
+            this.interceptorSetter.invoke(instance, interceptor);
+            return this.proxyClass().cast(instance);
+        }
+
+        private MethodHandle constructor(Class<?>[] parameterTypes) throws ReflectiveOperationException {
+            List<Class<?>> key = List.of(parameterTypes);
+            MethodHandle constructor = this.constructors.get(key);
+            if (constructor == null) {
+                constructor = this.proxyClass.lookup().findConstructor(this.proxyClass(), MethodType.methodType(void.class, parameterTypes));
+                this.constructors.putIfAbsent(key, constructor);
+            }
+            return constructor;
+        }
+    }
+}
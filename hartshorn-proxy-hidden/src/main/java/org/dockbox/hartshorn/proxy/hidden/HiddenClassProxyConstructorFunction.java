@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.proxy.hidden;
+
+import org.dockbox.hartshorn.proxy.ProxyConstructorFunction;
+import org.dockbox.hartshorn.proxy.advice.intercept.ProxyMethodInterceptor;
+import org.dockbox.hartshorn.proxy.hidden.HiddenClassProxyClassCache.CachedProxyClass;
+import org.dockbox.hartshorn.util.ApplicationException;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * A proxy constructor function that creates instances of a hidden proxy class. Instances are created from a proxy
+ * class which is shared by all proxies with the same type and interfaces, after which the {@link ProxyMethodInterceptor}
+ * of this function is bound to the new instance.
+ *
+ * @param <T> the type of the proxy
+ *
+ * @see HiddenClassProxyClassCache
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public class HiddenClassProxyConstructorFunction<T> implements ProxyConstructorFunction<T> {
+
+    private final Class<T> type;
+    private final CachedProxyClass<T> proxyClass;
+    private final ProxyMethodInterceptor<T> interceptor;
+
+    public HiddenClassProxyConstructorFunction(Class<T> type, CachedProxyClass<T> proxyClass, ProxyMethodInterceptor<T> interceptor) {
+        this.type = type;
+        this.proxyClass = proxyClass;
+        this.interceptor = interceptor;
+    }
+
+    @Override
+    public T create() throws ApplicationException {
+        try {
+            return this.type.cast(this.proxyClass.newInstance(new Class<?>[0], new Object[0], this.interceptor));
+        }
+        catch (Error e) {
+            // Errors such as linkage or memory failures are not recoverable, so they are not wrapped
+            throw e;
+        }
+        catch (Throwable e) {
+            throw new ApplicationException(e);
+        }
+    }
+
+    @Override
+    public T create(Constructor<? extends T> constructor, Object[] args) throws ApplicationException {
+        try {
+            return this.type.cast(this.proxyClass.newInstance(constructor.getParameterTypes(), args, this.interceptor));
+        }
+        catch (Error e) {
+            // Errors such as linkage or memory failures are not recoverable, so they are not wrapped
+            throw e;
+        }
+        catch (Throwable e) {
+            throw new ApplicationException(e);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.proxy.hidden;
+
+import org.dockbox.hartshorn.proxy.JDKInterfaceProxyFactory;
+import org.dockbox.hartshorn.proxy.ProxyConstructorFunction;
+import org.dockbox.hartshorn.proxy.advice.intercept.ProxyMethodInterceptor;
+import org.dockbox.hartshorn.proxy.hidden.HiddenClassProxyClassCache.CachedProxyClass;
+import org.dockbox.hartshorn.util.ApplicationException;
+
+/**
+ * A proxy factory that uses hidden classes to create proxies. This implementation is based on the
+ * {@link JDKInterfaceProxyFactory}, but generates a hidden proxy class if the type is not an interface. The proxy
+ * class is created by extending the target class, and implementing all interfaces that are configured on this
+ * factory.
+ *
+ * <p>Generated proxy classes are shared through the {@link HiddenClassProxyClassCache} of the orchestrator, so only
+ * the first proxy for a given type and set of interfaces pays for class generation.
+ *
+ * @param <T> the type of the proxy
+ *
+ * @see HiddenClassProxyGenerator
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public class HiddenClassProxyFactory<T> extends JDKInterfaceProxyFactory<T> {
+
+    private final HiddenClassProxyClassCache proxyClasses;
+
+    public HiddenClassProxyFactory(Class<T> type, HiddenClassProxyOrchestrator proxyOrchestrator) {
+        super(type, proxyOrchestrator);
+        this.proxyClasses = proxyOrchestrator.proxyClasses();
+    }
+
+    @Override
+    protected ProxyConstructorFunction<T> concreteOrAbstractEnhancer(ProxyMethodInterceptor<T> interceptor) throws ApplicationException {
+        return new HiddenClassProxyConstructorFunction<>(this.type(), this.proxyClass(), interceptor);
+    }
+
+    /**
+     * Returns the proxy class for the type and interfaces of this factory, generating it if it was not generated
+     * before.
+     *
+     * @return the proxy class
+     * @throws ApplicationException if the proxy class could not be generated
+     */
+    protected CachedProxyClass<T> proxyClass() throws ApplicationException {
+        return this.proxyClasses.proxyClass(this.type(), this.proxyInterfaces(false), () -> nameGenerator.get(this.type()));
+    }
+}
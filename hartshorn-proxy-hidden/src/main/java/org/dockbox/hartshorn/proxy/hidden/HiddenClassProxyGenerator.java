@@ -0,0 +1,723 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.proxy.hidden;
+
+import org.dockbox.hartshorn.proxy.advice.intercept.Invokable;
+import org.dockbox.hartshorn.proxy.advice.intercept.MethodInvokable;
+import org.dockbox.hartshorn.proxy.advice.intercept.MethodInvokableCache;
+import org.dockbox.hartshorn.proxy.advice.intercept.ProxyMethodInterceptor;
+import org.dockbox.hartshorn.util.ApplicationException;
+import org.dockbox.hartshorn.util.introspect.Introspector;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javassist.bytecode.AccessFlag;
+import javassist.bytecode.BadBytecode;
+import javassist.bytecode.Bytecode;
+import javassist.bytecode.ClassFile;
+import javassist.bytecode.CodeAttribute;
+import javassist.bytecode.ConstPool;
+import javassist.bytecode.FieldInfo;
+import javassist.bytecode.MethodInfo;
+import javassist.bytecode.Opcode;
+
+/**
+ * Generates proxy classes which are defined as {@linkplain Lookup#defineHiddenClass(byte[], boolean, Lookup.ClassOption...)
+ * hidden classes}. Generated classes extend the proxied type, and override all methods which can be overridden. Each
+ * override performs a single static call to {@link HiddenClassProxySupport}, passing the {@link MethodInvokable} and
+ * {@link Invokable} of the method which are stored in {@code static final} fields of the proxy class. These fields are
+ * initialized from the {@linkplain MethodHandles#classData(Lookup, String, Class) class data} of the hidden class, so
+ * proxied methods do not need to look up or reflectively invoke any {@link Method} at runtime.
+ *
+ * <p>The original implementation of a proxied method is exposed as a {@link MethodHandleInvokable}, which is backed by
+ * a {@linkplain Lookup#findSpecial(Class, String, MethodType, Class) special} method handle of the proxy class.
+ *
+ * <p>Proxy classes are defined in the package of the proxied type where possible, so package-private members of the
+ * type can be proxied. If the package of the type is not accessible, for example because it is part of a named module
+ * which is not opened, the proxy class is defined in the package of this generator instead. In that case only public
+ * and protected members of the type are proxied. Methods of which the return, parameter or exception types are not
+ * accessible from the package of the proxy class are never proxied.
+ *
+ * <p>If a proxied method overrides other declarations with a different descriptor, for example through a covariant
+ * return type or a parameter of a generic supertype, the proxy class contains bridge methods for these declarations.
+ * Bridge methods invoke the proxied method, so the method is intercepted once regardless of the descriptor through
+ * which it is invoked.
+ *
+ * @see HiddenClassProxySupport
+ * @see HiddenClassProxyClassCache
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public class HiddenClassProxyGenerator {
+
+    private static final String INTERCEPTOR_FIELD = "$hh$interceptor";
+    private static final String SOURCE_FIELD_PREFIX = "$hh$m";
+    private static final String PROXY_FIELD_PREFIX = "$hh$p";
+
+    private static final String INTERCEPT_DESCRIPTOR = MethodType.methodType(Object.class,
+            Object.class, ProxyMethodInterceptor.class, MethodInvokable.class, Invokable.class, Object[].class
+    ).toMethodDescriptorString();
+
+    private final MethodInvokableCache methodInvokables;
+    private final Introspector introspector;
+
+    public HiddenClassProxyGenerator(MethodInvokableCache methodInvokables, Introspector introspector) {
+        this.methodInvokables = methodInvokables;
+        this.introspector = introspector;
+    }
+
+    /**
+     * Generates and defines a new proxy class for the given type and interfaces. The returned class is not yet
+     * initialized, and has no interceptor bound to it. Interceptors are bound to individual instances through the
+     * field which is exposed by {@link GeneratedProxyClass#interceptorField()}.
+     *
+     * @param type the type to proxy
+     * @param interfaces the interfaces to implement
+     * @param name the preferred name of the proxy class, the package of this name is ignored
+     * @param <T> the type to proxy
+     * @return the generated proxy class
+     * @throws ApplicationException if the proxy class could not be generated or defined
+     */
+    public <T> GeneratedProxyClass<T> generate(Class<T> type, Class<?>[] interfaces, String name) throws ApplicationException {
+        Lookup host = this.hostLookup(type);
+        ProxyClassLayout layout = this.layout(type, interfaces, host.lookupClass());
+        String className = this.className(host.lookupClass(), name);
+
+        List<Object> classData = new ArrayList<>();
+        List<MethodHandleInvokable> superInvokables = new ArrayList<>();
+        for (Method method : layout.methods()) {
+            classData.add(this.methodInvokables.invokable(method));
+            if (Modifier.isAbstract(method.getModifiers())) {
+                // Consistent with other proxy implementations, abstract methods have no original implementation
+                classData.add(this.methodInvokables.invokable(null));
+            }
+            else {
+                MethodHandleInvokable invokable = new MethodHandleInvokable(method, this.introspector);
+                superInvokables.add(invokable);
+                classData.add(invokable);
+            }
+        }
+
+        try {
+            byte[] bytecode = this.generateClassFile(className, type, layout);
+            Lookup lookup = host.defineHiddenClassWithClassData(bytecode, List.copyOf(classData), false);
+            for (MethodHandleInvokable invokable : superInvokables) {
+                Method method = invokable.toMethod();
+                MethodType methodType = MethodType.methodType(method.getReturnType(), method.getParameterTypes());
+                invokable.bind(lookup.findSpecial(method.getDeclaringClass(), method.getName(), methodType, lookup.lookupClass()));
+            }
+            //noinspection unchecked
+            return new GeneratedProxyClass<>((Class<? extends T>) lookup.lookupClass(), lookup, INTERCEPTOR_FIELD);
+        }
+        catch (IOException | BadBytecode | ReflectiveOperationException | LinkageError e) {
+            throw new ApplicationException("Could not define hidden proxy class for " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Returns the lookup which is used to define the proxy class for the given type. This is a lookup with full
+     * privilege access in the package of the type if possible, or the lookup of this generator otherwise.
+     *
+     * @param type the type to proxy
+     * @return the lookup to define the proxy class with
+     */
+    protected Lookup hostLookup(Class<?> type) {
+        try {
+            Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+            if (lookup.hasFullPrivilegeAccess()) {
+                return lookup;
+            }
+        }
+        catch (IllegalAccessException e) {
+            // Package is not opened to this module, fall back to the package of this generator
+        }
+        return MethodHandles.lookup();
+    }
+
+    /**
+     * Resolves the methods and interfaces of the proxy class. Methods are resolved from the most specific declaration
+     * in the type hierarchy, so the {@link Method} instances passed to interceptors match those returned by
+     * {@link Class#getMethod(String, Class[])}. Declarations which are overridden by a proxied method with a different
+     * descriptor are not proxied themselves, but are implemented as {@link MethodBridge bridges} to the proxied method.
+     *
+     * @param type the type to proxy
+     * @param interfaces the additional interfaces to implement
+     * @param host the class in whose package the proxy class is defined
+     * @return the layout of the proxy class
+     */
+    protected ProxyClassLayout layout(Class<?> type, Class<?>[] interfaces, Class<?> host) {
+        Map<MethodSignature, Method> methods = new LinkedHashMap<>();
+        Set<MethodSignature> classSignatures = new HashSet<>();
+        List<Method> declarations = new ArrayList<>();
+
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            for (Method method : current.getDeclaredMethods()) {
+                int modifiers = method.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isPrivate(modifiers)) {
+                    continue;
+                }
+                if (method.isSynthetic()) {
+                    // Bridges of generic overrides invoke the overriding method virtually, so the bridged declaration
+                    // does not need to be proxied. Other bridges invoke their super implementation, which is proxied
+                    // through the original declaration.
+                    if (method.isBridge() && this.bridgesGenericOverride(method)) {
+                        classSignatures.add(MethodSignature.of(method));
+                    }
+                    continue;
+                }
+                // Protected methods of Object (clone, finalize) are never proxied
+                if (current == Object.class && !Modifier.isPublic(modifiers)) {
+                    continue;
+                }
+                MethodSignature signature = MethodSignature.of(method);
+                if (!classSignatures.add(signature)) {
+                    continue;
+                }
+                boolean packagePrivate = !Modifier.isPublic(modifiers) && !Modifier.isProtected(modifiers);
+                if (!Modifier.isFinal(modifiers)
+                        && !(packagePrivate && !this.isSamePackage(current, host))
+                        && this.isAccessible(method, host)) {
+                    methods.put(signature, method);
+                    declarations.add(method);
+                }
+            }
+        }
+
+        Set<Class<?>> proxyInterfaces = new LinkedHashSet<>(List.of(interfaces));
+        for (Class<?> anInterface : this.allInterfaces(type, interfaces)) {
+            for (Method method : anInterface.getDeclaredMethods()) {
+                int modifiers = method.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isPrivate(modifiers) || method.isSynthetic()) {
+                    continue;
+                }
+                MethodSignature signature = MethodSignature.of(method);
+                if (!this.isAccessible(method, host)) {
+                    continue;
+                }
+                declarations.add(method);
+                if (classSignatures.contains(signature)) {
+                    continue;
+                }
+                Method existing = methods.get(signature);
+                if (existing == null || existing.getDeclaringClass().isAssignableFrom(anInterface)
+                        || this.hasMoreSpecificReturnType(method, existing)) {
+                    methods.put(signature, method);
+                }
+            }
+        }
+
+        // Declarations which are overridden by another proxied method are bridged to that method instead
+        Set<Method> bridgedMethods = new HashSet<>();
+        for (Method method : methods.values()) {
+            for (Method declaration : methods.values()) {
+                if (this.overridesWithOtherDescriptor(method, declaration)) {
+                    bridgedMethods.add(declaration);
+                }
+            }
+        }
+
+        List<Method> proxiedMethods = new ArrayList<>();
+        for (Method method : methods.values()) {
+            if (bridgedMethods.contains(method)) {
+                continue;
+            }
+            if (method.isDefault()) {
+                // Default methods can only be invoked specially through a direct super-interface
+                if (!this.isAccessible(method.getDeclaringClass(), host)) {
+                    continue;
+                }
+                proxyInterfaces.add(method.getDeclaringClass());
+            }
+            proxiedMethods.add(method);
+        }
+
+        Set<MethodDescriptor> descriptors = new HashSet<>();
+        for (Method method : proxiedMethods) {
+            descriptors.add(MethodDescriptor.of(method));
+        }
+        List<MethodBridge> bridges = new ArrayList<>();
+        for (Method method : proxiedMethods) {
+            for (Method declaration : declarations) {
+                if (!Modifier.isFinal(declaration.getModifiers())
+                        && this.overridesWithOtherDescriptor(method, declaration)
+                        && descriptors.add(MethodDescriptor.of(declaration))) {
+                    bridges.add(new MethodBridge(declaration, method));
+                }
+            }
+        }
+
+        List<Constructor<?>> constructors = new ArrayList<>();
+        for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+            int modifiers = constructor.getModifiers();
+            boolean packagePrivate = !Modifier.isPublic(modifiers) && !Modifier.isProtected(modifiers);
+            if (!Modifier.isPrivate(modifiers) && !(packagePrivate && !this.isSamePackage(type, host))) {
+                constructors.add(constructor);
+            }
+        }
+
+        return new ProxyClassLayout(List.copyOf(proxyInterfaces), List.copyOf(proxiedMethods), List.copyOf(bridges), List.copyOf(constructors));
+    }
+
+    /**
+     * Returns whether the given bridge method bridges a generic override, rather than exposing an inherited method of
+     * a non-public superclass. Bridges of generic overrides have different parameter types than the overriding method,
+     * which is declared in the same class.
+     *
+     * @param bridge the bridge method
+     * @return {@code true} if the bridge bridges a generic override, {@code false} otherwise
+     */
+    private boolean bridgesGenericOverride(Method bridge) {
+        for (Method method : bridge.getDeclaringClass().getDeclaredMethods()) {
+            if (!method.isBridge() && method.getName().equals(bridge.getName())
+                    && method.getParameterCount() == bridge.getParameterCount()
+                    && !Arrays.equals(method.getParameterTypes(), bridge.getParameterTypes())
+                    && bridge.getReturnType().isAssignableFrom(method.getReturnType())
+                    && this.isAssignable(bridge.getParameterTypes(), method.getParameterTypes())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether the given method overrides the given declaration, while having a different descriptor. This is
+     * the case if the method has a more specific return type than the declaration, or if parameters of the declaration
+     * are type variables which the method declares with a more specific type.
+     *
+     * @param method the overriding method
+     * @param declaration the overridden declaration
+     * @return {@code true} if the method overrides the declaration with another descriptor, {@code false} otherwise
+     */
+    private boolean overridesWithOtherDescriptor(Method method, Method declaration) {
+        if (method == declaration || !method.getName().equals(declaration.getName())
+                || method.getParameterCount() != declaration.getParameterCount()
+                || !declaration.getReturnType().isAssignableFrom(method.getReturnType())
+                || MethodDescriptor.of(method).equals(MethodDescriptor.of(declaration))) {
+            return false;
+        }
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        Class<?>[] declaredParameterTypes = declaration.getParameterTypes();
+        if (Arrays.equals(parameterTypes, declaredParameterTypes)) {
+            // Methods cannot be overloaded by return type alone, so this is a covariant override
+            return true;
+        }
+        if (!declaration.getDeclaringClass().isAssignableFrom(method.getDeclaringClass())) {
+            return false;
+        }
+        Type[] genericParameterTypes = declaration.getGenericParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (parameterTypes[i] != declaredParameterTypes[i]
+                    && (genericParameterTypes[i] instanceof Class || !declaredParameterTypes[i].isAssignableFrom(parameterTypes[i]))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isAssignable(Class<?>[] declaredParameterTypes, Class<?>[] parameterTypes) {
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (!declaredParameterTypes[i].isAssignableFrom(parameterTypes[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean hasMoreSpecificReturnType(Method method, Method existing) {
+        return method.getReturnType() != existing.getReturnType()
+                && existing.getReturnType().isAssignableFrom(method.getReturnType());
+    }
+
+    private Set<Class<?>> allInterfaces(Class<?> type, Class<?>[] interfaces) {
+        Set<Class<?>> collected = new LinkedHashSet<>();
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            this.collectInterfaces(current.getInterfaces(), collected);
+        }
+        this.collectInterfaces(interfaces, collected);
+        return collected;
+    }
+
+    private void collectInterfaces(Class<?>[] interfaces, Set<Class<?>> collected) {
+        for (Class<?> anInterface : interfaces) {
+            if (collected.add(anInterface)) {
+                this.collectInterfaces(anInterface.getInterfaces(), collected);
+            }
+        }
+    }
+
+    private boolean isSamePackage(Class<?> type, Class<?> host) {
+        return type.getPackageName().equals(host.getPackageName()) && type.getClassLoader() == host.getClassLoader();
+    }
+
+    private boolean isAccessible(Method method, Class<?> host) {
+        if (!this.isAccessible(method.getReturnType(), host)) {
+            return false;
+        }
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            if (!this.isAccessible(parameterType, host)) {
+                return false;
+            }
+        }
+        for (Class<?> exceptionType : method.getExceptionTypes()) {
+            if (!this.isAccessible(exceptionType, host)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isAccessible(Class<?> type, Class<?> host) {
+        Class<?> elementType = type;
+        while (elementType.isArray()) {
+            elementType = elementType.getComponentType();
+        }
+        return elementType.isPrimitive()
+                || Modifier.isPublic(elementType.getModifiers())
+                || this.isSamePackage(elementType, host);
+    }
+
+    private String className(Class<?> host, String name) {
+        String simpleName = name.substring(name.lastIndexOf('.') + 1);
+        String packageName = host.getPackageName();
+        return packageName.isEmpty() ? simpleName : packageName + '.' + simpleName;
+    }
+
+    /**
+     * Generates the bytecode of the proxy class. Generated code does not contain any branches, so no stack map frames
+     * are required.
+     *
+     * @param className the name of the proxy class
+     * @param superclass the type to proxy
+     * @param layout the layout of the proxy class
+     * @return the bytecode of the proxy class
+     * @throws IOException if the bytecode could not be written
+     * @throws BadBytecode if the maximum stack size of a method could not be computed
+     */
+    protected byte[] generateClassFile(String className, Class<?> superclass, ProxyClassLayout layout) throws IOException, BadBytecode {
+        ClassFile classFile = new ClassFile(false, className, superclass.getName());
+        classFile.setMajorVersion(ClassFile.JAVA_8);
+        classFile.setAccessFlags(AccessFlag.PUBLIC | AccessFlag.FINAL | AccessFlag.SUPER | AccessFlag.SYNTHETIC);
+        classFile.setInterfaces(layout.interfaces().stream().map(Class::getName).toArray(String[]::new));
+        ConstPool constPool = classFile.getConstPool();
+
+        FieldInfo interceptorField = new FieldInfo(constPool, INTERCEPTOR_FIELD, ProxyMethodInterceptor.class.descriptorString());
+        interceptorField.setAccessFlags(AccessFlag.PRIVATE);
+        classFile.addField2(interceptorField);
+
+        List<Method> methods = layout.methods();
+        for (int index = 0; index < methods.size(); index++) {
+            classFile.addField2(this.constantField(constPool, SOURCE_FIELD_PREFIX + index, MethodInvokable.class));
+            classFile.addField2(this.constantField(constPool, PROXY_FIELD_PREFIX + index, Invokable.class));
+        }
+        classFile.addMethod2(this.staticInitializer(constPool, className, methods.size()));
+
+        for (Constructor<?> constructor : layout.constructors()) {
+            classFile.addMethod2(this.constructor(constPool, superclass, constructor));
+        }
+        for (int index = 0; index < methods.size(); index++) {
+            classFile.addMethod2(this.proxyMethod(constPool, className, methods.get(index), index));
+        }
+        for (MethodBridge bridge : layout.bridges()) {
+            classFile.addMethod2(this.bridgeMethod(constPool, className, bridge));
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (DataOutputStream stream = new DataOutputStream(output)) {
+            classFile.write(stream);
+        }
+        return output.toByteArray();
+    }
+
+    private FieldInfo constantField(ConstPool constPool, String name, Class<?> type) {
+        FieldInfo field = new FieldInfo(constPool, name, type.descriptorString());
+        field.setAccessFlags(AccessFlag.PRIVATE | AccessFlag.STATIC | AccessFlag.FINAL);
+        return field;
+    }
+
+    private MethodInfo staticInitializer(ConstPool constPool, String className, int methodCount) throws BadBytecode {
+        Bytecode code = new Bytecode(constPool);
+        code.addInvokestatic(MethodHandles.class.getName(), "lookup",
+                MethodType.methodType(Lookup.class).toMethodDescriptorString());
+        code.addLdc(ConstantDescs.DEFAULT_NAME);
+        code.addLdc(constPool.addClassInfo(List.class.getName()));
+        code.addInvokestatic(MethodHandles.class.getName(), "classData",
+                MethodType.methodType(Object.class, Lookup.class, String.class, Class.class).toMethodDescriptorString());
+        code.addCheckcast(List.class.getName());
+        code.addOpcode(Opcode.ASTORE_0);
+
+        String getDescriptor = MethodType.methodType(Object.class, int.class).toMethodDescriptorString();
+        for (int index = 0; index < methodCount; index++) {
+            code.addAload(0);
+            code.addIconst(index * 2);
+            code.addInvokeinterface(List.class.getName(), "get", getDescriptor, 2);
+            code.addCheckcast(MethodInvokable.class.getName());
+            code.addPutstatic(className, SOURCE_FIELD_PREFIX + index, MethodInvokable.class.descriptorString());
+
+            code.addAload(0);
+            code.addIconst(index * 2 + 1);
+            code.addInvokeinterface(List.class.getName(), "get", getDescriptor, 2);
+            code.addCheckcast(Invokable.class.getName());
+            code.addPutstatic(className, PROXY_FIELD_PREFIX + index, Invokable.class.descriptorString());
+        }
+        code.addOpcode(Opcode.RETURN);
+        code.setMaxLocals(1);
+
+        return this.methodInfo(constPool, MethodInfo.nameClinit, "()V", AccessFlag.STATIC, code);
+    }
+
+    private MethodInfo constructor(ConstPool constPool, Class<?> superclass, Constructor<?> constructor) throws BadBytecode {
+        String descriptor = MethodType.methodType(void.class, constructor.getParameterTypes()).toMethodDescriptorString();
+        Bytecode code = new Bytecode(constPool);
+        code.addAload(0);
+        int locals = this.loadParameters(code, constructor.getParameterTypes());
+        code.addInvokespecial(superclass.getName(), MethodInfo.nameInit, descriptor);
+        code.addOpcode(Opcode.RETURN);
+        code.setMaxLocals(locals);
+
+        return this.methodInfo(constPool, MethodInfo.nameInit, descriptor, AccessFlag.PUBLIC, code);
+    }
+
+    private MethodInfo proxyMethod(ConstPool constPool, String className, Method method, int index) throws BadBytecode {
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        Class<?> returnType = method.getReturnType();
+
+        Bytecode code = new Bytecode(constPool);
+        code.addAload(0);
+        code.addAload(0);
+        code.addGetfield(className, INTERCEPTOR_FIELD, ProxyMethodInterceptor.class.descriptorString());
+        code.addGetstatic(className, SOURCE_FIELD_PREFIX + index, MethodInvokable.class.descriptorString());
+        code.addGetstatic(className, PROXY_FIELD_PREFIX + index, Invokable.class.descriptorString());
+
+        code.addIconst(parameterTypes.length);
+        code.addAnewarray(Object.class.getName());
+        int slot = 1;
+        for (int parameter = 0; parameter < parameterTypes.length; parameter++) {
+            code.addOpcode(Opcode.DUP);
+            code.addIconst(parameter);
+            slot = this.loadParameter(code, parameterTypes[parameter], slot);
+            this.box(code, parameterTypes[parameter]);
+            code.addOpcode(Opcode.AASTORE);
+        }
+
+        code.addInvokestatic(HiddenClassProxySupport.class.getName(), "intercept", INTERCEPT_DESCRIPTOR);
+        this.returnResult(code, returnType);
+        code.setMaxLocals(slot);
+
+        String descriptor = MethodType.methodType(returnType, parameterTypes).toMethodDescriptorString();
+        int accessFlags = method.getModifiers() & (AccessFlag.PUBLIC | AccessFlag.PROTECTED);
+        return this.methodInfo(constPool, method.getName(), descriptor, accessFlags, code);
+    }
+
+    private MethodInfo bridgeMethod(ConstPool constPool, String className, MethodBridge bridge) throws BadBytecode {
+        Method declaration = bridge.declaration();
+        Method target = bridge.target();
+        Class<?>[] parameterTypes = declaration.getParameterTypes();
+        Class<?>[] targetParameterTypes = target.getParameterTypes();
+
+        Bytecode code = new Bytecode(constPool);
+        code.addAload(0);
+        int slot = 1;
+        for (int parameter = 0; parameter < parameterTypes.length; parameter++) {
+            slot = this.loadParameter(code, parameterTypes[parameter], slot);
+            if (parameterTypes[parameter] != targetParameterTypes[parameter]) {
+                code.addCheckcast(targetParameterTypes[parameter].getName());
+            }
+        }
+        code.addInvokevirtual(className, target.getName(), MethodDescriptor.of(target).descriptor());
+        this.returnValue(code, declaration.getReturnType());
+        code.setMaxLocals(slot);
+
+        int accessFlags = (declaration.getModifiers() & (AccessFlag.PUBLIC | AccessFlag.PROTECTED))
+                | AccessFlag.BRIDGE | AccessFlag.SYNTHETIC;
+        return this.methodInfo(constPool, declaration.getName(), MethodDescriptor.of(declaration).descriptor(), accessFlags, code);
+    }
+
+    private void returnValue(Bytecode code, Class<?> returnType) {
+        if (returnType == void.class) {
+            code.addOpcode(Opcode.RETURN);
+        }
+        else if (returnType == long.class) {
+            code.addOpcode(Opcode.LRETURN);
+        }
+        else if (returnType == double.class) {
+            code.addOpcode(Opcode.DRETURN);
+        }
+        else if (returnType == float.class) {
+            code.addOpcode(Opcode.FRETURN);
+        }
+        else if (returnType.isPrimitive()) {
+            code.addOpcode(Opcode.IRETURN);
+        }
+        else {
+            code.addOpcode(Opcode.ARETURN);
+        }
+    }
+
+    private MethodInfo methodInfo(ConstPool constPool, String name, String descriptor, int accessFlags, Bytecode code) throws BadBytecode {
+        MethodInfo methodInfo = new MethodInfo(constPool, name, descriptor);
+        methodInfo.setAccessFlags(accessFlags);
+        CodeAttribute codeAttribute = code.toCodeAttribute();
+        codeAttribute.computeMaxStack();
+        methodInfo.setCodeAttribute(codeAttribute);
+        return methodInfo;
+    }
+
+    private int loadParameters(Bytecode code, Class<?>[] parameterTypes) {
+        int slot = 1;
+        for (Class<?> parameterType : parameterTypes) {
+            slot = this.loadParameter(code, parameterType, slot);
+        }
+        return slot;
+    }
+
+    private int loadParameter(Bytecode code, Class<?> type, int slot) {
+        if (type == long.class) {
+            code.addLload(slot);
+            return slot + 2;
+        }
+        else if (type == double.class) {
+            code.addDload(slot);
+            return slot + 2;
+        }
+        else if (type == float.class) {
+            code.addFload(slot);
+        }
+        else if (type.isPrimitive()) {
+            code.addIload(slot);
+        }
+        else {
+            code.addAload(slot);
+        }
+        return slot + 1;
+    }
+
+    private void box(Bytecode code, Class<?> type) {
+        if (type.isPrimitive()) {
+            Class<?> wrapper = MethodType.methodType(type).wrap().returnType();
+            code.addInvokestatic(wrapper.getName(), "valueOf", MethodType.methodType(wrapper, type).toMethodDescriptorString());
+        }
+    }
+
+    private void returnResult(Bytecode code, Class<?> returnType) {
+        if (returnType == void.class) {
+            code.addOpcode(Opcode.POP);
+            code.addOpcode(Opcode.RETURN);
+        }
+        else if (returnType.isPrimitive()) {
+            Class<?> wrapper = MethodType.methodType(returnType).wrap().returnType();
+            code.addCheckcast(wrapper.getName());
+            code.addInvokevirtual(wrapper.getName(), returnType.getName() + "Value", MethodType.methodType(returnType).toMethodDescriptorString());
+            if (returnType == long.class) {
+                code.addOpcode(Opcode.LRETURN);
+            }
+            else if (returnType == double.class) {
+                code.addOpcode(Opcode.DRETURN);
+            }
+            else if (returnType == float.class) {
+                code.addOpcode(Opcode.FRETURN);
+            }
+            else {
+                code.addOpcode(Opcode.IRETURN);
+            }
+        }
+        else {
+            if (returnType != Object.class) {
+                code.addCheckcast(returnType.getName());
+            }
+            code.addOpcode(Opcode.ARETURN);
+        }
+    }
+
+    /**
+     * The resolved members of a proxy class.
+     *
+     * @param interfaces the interfaces implemented by the proxy class
+     * @param methods the methods overridden by the proxy class
+     * @param bridges the bridges from overridden declarations to the methods of the proxy class
+     * @param constructors the constructors of the proxied type which are exposed by the proxy class
+     *
+     * @since 0.6.1
+     *
+     * @author Guus Lieben
+     */
+    protected record ProxyClassLayout(List<Class<?>> interfaces, List<Method> methods, List<MethodBridge> bridges, List<Constructor<?>> constructors) {
+    }
+
+    /**
+     * A bridge from a declaration to a method which overrides it with a different descriptor. The bridge is emitted
+     * with the descriptor of the declaration, and invokes the overriding method.
+     *
+     * @param declaration the overridden declaration
+     * @param target the proxied method which overrides the declaration
+     *
+     * @since 0.6.1
+     *
+     * @author Guus Lieben
+     */
+    protected record MethodBridge(Method declaration, Method target) {
+    }
+
+    private record MethodDescriptor(String name, String descriptor) {
+
+        static MethodDescriptor of(Method method) {
+            return new MethodDescriptor(method.getName(),
+                    MethodType.methodType(method.getReturnType(), method.getParameterTypes()).toMethodDescriptorString());
+        }
+    }
+
+    private record MethodSignature(String name, List<Class<?>> parameterTypes) {
+
+        static MethodSignature of(Method method) {
+            return new MethodSignature(method.getName(), List.of(method.getParameterTypes()));
+        }
+    }
+
+    /**
+     * A proxy class which was defined by this generator.
+     *
+     * @param proxyClass the hidden proxy class
+     * @param lookup the lookup of the proxy class, with full privilege access
+     * @param interceptorField the name of the instance field which holds the {@link ProxyMethodInterceptor}
+     * @param <T> the type that is proxied by the class
+     *
+     * @since 0.6.1
+     *
+     * @author Guus Lieben
+     */
+    public record GeneratedProxyClass<T>(Class<? extends T> proxyClass, Lookup lookup, String interceptorField) {
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.proxy.hidden;
+
+import org.dockbox.hartshorn.proxy.AbstractProxyOrchestrator;
+import org.dockbox.hartshorn.proxy.ProxyClassPreparer;
+import org.dockbox.hartshorn.proxy.advice.intercept.MethodInvokableCache;
+import org.dockbox.hartshorn.proxy.lookup.StateAwareProxyFactory;
+import org.dockbox.hartshorn.util.ApplicationException;
+import org.dockbox.hartshorn.util.introspect.Introspector;
+
+import java.lang.reflect.Modifier;
+import java.util.Set;
+
+/**
+ * A proxy orchestrator that uses hidden classes to create proxies. Hidden proxy classes implement
+ * {@link org.dockbox.hartshorn.proxy.Proxy}, so they are recognized by the default proxy lookups of
+ * {@link AbstractProxyOrchestrator}. Generated proxy classes are shared by all factories of this orchestrator, and
+ * can be {@link #prepareProxyClass(Class, Set) prepared} ahead of time.
+ *
+ * @see HiddenClassProxyFactory
+ * @see HiddenClassProxyGenerator
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public class HiddenClassProxyOrchestrator extends AbstractProxyOrchestrator implements ProxyClassPreparer {
+
+    private final HiddenClassProxyClassCache proxyClasses;
+
+    public HiddenClassProxyOrchestrator(Introspector introspector) {
+        super(introspector);
+        // Method invokables are stored in the generated classes, so they are shared by all factories
+        MethodInvokableCache methodInvokables = new MethodInvokableCache(introspector);
+        this.proxyClasses = new HiddenClassProxyClassCache(new HiddenClassProxyGenerator(methodInvokables, introspector));
+    }
+
+    @Override
+    public <T> StateAwareProxyFactory<T> factory(Class<T> type) {
+        return new HiddenClassProxyFactory<>(type, this);
+    }
+
+    @Override
+    public boolean prepareProxyClass(Class<?> type, Set<Class<?>> interfaces) throws ApplicationException {
+        // Interfaces are proxied by the JDK, and final types cannot be proxied at all
+        if (type.isInterface() || type.isPrimitive() || type.isArray() || Modifier.isFinal(type.getModifiers())) {
+            return false;
+        }
+        HiddenClassProxyFactory<?> factory = new HiddenClassProxyFactory<>(type, this);
+        factory.implement(interfaces.toArray(new Class[0]));
+        factory.proxyClass();
+        return true;
+    }
+
+    /**
+     * Returns the cache of proxy classes that is shared by all factories of this orchestrator.
+     *
+     * @return the cache of proxy classes
+     */
+    public HiddenClassProxyClassCache proxyClasses() {
+        return this.proxyClasses;
+    }
+}
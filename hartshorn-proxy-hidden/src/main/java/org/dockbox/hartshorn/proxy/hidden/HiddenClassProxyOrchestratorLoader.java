@@ -0,0 +1,37 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.proxy.hidden;
+
+import org.dockbox.hartshorn.proxy.ProxyOrchestrator;
+import org.dockbox.hartshorn.proxy.ProxyOrchestratorLoader;
+import org.dockbox.hartshorn.util.introspect.Introspector;
+
+/**
+ * A proxy orchestrator loader that creates {@link HiddenClassProxyOrchestrator} instances. This loader is not
+ * registered as a service, and should be selected explicitly when loading the proxy orchestrator of an application.
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public class HiddenClassProxyOrchestratorLoader implements ProxyOrchestratorLoader {
+
+    @Override
+    public ProxyOrchestrator create(Introspector introspector) {
+        return new HiddenClassProxyOrchestrator(introspector);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.proxy.hidden;
+
+import org.dockbox.hartshorn.proxy.advice.intercept.Invokable;
+import org.dockbox.hartshorn.proxy.advice.intercept.MethodInvokable;
+import org.dockbox.hartshorn.proxy.advice.intercept.ProxyMethodInterceptor;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Runtime support for proxy classes generated by {@link HiddenClassProxyGenerator}. Every proxied method of a hidden
+ * proxy class performs a single static call to {@link #intercept(Object, ProxyMethodInterceptor, MethodInvokable,
+ * Invokable, Object[])}, passing the {@link MethodInvokable} and {@link Invokable} which are stored in static
+ * constants of the proxy class. This avoids any lookup of the invoked method at runtime.
+ *
+ * <p>This class is not intended to be used directly, but needs to be public so it can be accessed by proxy classes
+ * in any package.
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public final class HiddenClassProxySupport {
+
+    private HiddenClassProxySupport() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Intercepts the invocation of a proxied method. If the proxy is still being constructed, the interceptor is not
+     * yet bound to the proxy instance. In that case the original implementation of the method is invoked directly,
+     * or the default value of the return type is returned if there is no original implementation.
+     *
+     * @param self the proxy instance
+     * @param interceptor the interceptor of the proxy instance, or {@code null} if it is not yet bound
+     * @param source the method that is being invoked
+     * @param proxy the original implementation of the method
+     * @param args the arguments that are passed to the method invocation
+     * @return the result of the method invocation
+     * @throws Throwable if the method invocation fails
+     */
+    public static Object intercept(Object self, ProxyMethodInterceptor<?> interceptor, MethodInvokable source, Invokable proxy, Object[] args) throws Throwable {
+        if (interceptor != null) {
+            return interceptor.intercept(self, source, proxy, args);
+        }
+        if (proxy instanceof MethodHandleInvokable) {
+            try {
+                return proxy.invoke(self, args);
+            }
+            catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+        return source.toIntrospector().returnType().defaultOrNull();
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.proxy.hidden;
+
+import org.dockbox.hartshorn.proxy.advice.intercept.Invokable;
+import org.dockbox.hartshorn.util.introspect.Introspector;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Implementation of {@link Invokable} that is backed by a {@link MethodHandle}. This is used by hidden proxy classes
+ * to invoke the original implementation of a proxied method, similar to a {@code super} call. The handle is bound
+ * once the proxy class has been defined, as it can only be resolved through the {@link java.lang.invoke.MethodHandles.Lookup}
+ * of the proxy class itself.
+ *
+ * <p>To remain compatible with {@link org.dockbox.hartshorn.proxy.advice.intercept.MethodInvokable}, exceptions
+ * thrown by the underlying method are wrapped in an {@link InvocationTargetException}. Similar to {@link Method#invoke(Object, Object...)},
+ * receivers or arguments which cannot be adapted to the method result in an {@link IllegalArgumentException}.
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public class MethodHandleInvokable implements Invokable {
+
+    private static final Object[] EMPTY_ARGUMENTS = new Object[0];
+
+    // Wrapper types which can be unboxed and widened to each primitive type, following JLS 5.1.2
+    private static final Map<Class<?>, Set<Class<?>>> PRIMITIVE_CONVERSIONS = Map.of(
+            boolean.class, Set.of(Boolean.class),
+            char.class, Set.of(Character.class),
+            byte.class, Set.of(Byte.class),
+            short.class, Set.of(Short.class, Byte.class),
+            int.class, Set.of(Integer.class, Short.class, Byte.class, Character.class),
+            long.class, Set.of(Long.class, Integer.class, Short.class, Byte.class, Character.class),
+            float.class, Set.of(Float.class, Long.class, Integer.class, Short.class, Byte.class, Character.class),
+            double.class, Set.of(Double.class, Float.class, Long.class, Integer.class, Short.class, Byte.class, Character.class)
+    );
+
+    private final Method method;
+    private final Introspector introspector;
+    private MethodHandle handle;
+    private Class<?> receiverType;
+
+    public MethodHandleInvokable(Method method, Introspector introspector) {
+        this.method = method;
+        this.introspector = introspector;
+    }
+
+    /**
+     * Binds the given handle to this invokable. The handle is adapted to accept the target instance and an array
+     * of arguments, so it can be invoked exactly without further adaptation.
+     *
+     * @param handle the handle to bind, typically a {@code special} handle which invokes the super implementation
+     */
+    protected void bind(MethodHandle handle) {
+        this.receiverType = handle.type().parameterType(0);
+        this.handle = handle.asType(handle.type().generic())
+                .asSpreader(Object[].class, this.method.getParameterCount())
+                .asType(MethodType.methodType(Object.class, Object.class, Object[].class));
+    }
+
+    @Override
+    public Object invoke(Object obj, Object... args) throws Exception {
+        if (this.handle == null) {
+            throw new IllegalStateException("Method handle for " + this.method + " has not been bound");
+        }
+        Object[] arguments = args == null ? EMPTY_ARGUMENTS : args;
+        try {
+            return (Object) this.handle.invokeExact(obj, arguments);
+        }
+        catch (Throwable e) {
+            // Adaptation failures are only possible if the receiver or arguments do not match the method. Checking
+            // this after the fact keeps successful invocations free of additional checks.
+            if (!this.accepts(obj, arguments)) {
+                throw new IllegalArgumentException("Cannot invoke " + this.method + " with the given receiver or arguments", e);
+            }
+            throw new InvocationTargetException(e);
+        }
+    }
+
+    private boolean accepts(Object obj, Object[] arguments) {
+        if (!this.receiverType.isInstance(obj)) {
+            return false;
+        }
+        Class<?>[] parameterTypes = this.method.getParameterTypes();
+        if (arguments.length != parameterTypes.length) {
+            return false;
+        }
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (!isAssignable(parameterTypes[i], arguments[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAssignable(Class<?> parameterType, Object argument) {
+        if (!parameterType.isPrimitive()) {
+            return argument == null || parameterType.isInstance(argument);
+        }
+        return argument != null && PRIMITIVE_CONVERSIONS.get(parameterType).contains(argument.getClass());
+    }
+
+    @Override
+    public void setAccessible(boolean accessible) {
+        // Access is checked once when the handle is resolved
+    }
+
+    @Override
+    public Class<?> declaringClass() {
+        return this.method.getDeclaringClass();
+    }
+
+    @Override
+    public String name() {
+        return this.method.getName();
+    }
+
+    @Override
+    public boolean isDefault() {
+        return this.method.isDefault();
+    }
+
+    @Override
+    public Class<?> returnType() {
+        return this.method.getReturnType();
+    }
+
+    @Override
+    public Class<?>[] parameterTypes() {
+        return this.method.getParameterTypes();
+    }
+
+    @Override
+    public String qualifiedName() {
+        return this.introspector.introspect(this.method).qualifiedName();
+    }
+
+    /**
+     * Returns the method which is invoked by this invokable.
+     *
+     * @return the method which is invoked by this invokable
+     */
+    public Method toMethod() {
+        return this.method;
+    }
+}
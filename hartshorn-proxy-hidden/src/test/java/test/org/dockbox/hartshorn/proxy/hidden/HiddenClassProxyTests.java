@@ -0,0 +1,168 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test.org.dockbox.hartshorn.proxy.hidden;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dockbox.hartshorn.proxy.ProxyFactory;
+import org.dockbox.hartshorn.proxy.ProxyOrchestrator;
+import org.dockbox.hartshorn.proxy.ProxyOrchestratorLoader;
+import org.dockbox.hartshorn.proxy.advice.wrap.MethodWrapper;
+import org.dockbox.hartshorn.proxy.hidden.HiddenClassProxyOrchestrator;
+import org.dockbox.hartshorn.proxy.hidden.HiddenClassProxyOrchestratorLoader;
+import org.dockbox.hartshorn.util.ApplicationException;
+import org.dockbox.hartshorn.util.introspect.Introspector;
+import org.dockbox.hartshorn.util.introspect.NativeProxyLookup;
+import org.dockbox.hartshorn.util.introspect.annotations.VirtualHierarchyAnnotationLookup;
+import org.dockbox.hartshorn.util.introspect.reflect.ReflectionIntrospector;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import test.org.dockbox.hartshorn.proxy.ConcreteProxy;
+import test.org.dockbox.hartshorn.proxy.InterfaceProxy;
+import test.org.dockbox.hartshorn.proxy.ProxyTests;
+import test.org.dockbox.hartshorn.proxy.types.ConcreteProxyTarget;
+
+public class HiddenClassProxyTests extends ProxyTests {
+
+    @Override
+    protected ProxyOrchestratorLoader orchestratorLoader() {
+        return new HiddenClassProxyOrchestratorLoader();
+    }
+
+    @Override
+    protected Introspector introspector() {
+        return new ReflectionIntrospector(new NativeProxyLookup(), new VirtualHierarchyAnnotationLookup());
+    }
+
+    @Test
+    void testProxyClassIsHiddenAndSharedBetweenProxiesOfSameType() throws ApplicationException {
+        ProxyOrchestrator orchestrator = this.orchestratorLoader().create(this.introspector());
+        ConcreteProxy first = orchestrator.factory(ConcreteProxy.class).proxy().get();
+        ConcreteProxy second = orchestrator.factory(ConcreteProxy.class).proxy().get();
+
+        Assertions.assertNotSame(first, second);
+        Assertions.assertSame(first.getClass(), second.getClass());
+        Assertions.assertTrue(first.getClass().isHidden());
+        Assertions.assertEquals("concrete", second.name());
+    }
+
+    @Test
+    void testProxyClassCanBePrepared() throws ApplicationException {
+        HiddenClassProxyOrchestrator orchestrator = new HiddenClassProxyOrchestrator(this.introspector());
+        Assertions.assertTrue(orchestrator.prepareProxyClass(ConcreteProxy.class));
+        Assertions.assertFalse(orchestrator.prepareProxyClass(InterfaceProxy.class));
+
+        ConcreteProxy proxy = orchestrator.factory(ConcreteProxy.class).proxy().get();
+        Class<?> preparedClass = orchestrator.proxyClasses()
+                .proxyClass(ConcreteProxy.class, new Class<?>[] { org.dockbox.hartshorn.proxy.Proxy.class }, () -> "unused")
+                .proxyClass();
+        Assertions.assertSame(preparedClass, proxy.getClass());
+    }
+
+    @Test
+    void testProxyClassWithInterfacesCanBePrepared() throws ApplicationException {
+        HiddenClassProxyOrchestrator orchestrator = new HiddenClassProxyOrchestrator(this.introspector());
+        Assertions.assertTrue(orchestrator.prepareProxyClass(ConcreteProxy.class, Set.of(PreparedInterface.class)));
+
+        ConcreteProxy proxy = orchestrator.factory(ConcreteProxy.class).implement(PreparedInterface.class).proxy().get();
+        Class<?> preparedClass = orchestrator.proxyClasses()
+                .proxyClass(ConcreteProxy.class, new Class<?>[] { org.dockbox.hartshorn.proxy.Proxy.class, PreparedInterface.class }, () -> "unused")
+                .proxyClass();
+        Assertions.assertSame(preparedClass, proxy.getClass());
+        Assertions.assertTrue(proxy instanceof PreparedInterface);
+    }
+
+    @Test
+    void testPrimitiveArgumentsAndResultsArePassedToOriginalMethod() throws ApplicationException {
+        ProxyOrchestrator orchestrator = this.orchestratorLoader().create(this.introspector());
+        PrimitiveService proxy = orchestrator.factory(PrimitiveService.class).proxy().get();
+
+        Assertions.assertEquals(7.5d, proxy.sum(1, 2L, 4.5d));
+        Assertions.assertTrue(proxy.isPositive(1f));
+        Assertions.assertEquals(3, proxy.count());
+    }
+
+    @Test
+    void testGenericOverridesAreProxiedOnce() throws ApplicationException, NoSuchMethodException {
+        Method echo = StringService.class.getMethod("echo", String.class);
+        ProxyFactory<StringService> factory = this.orchestratorLoader().create(this.introspector()).factory(StringService.class);
+        AtomicInteger count = new AtomicInteger();
+        factory.advisors().method(echo).wrapAround(MethodWrapper.of(context -> count.incrementAndGet(), null, null));
+        StringService proxy = factory.proxy().get();
+
+        GenericService<String> genericProxy = proxy;
+        Assertions.assertEquals("string:value", proxy.echo("value"));
+        Assertions.assertEquals("string:value", genericProxy.echo("value"));
+        Assertions.assertEquals(2, count.get());
+    }
+
+    @Test
+    void testCovariantInterfaceMethodsAreBridged() throws ApplicationException, NoSuchMethodException {
+        Method name = ConcreteProxyTarget.class.getMethod("name");
+        ProxyFactory<ConcreteProxyTarget> factory = this.orchestratorLoader().create(this.introspector()).factory(ConcreteProxyTarget.class);
+        // ConcreteProxyTarget#name returns a String, but does not declare a bridge for NamedSupplier#name
+        factory.implement(NamedSupplier.class);
+        factory.advisors().method(name).intercept(context -> "Hartshorn");
+        ConcreteProxyTarget proxy = factory.proxy().get();
+
+        Assertions.assertEquals("Hartshorn", proxy.name());
+        Assertions.assertEquals("Hartshorn", ((NamedSupplier) proxy).name());
+    }
+
+    public static class GenericService<T> {
+
+        public T echo(T value) {
+            return value;
+        }
+    }
+
+    public static class StringService extends GenericService<String> {
+
+        @Override
+        public String echo(String value) {
+            return "string:" + value;
+        }
+    }
+
+    public interface NamedSupplier {
+        Object name();
+    }
+
+    public static class PrimitiveService {
+
+        private final int count = 3;
+
+        public double sum(int first, long second, double third) {
+            return first + second + third;
+        }
+
+        public boolean isPositive(float value) {
+            return value > 0;
+        }
+
+        protected int count() {
+            return this.count;
+        }
+    }
+
+    public interface PreparedInterface {
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test.org.dockbox.hartshorn.proxy.hidden;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.dockbox.hartshorn.proxy.hidden.MethodHandleInvokable;
+import org.dockbox.hartshorn.util.introspect.NativeProxyLookup;
+import org.dockbox.hartshorn.util.introspect.annotations.VirtualHierarchyAnnotationLookup;
+import org.dockbox.hartshorn.util.introspect.reflect.ReflectionIntrospector;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class MethodHandleInvokableTests {
+
+    @Test
+    void testInvokesMethodWithWidenedArguments() throws Exception {
+        MethodHandleInvokable invokable = this.invokable("add", long.class);
+        Assertions.assertEquals(3L, invokable.invoke(new SampleTarget(), 3));
+    }
+
+    @Test
+    void testExceptionFromTargetIsWrapped() throws Exception {
+        MethodHandleInvokable invokable = this.invokable("fail");
+        InvocationTargetException exception = Assertions.assertThrows(InvocationTargetException.class, () -> invokable.invoke(new SampleTarget()));
+        Assertions.assertInstanceOf(IllegalStateException.class, exception.getCause());
+    }
+
+    @Test
+    void testInvalidReceiverIsRejected() throws Exception {
+        MethodHandleInvokable invokable = this.invokable("add", long.class);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> invokable.invoke(new Object(), 1L));
+    }
+
+    @Test
+    void testInvalidArgumentsAreRejected() throws Exception {
+        MethodHandleInvokable invokable = this.invokable("add", long.class);
+        Assertions.assertThrows(IllegalArgumentException.class, () -> invokable.invoke(new SampleTarget(), "1"));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> invokable.invoke(new SampleTarget(), (Object) null));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> invokable.invoke(new SampleTarget(), 1L, 2L));
+    }
+
+    private MethodHandleInvokable invokable(String name, Class<?>... parameterTypes) throws ReflectiveOperationException {
+        Method method = SampleTarget.class.getDeclaredMethod(name, parameterTypes);
+        return new BoundMethodHandleInvokable(method);
+    }
+
+    private static class BoundMethodHandleInvokable extends MethodHandleInvokable {
+
+        BoundMethodHandleInvokable(Method method) throws IllegalAccessException {
+            super(method, new ReflectionIntrospector(new NativeProxyLookup(), new VirtualHierarchyAnnotationLookup()));
+            this.bind(MethodHandles.lookup().unreflect(method));
+        }
+    }
+
+    public static class SampleTarget {
+
+        public long add(long value) {
+            return value;
+        }
+
+        public void fail() {
+            throw new IllegalStateException("fail");
+        }
+    }
+}
@@ -0,0 +1 @@
+memberSearchIndex = [{"p":"org.dockbox.hartshorn.proxy.hidden","c":"HiddenClassProxyConstructorFunction","l":"create()"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"HiddenClassProxyConstructorFunction","l":"create(Constructor<? extends T>, Object[])","u":"create(java.lang.reflect.Constructor,java.lang.Object[])"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"HiddenClassProxyOrchestratorLoader","l":"create(Introspector)","u":"create(org.dockbox.hartshorn.util.introspect.Introspector)"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"MethodHandleInvokable","l":"declaringClass()"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"HiddenClassProxyGenerator.GeneratedProxyClass","l":"equals(Object)","u":"equals(java.lang.Object)"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"HiddenClassProxyOrchestrator","l":"factory(Class<T>)","u":"factory(java.lang.Class)"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"HiddenClassProxyGenerator","l":"generate(Class<T>, Class<?>[], String)","u":"generate(java.lang.Class,java.lang.Class[],java.lang.String)"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"HiddenClassProxyGenerator.GeneratedProxyClass","l":"GeneratedProxyClass(Class<? extends T>, MethodHandles.Lookup, String)","u":"%3Cinit%3E(java.lang.Class,java.lang.invoke.MethodHandles.Lookup,java.lang.String)"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"HiddenClassProxyGenerator.GeneratedProxyClass","l":"hashCode()"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"HiddenClassProxyClassCache","l":"HiddenClassProxyClassCache(HiddenClassProxyGenerator)","u":"%3Cinit%3E(org.dockbox.hartshorn.proxy.hidden.HiddenClassProxyGenerator)"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"HiddenClassProxyConstructorFunction","l":"HiddenClassProxyConstructorFunction(Class<T>, HiddenClassProxyClassCache.CachedProxyClass<T>, ProxyMethodInterceptor<T>)","u":"%3Cinit%3E(java.lang.Class,org.dockbox.hartshorn.proxy.hidden.HiddenClassProxyClassCache.CachedProxyClass,org.dockbox.hartshorn.proxy.advice.intercept.ProxyMethodInterceptor)"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"HiddenClassProxyFactory","l":"HiddenClassProxyFactory(Class<T>, HiddenClassProxyOrchestrator)","u":"%3Cinit%3E(java.lang.Class,org.dockbox.hartshorn.proxy.hidden.HiddenClassProxyOrchestrator)"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"HiddenClassProxyGenerator","l":"HiddenClassProxyGenerator(MethodInvokableCache, Introspector)","u":"%3Cinit%3E(org.dockbox.hartshorn.proxy.advice.intercept.MethodInvokableCache,org.dockbox.hartshorn.util.introspect.Introspector)"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"HiddenClassProxyOrchestrator","l":"HiddenClassProxyOrchestrator(Introspector)","u":"%3Cinit%3E(org.dockbox.hartshorn.util.introspect.Introspector)"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"HiddenClassProxyOrchestratorLoader","l":"HiddenClassProxyOrchestratorLoader()","u":"%3Cinit%3E()"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"HiddenClassProxySupport","l":"intercept(Object, ProxyMethodInterceptor<?>, MethodInvokable, Invokable, Object[])","u":"intercept(java.lang.Object,org.dockbox.hartshorn.proxy.advice.intercept.ProxyMethodInterceptor,org.dockbox.hartshorn.proxy.advice.intercept.MethodInvokable,org.dockbox.hartshorn.proxy.advice.intercept.Invokable,java.lang.Object[])"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"HiddenClassProxyGenerator.GeneratedProxyClass","l":"interceptorField()"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"MethodHandleInvokable","l":"invoke(Object, Object...)","u":"invoke(java.lang.Object,java.lang.Object...)"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"MethodHandleInvokable","l":"isDefault()"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"HiddenClassProxyGenerator.GeneratedProxyClass","l":"lookup()"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"MethodHandleInvokable","l":"MethodHandleInvokable(Method, Introspector)","u":"%3Cinit%3E(java.lang.reflect.Method,org.dockbox.hartshorn.util.introspect.Introspector)"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"MethodHandleInvokable","l":"name()"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"HiddenClassProxyClassCache.CachedProxyClass","l":"newInstance(Class<?>[], Object[], ProxyMethodInterceptor<T>)","u":"newInstance(java.lang.Class[],java.lang.Object[],org.dockbox.hartshorn.proxy.advice.intercept.ProxyMethodInterceptor)"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"MethodHandleInvokable","l":"parameterTypes()"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"HiddenClassProxyOrchestrator","l":"prepareProxyClass(Class<?>)","u":"prepareProxyClass(java.lang.Class)"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"HiddenClassProxyClassCache.CachedProxyClass","l":"proxyClass()"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"HiddenClassProxyGenerator.GeneratedProxyClass","l":"proxyClass()"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"HiddenClassProxyClassCache","l":"proxyClass(Class<T>, Class<?>[], Supplier<String>)","u":"proxyClass(java.lang.Class,java.lang.Class[],java.util.function.Supplier)"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"HiddenClassProxyOrchestrator","l":"proxyClasses()"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"MethodHandleInvokable","l":"qualifiedName()"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"MethodHandleInvokable","l":"returnType()"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"MethodHandleInvokable","l":"setAccessible(boolean)"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"MethodHandleInvokable","l":"toMethod()"},{"p":"org.dockbox.hartshorn.proxy.hidden","c":"HiddenClassProxyGenerator.GeneratedProxyClass","l":"toString()"}];updateSearchResults();
\ No newline at end of file
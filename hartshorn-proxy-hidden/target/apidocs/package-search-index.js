@@ -0,0 +1 @@
+packageSearchIndex = [{"l":"All Packages","u":"allpackages-index.html"},{"l":"org.dockbox.hartshorn.proxy.hidden"}];updateSearchResults();
\ No newline at end of file
@@ -0,0 +1 @@
+typeSearchIndex = [{"l":"All Classes and Interfaces","u":"allclasses-index.html"},{"p":"org.dockbox.hartshorn.proxy.hidden","l":"HiddenClassProxyClassCache.CachedProxyClass"},{"p":"org.dockbox.hartshorn.proxy.hidden","l":"HiddenClassProxyGenerator.GeneratedProxyClass"},{"p":"org.dockbox.hartshorn.proxy.hidden","l":"HiddenClassProxyClassCache"},{"p":"org.dockbox.hartshorn.proxy.hidden","l":"HiddenClassProxyConstructorFunction"},{"p":"org.dockbox.hartshorn.proxy.hidden","l":"HiddenClassProxyFactory"},{"p":"org.dockbox.hartshorn.proxy.hidden","l":"HiddenClassProxyGenerator"},{"p":"org.dockbox.hartshorn.proxy.hidden","l":"HiddenClassProxyOrchestrator"},{"p":"org.dockbox.hartshorn.proxy.hidden","l":"HiddenClassProxyOrchestratorLoader"},{"p":"org.dockbox.hartshorn.proxy.hidden","l":"HiddenClassProxySupport"},{"p":"org.dockbox.hartshorn.proxy.hidden","l":"MethodHandleInvokable"}];updateSearchResults();
\ No newline at end of file
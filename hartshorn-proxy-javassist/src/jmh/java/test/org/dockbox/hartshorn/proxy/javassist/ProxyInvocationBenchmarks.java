@@ -0,0 +1,108 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test.org.dockbox.hartshorn.proxy.javassist;
+
+import java.util.concurrent.TimeUnit;
+
+import org.dockbox.hartshorn.proxy.ProxyFactory;
+import org.dockbox.hartshorn.proxy.ProxyOrchestrator;
+import org.dockbox.hartshorn.proxy.ProxyOrchestratorLoader;
+import org.dockbox.hartshorn.proxy.hidden.HiddenClassProxyOrchestratorLoader;
+import org.dockbox.hartshorn.proxy.javassist.JavassistProxyOrchestratorLoader;
+import org.dockbox.hartshorn.util.ApplicationException;
+import org.dockbox.hartshorn.util.introspect.NativeProxyLookup;
+import org.dockbox.hartshorn.util.introspect.annotations.VirtualHierarchyAnnotationLookup;
+import org.dockbox.hartshorn.util.introspect.reflect.ReflectionIntrospector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import test.org.dockbox.hartshorn.proxy.ConcreteProxy;
+
+/**
+ * Benchmarks comparing the cost of invoking a method directly, through a proxy which only delegates to a
+ * concrete instance, and through a proxy which intercepts the method. Proxies are created by each of the available
+ * proxy backends, so backends can be compared directly. Run with the {@code benchmarks} profile enabled, e.g. through
+ * {@link #main(String[])}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProxyInvocationBenchmarks {
+
+    @Param({ "javassist", "hidden" })
+    private String backend;
+
+    private ConcreteProxy direct;
+    private ConcreteProxy delegated;
+    private ConcreteProxy intercepted;
+
+    @Setup
+    public void setup() throws ApplicationException, NoSuchMethodException {
+        ReflectionIntrospector introspector = new ReflectionIntrospector(new NativeProxyLookup(), new VirtualHierarchyAnnotationLookup());
+        ProxyOrchestratorLoader loader = "hidden".equals(this.backend)
+                ? new HiddenClassProxyOrchestratorLoader()
+                : new JavassistProxyOrchestratorLoader();
+        ProxyOrchestrator orchestrator = loader.create(introspector);
+
+        this.direct = new ConcreteProxy();
+
+        ProxyFactory<ConcreteProxy> delegatingFactory = orchestrator.factory(ConcreteProxy.class);
+        delegatingFactory.advisors().type().delegate(new ConcreteProxy());
+        this.delegated = delegatingFactory.proxy().get();
+
+        ProxyFactory<ConcreteProxy> interceptingFactory = orchestrator.factory(ConcreteProxy.class);
+        interceptingFactory.advisors().method(ConcreteProxy.class.getMethod("name")).intercept(context -> "intercepted");
+        this.intercepted = interceptingFactory.proxy().get();
+    }
+
+    @Benchmark
+    public String direct() {
+        return this.direct.name();
+    }
+
+    @Benchmark
+    public String delegateOnly() {
+        return this.delegated.name();
+    }
+
+    @Benchmark
+    public String intercepted() {
+        return this.intercepted.name();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProxyInvocationBenchmarks.class.getSimpleName())
+                .build()
+        ).run();
+    }
+}
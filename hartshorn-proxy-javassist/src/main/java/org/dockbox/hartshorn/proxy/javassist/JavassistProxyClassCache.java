@@ -0,0 +1,152 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.proxy.javassist;
+
+import org.dockbox.hartshorn.util.ApplicationException;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javassist.util.proxy.MethodHandler;
+import javassist.util.proxy.Proxy;
+import javassist.util.proxy.ProxyFactory;
+
+/**
+ * A cache of proxy classes generated by Javassist, keyed by the proxied type and the set of interfaces implemented by
+ * the proxy. Proxy classes do not depend on the {@link MethodHandler} of individual proxy instances, so a class is
+ * generated once and reused for all proxies with the same type and interfaces. The handler is bound to each instance
+ * after it is constructed.
+ *
+ * <p>This cache replaces the class cache of Javassist's {@link ProxyFactory}, which is disabled for generated classes.
+ * Javassist would otherwise keep a second reference to each class, keyed by the class loader, type, interfaces and
+ * method filter of the factory.
+ *
+ * @see JavassistProxyFactory
+ * @see JavassistProxyConstructorFunction
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public class JavassistProxyClassCache {
+
+    private final Map<ProxyClassKey, CachedProxyClass<?>> proxyClasses = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the cached proxy class for the given type and interfaces. If no proxy class has been generated yet,
+     * it is generated and stored for later use.
+     *
+     * @param type the type to proxy
+     * @param interfaces the interfaces to implement
+     * @param <T> the type to proxy
+     * @return the cached proxy class
+     * @throws ApplicationException if the proxy class could not be generated
+     */
+    public <T> CachedProxyClass<T> proxyClass(Class<T> type, Class<?>[] interfaces) throws ApplicationException {
+        ProxyClassKey key = new ProxyClassKey(type, Set.of(interfaces));
+        CachedProxyClass<?> proxyClass = this.proxyClasses.get(key);
+        if (proxyClass == null) {
+            try {
+                proxyClass = this.proxyClasses.computeIfAbsent(key, k -> this.generateProxyClass(type, interfaces));
+            }
+            catch (RuntimeException e) {
+                throw new ApplicationException("Could not generate proxy class for " + type.getName(), e);
+            }
+        }
+        //noinspection unchecked
+        return (CachedProxyClass<T>) proxyClass;
+    }
+
+    /**
+     * Generates a new proxy class for the given type and interfaces.
+     *
+     * @param type the type to proxy
+     * @param interfaces the interfaces to implement
+     * @param <T> the type to proxy
+     * @return the generated proxy class
+     */
+    protected <T> CachedProxyClass<T> generateProxyClass(Class<T> type, Class<?>[] interfaces) {
+        ProxyFactory factory = new ProxyFactory();
+        factory.setSuperclass(type);
+        factory.setInterfaces(interfaces);
+        // Classes are cached by this instance, caching them in Javassist as well would only retain them twice
+        factory.setUseCache(false);
+        //noinspection unchecked
+        return new CachedProxyClass<>((Class<? extends T>) factory.createClass());
+    }
+
+    private record ProxyClassKey(Class<?> type, Set<Class<?>> interfaces) {
+    }
+
+    /**
+     * A generated proxy class, which keeps track of its resolved constructors.
+     *
+     * @param <T> the type that is proxied by the class
+     *
+     * @since 0.6.1
+     *
+     * @author Guus Lieben
+     */
+    public static final class CachedProxyClass<T> {
+
+        private final Map<List<Class<?>>, Constructor<? extends T>> constructors = new ConcurrentHashMap<>();
+        private final Class<? extends T> proxyClass;
+
+        private CachedProxyClass(Class<? extends T> proxyClass) {
+            this.proxyClass = proxyClass;
+        }
+
+        /**
+         * Returns the generated proxy class.
+         *
+         * @return the generated proxy class
+         */
+        public Class<? extends T> proxyClass() {
+            return this.proxyClass;
+        }
+
+        /**
+         * Creates a new instance of the proxy class using the constructor with the given parameter types, and binds
+         * the given handler to it.
+         *
+         * @param parameterTypes the parameter types of the constructor to use
+         * @param args the arguments to pass to the constructor
+         * @param methodHandler the handler to bind to the new instance
+         * @return the new proxy instance
+         */
+        public T newInstance(Class<?>[] parameterTypes, Object[] args, MethodHandler methodHandler)
+                throws NoSuchMethodException, InvocationTargetException, InstantiationException, IllegalAccessException {
+            T instance = this.constructor(parameterTypes).newInstance(args);
+            ((Proxy) instance).setHandler(methodHandler);
+            return instance;
+        }
+
+        private Constructor<? extends T> constructor(Class<?>[] parameterTypes) throws NoSuchMethodException {
+            List<Class<?>> key = List.of(parameterTypes);
+            Constructor<? extends T> constructor = this.constructors.get(key);
+            if (constructor == null) {
+                constructor = this.proxyClass.getConstructor(parameterTypes);
+                this.constructors.putIfAbsent(key, constructor);
+            }
+            return constructor;
+        }
+    }
+}
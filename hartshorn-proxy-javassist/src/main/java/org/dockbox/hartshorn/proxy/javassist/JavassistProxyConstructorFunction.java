@@ -23,14 +23,15 @@
 import java.lang.reflect.InvocationTargetException;
 
 import javassist.util.proxy.MethodHandler;
-import javassist.util.proxy.ProxyFactory;
 
 /**
- * A proxy constructor function that uses Javassist to create a proxy instance.
+ * A proxy constructor function that uses Javassist to create a proxy instance. Instances are created from a proxy
+ * class which is shared by all proxies with the same type and interfaces, after which the {@link MethodHandler} of
+ * this function is bound to the new instance.
  *
  * @param <T> the type of the proxy
  *
- * @see ProxyFactory
+ * @see JavassistProxyClassCache
  *
  * @since 0.4.13
  *
@@ -39,19 +40,19 @@
 public class JavassistProxyConstructorFunction<T> implements ProxyConstructorFunction<T> {
 
     private final Class<T> type;
-    private final ProxyFactory factory;
+    private final JavassistProxyClassCache.CachedProxyClass<T> proxyClass;
     private final MethodHandler methodHandler;
 
-    public JavassistProxyConstructorFunction(Class<T> type, ProxyFactory factory, MethodHandler methodHandler) {
+    public JavassistProxyConstructorFunction(Class<T> type, JavassistProxyClassCache.CachedProxyClass<T> proxyClass, MethodHandler methodHandler) {
         this.type = type;
-        this.factory = factory;
+        this.proxyClass = proxyClass;
         this.methodHandler = methodHandler;
     }
 
     @Override
     public T create() throws ApplicationException {
         try {
-            return this.type.cast(this.factory.create(new Class<?>[0], new Object[0], this.methodHandler));
+            return this.type.cast(this.proxyClass.newInstance(new Class<?>[0], new Object[0], this.methodHandler));
         } catch (RuntimeException | InvocationTargetException | NoSuchMethodException | InstantiationException | IllegalAccessException e) {
             throw new ApplicationException(e);
         }
@@ -61,7 +62,7 @@ public T create() throws ApplicationException {
     public T create(Constructor<? extends T> constructor, Object[] args) throws ApplicationException {
         try {
             Class<?>[] parameterTypes = constructor.getParameterTypes();
-            return this.type.cast(this.factory.create(parameterTypes, args, this.methodHandler));
+            return this.type.cast(this.proxyClass.newInstance(parameterTypes, args, this.methodHandler));
         } catch (RuntimeException | InvocationTargetException | NoSuchMethodException | InstantiationException | IllegalAccessException e) {
             throw new ApplicationException(e);
         }
@@ -19,6 +19,8 @@
 import org.dockbox.hartshorn.proxy.JDKInterfaceProxyFactory;
 import org.dockbox.hartshorn.proxy.ProxyConstructorFunction;
 import org.dockbox.hartshorn.proxy.advice.intercept.ProxyMethodInterceptor;
+import org.dockbox.hartshorn.proxy.javassist.JavassistProxyClassCache.CachedProxyClass;
+import org.dockbox.hartshorn.util.ApplicationException;
 
 import javassist.util.proxy.MethodHandler;
 import javassist.util.proxy.ProxyFactory;
@@ -30,6 +32,9 @@
  * proxy class is created by extending the target class, and implementing all interfaces that the
  * target class implements.
  *
+ * <p>Generated proxy classes are shared through the {@link JavassistProxyClassCache} of the orchestrator, so only
+ * the first proxy for a given type and set of interfaces pays for class generation.
+ *
  * @param <T> the type of the proxy
  *
  * @see ProxyFactory
@@ -45,18 +50,28 @@
         ProxyFactory.nameGenerator = classname -> nameGenerator.get(classname);
     }
 
+    private final JavassistProxyClassCache proxyClasses;
+
     public JavassistProxyFactory(Class<T> type, JavassistProxyOrchestrator proxyOrchestrator) {
         super(type, proxyOrchestrator);
+        this.proxyClasses = proxyOrchestrator.proxyClasses();
     }
 
     @Override
-    protected ProxyConstructorFunction<T> concreteOrAbstractEnhancer(ProxyMethodInterceptor<T> interceptor) {
-        ProxyFactory factory = new ProxyFactory();
-        factory.setSuperclass(this.type());
-        factory.setInterfaces(this.proxyInterfaces(false));
+    protected ProxyConstructorFunction<T> concreteOrAbstractEnhancer(ProxyMethodInterceptor<T> interceptor) throws ApplicationException {
+        MethodHandler methodHandler = new JavassistProxyMethodHandler<>(interceptor, this.orchestrator().introspector(), this.methodInvokables());
+        return new JavassistProxyConstructorFunction<>(this.type(), this.proxyClass(), methodHandler);
+    }
 
-        MethodHandler methodHandler = new JavassistProxyMethodHandler<>(interceptor, this.orchestrator().introspector());
-        return new JavassistProxyConstructorFunction<>(this.type(), factory, methodHandler);
+    /**
+     * Returns the proxy class for the type and interfaces of this factory, generating it if it was not generated
+     * before.
+     *
+     * @return the proxy class
+     * @throws ApplicationException if the proxy class could not be generated
+     */
+    protected CachedProxyClass<T> proxyClass() throws ApplicationException {
+        return this.proxyClasses.proxyClass(this.type(), this.proxyInterfaces(false));
     }
 
 }
@@ -16,7 +16,7 @@
 
 package org.dockbox.hartshorn.proxy.javassist;
 
-import org.dockbox.hartshorn.proxy.advice.intercept.MethodInvokable;
+import org.dockbox.hartshorn.proxy.advice.intercept.MethodInvokableCache;
 import org.dockbox.hartshorn.proxy.advice.intercept.ProxyMethodInterceptor;
 import org.dockbox.hartshorn.util.introspect.Introspector;
 
@@ -29,19 +29,28 @@
  *
  * @param interceptor the interceptor to delegate to
  * @param introspector the introspector to use
+ * @param methodInvokables the cache of method invokables to use, typically shared by all proxies of a factory
  * @param <T> the type of the proxy
  *
  * @since 0.4.10
  *
  * @author Guus Lieben
  */
-public record JavassistProxyMethodHandler<T>(ProxyMethodInterceptor<T> interceptor, Introspector introspector) implements MethodHandler {
+public record JavassistProxyMethodHandler<T>(
+        ProxyMethodInterceptor<T> interceptor,
+        Introspector introspector,
+        MethodInvokableCache methodInvokables
+) implements MethodHandler {
+
+    public JavassistProxyMethodHandler(ProxyMethodInterceptor<T> interceptor, Introspector introspector) {
+        this(interceptor, introspector, new MethodInvokableCache(introspector));
+    }
 
     @Override
     public Object invoke(Object self, Method thisMethod, Method proceed, Object[] args) throws Throwable {
         return this.interceptor.intercept(self,
-                new MethodInvokable(thisMethod, this.introspector()),
-                new MethodInvokable(proceed, this.introspector()),
+                this.methodInvokables.invokable(thisMethod),
+                this.methodInvokables.invokable(proceed),
                 args);
     }
 }
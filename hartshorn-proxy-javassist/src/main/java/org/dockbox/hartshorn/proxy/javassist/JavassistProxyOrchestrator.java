@@ -17,12 +17,18 @@
 package org.dockbox.hartshorn.proxy.javassist;
 
 import org.dockbox.hartshorn.proxy.AbstractProxyOrchestrator;
+import org.dockbox.hartshorn.proxy.ProxyClassPreparer;
 import org.dockbox.hartshorn.proxy.lookup.StateAwareProxyFactory;
+import org.dockbox.hartshorn.util.ApplicationException;
 import org.dockbox.hartshorn.util.introspect.Introspector;
 
+import java.lang.reflect.Modifier;
+import java.util.Set;
+
 /**
  * A proxy orchestrator that uses Javassist to create proxies. This adds support for {@link JavassistProxyLookup}s,
- * and uses {@link JavassistProxyFactory} to construct new proxy instances.
+ * and uses {@link JavassistProxyFactory} to construct new proxy instances. Generated proxy classes are shared by all
+ * factories of this orchestrator, and can be {@link #prepareProxyClass(Class, Set) prepared} ahead of time.
  *
  * @see JavassistProxyLookup
  * @see JavassistProxyFactory
@@ -31,7 +37,9 @@
  *
  * @author Guus Lieben
  */
-public class JavassistProxyOrchestrator extends AbstractProxyOrchestrator {
+public class JavassistProxyOrchestrator extends AbstractProxyOrchestrator implements ProxyClassPreparer {
+
+    private final JavassistProxyClassCache proxyClasses = new JavassistProxyClassCache();
 
     public JavassistProxyOrchestrator(Introspector introspector) {
         super(introspector);
@@ -43,4 +51,24 @@ public <T> StateAwareProxyFactory<T> factory(Class<T> type) {
         return new JavassistProxyFactory<>(type, this);
     }
 
+    @Override
+    public boolean prepareProxyClass(Class<?> type, Set<Class<?>> interfaces) throws ApplicationException {
+        // Interfaces are proxied by the JDK, and final types cannot be proxied at all
+        if (type.isInterface() || type.isPrimitive() || type.isArray() || Modifier.isFinal(type.getModifiers())) {
+            return false;
+        }
+        JavassistProxyFactory<?> factory = new JavassistProxyFactory<>(type, this);
+        factory.implement(interfaces.toArray(new Class[0]));
+        factory.proxyClass();
+        return true;
+    }
+
+    /**
+     * Returns the cache of proxy classes that is shared by all factories of this orchestrator.
+     *
+     * @return the cache of proxy classes
+     */
+    public JavassistProxyClassCache proxyClasses() {
+        return this.proxyClasses;
+    }
 }
@@ -16,13 +16,23 @@
 
 package test.org.dockbox.hartshorn.proxy.javassist;
 
+import java.util.Set;
+
+import org.dockbox.hartshorn.proxy.ProxyOrchestrator;
 import org.dockbox.hartshorn.proxy.ProxyOrchestratorLoader;
+import org.dockbox.hartshorn.proxy.javassist.JavassistProxyOrchestrator;
+import org.dockbox.hartshorn.util.ApplicationException;
 import org.dockbox.hartshorn.util.introspect.NativeProxyLookup;
 import org.dockbox.hartshorn.proxy.javassist.JavassistProxyOrchestratorLoader;
 import org.dockbox.hartshorn.util.introspect.Introspector;
 import org.dockbox.hartshorn.util.introspect.annotations.VirtualHierarchyAnnotationLookup;
 import org.dockbox.hartshorn.util.introspect.reflect.ReflectionIntrospector;
 
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import test.org.dockbox.hartshorn.proxy.ConcreteProxy;
+import test.org.dockbox.hartshorn.proxy.InterfaceProxy;
 import test.org.dockbox.hartshorn.proxy.ProxyTests;
 
 public class JavassistProxyTests extends ProxyTests {
@@ -36,4 +46,44 @@ protected ProxyOrchestratorLoader orchestratorLoader() {
     protected Introspector introspector() {
         return new ReflectionIntrospector(new NativeProxyLookup(), new VirtualHierarchyAnnotationLookup());
     }
+
+    @Test
+    void testProxyClassIsSharedBetweenProxiesOfSameType() throws ApplicationException {
+        ProxyOrchestrator orchestrator = this.orchestratorLoader().create(this.introspector());
+        ConcreteProxy first = orchestrator.factory(ConcreteProxy.class).proxy().get();
+        ConcreteProxy second = orchestrator.factory(ConcreteProxy.class).proxy().get();
+
+        Assertions.assertNotSame(first, second);
+        Assertions.assertSame(first.getClass(), second.getClass());
+        Assertions.assertEquals("concrete", second.name());
+    }
+
+    @Test
+    void testProxyClassCanBePrepared() throws ApplicationException {
+        JavassistProxyOrchestrator orchestrator = new JavassistProxyOrchestrator(this.introspector());
+        Assertions.assertTrue(orchestrator.prepareProxyClass(ConcreteProxy.class));
+        Assertions.assertFalse(orchestrator.prepareProxyClass(InterfaceProxy.class));
+
+        ConcreteProxy proxy = orchestrator.factory(ConcreteProxy.class).proxy().get();
+        Class<?> preparedClass = orchestrator.proxyClasses()
+                .proxyClass(ConcreteProxy.class, new Class<?>[] { org.dockbox.hartshorn.proxy.Proxy.class })
+                .proxyClass();
+        Assertions.assertSame(preparedClass, proxy.getClass());
+    }
+
+    @Test
+    void testProxyClassWithInterfacesCanBePrepared() throws ApplicationException {
+        JavassistProxyOrchestrator orchestrator = new JavassistProxyOrchestrator(this.introspector());
+        Assertions.assertTrue(orchestrator.prepareProxyClass(ConcreteProxy.class, Set.of(PreparedInterface.class)));
+
+        ConcreteProxy proxy = orchestrator.factory(ConcreteProxy.class).implement(PreparedInterface.class).proxy().get();
+        Class<?> preparedClass = orchestrator.proxyClasses()
+                .proxyClass(ConcreteProxy.class, new Class<?>[] { org.dockbox.hartshorn.proxy.Proxy.class, PreparedInterface.class })
+                .proxyClass();
+        Assertions.assertSame(preparedClass, proxy.getClass());
+        Assertions.assertTrue(proxy instanceof PreparedInterface);
+    }
+
+    public interface PreparedInterface {
+    }
 }
@@ -19,7 +19,7 @@
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationHandler;
 
-import org.dockbox.hartshorn.proxy.advice.intercept.MethodInvokable;
+import org.dockbox.hartshorn.proxy.advice.intercept.MethodInvokableCache;
 import org.dockbox.hartshorn.proxy.advice.intercept.ProxyAdvisorMethodInterceptor;
 import org.dockbox.hartshorn.proxy.advice.intercept.ProxyMethodInterceptor;
 import org.dockbox.hartshorn.util.ApplicationException;
@@ -42,8 +42,11 @@
  */
 public abstract class JDKInterfaceProxyFactory<T> extends DefaultProxyFactory<T> {
 
+    private final MethodInvokableCache methodInvokables;
+
     protected JDKInterfaceProxyFactory(Class<T> type, ProxyOrchestrator proxyOrchestrator) {
         super(type, proxyOrchestrator);
+        this.methodInvokables = new MethodInvokableCache(proxyOrchestrator.introspector());
     }
 
     @Override
@@ -96,7 +99,17 @@ protected Option<T> createProxy(CheckedFunction<ProxyMethodInterceptor<T>, Optio
      * @return The invocation handler
      */
     protected InvocationHandler invocationHandler(ProxyMethodInterceptor<T> interceptor) {
-        return (self, method, args) -> interceptor.intercept(self, new MethodInvokable(method, this.orchestrator().introspector()), null, args);
+        return (self, method, args) -> interceptor.intercept(self, this.methodInvokables().invokable(method), null, args);
+    }
+
+    /**
+     * Returns the cache of {@link org.dockbox.hartshorn.proxy.advice.intercept.MethodInvokable}s that is shared by
+     * all proxies created by this factory.
+     *
+     * @return The cache of method invokables
+     */
+    protected MethodInvokableCache methodInvokables() {
+        return this.methodInvokables;
     }
 
     /**
@@ -105,8 +118,9 @@ protected InvocationHandler invocationHandler(ProxyMethodInterceptor<T> intercep
      *
      * @param interceptor The interceptor to use
      * @return The constructor function
+     * @throws ApplicationException When the proxy class cannot be created
      */
-    protected abstract ProxyConstructorFunction<T> concreteOrAbstractEnhancer(ProxyMethodInterceptor<T> interceptor);
+    protected abstract ProxyConstructorFunction<T> concreteOrAbstractEnhancer(ProxyMethodInterceptor<T> interceptor) throws ApplicationException;
 
     /**
      * Creates a proxy if the type is a concrete or abstract class. This will attempt to use the default constructor
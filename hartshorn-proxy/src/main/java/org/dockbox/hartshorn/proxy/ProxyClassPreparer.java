@@ -0,0 +1,65 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.proxy;
+
+import java.util.Set;
+
+import org.dockbox.hartshorn.util.ApplicationException;
+
+/**
+ * A component which is able to prepare proxy classes ahead of time, without creating any proxy instances. This is
+ * typically implemented by {@link ProxyOrchestrator}s which generate proxy classes at runtime, to allow applications to
+ * move the cost of class generation to startup rather than the first time a proxy is requested.
+ *
+ * <p>Implementations are expected to be thread-safe, so multiple proxy classes can be prepared in parallel.
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+@FunctionalInterface
+public interface ProxyClassPreparer {
+
+    /**
+     * Prepares the default proxy class for the given type. The default proxy class does not implement any additional
+     * interfaces, so it is only used by factories which do not {@link ProxyFactory#implement(Class[]) implement}
+     * additional interfaces. If the type does not require a generated proxy class, for example because it is an
+     * interface or cannot be proxied at all, this method does nothing.
+     *
+     * @param type the type to prepare a proxy class for
+     * @return {@code true} if a proxy class was prepared, {@code false} otherwise
+     * @throws ApplicationException if the proxy class could not be generated
+     *
+     * @see #prepareProxyClass(Class, Set)
+     */
+    default boolean prepareProxyClass(Class<?> type) throws ApplicationException {
+        return this.prepareProxyClass(type, Set.of());
+    }
+
+    /**
+     * Prepares the proxy class for the given type, which implements the given additional interfaces. The prepared
+     * class is used by factories which {@link ProxyFactory#implement(Class[]) implement} exactly these interfaces. If
+     * the type does not require a generated proxy class, for example because it is an interface or cannot be proxied
+     * at all, this method does nothing.
+     *
+     * @param type the type to prepare a proxy class for
+     * @param interfaces the additional interfaces the proxy class should implement
+     * @return {@code true} if a proxy class was prepared, {@code false} otherwise
+     * @throws ApplicationException if the proxy class could not be generated
+     */
+    boolean prepareProxyClass(Class<?> type, Set<Class<?>> interfaces) throws ApplicationException;
+}
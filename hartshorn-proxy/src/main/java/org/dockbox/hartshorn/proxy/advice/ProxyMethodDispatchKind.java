@@ -0,0 +1,50 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.proxy.advice;
+
+/**
+ * Describes how a non-intercepted method invocation on a proxy should be dispatched. The kind of a method is resolved
+ * once by a {@link ProxyMethodInterceptHandler}, after which invocations of the same method can be dispatched without
+ * repeating the resolution, until the advisors of the proxy are modified.
+ *
+ * @see ReflectionProxyMethodInterceptHandler
+ *
+ * @since 0.6.1
+ * @author Guus Lieben
+ */
+public enum ProxyMethodDispatchKind {
+    /**
+     * The method is {@link Object#equals(Object)}, and is handled by the proxy itself.
+     */
+    EQUALS,
+    /**
+     * The method is {@link Object#hashCode()}, and is handled by the proxy itself.
+     */
+    HASH_CODE,
+    /**
+     * The method is {@link Object#toString()}, and is handled by the proxy itself.
+     */
+    TO_STRING,
+    /**
+     * The method has a configured delegate, which is used to invoke the method.
+     */
+    DELEGATE,
+    /**
+     * The method has no configured delegate, and is invoked on the real (or proxied) target.
+     */
+    REAL
+}
@@ -23,16 +23,28 @@
 import org.dockbox.hartshorn.proxy.advice.intercept.MethodInterceptor;
 import org.dockbox.hartshorn.proxy.advice.intercept.MethodInvokable;
 import org.dockbox.hartshorn.proxy.advice.intercept.ProxyMethodInterceptor;
+import org.dockbox.hartshorn.proxy.advice.registry.AdvisorRegistryState;
+import org.dockbox.hartshorn.proxy.advice.registry.StateAwareAdvisorRegistry;
 import org.dockbox.hartshorn.util.TypeUtils;
 import org.dockbox.hartshorn.util.introspect.view.MethodView;
 import org.dockbox.hartshorn.util.option.Option;
 
 import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Standard implementation of {@link ProxyMethodInterceptHandler} that uses reflection to invoke methods on the target
  * instance. Certain optimizations may be applied to improve performance, such as caching of {@link MethodHandle}s.
  *
+ * <p>Non-intercepted invocations are dispatched based on the {@link ProxyMethodDispatchKind} of the invoked method.
+ * The kind and delegate of a method are resolved once per handler, and are reused for all later invocations of the
+ * same method. If the advisors of the proxy are {@link StateAwareAdvisorRegistry state-aware}, each entry records the
+ * {@link AdvisorRegistryState#version() version} of the registry it was resolved from, and is only resolved again
+ * if the registry was modified since. Delegates which are configured after a method was first invoked are therefore
+ * still observed, without looking up the advisor of the method on every invocation.
+ *
  * @param <T> the type of the target instance
  *
  * @since 0.5.0
@@ -42,26 +54,29 @@
 
     private final ProxyMethodInvoker<T> methodInvoker;
     private final ProxyManager<T> manager;
+    private final AdvisorRegistryState advisorState;
+    private final Map<Method, MethodDispatch> dispatchTable = new ConcurrentHashMap<>();
 
     public ReflectionProxyMethodInterceptHandler(ProxyMethodInterceptor<T> interceptor) {
         this.methodInvoker = new ReflectionProxyMethodInvoker<>(interceptor);
         this.manager = interceptor.manager();
+        this.advisorState = this.manager.advisor().resolver() instanceof StateAwareAdvisorRegistry<T> registry
+                ? registry.state()
+                : null;
     }
 
     @Override
     public Object handleNonInterceptedMethod(T self, MethodInvokable source, Invokable proxy, T callbackTarget, Object[] arguments) throws Throwable {
-        Option<?> delegate = this.manager()
-                .advisor()
-                .resolver()
-                .method(source.toMethod())
-                .delegate();
-
-        if (delegate.present()) {
-            return this.handleDelegateMethod(delegate.get(), callbackTarget, source, arguments);
-        }
-        else {
-            return this.handleNonDelegateMethod(self, callbackTarget, source, proxy, arguments);
-        }
+        MethodDispatch dispatch = this.dispatch(source);
+        // Object methods are represented by the callback target if the method is delegated, and by the proxy itself otherwise
+        T representedInstance = dispatch.delegate() != null ? callbackTarget : self;
+        return switch (dispatch.kind()) {
+            case EQUALS -> this.proxyEquals(arguments[0]);
+            case HASH_CODE -> this.proxyHashCode(representedInstance);
+            case TO_STRING -> this.proxyToString(representedInstance);
+            case DELEGATE -> this.handleDelegateMethod(dispatch.delegate(), callbackTarget, source, arguments);
+            case REAL -> this.handleNonDelegateMethod(self, callbackTarget, source, proxy, arguments);
+        };
     }
 
     @Override
@@ -80,11 +95,6 @@ public ProxyMethodInvoker<T> methodInvoker() {
     }
 
     protected Object handleDelegateMethod(Object delegate, T self, Invokable source, Object[] args) throws Throwable {
-        Option<Object> defaultMethod = this.tryInvokeDefaultMethod(self, source, args);
-        if (defaultMethod.present()) {
-            return defaultMethod.get();
-        }
-
         Object result = source.invoke(delegate, args);
         if (result == delegate) {
             return self;
@@ -93,11 +103,6 @@ protected Object handleDelegateMethod(Object delegate, T self, Invokable source,
     }
 
     protected Object handleNonDelegateMethod(T self, T callbackTarget, Invokable source, Invokable proxy, Object[] args) throws Throwable {
-        Option<Object> defaultMethod = this.tryInvokeDefaultMethod(self, source, args);
-        if (defaultMethod.present()) {
-            return defaultMethod.get();
-        }
-
         Object result;
         if (callbackTarget == self && proxy != null) {
             result = proxy.invoke(callbackTarget, args);
@@ -117,25 +122,106 @@ protected Object handleNonDelegateMethod(T self, T callbackTarget, Invokable sou
      * @param target the method that is invoked
      * @param args the arguments that are passed to the method
      * @return the result of the invocation, if the method is a default method
+     *
+     * @deprecated default methods are resolved once per method through {@link #resolveDispatchKind(Invokable)}, and
+     * are no longer attempted on each invocation. This method is no longer used by this handler.
      */
+    @Deprecated(since = "0.6.1", forRemoval = true)
     protected Option<Object> tryInvokeDefaultMethod(T self, Invokable target, Object[] args) {
-        return Option.of(() -> {
-            if (this.isEqualsMethod(target)){
-                return this.proxyEquals(args[0]);
-            }
-            if (this.isToStringMethod(target)) {
-                return this.proxyToString(self);
-            }
-            if (this.isHashCodeMethod(target)) {
-                return this.proxyHashCode(self);
-            }
-
-            throw new UnsupportedOperationException("Unsupported default method: " + target.qualifiedName());
-        });
+        return switch (this.resolveDispatchKind(target)) {
+            case EQUALS -> Option.of(this.proxyEquals(args[0]));
+            case HASH_CODE -> Option.of(this.proxyHashCode(self));
+            case TO_STRING -> Option.of(this.proxyToString(self));
+            default -> Option.empty();
+        };
+    }
+
+    /**
+     * Returns the dispatch information for the given method. If the method has not been invoked on this handler
+     * before, or if the advisors of the proxy were modified since it was resolved, the dispatch information is
+     * resolved and stored for later invocations.
+     *
+     * @param source the method that is invoked
+     * @return the dispatch information for the method
+     */
+    protected MethodDispatch dispatch(MethodInvokable source) {
+        Method method = source.toMethod();
+        if (this.advisorState == null) {
+            // Changes to the advisors cannot be observed, so the delegate needs to be resolved on each invocation
+            return this.resolveDispatch(source, method, -1);
+        }
+        // Read the version before resolving, so modifications during resolution cause the entry to be resolved again
+        long version = this.advisorState.version();
+        MethodDispatch dispatch = this.dispatchTable.get(method);
+        if (dispatch == null || dispatch.version() != version) {
+            dispatch = this.resolveDispatch(source, method, version);
+            this.dispatchTable.put(method, dispatch);
+        }
+        return dispatch;
+    }
+
+    /**
+     * Resolves how the given method should be dispatched. Default {@link Object} methods always delegate to the
+     * respective methods in {@link ProxyObject}, see {@link #resolveDispatchKind(Invokable)}. Other methods are
+     * dispatched to their delegate if one is configured, or to the real target otherwise.
+     *
+     * @param source the method that is invoked
+     * @param method the method that is invoked, as a {@link Method}
+     * @param version the version of the advisor registry the dispatch information is resolved from
+     * @return the dispatch information for the method
+     */
+    protected MethodDispatch resolveDispatch(Invokable source, Method method, long version) {
+        Object delegate = this.manager()
+                .advisor()
+                .resolver()
+                .method(method)
+                .delegate()
+                .orNull();
+
+        ProxyMethodDispatchKind kind = this.resolveDispatchKind(source);
+        if (kind == ProxyMethodDispatchKind.REAL && delegate != null) {
+            kind = ProxyMethodDispatchKind.DELEGATE;
+        }
+        return new MethodDispatch(kind, delegate, version);
+    }
+
+    /**
+     * Resolves how the given method should be dispatched, regardless of its delegate. Default {@link Object} methods,
+     * such as {@link Object#equals(Object)}, {@link Object#hashCode()} and {@link Object#toString()}, always delegate
+     * to the respective methods in {@link ProxyObject} to allow for custom implementations. Other methods resolve to
+     * {@link ProxyMethodDispatchKind#REAL}.
+     *
+     * @param source the method that is invoked
+     * @return the kind of dispatch to perform, if the method has no delegate
+     */
+    protected ProxyMethodDispatchKind resolveDispatchKind(Invokable source) {
+        if (this.isEqualsMethod(source)) {
+            return ProxyMethodDispatchKind.EQUALS;
+        }
+        else if (this.isHashCodeMethod(source)) {
+            return ProxyMethodDispatchKind.HASH_CODE;
+        }
+        else if (this.isToStringMethod(source)) {
+            return ProxyMethodDispatchKind.TO_STRING;
+        }
+        return ProxyMethodDispatchKind.REAL;
     }
 
     @Override
     public ProxyManager<T> manager() {
         return this.manager;
     }
+
+    /**
+     * Dispatch information for a single method, as resolved by {@link #resolveDispatch(Invokable, Method, long)}.
+     *
+     * @param kind the kind of dispatch to perform
+     * @param delegate the delegate configured for the method, or {@code null} if no delegate is configured
+     * @param version the version of the advisor registry the information was resolved from
+     *
+     * @since 0.6.1
+     * @author Guus Lieben
+     */
+    protected record MethodDispatch(ProxyMethodDispatchKind kind, Object delegate, long version) {
+    }
 }
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.proxy.advice.intercept;
+
+import org.dockbox.hartshorn.util.introspect.Introspector;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A cache of {@link MethodInvokable}s, keyed by the {@link Method} they represent. This allows proxy method handlers
+ * to reuse the same {@link MethodInvokable} for every invocation of a method, rather than creating a new instance for
+ * each invocation.
+ *
+ * <p>As {@link MethodInvokable}s do not hold any state beyond the method and introspector, a single cache can safely
+ * be shared between all proxies created by the same factory.
+ *
+ * @since 0.6.1
+ * @author Guus Lieben
+ */
+public class MethodInvokableCache {
+
+    private final Map<Method, MethodInvokable> invokables = new ConcurrentHashMap<>();
+    private final Function<Method, MethodInvokable> invokableFactory;
+    private final MethodInvokable absentInvokable;
+
+    public MethodInvokableCache(Introspector introspector) {
+        this.invokableFactory = method -> new MethodInvokable(method, introspector);
+        this.absentInvokable = new MethodInvokable(null, introspector);
+    }
+
+    /**
+     * Returns the {@link MethodInvokable} for the given method. If the method is {@code null}, a shared invokable
+     * which represents an absent method is returned.
+     *
+     * @param method the method to get the invokable for
+     * @return the invokable for the method
+     */
+    public MethodInvokable invokable(Method method) {
+        if (method == null) {
+            return this.absentInvokable;
+        }
+        MethodInvokable invokable = this.invokables.get(method);
+        if (invokable == null) {
+            invokable = this.invokables.computeIfAbsent(method, this.invokableFactory);
+        }
+        return invokable;
+    }
+}
@@ -19,6 +19,7 @@
 import org.dockbox.hartshorn.proxy.ProxyOrchestrator;
 import org.dockbox.hartshorn.proxy.ProxyManager;
 import org.dockbox.hartshorn.proxy.advice.IntrospectionProxyResultValidator;
+import org.dockbox.hartshorn.proxy.advice.MethodAdvisorResolver;
 import org.dockbox.hartshorn.proxy.advice.ProxyMethodInterceptHandler;
 import org.dockbox.hartshorn.proxy.advice.ProxyMethodInvoker;
 import org.dockbox.hartshorn.proxy.advice.ProxyResultValidator;
@@ -29,8 +30,14 @@
 import org.dockbox.hartshorn.util.TypeUtils;
 import org.dockbox.hartshorn.util.introspect.Introspector;
 import org.dockbox.hartshorn.util.introspect.util.ParameterLoader;
+import org.dockbox.hartshorn.util.introspect.util.ParameterLoaderRule;
 import org.dockbox.hartshorn.util.introspect.view.MethodView;
-import org.dockbox.hartshorn.util.option.Option;
+import org.dockbox.hartshorn.util.introspect.view.ParameterView;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The default method interceptor used by the {@link org.dockbox.hartshorn.proxy.JDKInterfaceProxyFactory}. This
@@ -42,6 +49,12 @@
  * on the target instance. The actual invocation is delegated to the {@link ProxyMethodInterceptHandler}, which will
  * typically handle the invocation using configured advisors in its {@link ProxyMethodInvoker}.
  *
+ * <p>The requirements of a method are resolved once, when the method is first invoked through this interceptor. The
+ * resulting {@link MethodInvocationPlan} is reused for all later invocations of the same method, so steady-state
+ * invocations do not need to look up the advisors of the method, or load parameters and validate results for methods
+ * that do not require it. The plan retains the (live) advisor of the method rather than its interceptor and wrappers,
+ * so advisors which are configured after the method was first invoked are still applied.
+ *
  * @param <T> the type of the target instance
  *
  * @since 0.5.0
@@ -50,13 +63,16 @@
 @SuppressWarnings("ProhibitedExceptionDeclared")
 public class ProxyAdvisorMethodInterceptor<T> implements ProxyMethodInterceptor<T> {
 
+    private static final Object[] EMPTY_ARGUMENTS = new Object[0];
+
     private final ProxyManager<T> manager;
     private final Introspector introspector;
     private final ProxyMethodInvoker<T> methodInvoker;
     private final ProxyResultValidator resultValidator;
     private final ProxyMethodInterceptHandler<T> interceptHandler;
     private final ProxyOrchestrator proxyOrchestrator;
-    private final ParameterLoader parameterLoader = new UnproxyingParameterLoader();
+    private final UnproxyingParameterLoader parameterLoader = new UnproxyingParameterLoader();
+    private final Map<Method, MethodInvocationPlan<T>> invocationPlans = new ConcurrentHashMap<>();
 
     public ProxyAdvisorMethodInterceptor(ProxyManager<T> manager, ProxyOrchestrator proxyOrchestrator) {
         this.manager = manager;
@@ -76,36 +92,129 @@ public ProxyManager<T> manager() {
     public Object intercept(Object self, MethodInvokable source, Invokable proxy, Object[] args) throws Throwable {
         T instance = this.manager().targetClass().cast(self);
         T callbackTarget = this.manager().delegate().orElse(instance);
-        MethodView<T, ?> methodView = TypeUtils.unchecked(source.toIntrospector(), MethodView.class);
+        MethodInvocationPlan<T> plan = this.invocationPlan(instance, source, proxy);
+
+        Object[] arguments = plan.loadsParameters()
+                ? this.resolveArgs(source, self, args)
+                : args == null ? EMPTY_ARGUMENTS : args;
+
+        Object result = this.interceptAndNotify(plan, instance, source, proxy, callbackTarget, arguments);
+        return this.validateResult(plan, source, result);
+    }
+
+    protected Object interceptAndNotify(MethodInvocationPlan<T> plan, T self, MethodInvokable source, Invokable proxy,
+                                        T callbackTarget, Object[] arguments) throws Throwable {
+        // Without wrappers, no callback context is needed
+        if (plan.advisor().wrappers().isEmpty()) {
+            return this.interceptOrDelegate(plan, self, source, proxy, callbackTarget, arguments);
+        }
+        ProxyCallbackContext<T> callbackContext = new ProxyCallbackContext<>(callbackTarget, TypeUtils.unchecked(self, Object.class), plan.method(), arguments);
+        return this.manager().advisor().safeWrapIntercept(callbackContext,
+                () -> this.interceptOrDelegate(plan, self, source, proxy, callbackTarget, arguments));
+    }
 
-        CustomInvocation<?> customInvocation = this.createDefaultInvocation(source, proxy, callbackTarget);
-        Object[] arguments = this.resolveArgs(source, self, args);
+    protected Object interceptOrDelegate(MethodInvocationPlan<T> plan, T self, MethodInvokable source, Invokable proxy,
+                                         T callbackTarget, Object[] arguments) throws Throwable {
+        MethodInterceptor<T, Object> interceptor = plan.advisor().interceptor().orNull();
+        if (interceptor != null) {
+            CustomInvocation<?> customInvocation = plan.isDefaultInvocationFor(self, proxy)
+                    ? plan.defaultInvocation()
+                    : this.createDefaultInvocation(source, proxy, self);
+            return this.interceptHandler.handleInterceptedMethod(source, callbackTarget, customInvocation, arguments, interceptor);
+        }
+        else {
+            return this.interceptHandler.handleNonInterceptedMethod(self, source, proxy, callbackTarget, arguments);
+        }
+    }
 
-        Object result = this.interceptAndNotify(instance, source, proxy, callbackTarget, methodView, customInvocation, arguments);
+    /**
+     * Validates the result of the invocation of the given method. Results which are trivially valid, such as results
+     * of {@code void} methods or results which are an instance of the method's (non-primitive) return type, are
+     * handled directly. Other results are validated by the configured {@link ProxyResultValidator}.
+     *
+     * @param plan the invocation plan of the invoked method
+     * @param source the method that was invoked
+     * @param result the result of the invocation
+     * @return the validated result
+     */
+    protected Object validateResult(MethodInvocationPlan<T> plan, MethodInvokable source, Object result) {
+        Class<?> returnType = plan.returnType();
+        if (returnType == void.class) {
+            return null;
+        }
+        if (!returnType.isPrimitive() && (result == null || returnType.isInstance(result))) {
+            return result;
+        }
         return this.resultValidator.validateResult(source, result);
     }
 
-    protected Object interceptAndNotify(T self, MethodInvokable source, Invokable proxy, T callbackTarget,
-                                      MethodView<T, ?> methodView, CustomInvocation<?> customInvocation,
-                                      Object[] arguments) throws Throwable {
+    /**
+     * Returns the {@link MethodInvocationPlan} for the given method. If the method has not been invoked through this
+     * interceptor before, its advisor and invocation requirements are resolved and stored for later invocations.
+     *
+     * @param self the proxy instance on which the method is invoked
+     * @param source the method that is invoked
+     * @param proxy the original implementation of the method, or {@code null} if there is none
+     * @return the invocation plan of the method
+     */
+    protected MethodInvocationPlan<T> invocationPlan(T self, MethodInvokable source, Invokable proxy) {
+        MethodInvocationPlan<T> plan = this.invocationPlans.get(source.toMethod());
+        if (plan == null) {
+            plan = this.invocationPlans.computeIfAbsent(source.toMethod(), method -> this.createInvocationPlan(self, source, proxy, method));
+        }
+        return plan;
+    }
 
-        ProxyCallbackContext<T> callbackContext = new ProxyCallbackContext<>(callbackTarget, TypeUtils.unchecked(self, Object.class), methodView, arguments);
-        return this.manager().advisor().safeWrapIntercept(callbackContext, () -> {
-            Option<MethodInterceptor<T, Object>> interceptor = this.manager()
-                    .advisor()
-                    .resolver()
-                    .method(source.toMethod())
-                    .interceptor();
+    protected MethodInvocationPlan<T> createInvocationPlan(T self, MethodInvokable source, Invokable proxy, Method method) {
+        MethodView<T, ?> methodView = TypeUtils.unchecked(source.toIntrospector(), MethodView.class);
+        MethodAdvisorResolver<T, Object> advisor = this.manager().advisor().resolver().method(method);
 
-            if (interceptor.present()) {
-                return this.interceptHandler.handleInterceptedMethod(source, callbackTarget, customInvocation, arguments, interceptor.get());
-            }
-            else {
-                return this.interceptHandler.handleNonInterceptedMethod(self, source, proxy, callbackTarget, arguments);
+        return new MethodInvocationPlan<>(
+                methodView,
+                advisor,
+                this.requiresParameterLoading(methodView),
+                method.getReturnType(),
+                self,
+                proxy,
+                this.createDefaultInvocation(source, proxy, self)
+        );
+    }
+
+    /**
+     * Returns whether the arguments of the given method need to be loaded through the configured {@link #parameterLoader()}.
+     * Loading can only be skipped for the default {@link UnproxyingParameterLoader} of this interceptor, as its rules only
+     * depend on the declaration of the method and its parameters. Custom loaders may depend on the actual arguments or
+     * proxy instance, so they are always used to load the arguments of a method.
+     *
+     * @param methodView the method that is invoked
+     * @return {@code true} if arguments need to be loaded, {@code false} otherwise
+     */
+    protected boolean requiresParameterLoading(MethodView<T, ?> methodView) {
+        if (this.parameterLoader() != this.parameterLoader) {
+            return true;
+        }
+        // The rules of the default loader never inspect the context or arguments, so no context is needed
+        List<ParameterView<?>> parameters = methodView.parameters().all();
+        for (ParameterLoaderRule<ProxyParameterLoaderContext> rule : this.parameterLoader.rules()) {
+            for (int i = 0; i < parameters.size(); i++) {
+                if (rule.accepts(parameters.get(i), i, null)) {
+                    return true;
+                }
             }
-        });
+        }
+        return false;
     }
 
+    /**
+     * Creates the {@link CustomInvocation} which invokes the given method on the delegate of the proxy, if one is
+     * configured, or on the original implementation of the method otherwise. The delegate is looked up on each call,
+     * so the invocation remains valid if the delegate changes, and can be reused for all invocations of the method.
+     *
+     * @param source the method that is invoked
+     * @param proxy the original implementation of the method, or {@code null} if there is none
+     * @param callbackTarget the instance on which the original implementation is invoked
+     * @return the default invocation of the method
+     */
     protected CustomInvocation<?> createDefaultInvocation(Invokable source, Invokable proxy, T callbackTarget) {
         return interceptorArgs -> {
             if (this.manager().delegate().present()) {
@@ -127,4 +236,46 @@ protected Object[] resolveArgs(MethodInvokable method, Object instance, Object[]
     protected ParameterLoader parameterLoader() {
         return this.parameterLoader;
     }
+
+    /**
+     * Immutable representation of the advisor and invocation requirements of a single method, as resolved by
+     * {@link #createInvocationPlan(Object, MethodInvokable, Invokable, Method)}. The advisor is a live view, so the
+     * interceptor and wrappers of the method are resolved through it on each invocation. The other requirements only
+     * depend on the method itself, and never change.
+     *
+     * @param method the introspected method
+     * @param advisor the advisor of the method
+     * @param loadsParameters whether the arguments of the method need to be loaded by the parameter loader
+     * @param returnType the return type of the method
+     * @param instance the proxy instance for which the default invocation was created
+     * @param proxy the original implementation of the method for which the default invocation was created
+     * @param defaultInvocation the default invocation of the method, used when the method is intercepted
+     * @param <T> the type of the proxy instance
+     *
+     * @since 0.6.1
+     * @author Guus Lieben
+     */
+    protected record MethodInvocationPlan<T>(
+            MethodView<T, ?> method,
+            MethodAdvisorResolver<T, Object> advisor,
+            boolean loadsParameters,
+            Class<?> returnType,
+            T instance,
+            Invokable proxy,
+            CustomInvocation<?> defaultInvocation
+    ) {
+
+        /**
+         * Returns whether the {@link #defaultInvocation()} of this plan can be used for an invocation on the given
+         * proxy instance and original implementation. Interceptors are bound to a single proxy instance, so this is
+         * typically always the case.
+         *
+         * @param instance the proxy instance on which the method is invoked
+         * @param proxy the original implementation of the method
+         * @return {@code true} if the default invocation can be reused, {@code false} otherwise
+         */
+        public boolean isDefaultInvocationFor(T instance, Invokable proxy) {
+            return this.instance == instance && this.proxy == proxy;
+        }
+    }
 }
@@ -49,4 +49,21 @@ public interface AdvisorRegistryState {
      */
     void modify();
 
+    /**
+     * Returns the number of modifications of the registry since its creation. Unlike {@link #modified()}, this is
+     * always tracked, regardless of {@link #trackState(boolean)}. This allows components to cache information which
+     * is resolved from the registry, and to detect when that information needs to be resolved again.
+     *
+     * <p>The default implementation always returns {@code 0}, so the registry never appears to have changed and
+     * information resolved from it is never resolved again. Implementations of which the registry can be modified
+     * after it is first used should override this method.
+     *
+     * @return the number of modifications of the registry
+     *
+     * @since 0.6.1
+     */
+    default long version() {
+        return 0;
+    }
+
 }
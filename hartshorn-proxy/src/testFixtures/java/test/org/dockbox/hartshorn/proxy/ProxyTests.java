@@ -163,6 +163,120 @@ void testMethodsCanBeDelegated(Class<? extends InterfaceProxy> proxyType) throws
         Assertions.assertEquals("concrete", proxyInstance.name());
     }
 
+    @Test
+    void testDelegateConfiguredAfterFirstInvocationIsUsed() throws ApplicationException, NoSuchMethodException {
+        ProxyFactory<ConcreteProxy> factory = this.orchestratorLoader().create(this.introspector()).factory(ConcreteProxy.class);
+        Option<ConcreteProxy> proxy = factory.proxy();
+        Assertions.assertTrue(proxy.present());
+
+        ConcreteProxy proxyInstance = proxy.get();
+        Assertions.assertEquals("concrete", proxyInstance.name());
+
+        factory.advisors().method(ConcreteProxy.class.getMethod("name")).delegate(new ConcreteProxy() {
+            @Override
+            public String name() {
+                return "delegate";
+            }
+        });
+        Assertions.assertEquals("delegate", proxyInstance.name());
+    }
+
+    @Test
+    void testInterceptorConfiguredAfterFirstInvocationIsUsed() throws ApplicationException, NoSuchMethodException {
+        ProxyFactory<ConcreteProxy> factory = this.orchestratorLoader().create(this.introspector()).factory(ConcreteProxy.class);
+        Option<ConcreteProxy> proxy = factory.proxy();
+        Assertions.assertTrue(proxy.present());
+
+        ConcreteProxy proxyInstance = proxy.get();
+        Assertions.assertEquals("concrete", proxyInstance.name());
+
+        factory.advisors().method(ConcreteProxy.class.getMethod("name")).intercept(context -> "intercepted");
+        Assertions.assertEquals("intercepted", proxyInstance.name());
+    }
+
+    @Test
+    void testWrapperConfiguredAfterFirstInvocationIsUsed() throws ApplicationException, NoSuchMethodException {
+        ProxyFactory<ConcreteProxy> factory = this.orchestratorLoader().create(this.introspector()).factory(ConcreteProxy.class);
+        Option<ConcreteProxy> proxy = factory.proxy();
+        Assertions.assertTrue(proxy.present());
+
+        // No wrappers are configured yet, so the method is invoked without a callback context
+        ConcreteProxy proxyInstance = proxy.get();
+        Assertions.assertEquals("concrete", proxyInstance.name());
+
+        AtomicInteger count = new AtomicInteger();
+        factory.advisors().method(ConcreteProxy.class.getMethod("name")).wrapAround(MethodWrapper.of(context -> count.incrementAndGet(), null, null));
+        Assertions.assertEquals("concrete", proxyInstance.name());
+        Assertions.assertEquals(1, count.get());
+    }
+
+    @Test
+    void testDefaultInvocationUsesDelegateConfiguredAfterFirstInvocation() throws ApplicationException, NoSuchMethodException {
+        ProxyFactory<ConcreteProxy> factory = this.orchestratorLoader().create(this.introspector()).factory(ConcreteProxy.class);
+        factory.advisors().method(ConcreteProxy.class.getMethod("name")).intercept(context -> context.invokeDefault() + "!");
+        Option<ConcreteProxy> proxy = factory.proxy();
+        Assertions.assertTrue(proxy.present());
+
+        ConcreteProxy proxyInstance = proxy.get();
+        Assertions.assertEquals("concrete!", proxyInstance.name());
+        Assertions.assertEquals("concrete!", proxyInstance.name());
+
+        factory.advisors().type().delegate(new ConcreteProxy() {
+            @Override
+            public String name() {
+                return "delegate";
+            }
+        });
+        Assertions.assertEquals("delegate!", proxyInstance.name());
+    }
+
+    @Test
+    void testInterceptedMethodReceivesUnproxiedArguments() throws ApplicationException, NoSuchMethodException {
+        EqualProxy delegate = new EqualProxy();
+        ProxyFactory<EqualProxy> factory = this.orchestratorLoader().create(this.introspector()).factory(EqualProxy.class);
+        factory.advisors().type().delegate(delegate);
+        factory.advisors().method(EqualProxy.class.getMethod("test", EqualProxy.class)).intercept(context -> context.args()[0] == delegate);
+        Option<EqualProxy> proxy = factory.proxy();
+        Assertions.assertTrue(proxy.present());
+
+        EqualProxy proxyInstance = proxy.get();
+        Assertions.assertTrue(proxyInstance.test(proxyInstance));
+    }
+
+    @Test
+    void testReplacedDelegateIsUsed() throws ApplicationException, NoSuchMethodException {
+        ProxyFactory<ConcreteProxy> factory = this.orchestratorLoader().create(this.introspector()).factory(ConcreteProxy.class);
+        Method name = ConcreteProxy.class.getMethod("name");
+        factory.advisors().method(name).delegate(new ConcreteProxy() {
+            @Override
+            public String name() {
+                return "first";
+            }
+        });
+        ConcreteProxy proxyInstance = factory.proxy().get();
+        Assertions.assertEquals("first", proxyInstance.name());
+
+        factory.advisors().method(name).delegate(new ConcreteProxy() {
+            @Override
+            public String name() {
+                return "second";
+            }
+        });
+        Assertions.assertEquals("second", proxyInstance.name());
+    }
+
+    @Test
+    void testAdvisorRegistryVersionIsTrackedWithoutStateTracking() throws NoSuchMethodException {
+        StateAwareProxyFactory<ConcreteProxy> factory = this.orchestratorLoader().create(this.introspector()).factory(ConcreteProxy.class);
+        factory.trackState(false);
+        long version = factory.advisors().state().version();
+
+        factory.advisors().method(ConcreteProxy.class.getMethod("name")).intercept(context -> "intercepted");
+
+        Assertions.assertFalse(factory.modified());
+        Assertions.assertTrue(factory.advisors().state().version() > version);
+    }
+
     @Test
     void testTypesCanBeDelegated() throws ApplicationException {
         // Use a custom interface for this type of delegation, as the other proxy types override methods from their parent
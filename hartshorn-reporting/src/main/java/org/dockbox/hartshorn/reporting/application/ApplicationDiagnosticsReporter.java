@@ -45,6 +45,7 @@
  *     <li>Application properties</li>
  *     <li>Service activators</li>
  *     <li>Observers</li>
+ *     <li>Annotated types, as indexed by the environment's type resolver</li>
  *     <li>Application-level contexts</li>
  * </ul>
  *
@@ -86,6 +87,9 @@ public void report(DiagnosticsPropertyCollector collector) {
         if (this.configuration.includeObservers()) {
             this.reportObservers(collector);
         }
+        if (this.configuration.includeTypeIndex()) {
+            this.reportTypeIndex(collector);
+        }
         if (this.configuration.includeContexts()) {
             this.reportContexts(collector);
         }
@@ -150,6 +154,19 @@ protected void reportObservers(DiagnosticsPropertyCollector collector) {
         }
     }
 
+    /**
+     * Reports the annotated types which are known to the {@link ApplicationEnvironment#typeResolver() type resolver} of
+     * the application environment. This typically includes the number of indexed and resolved types per annotation. If
+     * the type resolver is not {@link Reportable}, nothing is reported.
+     *
+     * @param collector the collector to write to
+     */
+    protected void reportTypeIndex(DiagnosticsPropertyCollector collector) {
+        if (this.applicationContext.environment().typeResolver() instanceof Reportable reportable) {
+            collector.property("types").writeDelegate(reportable);
+        }
+    }
+
     /**
      * Reports all application-level contexts that are registered with the application context. Contexts are reported
      * by their class name. If a context is an instance of {@link Reportable}, its data is also reported. If a context
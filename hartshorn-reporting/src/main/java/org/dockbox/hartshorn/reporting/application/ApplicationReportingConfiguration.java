@@ -32,6 +32,7 @@ public class ApplicationReportingConfiguration {
     private boolean includeServiceActivators = true;
     private boolean includeObservers = true;
     private boolean includeContexts = true;
+    private boolean includeTypeIndex = true;
 
     /**
      * Returns {@code true} if the version of the application should be included in the diagnostics report.
@@ -158,4 +159,25 @@ public ApplicationReportingConfiguration includeContexts(boolean includeContexts
         this.includeContexts = includeContexts;
         return this;
     }
+
+    /**
+     * Returns {@code true} if the annotated types of the environment should be included in the diagnostics report.
+     *
+     * @return {@code true} if the annotated types of the environment should be included in the diagnostics report.
+     */
+    public boolean includeTypeIndex() {
+        return this.includeTypeIndex;
+    }
+
+    /**
+     * Configures if the annotated types of the environment should be included in the diagnostics report.
+     *
+     * @param includeTypeIndex {@code true} if the annotated types of the environment should be included in the diagnostics report.
+     *
+     * @return this, for chaining.
+     */
+    public ApplicationReportingConfiguration includeTypeIndex(boolean includeTypeIndex) {
+        this.includeTypeIndex = includeTypeIndex;
+        return this;
+    }
 }
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.util.collections;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A concurrent map of which the keys are only weakly referenced, similar to a synchronized {@link java.util.WeakHashMap}.
+ * Once a key is no longer strongly reachable, its entry is removed from the map. Like {@link java.util.WeakHashMap}, keys
+ * are compared using {@link Object#equals(Object)}, and only the first key that was stored for an entry is referenced.
+ *
+ * <p>Lookups do not acquire any locks. Entries are only created while holding a lock on this map, so the mapping
+ * function of {@link #computeIfAbsent(Object, Function)} is invoked at most once for equal keys. The lock is re-entrant,
+ * so the mapping function may access this map.
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public class ConcurrentWeakKeyMap<K, V> {
+
+    private final Map<KeyReference<K>, V> entries = new ConcurrentHashMap<>();
+    private final ReferenceQueue<K> queue = new ReferenceQueue<>();
+
+    /**
+     * Returns the value that is associated with the given key, or {@code null} if no value is associated with it.
+     *
+     * @param key the key to look up
+     * @return the associated value, or {@code null}
+     */
+    public V get(K key) {
+        this.expungeStaleEntries();
+        return this.entries.get(new LookupKey<>(key));
+    }
+
+    /**
+     * Returns the value that is associated with the given key. If no value is associated with the key yet, the given
+     * function is used to create a value, which is then associated with the key.
+     *
+     * @param key the key to look up
+     * @param mappingFunction the function to create a value if none is associated with the key
+     * @return the associated value
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        V value = this.get(key);
+        if (value != null) {
+            return value;
+        }
+        synchronized (this.entries) {
+            value = this.entries.get(new LookupKey<>(key));
+            if (value == null) {
+                value = mappingFunction.apply(key);
+                if (value != null) {
+                    this.entries.put(new WeakKey<>(key, this.queue), value);
+                }
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Returns a snapshot of all values of which the key is still reachable.
+     *
+     * @return the values in this map
+     */
+    public Collection<V> values() {
+        this.expungeStaleEntries();
+        return List.copyOf(this.entries.values());
+    }
+
+    /**
+     * Returns the number of entries of which the key is still reachable.
+     *
+     * @return the number of entries in this map
+     */
+    public int size() {
+        this.expungeStaleEntries();
+        return this.entries.size();
+    }
+
+    private void expungeStaleEntries() {
+        Reference<? extends K> reference;
+        while ((reference = this.queue.poll()) != null) {
+            // Cleared keys are only equal to themselves, so this removes exactly the stale entry
+            this.entries.remove(reference);
+        }
+    }
+
+    private interface KeyReference<K> {
+        K referent();
+    }
+
+    private static boolean keysEqual(KeyReference<?> key, Object other) {
+        if (key == other) {
+            return true;
+        }
+        if (!(other instanceof KeyReference<?> otherKey)) {
+            return false;
+        }
+        Object referent = key.referent();
+        return referent != null && referent.equals(otherKey.referent());
+    }
+
+    private static final class WeakKey<K> extends WeakReference<K> implements KeyReference<K> {
+
+        private final int hashCode;
+
+        private WeakKey(K referent, ReferenceQueue<? super K> queue) {
+            super(referent, queue);
+            this.hashCode = referent.hashCode();
+        }
+
+        @Override
+        public K referent() {
+            return this.get();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return keysEqual(this, other);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hashCode;
+        }
+    }
+
+    private record LookupKey<K>(K referent) implements KeyReference<K> {
+
+        @Override
+        public boolean equals(Object other) {
+            return keysEqual(this, other);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.referent.hashCode();
+        }
+    }
+}
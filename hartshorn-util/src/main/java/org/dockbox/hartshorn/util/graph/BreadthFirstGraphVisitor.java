@@ -16,6 +16,7 @@
 
 package org.dockbox.hartshorn.util.graph;
 
+import java.util.BitSet;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -27,6 +28,9 @@
  * means that if a node has a parent that has not been visited yet, the node will not be visited
  * until all of its parents have been visited.
  *
+ * <p>When iterating an {@link IndexedGraph}, visited nodes and rows are tracked by node index, so no intermediate
+ * sets are created while iterating. Nodes within a row are then visited in order of their index.
+ *
  * @param <T> the type of the value of the node
  *
  * @since 0.5.0
@@ -38,6 +42,9 @@
 
     @Override
     default Set<GraphNode<T>> iterate(Graph<T> graph) throws GraphException {
+        if (graph instanceof IndexedGraph<T> indexedGraph) {
+            return this.iterateIndexed(indexedGraph);
+        }
         Set<GraphNode<T>> visited = new HashSet<>();
 
         Set<GraphNode<T>> nodes = graph.roots();
@@ -64,6 +71,46 @@ default void visitSingle(Set<GraphNode<T>> visited, GraphNode<T> node) throws Gr
         }
     }
 
+    private Set<GraphNode<T>> iterateIndexed(IndexedGraph<T> graph) throws GraphException {
+        BitSet visited = new BitSet(graph.size());
+        Set<GraphNode<T>> visitedNodes = graph.view(visited);
+
+        BitSet nodes = new BitSet(graph.size());
+        for (GraphNode<T> root : graph.roots()) {
+            int index = graph.indexOf(root);
+            if (index == -1) {
+                throw new GraphException("Root " + root + " is not part of the iterated graph");
+            }
+            nodes.set(index);
+        }
+
+        while (!nodes.isEmpty()) {
+            this.beforePathVisited();
+            Set<GraphNode<T>> candidates = graph.view(nodes);
+            BitSet currentRow = new BitSet(graph.size());
+            for (int node = nodes.nextSetBit(0); node >= 0; node = nodes.nextSetBit(node + 1)) {
+                if (this.hasVisitedParents(visitedNodes, candidates, graph.node(node))) {
+                    currentRow.set(node);
+                }
+            }
+
+            BitSet nextRow = new BitSet(graph.size());
+            for (int node = currentRow.nextSetBit(0); node >= 0; node = currentRow.nextSetBit(node + 1)) {
+                if (!visited.get(node)) {
+                    visited.set(node);
+                    if (this.visit(graph.node(node))) {
+                        for (int position = 0; position < graph.childCount(node); position++) {
+                            nextRow.set(graph.child(node, position));
+                        }
+                    }
+                }
+            }
+            nodes = nextRow;
+            this.afterPathVisited();
+        }
+        return new HashSet<>(visitedNodes);
+    }
+
     private Set<GraphNode<T>> visitRow(Set<GraphNode<T>> visited, Set<GraphNode<T>> currentRow) throws GraphException {
         Set<GraphNode<T>> nextRow = new HashSet<>();
         for (GraphNode<T> node : currentRow) {
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.util.graph;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * A {@link GraphIterator} that iterates over a {@link Graph} in a breadth-first manner, visiting all nodes
+ * of a single row concurrently. A row contains all nodes of which the parents have already been visited,
+ * so nodes within a row never depend on one another. Each row acts as a barrier: the next row is only
+ * visited once all nodes in the current row have been visited.
+ *
+ * <p>Nodes are visited on the {@link #executor() executor} of this visitor, which allows the use of e.g.
+ * virtual threads for visitors which perform blocking work. The executor is not shut down by this visitor.
+ *
+ * <p>Nodes within a row are submitted in a stable order. For {@link IndexedGraph indexed graphs}, nodes are
+ * ordered by their index. For other graphs, nodes are ordered by the order in which they were discovered
+ * through the roots of the graph and the children of visited nodes.
+ *
+ * <p>If one or more nodes in a row fail to be visited, the remaining nodes in that row are still visited
+ * before iteration stops. The failures are then reported in the order in which the nodes were submitted,
+ * independent of the order in which the visits completed. The first failure is the cause of the thrown
+ * {@link GraphException}, and all subsequent failures are added as {@link Throwable#addSuppressed(Throwable)
+ * suppressed exceptions}.
+ *
+ * @param <T> the type of the value of the node
+ *
+ * @see BreadthFirstGraphVisitor
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public interface ConcurrentBreadthFirstGraphVisitor<T> extends ObservableGraphIterator<T> {
+
+    /**
+     * Returns the executor on which nodes are visited. The {@link #visit(GraphNode)} method may be invoked
+     * concurrently for all nodes in the same row.
+     *
+     * @return the executor on which nodes are visited
+     */
+    Executor executor();
+
+    @Override
+    default Set<GraphNode<T>> iterate(Graph<T> graph) throws GraphException {
+        Set<GraphNode<T>> visited = new HashSet<>();
+        Comparator<GraphNode<T>> rowOrder = rowOrder(graph);
+
+        Set<GraphNode<T>> nodes = graph.roots();
+        while (!nodes.isEmpty()) {
+            this.beforePathVisited();
+            List<GraphNode<T>> currentRow = new ArrayList<>();
+            for (GraphNode<T> node : nodes) {
+                if (!visited.contains(node) && this.hasVisitedParents(visited, nodes, node)) {
+                    currentRow.add(node);
+                }
+            }
+            // Sorting is stable, so nodes which are not ordered by the comparator retain their discovery order
+            currentRow.sort(rowOrder);
+            visited.addAll(currentRow);
+            nodes = this.visitRow(currentRow);
+            this.afterPathVisited();
+        }
+        return visited;
+    }
+
+    /**
+     * Indicates whether all parent nodes of the given node have been visited. Nodes of which not all parents
+     * have been visited are deferred until they are reached through their last remaining parent. This matches
+     * the signature of {@link BreadthFirstGraphVisitor#hasVisitedParents(Set, Set, GraphNode)}, so visitors can
+     * apply the same rule to both iteration strategies.
+     *
+     * @param visited the set of visited nodes
+     * @param allNodes the set of nodes which are candidates for the current row
+     * @param node the node to check
+     * @return {@code true} if all parent nodes have been visited, {@code false} otherwise
+     * @throws GraphException if the parents of the node could not be checked
+     */
+    default boolean hasVisitedParents(Set<GraphNode<T>> visited, Set<GraphNode<T>> allNodes, GraphNode<T> node) throws GraphException {
+        if (node instanceof ContainableGraphNode<T> containable) {
+            return visited.containsAll(containable.parents());
+        }
+        return true;
+    }
+
+    private Set<GraphNode<T>> visitRow(List<GraphNode<T>> currentRow) throws GraphException {
+        Set<GraphNode<T>> nextRow = new LinkedHashSet<>();
+        if (currentRow.size() == 1) {
+            // No need to hand off a single node to the executor, as there is nothing to run concurrently
+            GraphNode<T> node = currentRow.getFirst();
+            if (this.visit(node)) {
+                nextRow.addAll(node.children());
+            }
+            return nextRow;
+        }
+
+        List<CompletableFuture<Boolean>> visits = new ArrayList<>(currentRow.size());
+        for (GraphNode<T> node : currentRow) {
+            visits.add(this.submit(node));
+        }
+
+        List<Throwable> failures = new ArrayList<>();
+        for (int i = 0; i < currentRow.size(); i++) {
+            try {
+                if (visits.get(i).join()) {
+                    nextRow.addAll(currentRow.get(i).children());
+                }
+            }
+            catch (CompletionException e) {
+                failures.add(e.getCause());
+            }
+        }
+
+        if (!failures.isEmpty()) {
+            throw aggregateFailures(failures);
+        }
+        return nextRow;
+    }
+
+    private static <T> Comparator<GraphNode<T>> rowOrder(Graph<T> graph) {
+        if (graph instanceof IndexedGraph<T> indexedGraph) {
+            return Comparator.comparingInt(indexedGraph::indexOf);
+        }
+        return (left, right) -> 0;
+    }
+
+    private CompletableFuture<Boolean> submit(GraphNode<T> node) {
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return this.visit(node);
+                }
+                catch (GraphException e) {
+                    throw new CompletionException(e);
+                }
+            }, this.executor());
+        }
+        catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static GraphException aggregateFailures(List<Throwable> failures) {
+        Throwable cause = failures.getFirst();
+        GraphException exception = failures.size() == 1 && cause instanceof GraphException graphException
+                ? graphException
+                : new GraphException("Failed to visit %d node(s)".formatted(failures.size()), cause);
+        for (Throwable failure : failures.subList(1, failures.size())) {
+            exception.addSuppressed(failure);
+        }
+        return exception;
+    }
+}
@@ -0,0 +1,451 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.dockbox.hartshorn.util.graph;
+
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.dockbox.hartshorn.util.ObjectDescriber;
+
+/**
+ * An immutable {@link ContentAwareGraph} in which all nodes are identified by a contiguous index. Relations between
+ * nodes are stored in compressed adjacency arrays, so the graph is built once and can then be traversed without
+ * allocating intermediate collections. All collections returned by this graph and its nodes are read-only views,
+ * which are not copied on access.
+ *
+ * <p>Indexed graphs are created from existing nodes, typically those of a {@link SimpleGraph}. The graph contains
+ * all given nodes, and all nodes which are connected to them, either as parent or as child. Relations are read once
+ * when the graph is created, changes to the original nodes after that are not reflected in the indexed graph.
+ *
+ * <p>Iterators which are aware of indexed graphs may use the indices of nodes to track their state, for example
+ * using a {@link BitSet} which can be viewed as a set of nodes through {@link #view(BitSet)}.
+ *
+ * @param <T> the type of the content of the graph
+ *
+ * @see IndexedGraphNode
+ *
+ * @since 0.6.1
+ *
+ * @author Guus Lieben
+ */
+public class IndexedGraph<T> implements ContentAwareGraph<T> {
+
+    private final List<IndexedGraphNode<T>> nodes;
+    private final int[] childOffsets;
+    private final int[] children;
+    private final int[] parentOffsets;
+    private final int[] parents;
+    private final BitSet roots;
+
+    private final Set<GraphNode<T>> nodesView;
+    private final Set<GraphNode<T>> rootsView;
+
+    /**
+     * Creates a new indexed graph from the given nodes. The graph will contain the given nodes and all nodes which
+     * are connected to them. Of the given roots, only nodes without parents are retained as roots.
+     *
+     * @param nodes the nodes of the graph
+     * @param roots the roots of the graph
+     */
+    protected IndexedGraph(Collection<? extends GraphNode<T>> nodes, Collection<? extends GraphNode<T>> roots) {
+        Map<GraphNode<T>, Integer> indices = new HashMap<>();
+        List<GraphNode<T>> sources = new ArrayList<>();
+        List<Set<GraphNode<T>>> sourceChildren = new ArrayList<>();
+
+        Deque<GraphNode<T>> pending = new ArrayDeque<>(nodes);
+        while (!pending.isEmpty()) {
+            GraphNode<T> node = pending.poll();
+            if (indices.putIfAbsent(node, sources.size()) != null) {
+                continue;
+            }
+            Set<GraphNode<T>> nodeChildren = node.children();
+            sources.add(node);
+            sourceChildren.add(nodeChildren);
+            pending.addAll(nodeChildren);
+            if (node instanceof ContainableGraphNode<T> containable) {
+                pending.addAll(containable.parents());
+            }
+        }
+
+        int size = sources.size();
+        this.childOffsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            this.childOffsets[i + 1] = this.childOffsets[i] + sourceChildren.get(i).size();
+        }
+        this.children = new int[this.childOffsets[size]];
+        int[] parentCounts = new int[size];
+        for (int i = 0, position = 0; i < size; i++) {
+            for (GraphNode<T> child : sourceChildren.get(i)) {
+                int childIndex = indices.get(child);
+                this.children[position++] = childIndex;
+                parentCounts[childIndex]++;
+            }
+        }
+
+        // Parents are derived from children, so both directions are guaranteed to be consistent
+        this.parentOffsets = new int[size + 1];
+        for (int i = 0; i < size; i++) {
+            this.parentOffsets[i + 1] = this.parentOffsets[i] + parentCounts[i];
+        }
+        this.parents = new int[this.parentOffsets[size]];
+        int[] parentPositions = new int[size];
+        for (int i = 0; i < size; i++) {
+            for (int position = this.childOffsets[i]; position < this.childOffsets[i + 1]; position++) {
+                int child = this.children[position];
+                this.parents[this.parentOffsets[child] + parentPositions[child]++] = i;
+            }
+        }
+
+        List<IndexedGraphNode<T>> indexedNodes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            indexedNodes.add(new IndexedGraphNode<>(this, i, sources.get(i).value()));
+        }
+        this.nodes = List.copyOf(indexedNodes);
+
+        this.roots = new BitSet(size);
+        for (GraphNode<T> root : roots) {
+            Integer index = indices.get(root);
+            if (index != null && this.parentCount(index) == 0) {
+                this.roots.set(index);
+            }
+        }
+
+        BitSet allNodes = new BitSet(size);
+        allNodes.set(0, size);
+        this.nodesView = this.view(allNodes);
+        this.rootsView = this.view(this.roots);
+    }
+
+    /**
+     * Creates an indexed copy of the given graph. If the graph is a {@link ContentAwareGraph}, all of its nodes are
+     * included, otherwise all nodes connected to its roots are included. If the given graph is already indexed, it
+     * is returned as-is.
+     *
+     * @param graph the graph to copy
+     * @param <T> the type of the content of the graph
+     * @return the indexed graph
+     */
+    public static <T> IndexedGraph<T> copyOf(Graph<T> graph) {
+        if (graph instanceof IndexedGraph<T> indexedGraph) {
+            return indexedGraph;
+        }
+        Set<GraphNode<T>> roots = graph.roots();
+        Set<GraphNode<T>> nodes = graph instanceof ContentAwareGraph<T> contentAwareGraph
+                ? contentAwareGraph.nodes()
+                : roots;
+        return new IndexedGraph<>(nodes, roots);
+    }
+
+    /**
+     * Returns the number of nodes in this graph.
+     *
+     * @return the number of nodes in this graph
+     */
+    public int size() {
+        return this.nodes.size();
+    }
+
+    /**
+     * Returns the node at the given index.
+     *
+     * @param index the index of the node
+     * @return the node at the given index
+     */
+    public IndexedGraphNode<T> node(int index) {
+        return this.nodes.get(index);
+    }
+
+    /**
+     * Returns the index of the given node in this graph, or {@code -1} if the node is not part of this graph.
+     *
+     * @param node the node to look up
+     * @return the index of the node, or {@code -1} if the node is not part of this graph
+     */
+    public int indexOf(GraphNode<T> node) {
+        if (node instanceof IndexedGraphNode<T> indexedNode && indexedNode.graph == this) {
+            return indexedNode.index;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the number of children of the node at the given index.
+     *
+     * @param node the index of the node
+     * @return the number of children of the node
+     */
+    public int childCount(int node) {
+        return this.childOffsets[node + 1] - this.childOffsets[node];
+    }
+
+    /**
+     * Returns the index of the child at the given position of the node at the given index.
+     *
+     * @param node the index of the node
+     * @param position the position of the child, between {@code 0} and {@link #childCount(int)}
+     * @return the index of the child
+     */
+    public int child(int node, int position) {
+        return this.children[this.childOffsets[node] + position];
+    }
+
+    /**
+     * Returns the number of parents of the node at the given index.
+     *
+     * @param node the index of the node
+     * @return the number of parents of the node
+     */
+    public int parentCount(int node) {
+        return this.parentOffsets[node + 1] - this.parentOffsets[node];
+    }
+
+    /**
+     * Returns the index of the parent at the given position of the node at the given index.
+     *
+     * @param node the index of the node
+     * @param position the position of the parent, between {@code 0} and {@link #parentCount(int)}
+     * @return the index of the parent
+     */
+    public int parent(int node, int position) {
+        return this.parents[this.parentOffsets[node] + position];
+    }
+
+    /**
+     * Returns a read-only view of the nodes of which the index is set in the given {@link BitSet}. The view is backed
+     * by the given set, so changes to the set are reflected in the view.
+     *
+     * @param selection the indices of the nodes to include
+     * @return a read-only view of the selected nodes
+     */
+    public Set<GraphNode<T>> view(BitSet selection) {
+        return new SelectionView(selection);
+    }
+
+    @Override
+    public Set<GraphNode<T>> nodes() {
+        return this.nodesView;
+    }
+
+    @Override
+    public Set<GraphNode<T>> roots() {
+        return this.rootsView;
+    }
+
+    @Override
+    public void addRoot(GraphNode<T> root) {
+        throw new UnsupportedOperationException("Indexed graphs cannot be modified");
+    }
+
+    @Override
+    public void addRoots(Set<GraphNode<T>> roots) {
+        throw new UnsupportedOperationException("Indexed graphs cannot be modified");
+    }
+
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException("Indexed graphs cannot be modified");
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.roots.isEmpty();
+    }
+
+    private Set<GraphNode<T>> range(int[] targets, int from, int to) {
+        return new RangeView(targets, from, to);
+    }
+
+    /**
+     * A read-only view of the nodes identified by a range of indices in one of the adjacency arrays.
+     */
+    private final class RangeView extends AbstractSet<GraphNode<T>> {
+
+        private final int[] targets;
+        private final int from;
+        private final int to;
+
+        private RangeView(int[] targets, int from, int to) {
+            this.targets = targets;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean contains(Object object) {
+            if (object instanceof IndexedGraphNode<?> node && node.graph == IndexedGraph.this) {
+                for (int position = this.from; position < this.to; position++) {
+                    if (this.targets[position] == node.index) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Iterator<GraphNode<T>> iterator() {
+            return new Iterator<>() {
+                private int position = RangeView.this.from;
+
+                @Override
+                public boolean hasNext() {
+                    return this.position < RangeView.this.to;
+                }
+
+                @Override
+                public GraphNode<T> next() {
+                    if (!this.hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return IndexedGraph.this.node(RangeView.this.targets[this.position++]);
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return this.to - this.from;
+        }
+    }
+
+    /**
+     * A read-only view of the nodes of which the index is set in a {@link BitSet}.
+     */
+    private final class SelectionView extends AbstractSet<GraphNode<T>> {
+
+        private final BitSet selection;
+
+        private SelectionView(BitSet selection) {
+            this.selection = selection;
+        }
+
+        @Override
+        public boolean contains(Object object) {
+            return object instanceof IndexedGraphNode<?> node
+                    && node.graph == IndexedGraph.this
+                    && this.selection.get(node.index);
+        }
+
+        @Override
+        public Iterator<GraphNode<T>> iterator() {
+            return new Iterator<>() {
+                private int next = SelectionView.this.selection.nextSetBit(0);
+
+                @Override
+                public boolean hasNext() {
+                    return this.next >= 0;
+                }
+
+                @Override
+                public GraphNode<T> next() {
+                    if (!this.hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    GraphNode<T> node = IndexedGraph.this.node(this.next);
+                    this.next = SelectionView.this.selection.nextSetBit(this.next + 1);
+                    return node;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return this.selection.cardinality();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return this.selection.isEmpty();
+        }
+    }
+
+    /**
+     * A node in an {@link IndexedGraph}. Nodes are identified by their index in the graph, and cannot be modified.
+     * The parents and children of a node are read-only views backed by the graph, so they are not copied on access.
+     * Nodes use identity equality, so two nodes are only equal if they are the same node in the same graph.
+     *
+     * @param <T> the type of the value of the node
+     *
+     * @since 0.6.1
+     *
+     * @author Guus Lieben
+     */
+    public static final class IndexedGraphNode<T> implements ContainableGraphNode<T> {
+
+        private final IndexedGraph<T> graph;
+        private final int index;
+        private final T value;
+
+        private IndexedGraphNode(IndexedGraph<T> graph, int index, T value) {
+            this.graph = graph;
+            this.index = index;
+            this.value = value;
+        }
+
+        /**
+         * Returns the index of this node in its graph.
+         *
+         * @return the index of this node
+         */
+        public int index() {
+            return this.index;
+        }
+
+        @Override
+        public T value() {
+            return this.value;
+        }
+
+        @Override
+        public Set<GraphNode<T>> children() {
+            return this.graph.range(this.graph.children, this.graph.childOffsets[this.index], this.graph.childOffsets[this.index + 1]);
+        }
+
+        @Override
+        public Set<GraphNode<T>> parents() {
+            return this.graph.range(this.graph.parents, this.graph.parentOffsets[this.index], this.graph.parentOffsets[this.index + 1]);
+        }
+
+        @Override
+        public boolean isLeaf() {
+            return this.graph.childCount(this.index) == 0;
+        }
+
+        @Override
+        public boolean isRoot() {
+            return this.graph.parentCount(this.index) == 0;
+        }
+
+        @Override
+        public String toString() {
+            return ObjectDescriber.of(this)
+                    .field("index", this.index)
+                    .field("value", this.value)
+                    .describe();
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test.org.dockbox.hartshorn.util;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.dockbox.hartshorn.util.graph.ConcurrentBreadthFirstGraphVisitor;
+import org.dockbox.hartshorn.util.graph.Graph;
+import org.dockbox.hartshorn.util.graph.GraphException;
+import org.dockbox.hartshorn.util.graph.GraphNode;
+import org.dockbox.hartshorn.util.graph.IndexedGraph;
+import org.dockbox.hartshorn.util.graph.MutableGraphNode;
+import org.dockbox.hartshorn.util.graph.SimpleGraph;
+import org.dockbox.hartshorn.util.graph.SimpleGraphNode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentBreadthFirstGraphVisitorTests {
+
+    @Test
+    void testParentsAreVisitedBeforeChildren() throws GraphException {
+        // A -> B, C -> D, where D depends on both B and C
+        MutableGraphNode<String> nodeA = new SimpleGraphNode<>("A");
+        MutableGraphNode<String> nodeB = new SimpleGraphNode<>("B");
+        MutableGraphNode<String> nodeC = new SimpleGraphNode<>("C");
+        GraphNode<String> nodeD = new SimpleGraphNode<>("D");
+        nodeA.addChildren(List.of(nodeB, nodeC));
+        nodeB.addChild(nodeD);
+        nodeC.addChild(nodeD);
+
+        Graph<String> graph = new SimpleGraph<>();
+        graph.addRoot(nodeA);
+
+        Set<String> visited = ConcurrentHashMap.newKeySet();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            ConcurrentBreadthFirstGraphVisitor<String> visitor = visitor(executor, node -> {
+                if (node.value().equals("D")) {
+                    Assertions.assertTrue(visited.containsAll(Set.of("A", "B", "C")));
+                }
+                else if (!node.value().equals("A")) {
+                    Assertions.assertTrue(visited.contains("A"));
+                }
+                visited.add(node.value());
+            });
+            Set<GraphNode<String>> iterated = visitor.iterate(graph);
+            Assertions.assertEquals(4, iterated.size());
+        }
+        Assertions.assertEquals(Set.of("A", "B", "C", "D"), visited);
+    }
+
+    @Test
+    void testFailuresInRowAreAggregatedInIndexOrder() {
+        Graph<String> simpleGraph = new SimpleGraph<>();
+        simpleGraph.addRoots(Set.of(
+                new SimpleGraphNode<>("A"),
+                new SimpleGraphNode<>("B"),
+                new SimpleGraphNode<>("C"),
+                new SimpleGraphNode<>("D"),
+                new SimpleGraphNode<>("E")
+        ));
+        IndexedGraph<String> graph = IndexedGraph.copyOf(simpleGraph);
+
+        List<String> expectedFailures = IntStream.range(0, graph.size())
+                .mapToObj(index -> graph.node(index).value())
+                .filter(value -> !value.equals("A"))
+                .toList();
+
+        Set<String> visited = ConcurrentHashMap.newKeySet();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            ConcurrentBreadthFirstGraphVisitor<String> visitor = visitor(executor, node -> {
+                visited.add(node.value());
+                if (!node.value().equals("A")) {
+                    // Nodes with a lower index complete last, so completion order is the reverse of submission order
+                    sleep(10L * (graph.size() - graph.indexOf(node)));
+                    throw new IllegalStateException(node.value());
+                }
+            });
+            GraphException exception = Assertions.assertThrows(GraphException.class, () -> visitor.iterate(graph));
+
+            List<String> failures = Stream.concat(Stream.of(exception.getCause()), Stream.of(exception.getSuppressed()))
+                    .map(Throwable::getMessage)
+                    .toList();
+            Assertions.assertEquals(expectedFailures, failures);
+        }
+        // Remaining nodes in the row are still visited
+        Assertions.assertEquals(Set.of("A", "B", "C", "D", "E"), visited);
+    }
+
+    @Test
+    void testNodesInRowAreSubmittedInIndexOrder() throws GraphException {
+        Graph<String> simpleGraph = new SimpleGraph<>();
+        simpleGraph.addRoots(Set.of(
+                new SimpleGraphNode<>("A"),
+                new SimpleGraphNode<>("B"),
+                new SimpleGraphNode<>("C")
+        ));
+        IndexedGraph<String> graph = IndexedGraph.copyOf(simpleGraph);
+
+        List<String> submitted = new CopyOnWriteArrayList<>();
+        Executor executor = Runnable::run;
+        ConcurrentBreadthFirstGraphVisitor<String> visitor = visitor(executor, node -> submitted.add(node.value()));
+        visitor.iterate(graph);
+
+        List<String> expected = IntStream.range(0, graph.size())
+                .mapToObj(index -> graph.node(index).value())
+                .toList();
+        Assertions.assertEquals(expected, submitted);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ConcurrentBreadthFirstGraphVisitor<String> visitor(Executor executor, Consumer<GraphNode<String>> consumer) {
+        return new ConcurrentBreadthFirstGraphVisitor<>() {
+            @Override
+            public Executor executor() {
+                return executor;
+            }
+
+            @Override
+            public boolean visit(GraphNode<String> node) {
+                consumer.accept(node);
+                return true;
+            }
+        };
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test.org.dockbox.hartshorn.util;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.dockbox.hartshorn.util.collections.ConcurrentWeakKeyMap;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ConcurrentWeakKeyMapTests {
+
+    @Test
+    void testValueIsComputedOncePerEqualKey() {
+        ConcurrentWeakKeyMap<String, Integer> map = new ConcurrentWeakKeyMap<>();
+        AtomicInteger computations = new AtomicInteger();
+
+        String key = new String("key");
+        Integer first = map.computeIfAbsent(key, k -> computations.incrementAndGet());
+        Integer second = map.computeIfAbsent(new String("key"), k -> computations.incrementAndGet());
+
+        Assertions.assertEquals(1, computations.get());
+        Assertions.assertSame(first, second);
+        Assertions.assertSame(first, map.get(new String("key")));
+        Assertions.assertNull(map.get("other"));
+    }
+
+    @Test
+    void testMappingFunctionMayAccessMap() {
+        ConcurrentWeakKeyMap<String, String> map = new ConcurrentWeakKeyMap<>();
+        String outer = map.computeIfAbsent("outer", key -> map.computeIfAbsent("inner", String::toUpperCase) + key);
+
+        Assertions.assertEquals("INNERouter", outer);
+        Assertions.assertEquals("INNER", map.get("inner"));
+        Assertions.assertEquals(2, map.size());
+    }
+
+    @Test
+    void testUnreachableKeysAreRemoved() throws InterruptedException {
+        ConcurrentWeakKeyMap<Object, String> map = new ConcurrentWeakKeyMap<>();
+        Object retained = new Object();
+        map.computeIfAbsent(retained, key -> "retained");
+        map.computeIfAbsent(new Object(), key -> "released");
+
+        for (int attempt = 0; attempt < 50 && map.size() > 1; attempt++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        Assertions.assertEquals(1, map.size());
+        Assertions.assertEquals("retained", map.get(retained));
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019-2024 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package test.org.dockbox.hartshorn.util;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.dockbox.hartshorn.util.graph.BreadthFirstGraphVisitor;
+import org.dockbox.hartshorn.util.graph.ContainableGraphNode;
+import org.dockbox.hartshorn.util.graph.Graph;
+import org.dockbox.hartshorn.util.graph.GraphException;
+import org.dockbox.hartshorn.util.graph.GraphNode;
+import org.dockbox.hartshorn.util.graph.IndexedGraph;
+import org.dockbox.hartshorn.util.graph.MutableGraphNode;
+import org.dockbox.hartshorn.util.graph.SimpleGraph;
+import org.dockbox.hartshorn.util.graph.SimpleGraphNode;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class IndexedGraphTests {
+
+    @Test
+    void testIndexedGraphRetainsRelations() {
+        IndexedGraph<String> graph = IndexedGraph.copyOf(createGraph());
+        Assertions.assertEquals(5, graph.size());
+        Assertions.assertEquals(Set.of("A"), values(graph.roots()));
+        Assertions.assertEquals(Set.of("A", "B", "C", "D", "E"), values(graph.nodes()));
+
+        GraphNode<String> nodeD = node(graph, "D");
+        Assertions.assertEquals(Set.of("E"), values(nodeD.children()));
+        Assertions.assertEquals(Set.of("B", "C"), values(((ContainableGraphNode<String>) nodeD).parents()));
+        Assertions.assertTrue(node(graph, "E").isLeaf());
+        Assertions.assertFalse(nodeD.isLeaf());
+
+        // Views are backed by the graph, so repeated access yields equal views of the same nodes
+        Assertions.assertEquals(nodeD.children(), nodeD.children());
+        Assertions.assertTrue(nodeD.children().contains(node(graph, "E")));
+        Assertions.assertFalse(nodeD.children().contains(node(graph, "A")));
+    }
+
+    @Test
+    void testIndexedGraphCannotBeModified() {
+        IndexedGraph<String> graph = IndexedGraph.copyOf(createGraph());
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> graph.addRoot(new SimpleGraphNode<>("F")));
+        Assertions.assertThrows(UnsupportedOperationException.class, graph::clear);
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> graph.nodes().clear());
+    }
+
+    @Test
+    void testBreadthFirstIterationMatchesSimpleGraph() throws GraphException {
+        List<Set<String>> simpleRows = rows(createGraph());
+        List<Set<String>> indexedRows = rows(IndexedGraph.copyOf(createGraph()));
+        Assertions.assertEquals(List.of(Set.of("A"), Set.of("B", "C"), Set.of("D"), Set.of("E")), simpleRows);
+        Assertions.assertEquals(simpleRows, indexedRows);
+    }
+
+    private static List<Set<String>> rows(Graph<String> graph) throws GraphException {
+        List<Set<String>> rows = new ArrayList<>();
+        BreadthFirstGraphVisitor<String> visitor = new BreadthFirstGraphVisitor<>() {
+            @Override
+            public boolean visit(GraphNode<String> node) {
+                rows.getLast().add(node.value());
+                return true;
+            }
+
+            @Override
+            public void beforePathVisited() {
+                rows.add(new HashSet<>());
+            }
+        };
+        Set<GraphNode<String>> visited = visitor.iterate(graph);
+        Assertions.assertEquals(5, visited.size());
+        rows.removeIf(Set::isEmpty);
+        return rows;
+    }
+
+    private static GraphNode<String> node(IndexedGraph<String> graph, String value) {
+        return graph.nodes().stream()
+                .filter(node -> node.value().equals(value))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static Set<String> values(Set<GraphNode<String>> nodes) {
+        return nodes.stream().map(GraphNode::value).collect(Collectors.toSet());
+    }
+
+    private static Graph<String> createGraph() {
+        // A -> B, C -> D -> E, where D depends on both B and C
+        MutableGraphNode<String> nodeA = new SimpleGraphNode<>("A");
+        MutableGraphNode<String> nodeB = new SimpleGraphNode<>("B");
+        MutableGraphNode<String> nodeC = new SimpleGraphNode<>("C");
+        MutableGraphNode<String> nodeD = new SimpleGraphNode<>("D");
+        GraphNode<String> nodeE = new SimpleGraphNode<>("E");
+        nodeA.addChildren(List.of(nodeB, nodeC));
+        nodeB.addChild(nodeD);
+        nodeC.addChild(nodeD);
+        nodeD.addChild(nodeE);
+
+        Graph<String> graph = new SimpleGraph<>();
+        graph.addRoot(nodeA);
+        return graph;
+    }
+}